@@ -33,6 +33,7 @@ import iroha.protocol.QryResponses.Account;
 import iroha.protocol.QryResponses.AccountAsset;
 import iroha.protocol.TransactionOuterClass;
 import iroha.validation.config.ValidationServiceContext;
+import iroha.validation.executor.StageExecutors;
 import iroha.validation.listener.BrvsIrohaChainListener;
 import iroha.validation.rules.Rule;
 import iroha.validation.rules.RuleMonitor;
@@ -386,6 +387,7 @@ public class IrohaIntegrationTest {
         projectInfoSetterId,
         irohaQueryHelper
     );
+    final StageExecutors stageExecutors = StageExecutors.builder().build();
     return new ValidationServiceImpl(new ValidationServiceContext(
         validator,
         new BasicTransactionProvider(
@@ -430,9 +432,11 @@ public class IrohaIntegrationTest {
             validatorConfigId,
             validatorId,
             validator,
-            irohaQueryHelper
+            irohaQueryHelper,
+            stageExecutors
         ),
-        Collections.emptyList()
+        Collections.emptyList(),
+        stageExecutors
     ));
   }
 
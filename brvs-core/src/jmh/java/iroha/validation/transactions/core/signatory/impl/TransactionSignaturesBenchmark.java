@@ -0,0 +1,79 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.core.signatory.impl;
+
+import iroha.protocol.TransactionOuterClass.Transaction;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.iroha.java.TransactionBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares signing by the iroha-java transaction wrapper with {@link TransactionSignatures} for
+ * transactions of a growing amount of commands signed by 3 keys. Run with
+ * {@code ./gradlew :brvs-core:jmh -Pjmh.args="TransactionSignaturesBenchmark -prof gc"} to see the
+ * allocation rates, {@code gc.alloc.rate.norm} is the amount of bytes allocated per signed
+ * transaction. Add {@code -rf json -rff build/signatures.json} to the arguments to keep the results
+ * for comparison between revisions
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionSignaturesBenchmark {
+
+  private static final String ACCOUNT_ID = "user@sora";
+  private static final String DESTINATION_ID = "destination@sora";
+
+  @Param({"1", "100", "1000"})
+  private int commands;
+
+  private final List<KeyPair> keyPairs = new ArrayList<>();
+  private Transaction transaction;
+
+  @Setup
+  public void setUp() {
+    final Ed25519Sha3 crypto = new Ed25519Sha3();
+    for (int i = 0; i < 3; i++) {
+      keyPairs.add(crypto.generateKeypair());
+    }
+    final TransactionBuilder builder = jp.co.soramitsu.iroha.java.Transaction.builder(ACCOUNT_ID);
+    for (int i = 0; i < commands; i++) {
+      builder.transferAsset(ACCOUNT_ID, DESTINATION_ID, "xor#sora", "transfer " + i, "1.5");
+    }
+    transaction = builder.sign(crypto.generateKeypair()).build();
+  }
+
+  @Benchmark
+  public Transaction irohaJavaSigning() {
+    jp.co.soramitsu.iroha.java.Transaction parsedTransaction =
+        jp.co.soramitsu.iroha.java.Transaction.parseFrom(transaction).makeMutable().build();
+    for (KeyPair keyPair : keyPairs) {
+      parsedTransaction.sign(keyPair);
+    }
+    return parsedTransaction.build();
+  }
+
+  @Benchmark
+  public Transaction appendedSignatures() {
+    return TransactionSignatures.addSignatures(transaction, keyPairs);
+  }
+}
@@ -5,10 +5,12 @@
 
 package iroha.validation;
 
+import iroha.validation.executor.StageExecutors;
 import iroha.validation.filter.CrossDomainFilter;
 import iroha.validation.service.ValidationService;
 import iroha.validation.transactions.core.provider.RegistrationProvider;
 import iroha.validation.transactions.core.storage.TransactionVerdictStorage;
+import iroha.validation.validators.Validator;
 import java.net.PortUnreachableException;
 import java.net.URI;
 import java.time.Instant;
@@ -60,6 +62,8 @@ public class Application {
         bind(context.getBean(RegistrationProvider.class)).to(RegistrationProvider.class);
         bind(context.getBean("timestampForQueries", AtomicReference.class))
             .to(new TypeLiteral<AtomicReference<Instant>>() {});
+        bind(context.getBean(StageExecutors.class)).to(StageExecutors.class);
+        bind(context.getBean(Validator.class)).to(Validator.class);
       }
     });
     resourceConfig.register(new CrossDomainFilter());
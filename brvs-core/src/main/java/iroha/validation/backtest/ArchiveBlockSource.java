@@ -0,0 +1,57 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.backtest;
+
+import com.google.protobuf.util.JsonFormat;
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.BlockOuterClass.Block_v1;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Reads blocks from a copy of the Iroha flat file block store. Every block is a JSON file named by
+ * its zero padded height
+ */
+public class ArchiveBlockSource implements BlockSource {
+
+  private static final String FILE_NAME_FORMAT = "%016d";
+
+  private final Path directory;
+  private final JsonFormat.Parser parser = JsonFormat.parser().ignoringUnknownFields();
+
+  public ArchiveBlockSource(Path directory) {
+    Objects.requireNonNull(directory, "Archive directory must not be null");
+    if (!Files.isDirectory(directory)) {
+      throw new IllegalArgumentException("Archive directory " + directory + " does not exist");
+    }
+
+    this.directory = directory;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Block getBlock(long height) throws IOException {
+    final Path file = directory.resolve(String.format(FILE_NAME_FORMAT, height));
+    if (!Files.exists(file)) {
+      return null;
+    }
+    final String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    final Block.Builder block = Block.newBuilder();
+    parser.merge(json, block);
+    if (block.hasBlockV1()) {
+      return block.build();
+    }
+    // some store versions keep the bare block payload
+    final Block_v1.Builder blockV1 = Block_v1.newBuilder();
+    parser.merge(json, blockV1);
+    return block.setBlockV1(blockV1).build();
+  }
+}
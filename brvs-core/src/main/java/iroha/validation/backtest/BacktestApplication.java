@@ -0,0 +1,117 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.backtest;
+
+import com.google.gson.GsonBuilder;
+import iroha.validation.rules.Rule;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.LogManager;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.bridge.SLF4JBridgeHandler;
+import org.springframework.context.support.FileSystemXmlApplicationContext;
+
+/**
+ * Standalone entry point replaying committed blocks through the rules of a candidate context.
+ * Arguments are given as {@code key=value}:
+ * <ul>
+ * <li>{@code context} - path to the Spring context defining the {@code rules} map, required</li>
+ * <li>{@code from}, {@code to} - heights range to replay, inclusive, required</li>
+ * <li>{@code archive} - directory of JSON blocks named by their zero padded heights, blocks are
+ * queried using the {@code queryAPI} bean of the context if not specified</li>
+ * <li>{@code domains} - comma separated creator domains to replay, all if not specified</li>
+ * <li>{@code threads} - amount of blocks replayed concurrently, available processors by
+ * default</li>
+ * <li>{@code rejections} - maximum amount of rejections listed in the report</li>
+ * <li>{@code report} - file to write the JSON report to, logged if not specified</li>
+ * </ul>
+ */
+public class BacktestApplication {
+
+  static {
+    LogManager.getLogManager().reset();
+    SLF4JBridgeHandler.install();
+  }
+
+  private static final Logger logger = LoggerFactory.getLogger(BacktestApplication.class);
+  private static final String RULES_BEAN_NAME = "rules";
+  private static final String QUERY_API_BEAN_NAME = "queryAPI";
+  private static final int DEFAULT_REPORTED_REJECTIONS = 1000;
+
+  public static void main(String[] args) {
+    try {
+      final Map<String, String> arguments = parseArguments(args);
+      final long fromHeight = Long.parseLong(getRequired(arguments, "from"));
+      final long toHeight = Long.parseLong(getRequired(arguments, "to"));
+      final int threads = arguments.containsKey("threads")
+          ? Integer.parseInt(arguments.get("threads"))
+          : Runtime.getRuntime().availableProcessors();
+      final int rejections = arguments.containsKey("rejections")
+          ? Integer.parseInt(arguments.get("rejections"))
+          : DEFAULT_REPORTED_REJECTIONS;
+      final Set<String> domains = arguments.containsKey("domains")
+          ? new HashSet<>(Arrays.asList(arguments.get("domains").split(",")))
+          : Collections.emptySet();
+
+      final FileSystemXmlApplicationContext context = new FileSystemXmlApplicationContext(
+          getRequired(arguments, "context")
+      );
+      @SuppressWarnings("unchecked") final Map<String, Rule> rules = context
+          .getBean(RULES_BEAN_NAME, Map.class);
+      final BacktestReport report;
+      try (BlockSource blockSource = arguments.containsKey("archive")
+          ? new ArchiveBlockSource(Paths.get(arguments.get("archive")))
+          : new QueryApiBlockSource(context.getBean(QUERY_API_BEAN_NAME, QueryAPI.class))) {
+        logger.info("Replaying blocks [{}, {}] through rules {} using {} threads",
+            fromHeight, toHeight, rules.keySet(), threads);
+        report = new Backtester(rules, blockSource, threads, domains, rejections)
+            .run(fromHeight, toHeight);
+      }
+      logger.info("Backtesting finished: {}", report);
+      if (arguments.containsKey("report")) {
+        try (Writer writer = Files.newBufferedWriter(
+            Paths.get(arguments.get("report")), StandardCharsets.UTF_8)) {
+          new GsonBuilder().setPrettyPrinting().create().toJson(report, writer);
+        }
+      }
+      context.close();
+      System.exit(0);
+    } catch (Exception e) {
+      logger.error("Backtesting failed", e);
+      System.exit(1);
+    }
+  }
+
+  private static Map<String, String> parseArguments(String[] args) {
+    final Map<String, String> arguments = new HashMap<>();
+    for (String arg : args) {
+      final int separator = arg.indexOf('=');
+      if (separator <= 0) {
+        throw new IllegalArgumentException("Argument must be specified as key=value, got " + arg);
+      }
+      arguments.put(arg.substring(0, separator), arg.substring(separator + 1));
+    }
+    return arguments;
+  }
+
+  private static String getRequired(Map<String, String> arguments, String key) {
+    final String value = arguments.get(key);
+    if (value == null || value.isEmpty()) {
+      throw new IllegalArgumentException("Argument " + key + " is not specified");
+    }
+    return value;
+  }
+}
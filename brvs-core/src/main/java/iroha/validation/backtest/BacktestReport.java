@@ -0,0 +1,202 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.backtest;
+
+import java.util.List;
+
+/**
+ * Outcome of a {@link Backtester} run
+ */
+public class BacktestReport {
+
+  private final long fromHeight;
+  private final long toHeight;
+  private final long blocks;
+  private final long missingBlocks;
+  private final long batches;
+  private final long transactions;
+  private final long rejectedBatches;
+  private final long elapsedMillis;
+  private final double transactionsPerSecond;
+  private final List<RuleReport> rules;
+  private final List<Rejection> rejections;
+
+  public BacktestReport(long fromHeight,
+      long toHeight,
+      long blocks,
+      long missingBlocks,
+      long batches,
+      long transactions,
+      long rejectedBatches,
+      long elapsedMillis,
+      List<RuleReport> rules,
+      List<Rejection> rejections) {
+    this.fromHeight = fromHeight;
+    this.toHeight = toHeight;
+    this.blocks = blocks;
+    this.missingBlocks = missingBlocks;
+    this.batches = batches;
+    this.transactions = transactions;
+    this.rejectedBatches = rejectedBatches;
+    this.elapsedMillis = elapsedMillis;
+    this.transactionsPerSecond = elapsedMillis == 0 ? 0 : transactions * 1000d / elapsedMillis;
+    this.rules = rules;
+    this.rejections = rejections;
+  }
+
+  public long getFromHeight() {
+    return fromHeight;
+  }
+
+  public long getToHeight() {
+    return toHeight;
+  }
+
+  /**
+   * @return amount of blocks replayed
+   */
+  public long getBlocks() {
+    return blocks;
+  }
+
+  /**
+   * @return amount of heights of the range the source had no block for or failed to read
+   */
+  public long getMissingBlocks() {
+    return missingBlocks;
+  }
+
+  public long getBatches() {
+    return batches;
+  }
+
+  public long getTransactions() {
+    return transactions;
+  }
+
+  /**
+   * @return amount of batches rejected by at least one rule
+   */
+  public long getRejectedBatches() {
+    return rejectedBatches;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  public double getTransactionsPerSecond() {
+    return transactionsPerSecond;
+  }
+
+  public List<RuleReport> getRules() {
+    return rules;
+  }
+
+  /**
+   * @return rejections in no particular order, limited by the backtester
+   */
+  public List<Rejection> getRejections() {
+    return rejections;
+  }
+
+  @Override
+  public String toString() {
+    return "Blocks=" + blocks +
+        ";MissingBlocks=" + missingBlocks +
+        ";Batches=" + batches +
+        ";Transactions=" + transactions +
+        ";RejectedBatches=" + rejectedBatches +
+        ";ElapsedMillis=" + elapsedMillis +
+        ";TransactionsPerSecond=" + transactionsPerSecond +
+        ";Rules=" + rules;
+  }
+
+  /**
+   * Results of a single rule
+   */
+  public static class RuleReport {
+
+    private final String name;
+    private final long rejections;
+    private final long errors;
+    private final double averageCostMicros;
+
+    public RuleReport(String name, long rejections, long errors, double averageCostMicros) {
+      this.name = name;
+      this.rejections = rejections;
+      this.errors = errors;
+      this.averageCostMicros = averageCostMicros;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return amount of batches the rule would have rejected
+     */
+    public long getRejections() {
+      return rejections;
+    }
+
+    /**
+     * @return amount of batches the rule failed on
+     */
+    public long getErrors() {
+      return errors;
+    }
+
+    /**
+     * @return average time spent by the rule per batch
+     */
+    public double getAverageCostMicros() {
+      return averageCostMicros;
+    }
+
+    @Override
+    public String toString() {
+      return "Rule=" + name +
+          ";Rejections=" + rejections +
+          ";Errors=" + errors +
+          ";AvgCostMicros=" + averageCostMicros;
+    }
+  }
+
+  /**
+   * Batch a rule would have rejected
+   */
+  public static class Rejection {
+
+    private final long height;
+    private final List<String> hashes;
+    private final String rule;
+    private final String reason;
+
+    public Rejection(long height, List<String> hashes, String rule, String reason) {
+      this.height = height;
+      this.hashes = hashes;
+      this.rule = rule;
+      this.reason = reason;
+    }
+
+    public long getHeight() {
+      return height;
+    }
+
+    public List<String> getHashes() {
+      return hashes;
+    }
+
+    public String getRule() {
+      return rule;
+    }
+
+    public String getReason() {
+      return reason;
+    }
+  }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.backtest;
+
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.backtest.BacktestReport.Rejection;
+import iroha.validation.backtest.BacktestReport.RuleReport;
+import iroha.validation.rules.BatchRule;
+import iroha.validation.rules.PrefetchingRule;
+import iroha.validation.rules.Rule;
+import iroha.validation.rules.RuleScope;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.utils.DomainTable;
+import iroha.validation.utils.ValidationUtils;
+import iroha.validation.verdict.ValidationResult;
+import iroha.validation.verdict.Verdict;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replays committed blocks through a candidate rules set and reports which batches every rule would
+ * have rejected. Unlike the validator, all the rules in scope are evaluated against every batch, so
+ * each rejection is attributed to every rule responsible for it. Blocks are replayed by several
+ * workers at once and thus out of order, stateful rules need a single worker to see the blocks in
+ * order
+ */
+public class Backtester {
+
+  private static final Logger logger = LoggerFactory.getLogger(Backtester.class);
+  private static final double NANOS_IN_MICRO = 1_000d;
+
+  private final Map<String, Rule> rules;
+  private final BlockSource blockSource;
+  private final int parallelism;
+  private final DomainTable creatorDomains;
+  private final int maxReportedRejections;
+
+  /**
+   * @param rules candidate rules
+   * @param blockSource source of the blocks to replay
+   * @param parallelism amount of blocks replayed concurrently
+   * @param creatorDomains only the batches of the creators of the domains are replayed, all if
+   * empty
+   * @param maxReportedRejections maximum amount of rejections listed in the report, all the
+   * rejections are counted anyway
+   */
+  public Backtester(Map<String, Rule> rules,
+      BlockSource blockSource,
+      int parallelism,
+      Set<String> creatorDomains,
+      int maxReportedRejections) {
+    Objects.requireNonNull(rules, "Rules must not be null");
+    Objects.requireNonNull(blockSource, "Block source must not be null");
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive, got " + parallelism);
+    }
+    Objects.requireNonNull(creatorDomains, "Creator domains must not be null");
+    if (maxReportedRejections < 0) {
+      throw new IllegalArgumentException(
+          "Maximum reported rejections must not be negative, got " + maxReportedRejections
+      );
+    }
+
+    this.rules = rules;
+    this.blockSource = blockSource;
+    this.parallelism = parallelism;
+    this.creatorDomains = new DomainTable(creatorDomains);
+    this.maxReportedRejections = maxReportedRejections;
+  }
+
+  /**
+   * Replays the blocks of the range
+   *
+   * @param fromHeight first height, inclusive
+   * @param toHeight last height, inclusive
+   * @return {@link BacktestReport} of the run
+   */
+  public BacktestReport run(long fromHeight, long toHeight) {
+    if (fromHeight < 1 || toHeight < fromHeight) {
+      throw new IllegalArgumentException(
+          "Invalid blocks range [" + fromHeight + ", " + toHeight + "]"
+      );
+    }
+    final Run run = new Run(fromHeight);
+    final ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+    final long startTime = System.currentTimeMillis();
+    try {
+      final List<Future<?>> workers = new ArrayList<>(parallelism);
+      for (int i = 0; i < parallelism; i++) {
+        workers.add(executorService.submit(() -> {
+          long height;
+          while ((height = run.nextHeight.getAndIncrement()) <= toHeight) {
+            replay(run, height);
+          }
+        }));
+      }
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Backtesting has been interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Backtesting failed", e.getCause());
+    } finally {
+      executorService.shutdownNow();
+    }
+    return run.toReport(fromHeight, toHeight, System.currentTimeMillis() - startTime);
+  }
+
+  private void replay(Run run, long height) {
+    final Block block;
+    try {
+      block = blockSource.getBlock(height);
+    } catch (Exception e) {
+      logger.warn("Could not read block " + height, e);
+      run.missingBlocks.increment();
+      return;
+    }
+    if (block == null) {
+      run.missingBlocks.increment();
+      return;
+    }
+    run.blocks.increment();
+    final List<TransactionBatch> batches = toBatches(
+        block.getBlockV1().getPayload().getTransactionsList()
+    );
+    if (batches.isEmpty()) {
+      return;
+    }
+    final boolean[] rejected = new boolean[batches.size()];
+    for (RuleRun ruleRun : run.ruleRuns) {
+      BatchRule batchRule = ruleRun.batchRule;
+      try {
+        if (batchRule instanceof PrefetchingRule) {
+          batchRule = ((PrefetchingRule) batchRule).prefetch(batches);
+        }
+      } catch (Exception e) {
+        ruleRun.errors.add(batches.size());
+        continue;
+      }
+      for (int i = 0; i < batches.size(); i++) {
+        if (!ruleRun.appliesTo(batches.get(i))) {
+          continue;
+        }
+        final long startTime = System.nanoTime();
+        final ValidationResult result;
+        try {
+          result = batchRule.isSatisfiedBy(batches.get(i));
+        } catch (Exception e) {
+          ruleRun.errors.increment();
+          continue;
+        } finally {
+          ruleRun.evaluations.increment();
+          ruleRun.costNanos.add(System.nanoTime() - startTime);
+        }
+        if (result.getStatus() == Verdict.REJECTED) {
+          rejected[i] = true;
+          ruleRun.rejections.increment();
+          run.report(new Rejection(
+              height,
+              ValidationUtils.hexHash(batches.get(i)),
+              ruleRun.name,
+              result.getReason()
+          ));
+        }
+      }
+    }
+    for (int i = 0; i < batches.size(); i++) {
+      run.batches.increment();
+      run.transactions.add(batches.get(i).getTransactionList().size());
+      if (rejected[i]) {
+        run.rejectedBatches.increment();
+      }
+    }
+  }
+
+  /**
+   * Restores the atomic batches of the block. Transactions of a batch are stored one after another
+   * and share the batch meta
+   */
+  private List<TransactionBatch> toBatches(List<Transaction> transactions) {
+    final List<TransactionBatch> batches = new ArrayList<>();
+    List<Transaction> current = new ArrayList<>();
+    for (Transaction transaction : transactions) {
+      if (!current.isEmpty() && !isSameBatch(current.get(0), transaction)) {
+        addIfRelevant(batches, current);
+        current = new ArrayList<>();
+      }
+      current.add(transaction);
+    }
+    if (!current.isEmpty()) {
+      addIfRelevant(batches, current);
+    }
+    return batches;
+  }
+
+  private static boolean isSameBatch(Transaction first, Transaction transaction) {
+    return first.getPayload().hasBatch()
+        && transaction.getPayload().hasBatch()
+        && first.getPayload().getBatch().getReducedHashesList()
+        .equals(transaction.getPayload().getBatch().getReducedHashesList());
+  }
+
+  private void addIfRelevant(List<TransactionBatch> batches, List<Transaction> transactions) {
+    if (!creatorDomains.isEmpty() && transactions.stream().noneMatch(transaction ->
+        creatorDomains.containsDomainOf(
+            transaction.getPayload().getReducedPayload().getCreatorAccountId()
+        )
+    )) {
+      return;
+    }
+    batches.add(new TransactionBatch(transactions));
+  }
+
+  /**
+   * State of a single run shared by the workers
+   */
+  private class Run {
+
+    private final AtomicLong nextHeight;
+    private final List<RuleRun> ruleRuns;
+    private final LongAdder blocks = new LongAdder();
+    private final LongAdder missingBlocks = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder rejectedBatches = new LongAdder();
+    private final Queue<Rejection> rejections = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger reportedRejections = new AtomicInteger();
+
+    private Run(long fromHeight) {
+      this.nextHeight = new AtomicLong(fromHeight);
+      this.ruleRuns = rules.entrySet()
+          .stream()
+          .map(entry -> new RuleRun(entry.getKey(), entry.getValue()))
+          .collect(Collectors.toList());
+    }
+
+    private void report(Rejection rejection) {
+      if (reportedRejections.incrementAndGet() <= maxReportedRejections) {
+        rejections.add(rejection);
+      }
+    }
+
+    private BacktestReport toReport(long fromHeight, long toHeight, long elapsedMillis) {
+      final List<RuleReport> ruleReports = ruleRuns.stream()
+          .map(RuleRun::toReport)
+          .collect(Collectors.toList());
+      return new BacktestReport(
+          fromHeight,
+          toHeight,
+          blocks.sum(),
+          missingBlocks.sum(),
+          batches.sum(),
+          transactions.sum(),
+          rejectedBatches.sum(),
+          elapsedMillis,
+          ruleReports,
+          Collections.unmodifiableList(new ArrayList<>(rejections))
+      );
+    }
+  }
+
+  private static class RuleRun {
+
+    private final String name;
+    private final BatchRule batchRule;
+    private final RuleScope scope;
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder costNanos = new LongAdder();
+
+    private RuleRun(String name, Rule rule) {
+      this.name = name;
+      this.batchRule = BatchRule.of(rule);
+      this.scope = rule.getScope();
+    }
+
+    private boolean appliesTo(TransactionBatch transactionBatch) {
+      return scope.isGlobal() || transactionBatch.getTransactionList()
+          .stream()
+          .anyMatch(transaction -> scope.appliesTo(
+              transaction.getPayload().getReducedPayload().getCreatorAccountId()
+          ));
+    }
+
+    private RuleReport toReport() {
+      final long evaluated = evaluations.sum();
+      return new RuleReport(
+          name,
+          rejections.sum(),
+          errors.sum(),
+          evaluated == 0 ? 0 : costNanos.sum() / NANOS_IN_MICRO / evaluated
+      );
+    }
+  }
+}
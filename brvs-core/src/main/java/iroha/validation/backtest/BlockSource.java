@@ -0,0 +1,28 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.backtest;
+
+import iroha.protocol.BlockOuterClass.Block;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Source of committed Iroha blocks to replay. Implementations must be thread safe since blocks are
+ * read concurrently
+ */
+public interface BlockSource extends Closeable {
+
+  /**
+   * @param height height of the block
+   * @return block of the height or null if there is no such block
+   * @throws IOException if the block cannot be read
+   */
+  Block getBlock(long height) throws IOException;
+
+  @Override
+  default void close() throws IOException {
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.backtest;
+
+import iroha.protocol.BlockOuterClass.Block;
+import java.util.Objects;
+import jp.co.soramitsu.iroha.java.ErrorResponseException;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+
+/**
+ * Reads blocks with Iroha block queries. The query account needs the block reading permission
+ */
+public class QueryApiBlockSource implements BlockSource {
+
+  private final QueryAPI queryAPI;
+
+  public QueryApiBlockSource(QueryAPI queryAPI) {
+    Objects.requireNonNull(queryAPI, "QueryAPI must not be null");
+
+    this.queryAPI = queryAPI;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Block getBlock(long height) {
+    try {
+      return queryAPI.getBlock(height).getBlock();
+    } catch (ErrorResponseException e) {
+      // Iroha answers with an error for heights above the ledger top
+      return null;
+    }
+  }
+}
@@ -5,6 +5,7 @@
 
 package iroha.validation.config;
 
+import iroha.validation.executor.StageExecutors;
 import iroha.validation.rules.RuleMonitor;
 import iroha.validation.transactions.core.provider.RegistrationProvider;
 import iroha.validation.transactions.core.provider.TransactionProvider;
@@ -20,6 +21,9 @@ import java.util.Objects;
  */
 public class ValidationServiceContext {
 
+  private static final long DEFAULT_WINDOW_MILLIS = 100;
+  private static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
   private final Validator validator;
   private final TransactionProvider transactionProvider;
   private final TransactionSigner transactionSigner;
@@ -27,6 +31,9 @@ public class ValidationServiceContext {
   private final BrvsData brvsData;
   private final RuleMonitor ruleMonitor;
   private final List<StartupLogic> startupLogicList;
+  private final StageExecutors stageExecutors;
+  private final long windowMillis;
+  private final int maxBatchSize;
 
   public ValidationServiceContext(
       Validator validator,
@@ -36,12 +43,95 @@ public class ValidationServiceContext {
       BrvsData brvsData,
       RuleMonitor ruleMonitor,
       List<StartupLogic> startupLogicList) {
+    this(
+        validator,
+        transactionProvider,
+        transactionSigner,
+        registrationProvider,
+        brvsData,
+        ruleMonitor,
+        startupLogicList,
+        StageExecutors.builder().build()
+    );
+  }
+
+  public ValidationServiceContext(
+      Validator validator,
+      TransactionProvider transactionProvider,
+      TransactionSigner transactionSigner,
+      RegistrationProvider registrationProvider,
+      BrvsData brvsData,
+      RuleMonitor ruleMonitor,
+      List<StartupLogic> startupLogicList,
+      StageExecutors stageExecutors) {
+    this(
+        validator,
+        transactionProvider,
+        transactionSigner,
+        registrationProvider,
+        brvsData,
+        ruleMonitor,
+        startupLogicList,
+        stageExecutors,
+        DEFAULT_WINDOW_MILLIS,
+        DEFAULT_MAX_BATCH_SIZE
+    );
+  }
+
+  public ValidationServiceContext(
+      Validator validator,
+      TransactionProvider transactionProvider,
+      TransactionSigner transactionSigner,
+      RegistrationProvider registrationProvider,
+      BrvsData brvsData,
+      RuleMonitor ruleMonitor,
+      List<StartupLogic> startupLogicList,
+      StageExecutors stageExecutors,
+      String windowMillis,
+      String maxBatchSize) {
+    this(
+        validator,
+        transactionProvider,
+        transactionSigner,
+        registrationProvider,
+        brvsData,
+        ruleMonitor,
+        startupLogicList,
+        stageExecutors,
+        Long.parseLong(windowMillis),
+        Integer.parseInt(maxBatchSize)
+    );
+  }
+
+  /**
+   * @param windowMillis time pending batches are accumulated for to be validated together
+   * @param maxBatchSize amount of accumulated batches validated immediately without waiting for
+   * the window to end
+   */
+  public ValidationServiceContext(
+      Validator validator,
+      TransactionProvider transactionProvider,
+      TransactionSigner transactionSigner,
+      RegistrationProvider registrationProvider,
+      BrvsData brvsData,
+      RuleMonitor ruleMonitor,
+      List<StartupLogic> startupLogicList,
+      StageExecutors stageExecutors,
+      long windowMillis,
+      int maxBatchSize) {
     Objects.requireNonNull(validator, "Validator must not be null");
     Objects.requireNonNull(transactionProvider, "Transaction provider must not be null");
     Objects.requireNonNull(transactionSigner, "Transaction signer must not be null");
     Objects.requireNonNull(registrationProvider, "Registration provider must not be null");
     Objects.requireNonNull(brvsData, "BRVS data must not be null");
     Objects.requireNonNull(startupLogicList, "Startup logic list must not be null");
+    Objects.requireNonNull(stageExecutors, "Stage executors must not be null");
+    if (windowMillis < 1) {
+      throw new IllegalArgumentException("Window must be positive, got " + windowMillis);
+    }
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("Max batch size must be positive, got " + maxBatchSize);
+    }
 
     this.validator = validator;
     this.transactionProvider = transactionProvider;
@@ -50,6 +140,9 @@ public class ValidationServiceContext {
     this.brvsData = brvsData;
     this.ruleMonitor = ruleMonitor;
     this.startupLogicList = startupLogicList;
+    this.stageExecutors = stageExecutors;
+    this.windowMillis = windowMillis;
+    this.maxBatchSize = maxBatchSize;
   }
 
   public Validator getValidator() {
@@ -79,4 +172,16 @@ public class ValidationServiceContext {
   public List<StartupLogic> getStartupLogicList() {
     return startupLogicList;
   }
+
+  public StageExecutors getStageExecutors() {
+    return stageExecutors;
+  }
+
+  public long getWindowMillis() {
+    return windowMillis;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
 }
@@ -0,0 +1,21 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.executor;
+
+/**
+ * How the stages blocking on Iroha and MongoDB run their tasks
+ */
+public enum ExecutionMode {
+  /**
+   * Fixed pools of platform threads
+   */
+  PLATFORM,
+  /**
+   * A new virtual thread per task, the concurrency is limited by semaphores. Falls back to
+   * {@link #PLATFORM} if the JDK does not support virtual threads
+   */
+  VIRTUAL
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.executor;
+
+/**
+ * Point-in-time snapshot of a stage executor state
+ */
+public class ExecutorMetrics {
+
+  private final String name;
+  private final int poolSize;
+  private final int activeCount;
+  private final int queueSize;
+  private final int queueCapacity;
+  private final long completedTasks;
+  private final long rejectedTasks;
+  private final double averageTaskLatencyMillis;
+  private final double maxTaskLatencyMillis;
+
+  public ExecutorMetrics(String name,
+      int poolSize,
+      int activeCount,
+      int queueSize,
+      int queueCapacity,
+      long completedTasks,
+      long rejectedTasks,
+      double averageTaskLatencyMillis,
+      double maxTaskLatencyMillis) {
+    this.name = name;
+    this.poolSize = poolSize;
+    this.activeCount = activeCount;
+    this.queueSize = queueSize;
+    this.queueCapacity = queueCapacity;
+    this.completedTasks = completedTasks;
+    this.rejectedTasks = rejectedTasks;
+    this.averageTaskLatencyMillis = averageTaskLatencyMillis;
+    this.maxTaskLatencyMillis = maxTaskLatencyMillis;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  public int getActiveCount() {
+    return activeCount;
+  }
+
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public long getCompletedTasks() {
+    return completedTasks;
+  }
+
+  public long getRejectedTasks() {
+    return rejectedTasks;
+  }
+
+  /**
+   * @return average time between a task submission and its completion
+   */
+  public double getAverageTaskLatencyMillis() {
+    return averageTaskLatencyMillis;
+  }
+
+  public double getMaxTaskLatencyMillis() {
+    return maxTaskLatencyMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "Executor=" + name +
+        ";Active=" + activeCount + "/" + poolSize +
+        ";Queue=" + queueSize + "/" + queueCapacity +
+        ";Completed=" + completedTasks +
+        ";Rejected=" + rejectedTasks +
+        ";AvgLatencyMs=" + averageTaskLatencyMillis +
+        ";MaxLatencyMs=" + maxTaskLatencyMillis;
+  }
+}
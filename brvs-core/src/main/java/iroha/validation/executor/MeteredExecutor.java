@@ -0,0 +1,23 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.executor;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Stage executor keeping track of its load and task latencies
+ */
+public interface MeteredExecutor extends ExecutorService {
+
+  /**
+   * Takes a snapshot of the executor state
+   *
+   * @return {@link ExecutorMetrics} of the executor
+   */
+  ExecutorMetrics getMetrics();
+
+  String getName();
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.executor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor starting a new thread per task, meant to be used with virtual threads. Instead of a pool
+ * size and a queue the stage limits are enforced by semaphores: at most {@code poolSize} tasks run
+ * at once and at most {@code queueCapacity} more wait for a permit, parked in their own threads.
+ * Tasks exceeding both are handled according to the {@link RejectionPolicy}
+ */
+public class MeteredThreadPerTaskExecutor extends AbstractExecutorService implements
+    MeteredExecutor {
+
+  private static final double NANOS_IN_MILLI = 1_000_000d;
+
+  private final String name;
+  private final int poolSize;
+  private final int queueCapacity;
+  private final RejectionPolicy rejectionPolicy;
+  private final ThreadFactory threadFactory;
+  private final Semaphore running;
+  private final Semaphore admitted;
+  private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+  private final LongAdder completedTasks = new LongAdder();
+  private final LongAdder rejectedTasks = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+  private volatile boolean shutdown;
+
+  public MeteredThreadPerTaskExecutor(StageExecutorConfig config, ThreadFactory threadFactory) {
+    Objects.requireNonNull(config, "Stage config must not be null");
+    Objects.requireNonNull(threadFactory, "Thread factory must not be null");
+
+    this.name = config.getName();
+    this.poolSize = config.getPoolSize();
+    this.queueCapacity = config.getQueueCapacity();
+    this.rejectionPolicy = config.getRejectionPolicy();
+    this.threadFactory = threadFactory;
+    this.running = new Semaphore(poolSize);
+    this.admitted = new Semaphore(poolSize + queueCapacity);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    Objects.requireNonNull(command, "Task must not be null");
+    if (shutdown) {
+      throw new RejectedExecutionException("Executor " + name + " has been shut down");
+    }
+    if (!admitted.tryAcquire()) {
+      rejectedTasks.increment();
+      if (rejectionPolicy == RejectionPolicy.CALLER_RUNS) {
+        command.run();
+        return;
+      }
+      throw new RejectedExecutionException("Executor " + name + " is saturated");
+    }
+    final long submittedAt = System.nanoTime();
+    final Thread thread;
+    try {
+      thread = threadFactory.newThread(() -> runTask(command, submittedAt));
+      threads.add(thread);
+      thread.start();
+    } catch (RuntimeException | Error e) {
+      admitted.release();
+      throw e;
+    }
+  }
+
+  private void runTask(Runnable command, long submittedAt) {
+    try {
+      running.acquire();
+      try {
+        command.run();
+      } finally {
+        running.release();
+        completedTasks.increment();
+        final long latencyNanos = System.nanoTime() - submittedAt;
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+      }
+    } catch (InterruptedException e) {
+      // interrupted by shutdownNow while waiting for a permit, the task is dropped
+      Thread.currentThread().interrupt();
+    } finally {
+      threads.remove(Thread.currentThread());
+      admitted.release();
+      if (shutdown && threads.isEmpty()) {
+        synchronized (this) {
+          notifyAll();
+        }
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ExecutorMetrics getMetrics() {
+    final long completed = completedTasks.sum();
+    final int active = poolSize - running.availablePermits();
+    final int inFlight = poolSize + queueCapacity - admitted.availablePermits();
+    return new ExecutorMetrics(
+        name,
+        poolSize,
+        active,
+        Math.max(0, inFlight - active),
+        queueCapacity,
+        completed,
+        rejectedTasks.sum(),
+        completed == 0 ? 0 : totalLatencyNanos.sum() / NANOS_IN_MILLI / completed,
+        maxLatencyNanos.get() / NANOS_IN_MILLI
+    );
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+  }
+
+  /**
+   * Interrupts all the tasks. Tasks waiting for a permit are dropped, so the returned list is
+   * always empty
+   */
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown = true;
+    threads.forEach(Thread::interrupt);
+    return Collections.emptyList();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && threads.isEmpty();
+  }
+
+  @Override
+  public synchronized boolean awaitTermination(long timeout, TimeUnit unit)
+      throws InterruptedException {
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!isTerminated()) {
+      final long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return false;
+      }
+      TimeUnit.NANOSECONDS.timedWait(this, remaining);
+    }
+    return true;
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed size {@link ThreadPoolExecutor} with a bounded queue that keeps track of its load and task
+ * latencies
+ */
+public class MeteredThreadPoolExecutor extends ThreadPoolExecutor implements MeteredExecutor {
+
+  private static final double NANOS_IN_MILLI = 1_000_000d;
+
+  private final String name;
+  private final int queueCapacity;
+  private final LongAdder completedTasks = new LongAdder();
+  private final LongAdder rejectedTasks = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+  public MeteredThreadPoolExecutor(String moduleName, StageExecutorConfig config) {
+    super(
+        config.getPoolSize(),
+        config.getPoolSize(),
+        0L,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(config.getQueueCapacity()),
+        new NamedThreadFactory(moduleName, config.getName(), config.getThreadPriority())
+    );
+    this.name = config.getName();
+    this.queueCapacity = config.getQueueCapacity();
+    setRejectedExecutionHandler(
+        new CountingRejectedExecutionHandler(config.getRejectionPolicy().toHandler())
+    );
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    super.execute(new TimedTask(command));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ExecutorMetrics getMetrics() {
+    final long completed = completedTasks.sum();
+    return new ExecutorMetrics(
+        name,
+        getMaximumPoolSize(),
+        getActiveCount(),
+        getQueue().size(),
+        queueCapacity,
+        completed,
+        rejectedTasks.sum(),
+        completed == 0 ? 0 : totalLatencyNanos.sum() / NANOS_IN_MILLI / completed,
+        maxLatencyNanos.get() / NANOS_IN_MILLI
+    );
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  private void recordLatency(long latencyNanos) {
+    completedTasks.increment();
+    totalLatencyNanos.add(latencyNanos);
+    maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+  }
+
+  /**
+   * Wrapper measuring the time between the submission and the completion of a task
+   */
+  private class TimedTask implements Runnable {
+
+    private final Runnable delegate;
+    private final long submittedAt = System.nanoTime();
+
+    TimedTask(Runnable delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void run() {
+      try {
+        delegate.run();
+      } finally {
+        recordLatency(System.nanoTime() - submittedAt);
+      }
+    }
+  }
+
+  private class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+    private final RejectedExecutionHandler delegate;
+
+    CountingRejectedExecutionHandler(RejectedExecutionHandler delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+      rejectedTasks.increment();
+      delegate.rejectedExecution(runnable, executor);
+    }
+  }
+
+  private static class NamedThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+    private final String prefix;
+    private final int priority;
+
+    NamedThreadFactory(String moduleName, String threadName, int priority) {
+      this.prefix = moduleName + ":" + threadName + "-";
+      this.priority = priority;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      final Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+      thread.setPriority(priority);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.executor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Policies applied when a stage executor queue is full. Discarding policies are deliberately not
+ * supported since the pipeline must be notified about every dropped batch to release it for the
+ * next polling cycle
+ */
+public enum RejectionPolicy {
+  /**
+   * Throws {@link java.util.concurrent.RejectedExecutionException} to the submitter
+   */
+  ABORT {
+    @Override
+    RejectedExecutionHandler toHandler() {
+      return new ThreadPoolExecutor.AbortPolicy();
+    }
+  },
+  /**
+   * Runs the task in the submitting thread providing natural backpressure
+   */
+  CALLER_RUNS {
+    @Override
+    RejectedExecutionHandler toHandler() {
+      return new ThreadPoolExecutor.CallerRunsPolicy();
+    }
+  };
+
+  abstract RejectedExecutionHandler toHandler();
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.executor;
+
+import java.util.Objects;
+import org.springframework.util.StringUtils;
+
+/**
+ * Sizing of a single pipeline stage executor
+ */
+public class StageExecutorConfig {
+
+  private final String name;
+  private final int poolSize;
+  private final int queueCapacity;
+  private final RejectionPolicy rejectionPolicy;
+  private final int threadPriority;
+
+  public StageExecutorConfig(String name,
+      String poolSize,
+      String queueCapacity,
+      String rejectionPolicy) {
+    this(
+        name,
+        Integer.parseInt(poolSize),
+        Integer.parseInt(queueCapacity),
+        RejectionPolicy.valueOf(rejectionPolicy.toUpperCase())
+    );
+  }
+
+  public StageExecutorConfig(String name,
+      String poolSize,
+      String queueCapacity,
+      String rejectionPolicy,
+      String threadPriority) {
+    this(
+        name,
+        Integer.parseInt(poolSize),
+        Integer.parseInt(queueCapacity),
+        RejectionPolicy.valueOf(rejectionPolicy.toUpperCase()),
+        Integer.parseInt(threadPriority)
+    );
+  }
+
+  public StageExecutorConfig(String name,
+      int poolSize,
+      int queueCapacity,
+      RejectionPolicy rejectionPolicy) {
+    this(name, poolSize, queueCapacity, rejectionPolicy, Thread.NORM_PRIORITY);
+  }
+
+  /**
+   * @param threadPriority {@link Thread} priority of the stage threads, lower for background work
+   */
+  public StageExecutorConfig(String name,
+      int poolSize,
+      int queueCapacity,
+      RejectionPolicy rejectionPolicy,
+      int threadPriority) {
+    if (StringUtils.isEmpty(name)) {
+      throw new IllegalArgumentException("Stage name must not be neither null nor empty");
+    }
+    if (poolSize < 1) {
+      throw new IllegalArgumentException("Pool size must be positive, got " + poolSize);
+    }
+    if (queueCapacity < 1) {
+      throw new IllegalArgumentException("Queue capacity must be positive, got " + queueCapacity);
+    }
+    Objects.requireNonNull(rejectionPolicy, "Rejection policy must not be null");
+    if (threadPriority < Thread.MIN_PRIORITY || threadPriority > Thread.MAX_PRIORITY) {
+      throw new IllegalArgumentException("Invalid thread priority " + threadPriority);
+    }
+
+    this.name = name;
+    this.poolSize = poolSize;
+    this.queueCapacity = queueCapacity;
+    this.rejectionPolicy = rejectionPolicy;
+    this.threadPriority = threadPriority;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public RejectionPolicy getRejectionPolicy() {
+    return rejectionPolicy;
+  }
+
+  public int getThreadPriority() {
+    return threadPriority;
+  }
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.executor;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Explicitly sized executors of the BRVS pipeline stages. Every stage has a fixed amount of threads
+ * and a bounded queue, so a spike of pending transactions cannot spawn an unbounded amount of
+ * threads blocking on Iroha. In {@link ExecutionMode#VIRTUAL} mode the stages blocking on Iroha
+ * and MongoDB run every task in its own virtual thread instead, their pool sizes and queue
+ * capacities being enforced by semaphores
+ */
+public class StageExecutors implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(StageExecutors.class);
+  private static final String MODULE_NAME = "brvs";
+  private static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+  private final ExecutionMode executionMode;
+  private final MeteredExecutor validationExecutor;
+  private final MeteredExecutor signingExecutor;
+  private final MeteredExecutor registrationExecutor;
+  private final MeteredExecutor rulesExecutor;
+  private final MeteredExecutor cryptoExecutor;
+  private final MeteredExecutor shadowExecutor;
+  private final MeteredExecutor shadowRulesExecutor;
+  private final MeteredExecutor submissionExecutor;
+  private final MeteredExecutor compileExecutor;
+  private final MeteredExecutor smokeTestExecutor;
+
+  /**
+   * @param shadowRulesConfig config of the stage running the shadow rules within their time budget,
+   * must use the abort rejection policy
+   * @param submissionConfig config of the stage sending signed batches to Iroha, its pool size
+   * bounds the amount of submissions in flight, batches are deferred to the next poll when it is
+   * saturated
+   * @param compileConfig config of the stage compiling the repository rules, must use the abort
+   * rejection policy
+   * @param smokeTestConfig config of the stage checking compiled rules on recent transactions, must
+   * use the abort rejection policy
+   * @param executionMode {@link ExecutionMode} name of the validation, signing, registration, rules
+   * and submission stages, the CPU bound crypto, shadow, shadow rules, compile and smoke test
+   * stages always use platform threads
+   */
+  public StageExecutors(
+      StageExecutorConfig validationConfig,
+      StageExecutorConfig signingConfig,
+      StageExecutorConfig registrationConfig,
+      StageExecutorConfig rulesConfig,
+      StageExecutorConfig cryptoConfig,
+      StageExecutorConfig shadowConfig,
+      StageExecutorConfig shadowRulesConfig,
+      StageExecutorConfig submissionConfig,
+      StageExecutorConfig compileConfig,
+      StageExecutorConfig smokeTestConfig,
+      String executionMode) {
+    this(builder()
+        .validation(validationConfig)
+        .signing(signingConfig)
+        .registration(registrationConfig)
+        .rules(rulesConfig)
+        .crypto(cryptoConfig)
+        .shadow(shadowConfig)
+        .shadowRules(shadowRulesConfig)
+        .submission(submissionConfig)
+        .compile(compileConfig)
+        .smokeTest(smokeTestConfig)
+        .executionMode(ExecutionMode.valueOf(executionMode.toUpperCase()))
+    );
+  }
+
+  private StageExecutors(Builder builder) {
+    Objects.requireNonNull(builder.validationConfig, "Validation stage config must not be null");
+    Objects.requireNonNull(builder.signingConfig, "Signing stage config must not be null");
+    Objects.requireNonNull(
+        builder.registrationConfig, "Registration stage config must not be null"
+    );
+    Objects.requireNonNull(builder.rulesConfig, "Rules stage config must not be null");
+    Objects.requireNonNull(builder.cryptoConfig, "Crypto stage config must not be null");
+    Objects.requireNonNull(builder.shadowConfig, "Shadow stage config must not be null");
+    Objects.requireNonNull(
+        builder.shadowRulesConfig, "Shadow rules stage config must not be null"
+    );
+    Objects.requireNonNull(builder.submissionConfig, "Submission stage config must not be null");
+    Objects.requireNonNull(builder.compileConfig, "Compile stage config must not be null");
+    Objects.requireNonNull(builder.smokeTestConfig, "Smoke test stage config must not be null");
+    // rules run by the caller would escape their time budget
+    if (builder.rulesConfig.getRejectionPolicy() != RejectionPolicy.ABORT) {
+      throw new IllegalArgumentException("Rules stage must use the abort rejection policy");
+    }
+    // shadow rules run by the shadow stage would escape their time budget
+    if (builder.shadowRulesConfig.getRejectionPolicy() != RejectionPolicy.ABORT) {
+      throw new IllegalArgumentException("Shadow rules stage must use the abort rejection policy");
+    }
+    // the submitting signing threads must never run the sends and their retries themselves
+    if (builder.submissionConfig.getRejectionPolicy() != RejectionPolicy.ABORT) {
+      throw new IllegalArgumentException("Submission stage must use the abort rejection policy");
+    }
+    // compilations run by the caller would block the rules updates processing
+    if (builder.compileConfig.getRejectionPolicy() != RejectionPolicy.ABORT) {
+      throw new IllegalArgumentException("Compile stage must use the abort rejection policy");
+    }
+    // checks run by the caller would escape their timeout
+    if (builder.smokeTestConfig.getRejectionPolicy() != RejectionPolicy.ABORT) {
+      throw new IllegalArgumentException("Smoke test stage must use the abort rejection policy");
+    }
+    Objects.requireNonNull(builder.executionMode, "Execution mode must not be null");
+
+    if (builder.executionMode == ExecutionMode.VIRTUAL && !VirtualThreads.isSupported()) {
+      logger.warn("Virtual threads are not supported by the JDK, falling back to platform threads");
+      this.executionMode = ExecutionMode.PLATFORM;
+    } else {
+      this.executionMode = builder.executionMode;
+    }
+    this.validationExecutor = createBlockingStageExecutor(builder.validationConfig);
+    this.signingExecutor = createBlockingStageExecutor(builder.signingConfig);
+    this.registrationExecutor = createBlockingStageExecutor(builder.registrationConfig);
+    this.rulesExecutor = createBlockingStageExecutor(builder.rulesConfig);
+    this.cryptoExecutor = new MeteredThreadPoolExecutor(MODULE_NAME, builder.cryptoConfig);
+    this.shadowExecutor = new MeteredThreadPoolExecutor(MODULE_NAME, builder.shadowConfig);
+    this.shadowRulesExecutor = new MeteredThreadPoolExecutor(
+        MODULE_NAME, builder.shadowRulesConfig
+    );
+    this.submissionExecutor = createBlockingStageExecutor(builder.submissionConfig);
+    this.compileExecutor = new MeteredThreadPoolExecutor(MODULE_NAME, builder.compileConfig);
+    this.smokeTestExecutor = new MeteredThreadPoolExecutor(MODULE_NAME, builder.smokeTestConfig);
+  }
+
+  /**
+   * @return {@link Builder} having every stage configured by default
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private MeteredExecutor createBlockingStageExecutor(StageExecutorConfig config) {
+    if (executionMode == ExecutionMode.VIRTUAL) {
+      return new MeteredThreadPerTaskExecutor(
+          config,
+          VirtualThreads.newThreadFactory(MODULE_NAME + ":" + config.getName() + "-")
+      );
+    }
+    return new MeteredThreadPoolExecutor(MODULE_NAME, config);
+  }
+
+  /**
+   * @return {@link ExecutionMode} actually used by the blocking stages
+   */
+  public ExecutionMode getExecutionMode() {
+    return executionMode;
+  }
+
+  /**
+   * @return executor running pending batches validation
+   */
+  public ExecutorService getValidationExecutor() {
+    return validationExecutor;
+  }
+
+  /**
+   * @return executor signing validated batches and sending them to Iroha
+   */
+  public ExecutorService getSigningExecutor() {
+    return signingExecutor;
+  }
+
+  /**
+   * @return executor running user accounts registration
+   */
+  public ExecutorService getRegistrationExecutor() {
+    return registrationExecutor;
+  }
+
+  /**
+   * @return executor running independent validation rules concurrently
+   */
+  public ExecutorService getRulesExecutor() {
+    return rulesExecutor;
+  }
+
+  /**
+   * @return executor running signatures cryptography
+   */
+  public ExecutorService getCryptoExecutor() {
+    return cryptoExecutor;
+  }
+
+  /**
+   * @return executor running shadow rules, its tasks are dropped when it is saturated
+   */
+  public ExecutorService getShadowExecutor() {
+    return shadowExecutor;
+  }
+
+  /**
+   * @return executor running shadow rules within their time budget on behalf of the shadow stage
+   */
+  public ExecutorService getShadowRulesExecutor() {
+    return shadowRulesExecutor;
+  }
+
+  /**
+   * @return executor sending signed batches to Iroha
+   */
+  public ExecutorService getSubmissionExecutor() {
+    return submissionExecutor;
+  }
+
+  /**
+   * @return executor compiling the repository rules, its metrics include compilation latencies
+   */
+  public ExecutorService getCompileExecutor() {
+    return compileExecutor;
+  }
+
+  /**
+   * @return executor checking compiled rules on recent transactions before they are installed
+   */
+  public ExecutorService getSmokeTestExecutor() {
+    return smokeTestExecutor;
+  }
+
+  /**
+   * Takes a snapshot of all the stage executors states
+   *
+   * @return {@link List} of {@link ExecutorMetrics} per stage
+   */
+  public List<ExecutorMetrics> getMetrics() {
+    return getExecutors()
+        .stream()
+        .map(MeteredExecutor::getMetrics)
+        .collect(Collectors.toList());
+  }
+
+  private List<MeteredExecutor> getExecutors() {
+    return Arrays.asList(
+        validationExecutor,
+        signingExecutor,
+        registrationExecutor,
+        rulesExecutor,
+        cryptoExecutor,
+        shadowExecutor,
+        shadowRulesExecutor,
+        submissionExecutor,
+        compileExecutor,
+        smokeTestExecutor
+    );
+  }
+
+  @Override
+  public void close() {
+    getExecutors().forEach(ExecutorService::shutdownNow);
+  }
+
+  /**
+   * Builder of {@link StageExecutors}, stages not configured explicitly get the default configs
+   */
+  public static class Builder {
+
+    private StageExecutorConfig validationConfig = new StageExecutorConfig(
+        "validation", 1, DEFAULT_QUEUE_CAPACITY, RejectionPolicy.ABORT
+    );
+    private StageExecutorConfig signingConfig = new StageExecutorConfig(
+        "signing", 8, DEFAULT_QUEUE_CAPACITY, RejectionPolicy.CALLER_RUNS
+    );
+    private StageExecutorConfig registrationConfig = new StageExecutorConfig(
+        "registration", 8, DEFAULT_QUEUE_CAPACITY, RejectionPolicy.CALLER_RUNS
+    );
+    private StageExecutorConfig rulesConfig = new StageExecutorConfig(
+        "rules", 16, DEFAULT_QUEUE_CAPACITY, RejectionPolicy.ABORT
+    );
+    // signature checks are CPU bound
+    private StageExecutorConfig cryptoConfig = new StageExecutorConfig(
+        "crypto",
+        Runtime.getRuntime().availableProcessors(),
+        DEFAULT_QUEUE_CAPACITY,
+        RejectionPolicy.CALLER_RUNS
+    );
+    // shadow rules must never compete with the production stages
+    private StageExecutorConfig shadowConfig = new StageExecutorConfig(
+        "shadow",
+        Math.max(1, Runtime.getRuntime().availableProcessors() / 4),
+        64,
+        RejectionPolicy.ABORT,
+        Thread.MIN_PRIORITY
+    );
+    private StageExecutorConfig shadowRulesConfig = new StageExecutorConfig(
+        "shadow-rules",
+        Math.max(2, Runtime.getRuntime().availableProcessors() / 4),
+        64,
+        RejectionPolicy.ABORT,
+        Thread.MIN_PRIORITY
+    );
+    private StageExecutorConfig submissionConfig = new StageExecutorConfig(
+        "submission", 16, DEFAULT_QUEUE_CAPACITY, RejectionPolicy.ABORT
+    );
+    private StageExecutorConfig compileConfig = new StageExecutorConfig(
+        "compile",
+        Math.max(2, Runtime.getRuntime().availableProcessors()),
+        256,
+        RejectionPolicy.ABORT
+    );
+    private StageExecutorConfig smokeTestConfig = new StageExecutorConfig(
+        "smoke-test",
+        Math.max(2, Runtime.getRuntime().availableProcessors()),
+        256,
+        RejectionPolicy.ABORT
+    );
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+
+    private Builder() {
+    }
+
+    public Builder validation(StageExecutorConfig validationConfig) {
+      this.validationConfig = validationConfig;
+      return this;
+    }
+
+    public Builder signing(StageExecutorConfig signingConfig) {
+      this.signingConfig = signingConfig;
+      return this;
+    }
+
+    public Builder registration(StageExecutorConfig registrationConfig) {
+      this.registrationConfig = registrationConfig;
+      return this;
+    }
+
+    /**
+     * @param rulesConfig config of the rules stage, must use the abort rejection policy
+     */
+    public Builder rules(StageExecutorConfig rulesConfig) {
+      this.rulesConfig = rulesConfig;
+      return this;
+    }
+
+    public Builder crypto(StageExecutorConfig cryptoConfig) {
+      this.cryptoConfig = cryptoConfig;
+      return this;
+    }
+
+    public Builder shadow(StageExecutorConfig shadowConfig) {
+      this.shadowConfig = shadowConfig;
+      return this;
+    }
+
+    /**
+     * @param shadowRulesConfig config of the shadow rules stage, must use the abort rejection
+     * policy
+     */
+    public Builder shadowRules(StageExecutorConfig shadowRulesConfig) {
+      this.shadowRulesConfig = shadowRulesConfig;
+      return this;
+    }
+
+    /**
+     * @param submissionConfig config of the submission stage, must use the abort rejection policy
+     */
+    public Builder submission(StageExecutorConfig submissionConfig) {
+      this.submissionConfig = submissionConfig;
+      return this;
+    }
+
+    /**
+     * @param compileConfig config of the compile stage, must use the abort rejection policy
+     */
+    public Builder compile(StageExecutorConfig compileConfig) {
+      this.compileConfig = compileConfig;
+      return this;
+    }
+
+    /**
+     * @param smokeTestConfig config of the smoke test stage, must use the abort rejection policy
+     */
+    public Builder smokeTest(StageExecutorConfig smokeTestConfig) {
+      this.smokeTestConfig = smokeTestConfig;
+      return this;
+    }
+
+    public Builder executionMode(ExecutionMode executionMode) {
+      this.executionMode = executionMode;
+      return this;
+    }
+
+    public StageExecutors build() {
+      return new StageExecutors(this);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.executor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to the virtual threads of JDK 21+ while the project is still compiled for Java 8
+ */
+public final class VirtualThreads {
+
+  private static final Method OF_VIRTUAL = findOfVirtual();
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * @return true if the running JDK supports virtual threads
+   */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * Creates a factory of virtual threads named {@code <prefix><counter>}
+   *
+   * @param prefix thread names prefix
+   * @return {@link ThreadFactory} of virtual threads
+   * @throws UnsupportedOperationException if the JDK does not support virtual threads
+   */
+  public static ThreadFactory newThreadFactory(String prefix) {
+    if (OF_VIRTUAL == null) {
+      throw new UnsupportedOperationException("Virtual threads are not supported by the JDK");
+    }
+    try {
+      final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      final Object builder = builderClass
+          .getMethod("name", String.class, long.class)
+          .invoke(OF_VIRTUAL.invoke(null), prefix, 1L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Could not create a virtual thread factory", e);
+    }
+  }
+
+  private static Method findOfVirtual() {
+    try {
+      final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+      // throws on the JDKs having virtual threads as a disabled preview feature
+      ofVirtual.invoke(null);
+      return ofVirtual;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+}
@@ -5,6 +5,8 @@
 
 package iroha.validation.rest;
 
+import iroha.validation.executor.StageExecutors;
+import iroha.validation.validators.Validator;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.inject.Inject;
@@ -26,6 +28,12 @@ public class ServiceController {
   @Inject
   private AtomicReference<Instant> lastQueryingTimestamp;
 
+  @Inject
+  private StageExecutors stageExecutors;
+
+  @Inject
+  private Validator validator;
+
   @GET
   @Path("/actuator/health")
   @Produces(MediaType.APPLICATION_JSON)
@@ -36,4 +44,25 @@ public class ServiceController {
     }
     return Response.ok(UP).build();
   }
+
+  @GET
+  @Path("/actuator/executors")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response getExecutorsMetrics() {
+    return Response.ok(stageExecutors.getMetrics()).build();
+  }
+
+  @GET
+  @Path("/actuator/rules")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response getRulesStatistics() {
+    return Response.ok(validator.getRuleStatistics()).build();
+  }
+
+  @GET
+  @Path("/actuator/rules/shadow")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response getShadowRulesStatistics() {
+    return Response.ok(validator.getShadowRuleStatistics()).build();
+  }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Bytecode of all the classes generated from a rule script
+ */
+class CompiledRule {
+
+  private final String mainClassName;
+  private final Map<String, byte[]> classes;
+
+  CompiledRule(String mainClassName, Map<String, byte[]> classes) {
+    if (!classes.containsKey(mainClassName)) {
+      throw new IllegalArgumentException("No bytecode of the rule class " + mainClassName);
+    }
+    this.mainClassName = mainClassName;
+    this.classes = Collections.unmodifiableMap(classes);
+  }
+
+  String getMainClassName() {
+    return mainClassName;
+  }
+
+  Map<String, byte[]> getClasses() {
+    return classes;
+  }
+
+  /**
+   * Defines the classes in a class loader of their own, so they can be unloaded once the rule is
+   * not used anymore
+   *
+   * @param parent class loader providing Groovy runtime and {@link Rule} API
+   * @return main class of the rule script
+   */
+  Class<?> load(ClassLoader parent) throws ClassNotFoundException {
+    return Class.forName(mainClassName, false, new RuleClassLoader(parent, classes));
+  }
+
+  private static class RuleClassLoader extends ClassLoader {
+
+    private final Map<String, byte[]> classes;
+
+    RuleClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+      super(parent);
+      this.classes = classes;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+      final byte[] bytecode = classes.get(name);
+      if (bytecode == null) {
+        throw new ClassNotFoundException(name);
+      }
+      return defineClass(name, bytecode, 0, bytecode.length);
+    }
+  }
+}
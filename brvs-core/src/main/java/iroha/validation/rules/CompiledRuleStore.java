@@ -0,0 +1,155 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+import groovy.lang.GroovySystem;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local disk storage of compiled rules. Entries are keyed by script hash, compilation mode and
+ * Groovy version, so a changed script or a Groovy upgrade leads to a recompilation. Every entry
+ * ends with a digest of its content and entries failing the check are discarded. The digest only
+ * protects against corrupted files, the directory must not be writable by anyone but BRVS
+ */
+class CompiledRuleStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(CompiledRuleStore.class);
+  private static final int FORMAT_VERSION = 1;
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+  private static final String FILE_EXTENSION = ".rule";
+
+  private final Path directory;
+  private final String groovyVersion = GroovySystem.getVersion();
+
+  CompiledRuleStore(Path directory) throws IOException {
+    Objects.requireNonNull(directory, "Compiled rules directory must not be null");
+    this.directory = Files.createDirectories(directory);
+  }
+
+  /**
+   * Reads a compiled rule
+   *
+   * @param scriptHash hash of the rule script
+   * @param compilationMode mode the script is compiled in
+   * @return {@link CompiledRule} or null if there is no valid entry for the script
+   */
+  CompiledRule read(String scriptHash, RuleCompilationMode compilationMode) {
+    final Path path = getPath(scriptHash, compilationMode);
+    if (!Files.exists(path)) {
+      return null;
+    }
+    try {
+      final byte[] content = Files.readAllBytes(path);
+      final int digestLength = MessageDigest.getInstance(DIGEST_ALGORITHM).getDigestLength();
+      if (content.length < digestLength) {
+        throw new IOException("Truncated file");
+      }
+      final int dataLength = content.length - digestLength;
+      final byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(
+          Arrays.copyOf(content, dataLength)
+      );
+      if (!MessageDigest.isEqual(digest, Arrays.copyOfRange(content, dataLength, content.length))) {
+        throw new IOException("Digest mismatch");
+      }
+      try (DataInputStream input = new DataInputStream(
+          new ByteArrayInputStream(content, 0, dataLength))) {
+        if (input.readInt() != FORMAT_VERSION
+            || !input.readUTF().equals(scriptHash)
+            || !input.readUTF().equals(compilationMode.name())
+            || !input.readUTF().equals(groovyVersion)) {
+          throw new IOException("Entry does not match the script");
+        }
+        final String mainClassName = input.readUTF();
+        final int classesCount = input.readInt();
+        final Map<String, byte[]> classes = new HashMap<>(classesCount * 2);
+        for (int i = 0; i < classesCount; i++) {
+          final String className = input.readUTF();
+          final byte[] bytecode = new byte[input.readInt()];
+          input.readFully(bytecode);
+          classes.put(className, bytecode);
+        }
+        return new CompiledRule(mainClassName, classes);
+      }
+    } catch (Exception e) {
+      logger.warn("Discarding invalid compiled rule file " + path, e);
+      delete(path);
+      return null;
+    }
+  }
+
+  /**
+   * Stores a compiled rule. Failures are logged, since the store is an optimization only
+   *
+   * @param scriptHash hash of the rule script
+   * @param compilationMode mode the script has been compiled in
+   * @param compiledRule {@link CompiledRule} to store
+   */
+  void write(String scriptHash, RuleCompilationMode compilationMode, CompiledRule compiledRule) {
+    final Path path = getPath(scriptHash, compilationMode);
+    Path temporaryPath = null;
+    try {
+      final ByteArrayOutputStream content = new ByteArrayOutputStream();
+      try (DataOutputStream output = new DataOutputStream(content)) {
+        output.writeInt(FORMAT_VERSION);
+        output.writeUTF(scriptHash);
+        output.writeUTF(compilationMode.name());
+        output.writeUTF(groovyVersion);
+        output.writeUTF(compiledRule.getMainClassName());
+        output.writeInt(compiledRule.getClasses().size());
+        for (Map.Entry<String, byte[]> entry : compiledRule.getClasses().entrySet()) {
+          output.writeUTF(entry.getKey());
+          output.writeInt(entry.getValue().length);
+          output.write(entry.getValue());
+        }
+      }
+      content.write(MessageDigest.getInstance(DIGEST_ALGORITHM).digest(content.toByteArray()));
+      // readers never see partially written entries
+      temporaryPath = Files.createTempFile(directory, scriptHash, ".tmp");
+      Files.write(temporaryPath, content.toByteArray());
+      try {
+        Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException | NoSuchAlgorithmException e) {
+      logger.warn("Could not store compiled rule file " + path, e);
+      if (temporaryPath != null) {
+        delete(temporaryPath);
+      }
+    }
+  }
+
+  private Path getPath(String scriptHash, RuleCompilationMode compilationMode) {
+    return directory.resolve(
+        scriptHash + "-" + compilationMode.name().toLowerCase() + "-" + groovyVersion
+            + FILE_EXTENSION
+    );
+  }
+
+  private static void delete(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      logger.warn("Could not delete file " + path, e);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+import groovy.transform.CompileStatic;
+import groovy.transform.TypeChecked;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.customizers.ASTTransformationCustomizer;
+
+/**
+ * Groovy compilation modes of repository rules
+ */
+public enum RuleCompilationMode {
+  /**
+   * Plain Groovy with dynamic dispatch, accepts any valid script
+   */
+  DYNAMIC,
+  /**
+   * Dynamic dispatch, but the script is type checked at compile time
+   */
+  TYPE_CHECKED,
+  /**
+   * Statically compiled script with direct method calls, the fastest option. Scripts relying on
+   * dynamic Groovy features do not compile in this mode
+   */
+  STATIC;
+
+  /**
+   * @return {@link CompilerConfiguration} applying the mode to every compiled class
+   */
+  CompilerConfiguration toCompilerConfiguration() {
+    final CompilerConfiguration compilerConfiguration = new CompilerConfiguration();
+    switch (this) {
+      case TYPE_CHECKED:
+        compilerConfiguration
+            .addCompilationCustomizers(new ASTTransformationCustomizer(TypeChecked.class));
+        break;
+      case STATIC:
+        compilerConfiguration
+            .addCompilationCustomizers(new ASTTransformationCustomizer(CompileStatic.class));
+        break;
+      default:
+        break;
+    }
+    return compilerConfiguration;
+  }
+}
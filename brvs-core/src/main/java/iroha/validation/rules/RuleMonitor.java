@@ -9,14 +9,36 @@ import static com.d3.commons.util.ThreadUtilKt.createPrettySingleThreadPool;
 
 import com.d3.commons.sidechain.iroha.util.IrohaQueryHelper;
 import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
 import io.reactivex.schedulers.Schedulers;
 import iroha.protocol.Commands.Command;
 import iroha.protocol.Commands.SetAccountDetail;
+import iroha.protocol.TransactionOuterClass.Transaction;
 import iroha.protocol.TransactionOuterClass.Transaction.Payload.ReducedPayload;
+import iroha.validation.executor.StageExecutors;
 import iroha.validation.listener.BrvsIrohaChainListener;
+import iroha.validation.utils.ValidationUtils;
 import iroha.validation.validators.Validator;
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import jp.co.soramitsu.iroha.java.QueryAPI;
 import jp.co.soramitsu.iroha.java.Utils;
 import org.slf4j.Logger;
@@ -24,11 +46,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
 /**
- * Class for listening for blocks and react on rules configuration updates
+ * Class for listening for blocks and react on rules configuration updates. A rule setting is
+ * {@code true} to enable the rule, {@code shadow} to evaluate it without affecting the verdicts or
+ * anything else to disable it
  */
-public class RuleMonitor {
+public class RuleMonitor implements Closeable {
 
   private static final Logger logger = LoggerFactory.getLogger(RuleMonitor.class);
+  private static final int SMOKE_TEST_TRANSACTIONS = 32;
+  private static final long SMOKE_TEST_TIMEOUT_MILLIS = 5000;
+  private static final String SHADOW_VALUE = "shadow";
 
   private final Scheduler scheduler = Schedulers.from(createPrettySingleThreadPool(
       "rule-monitor", "chain-listener"
@@ -39,7 +66,14 @@ public class RuleMonitor {
   private final String setterAccountId;
   private final Validator validator;
   private boolean isStarted;
+  private Disposable blocksDisposable;
   private final IrohaQueryHelper irohaQueryHelper;
+  private final RuleParser ruleParser;
+  private final ExecutorService compileExecutor;
+  // a rule hanging on the recent transactions fails the check instead of blocking its compilation
+  private final ExecutorService smokeTestExecutor;
+  private final Map<String, AtomicLong> ruleGenerations = new ConcurrentHashMap<>();
+  private final Deque<Transaction> recentTransactions = new ArrayDeque<>(SMOKE_TEST_TRANSACTIONS);
 
   public RuleMonitor(QueryAPI queryAPI,
       BrvsIrohaChainListener irohaChainListener,
@@ -47,7 +81,35 @@ public class RuleMonitor {
       String settingsAccountId,
       String setterAccountId,
       Validator validator,
-      IrohaQueryHelper irohaQueryHelper) {
+      IrohaQueryHelper irohaQueryHelper,
+      StageExecutors stageExecutors) {
+    this(
+        queryAPI,
+        irohaChainListener,
+        repositoryAccountId,
+        settingsAccountId,
+        setterAccountId,
+        validator,
+        irohaQueryHelper,
+        new RuleParser(),
+        stageExecutors
+    );
+  }
+
+  /**
+   * @param stageExecutors {@link StageExecutors} providing the compile and the smoke test stages,
+   * so their metrics are reported along with the other stages
+   */
+
+  public RuleMonitor(QueryAPI queryAPI,
+      BrvsIrohaChainListener irohaChainListener,
+      String repositoryAccountId,
+      String settingsAccountId,
+      String setterAccountId,
+      Validator validator,
+      IrohaQueryHelper irohaQueryHelper,
+      RuleParser ruleParser,
+      StageExecutors stageExecutors) {
     Objects.requireNonNull(queryAPI, "QueryAPI must not be null");
     Objects.requireNonNull(irohaChainListener, "IrohaChainListener must not be null");
     if (StringUtils.isEmpty(repositoryAccountId)) {
@@ -63,6 +125,8 @@ public class RuleMonitor {
     }
     Objects.requireNonNull(validator, "ValidationServiceContext must not be null");
     Objects.requireNonNull(irohaQueryHelper, "IrohaQueryHelper must not be null");
+    Objects.requireNonNull(ruleParser, "RuleParser must not be null");
+    Objects.requireNonNull(stageExecutors, "StageExecutors must not be null");
 
     this.irohaChainListener = irohaChainListener;
     this.repositoryAccountId = repositoryAccountId;
@@ -70,82 +134,293 @@ public class RuleMonitor {
     this.setterAccountId = setterAccountId;
     this.validator = validator;
     this.irohaQueryHelper = irohaQueryHelper;
+    this.ruleParser = ruleParser;
+    this.compileExecutor = stageExecutors.getCompileExecutor();
+    this.smokeTestExecutor = stageExecutors.getSmokeTestExecutor();
   }
 
   /**
-   * Starts blocks processing
+   * Starts blocks processing and installs the rules enabled before the start
    */
   public synchronized void monitorUpdates() {
     if (isStarted) {
       return;
     }
     logger.info("Starting rules updates monitoring");
-    irohaChainListener.getBlockStreaming().observeOn(scheduler).subscribe(blockSubscription ->
-        blockSubscription.getBlock().getBlockV1().getPayload().getTransactionsList().stream()
-            .map(transaction -> transaction.getPayload().getReducedPayload())
-            .filter(
-                reducedPayload -> reducedPayload.getCreatorAccountId().equals(setterAccountId)
-            )
-            .map(ReducedPayload::getCommandsList)
-            .forEach(commands -> commands.stream()
-                .filter(Command::hasSetAccountDetail)
-                .map(Command::getSetAccountDetail)
-                .filter(
-                    setAccountDetail -> setAccountDetail.getAccountId()
-                        .equals(settingsAccountId)
-                )
-                .forEach(this::processUpdate)
-            )
-    );
+    blocksDisposable = irohaChainListener.getBlockStreaming().observeOn(scheduler)
+        .subscribe(blockSubscription -> {
+          final List<Transaction> transactions = blockSubscription.getBlock().getBlockV1()
+              .getPayload().getTransactionsList();
+          rememberTransactions(transactions);
+          transactions.stream()
+              .map(transaction -> transaction.getPayload().getReducedPayload())
+              .filter(
+                  reducedPayload -> reducedPayload.getCreatorAccountId().equals(setterAccountId)
+              )
+              .map(ReducedPayload::getCommandsList)
+              .forEach(commands -> commands.stream()
+                  .filter(Command::hasSetAccountDetail)
+                  .map(Command::getSetAccountDetail)
+                  .filter(
+                      setAccountDetail -> setAccountDetail.getAccountId()
+                          .equals(settingsAccountId)
+                  )
+                  .forEach(this::processUpdate)
+              );
+        });
+    // updates arriving during the loading supersede the loaded values
+    loadEnabledRules();
     isStarted = true;
   }
 
   /**
-   * Performs actual update of a rules list
+   * Reads all the enabled rules from the settings account and installs them. Compilation is done in
+   * parallel and the method returns once all the rules are processed, so the rules are in place
+   * before the first pending batch is validated
+   */
+  private void loadEnabledRules() {
+    final long startTime = System.currentTimeMillis();
+    final Map<String, Long> enabledRules = new HashMap<>();
+    final Set<String> shadowRules = new HashSet<>();
+    final Set<String> rules = validator.getRuleNames();
+    irohaQueryHelper.getAccountDetails(settingsAccountId, setterAccountId)
+        .get()
+        .forEach((ruleName, ruleValue) -> {
+          if (rules.contains(ruleName) || validator.getShadowRuleNames().contains(ruleName)) {
+            return;
+          }
+          if (isShadow(ruleValue)) {
+            shadowRules.add(ruleName);
+          } else if (!Boolean.parseBoolean(ruleValue)) {
+            return;
+          }
+          enabledRules.put(ruleName, getGeneration(ruleName).get());
+        });
+    if (enabledRules.isEmpty()) {
+      logger.info("No enabled repository rules found");
+      return;
+    }
+    final Map<String, String> repository = irohaQueryHelper
+        .getAccountDetails(repositoryAccountId, setterAccountId)
+        .get();
+    final List<Callable<Boolean>> tasks = new ArrayList<>(enabledRules.size());
+    enabledRules.forEach((ruleName, generation) ->
+        tasks.add(() -> compileAndInstall(
+            ruleName,
+            generation,
+            shadowRules.contains(ruleName),
+            () -> Utils.irohaUnEscape(Objects.requireNonNull(
+                repository.get(ruleName), "No such rule in the repository"
+            ))
+        ))
+    );
+    int installed = 0;
+    try {
+      for (Future<Boolean> result : compileExecutor.invokeAll(tasks)) {
+        if (result.get()) {
+          installed++;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted during enabled rules loading", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Error during enabled rules loading", e.getCause());
+    }
+    logger.info("Loaded {} of {} enabled rules in {} ms",
+        installed,
+        enabledRules.size(),
+        System.currentTimeMillis() - startTime
+    );
+  }
+
+  /**
+   * Performs actual update of a rules list. Rules are fetched and compiled in background, so the
+   * blocks processing is not blocked by slow compilations. Switching a rule between the shadow and
+   * the production mode recompiles it, so no state collected in one mode leaks to the other
    *
    * @param detail Iroha command to extract data from
    */
   private void processUpdate(SetAccountDetail detail) {
     final String ruleName = detail.getKey();
-    final boolean ruleValue = Boolean.parseBoolean(detail.getValue());
-    final Set<String> rules = validator.getRuleNames();
-    if (rules.contains(ruleName)) {
-      if (ruleValue) {
-        logger.warn("Rule [{}] has already been enabled", ruleName);
-      } else {
+    final boolean shadow = isShadow(detail.getValue());
+    final boolean ruleValue = shadow || Boolean.parseBoolean(detail.getValue());
+    final long generation;
+    synchronized (ruleGenerations) {
+      // any newer update of the rule makes the compilations in progress obsolete
+      generation = getGeneration(ruleName).incrementAndGet();
+      final boolean isEnabled = validator.getRuleNames().contains(ruleName);
+      final boolean isShadowed = validator.getShadowRuleNames().contains(ruleName);
+      if (ruleValue && (shadow ? isShadowed : isEnabled)) {
+        logger.warn("Rule [{}] has already been enabled{}", ruleName, shadow ? " in shadow" : "");
+        return;
+      }
+      if (isEnabled) {
         validator.removeRule(ruleName);
         logger.info("Disabled rule [{}]", ruleName);
       }
-    } else {
-      if (ruleValue) {
-        try {
-          validator.putRule(ruleName, parseRepositoryRule(ruleName));
-          logger.info("Enabled rule [{}]", ruleName);
-        } catch (Exception e) {
-          logger.error("Error during rule processing", e);
-        }
-      } else {
+      if (isShadowed) {
+        validator.removeShadowRule(ruleName);
+        logger.info("Disabled shadow rule [{}]", ruleName);
+      }
+      if (!ruleValue && !isEnabled && !isShadowed) {
         logger.warn("Rule [{}] has already been disabled", ruleName);
       }
     }
+    if (ruleValue) {
+      try {
+        compileExecutor.execute(() ->
+            compileAndInstall(ruleName, generation, shadow, () -> fetchRepositoryRule(ruleName))
+        );
+      } catch (RejectedExecutionException e) {
+        logger.error("Rule [{}] compilation queue is full, the rule is not enabled", ruleName);
+      }
+    }
+  }
+
+  private static boolean isShadow(String ruleValue) {
+    return SHADOW_VALUE.equalsIgnoreCase(ruleValue);
+  }
+
+  private AtomicLong getGeneration(String ruleName) {
+    return ruleGenerations.computeIfAbsent(ruleName, name -> new AtomicLong());
+  }
+
+  /**
+   * Compiles the rule, checks it against the recent transactions and puts it to the validator
+   * unless a newer update of the rule has arrived meanwhile
+   *
+   * @param ruleName Rule name to install
+   * @param generation update number of the rule the compilation was triggered by
+   * @param shadow true to install the rule as a shadow one
+   * @param scriptSupplier source of the rule script
+   * @return true if the rule has been installed
+   */
+  private boolean compileAndInstall(String ruleName,
+      long generation,
+      boolean shadow,
+      Supplier<String> scriptSupplier) {
+    try {
+      final long startTime = System.currentTimeMillis();
+      final String script = scriptSupplier.get();
+      final Rule rule = ruleParser.parse(script);
+      final long compiledTime = System.currentTimeMillis();
+      // rules may be stateful, so the check runs on a separate instance of the compiled class
+      smokeTest(ruleParser.parse(script));
+      final long checkedTime = System.currentTimeMillis();
+      synchronized (ruleGenerations) {
+        if (getGeneration(ruleName).get() != generation) {
+          logger.info("Rule [{}] has been updated during compilation, omitting", ruleName);
+          return false;
+        }
+        if (shadow) {
+          validator.putShadowRule(ruleName, rule);
+        } else {
+          validator.putRule(ruleName, rule);
+        }
+      }
+      logger.info("Enabled {}rule [{}], compiled in {} ms, checked in {} ms",
+          shadow ? "shadow " : "",
+          ruleName,
+          compiledTime - startTime,
+          checkedTime - compiledTime
+      );
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Rule [{}] processing has been interrupted", ruleName);
+      return false;
+    } catch (Exception e) {
+      logger.error("Error during rule [" + ruleName + "] processing", e);
+      return false;
+    }
   }
 
   /**
-   * Reads a rule from repository and instantiates it
+   * Makes sure the rule does not fail on the last {@value SMOKE_TEST_TRANSACTIONS} transactions
+   * within {@value SMOKE_TEST_TIMEOUT_MILLIS} ms. Verdicts are not checked. Rules having side
+   * effects, i.e. reserving limits, are not checked since they would consume shared resources
    *
-   * @param name Rule name to instantiate
-   * @return {@link Rule} object
+   * @param rule {@link Rule} to check
    */
-  private Rule parseRepositoryRule(String name) {
-    return RuleParser.parse(
-        Utils.irohaUnEscape(
-            Objects.requireNonNull(
-                irohaQueryHelper
-                    .getAccountDetails(repositoryAccountId, setterAccountId, name)
-                    .get()
-                    .orElse(null)
-            )
+  private void smokeTest(Rule rule) throws InterruptedException {
+    if (rule instanceof ReservingRule
+        || rule.getOrderingConstraint() == RuleOrderingConstraint.LAST) {
+      logger.info("Rule {} may have side effects, skipping the check", rule.getClass().getName());
+      return;
+    }
+    final List<Transaction> transactions;
+    synchronized (recentTransactions) {
+      transactions = new ArrayList<>(recentTransactions);
+    }
+    if (transactions.isEmpty()) {
+      return;
+    }
+    final Future<?> check;
+    try {
+      check = smokeTestExecutor.submit(() -> {
+        for (Transaction transaction : transactions) {
+          try {
+            Objects.requireNonNull(rule.isSatisfiedBy(transaction), "Rule returned null verdict");
+          } catch (Exception e) {
+            throw new IllegalArgumentException(
+                "Rule fails on transaction " + ValidationUtils.hexHash(transaction), e
+            );
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      throw new IllegalStateException("Rule check queue is full", e);
+    }
+    try {
+      check.get(SMOKE_TEST_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      throw new IllegalArgumentException(e.getCause().getMessage(), e.getCause().getCause());
+    } catch (TimeoutException e) {
+      check.cancel(true);
+      throw new IllegalArgumentException(
+          "Rule has not checked " + transactions.size() + " transactions in "
+              + SMOKE_TEST_TIMEOUT_MILLIS + " ms"
+      );
+    }
+  }
+
+  private void rememberTransactions(List<Transaction> transactions) {
+    synchronized (recentTransactions) {
+      for (Transaction transaction : transactions) {
+        if (recentTransactions.size() == SMOKE_TEST_TRANSACTIONS) {
+          recentTransactions.removeFirst();
+        }
+        recentTransactions.addLast(transaction);
+      }
+    }
+  }
+
+  /**
+   * Reads a rule script from repository
+   *
+   * @param name Rule name to read
+   * @return Groovy script of the rule
+   */
+  private String fetchRepositoryRule(String name) {
+    return Utils.irohaUnEscape(
+        Objects.requireNonNull(
+            irohaQueryHelper
+                .getAccountDetails(repositoryAccountId, setterAccountId, name)
+                .get()
+                .orElse(null)
         )
     );
   }
+
+  /**
+   * Stops blocks processing, the compile and the smoke test stages are shut down along with the
+   * other {@link StageExecutors}
+   */
+  @Override
+  public synchronized void close() {
+    if (blocksDisposable != null) {
+      blocksDisposable.dispose();
+    }
+  }
 }
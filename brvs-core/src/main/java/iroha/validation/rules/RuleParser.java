@@ -6,36 +6,116 @@
 package iroha.validation.rules;
 
 import groovy.lang.GroovyClassLoader;
+import iroha.validation.rules.declarative.DeclarativeRuleParser;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.tools.GroovyClass;
 import org.springframework.util.StringUtils;
 
 /**
- * Rule Groovy parser
+ * Rule Groovy parser. Compiled rule classes are cached by script hash, so re-enabling a rule does
+ * not recompile it. Every script is loaded by its own class loader, so classes of rules evicted
+ * from the cache and disabled can be unloaded. Optionally the bytecode is also kept on local disk,
+ * so a restarted instance loads the rules without compiling them
  */
-final class RuleParser {
+public class RuleParser {
 
-  private static final GroovyClassLoader groovyClassLoader = new GroovyClassLoader();
+  private static final int DEFAULT_CACHE_SIZE = 64;
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final String SCRIPT_NAME_PREFIX = "Rule";
+  private static final String SCRIPT_EXTENSION = ".groovy";
 
-  private RuleParser() {
-    throw new IllegalStateException("Rule Parser cannot be instantiated");
+  private final RuleCompilationMode compilationMode;
+  private final Map<String, Class<?>> compiledRules;
+  private final CompiledRuleStore compiledRuleStore;
+
+  public RuleParser() {
+    this(RuleCompilationMode.DYNAMIC, DEFAULT_CACHE_SIZE);
+  }
+
+  public RuleParser(String compilationMode, String cacheSize) {
+    this(
+        RuleCompilationMode.valueOf(compilationMode.toUpperCase()),
+        Integer.parseInt(cacheSize)
+    );
+  }
+
+  public RuleParser(String compilationMode, String cacheSize, String cacheDirectory)
+      throws IOException {
+    this(
+        RuleCompilationMode.valueOf(compilationMode.toUpperCase()),
+        Integer.parseInt(cacheSize),
+        StringUtils.isEmpty(cacheDirectory) ? null : Paths.get(cacheDirectory)
+    );
+  }
+
+  public RuleParser(RuleCompilationMode compilationMode, int cacheSize) {
+    this(compilationMode, cacheSize, (CompiledRuleStore) null);
+  }
+
+  /**
+   * @param compilationMode Groovy compilation mode of the scripts
+   * @param cacheSize amount of compiled rule classes kept in memory
+   * @param cacheDirectory directory to keep compiled rules in, null disables the disk cache
+   * @throws IOException if the directory cannot be created
+   */
+  public RuleParser(RuleCompilationMode compilationMode, int cacheSize, Path cacheDirectory)
+      throws IOException {
+    this(
+        compilationMode,
+        cacheSize,
+        cacheDirectory == null ? null : new CompiledRuleStore(cacheDirectory)
+    );
+  }
+
+  private RuleParser(RuleCompilationMode compilationMode,
+      int cacheSize,
+      CompiledRuleStore compiledRuleStore) {
+    Objects.requireNonNull(compilationMode, "Compilation mode must not be null");
+    if (cacheSize < 1) {
+      throw new IllegalArgumentException("Cache size must be positive, got " + cacheSize);
+    }
+
+    this.compilationMode = compilationMode;
+    this.compiledRuleStore = compiledRuleStore;
+    this.compiledRules = new LinkedHashMap<String, Class<?>>(cacheSize, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Class<?>> eldest) {
+        return size() > cacheSize;
+      }
+    };
   }
 
   /**
-   * Parses given Groovy script
+   * Parses given Groovy script. Declarative JSON rules are parsed by {@link DeclarativeRuleParser}
+   * without Groovy compilation
    *
    * @param script - groovy script to parse
-   * @return parsed {@link Rule} instance
+   * @return new {@link Rule} instance
    * @throws IllegalArgumentException if script is empty or script class doesn't implement Rule or
    * in case of invalid(not compilable) script
    */
-  public static Rule parse(String script) {
+  public Rule parse(String script) {
     if (StringUtils.isEmpty(script)) {
       throw new IllegalArgumentException("Cannot parse empty script");
     }
-    Class scriptClass;
+    if (DeclarativeRuleParser.isDeclarative(script)) {
+      return DeclarativeRuleParser.parse(script);
+    }
     Rule instance;
     try {
-      scriptClass = groovyClassLoader.parseClass(script);
-      instance = (Rule) scriptClass.newInstance();
+      instance = (Rule) getRuleClass(script).newInstance();
       if (instance == null) {
         throw new NullPointerException("Rule instance cannot be null");
       }
@@ -44,4 +124,62 @@ final class RuleParser {
     }
     return instance;
   }
+
+  public RuleCompilationMode getCompilationMode() {
+    return compilationMode;
+  }
+
+  private Class<?> getRuleClass(String script)
+      throws NoSuchAlgorithmException, ClassNotFoundException {
+    final String scriptHash = hash(script);
+    final String key = scriptHash + compilationMode;
+    synchronized (compiledRules) {
+      final Class<?> ruleClass = compiledRules.get(key);
+      if (ruleClass != null) {
+        return ruleClass;
+      }
+    }
+    CompiledRule compiledRule = compiledRuleStore == null
+        ? null
+        : compiledRuleStore.read(scriptHash, compilationMode);
+    if (compiledRule == null) {
+      compiledRule = compile(script, scriptHash);
+      if (compiledRuleStore != null) {
+        compiledRuleStore.write(scriptHash, compilationMode, compiledRule);
+      }
+    }
+    final Class<?> ruleClass = compiledRule.load(RuleParser.class.getClassLoader());
+    synchronized (compiledRules) {
+      compiledRules.put(key, ruleClass);
+    }
+    return ruleClass;
+  }
+
+  private CompiledRule compile(String script, String scriptHash) {
+    final CompilationUnit compilationUnit = new CompilationUnit(
+        compilationMode.toCompilerConfiguration(),
+        null,
+        new GroovyClassLoader(RuleParser.class.getClassLoader())
+    );
+    compilationUnit.addSource(SCRIPT_NAME_PREFIX + scriptHash + SCRIPT_EXTENSION, script);
+    compilationUnit.compile(Phases.CLASS_GENERATION);
+    final Map<String, byte[]> classes = new HashMap<>();
+    for (GroovyClass groovyClass : compilationUnit.getClasses()) {
+      classes.put(groovyClass.getName(), groovyClass.getBytes());
+    }
+    // the same class GroovyClassLoader.parseClass returns
+    final String mainClassName = compilationUnit.getAST()
+        .getModules()
+        .get(0)
+        .getClasses()
+        .get(0)
+        .getName();
+    return new CompiledRule(mainClassName, classes);
+  }
+
+  static String hash(String script) throws NoSuchAlgorithmException {
+    return Utils.toHex(
+        MessageDigest.getInstance(HASH_ALGORITHM).digest(script.getBytes(StandardCharsets.UTF_8))
+    );
+  }
 }
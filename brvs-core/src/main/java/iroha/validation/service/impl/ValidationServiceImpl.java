@@ -8,11 +8,10 @@ package iroha.validation.service.impl;
 import static com.d3.commons.util.ThreadUtilKt.createPrettySingleThreadPool;
 import static iroha.validation.utils.ValidationUtils.hexHash;
 
-import io.reactivex.Observable;
 import io.reactivex.Scheduler;
-import io.reactivex.internal.functions.Functions;
 import io.reactivex.schedulers.Schedulers;
 import iroha.validation.config.ValidationServiceContext;
+import iroha.validation.executor.StageExecutors;
 import iroha.validation.rules.RuleMonitor;
 import iroha.validation.service.ValidationService;
 import iroha.validation.transactions.TransactionBatch;
@@ -27,9 +26,16 @@ import iroha.validation.verdict.ValidationResult;
 import iroha.validation.verdict.Verdict;
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.Executors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,7 +56,14 @@ public class ValidationServiceImpl implements ValidationService, Closeable {
   private final Scheduler mainScheduler = Schedulers.from(createPrettySingleThreadPool(
       "brvs", "main"
   ));
-  private final Scheduler scheduler = Schedulers.from(Executors.newCachedThreadPool());
+  private final StageExecutors stageExecutors;
+  private final ExecutorService validationExecutor;
+  private final ExecutorService signingExecutor;
+  // batches discovered within the window are validated together
+  private final long windowMillis;
+  private final int maxBatchSize;
+  // Pending batches are republished on every polling cycle until they get a terminal verdict
+  private final Set<String> batchesInFlight = ConcurrentHashMap.newKeySet();
 
   public ValidationServiceImpl(ValidationServiceContext validationServiceContext) {
     Objects.requireNonNull(validationServiceContext, "ValidationServiceContext must not be null");
@@ -62,6 +75,11 @@ public class ValidationServiceImpl implements ValidationService, Closeable {
     this.brvsData = validationServiceContext.getBrvsData();
     this.ruleMonitor = validationServiceContext.getRuleMonitor();
     this.startupLogicList = validationServiceContext.getStartupLogicList();
+    this.stageExecutors = validationServiceContext.getStageExecutors();
+    this.validationExecutor = stageExecutors.getValidationExecutor();
+    this.signingExecutor = stageExecutors.getSigningExecutor();
+    this.windowMillis = validationServiceContext.getWindowMillis();
+    this.maxBatchSize = validationServiceContext.getMaxBatchSize();
   }
 
   /**
@@ -76,40 +94,120 @@ public class ValidationServiceImpl implements ValidationService, Closeable {
     startupLogicList.forEach(StartupLogic::apply);
     transactionProvider.getPendingTransactionsStreaming()
         .observeOn(mainScheduler)
-        .flatMap(transactionBatch ->
-            Observable.fromCallable(() -> processTransactionBatch(transactionBatch))
-                .subscribeOn(scheduler)
-        )
-        .subscribe(Functions.emptyConsumer(),
+        .buffer(windowMillis, TimeUnit.MILLISECONDS, mainScheduler, maxBatchSize)
+        .filter(transactionBatches -> !transactionBatches.isEmpty())
+        .subscribe(this::submitTransactionBatches,
             throwable -> logger.error("Unknown exception was thrown: ", throwable)
         );
   }
 
   /**
-   * Calls relevant validators and rules for each passed user transaction
+   * Hands the batches over to the validation stage except those already being processed. If the
+   * stage is saturated the batches are released and picked up again on the next polling cycle
    *
-   * @param transactionBatch user related {@link TransactionBatch}
-   * @return the same {@link TransactionBatch} that was passed as an argument
+   * @param transactionBatches user related {@link TransactionBatch batches} discovered together
    */
-  private TransactionBatch processTransactionBatch(TransactionBatch transactionBatch) {
-    final List<String> hex = hexHash(transactionBatch);
+  private void submitTransactionBatches(List<TransactionBatch> transactionBatches) {
+    final List<PendingBatch> pendingBatches = new ArrayList<>(transactionBatches.size());
+    for (TransactionBatch transactionBatch : transactionBatches) {
+      final PendingBatch pendingBatch = new PendingBatch(transactionBatch);
+      if (batchesInFlight.add(pendingBatch.key)) {
+        pendingBatches.add(pendingBatch);
+      } else {
+        logger.debug("Transactions {} are already being processed", pendingBatch.hex);
+      }
+    }
+    if (pendingBatches.isEmpty()) {
+      return;
+    }
+    try {
+      validationExecutor.execute(() -> validateTransactionBatches(pendingBatches));
+    } catch (RejectedExecutionException e) {
+      pendingBatches.forEach(pendingBatch -> batchesInFlight.remove(pendingBatch.key));
+      logger.warn("Validation queue is full, {} batches are deferred to the next poll",
+          pendingBatches.size()
+      );
+    }
+  }
+
+  /**
+   * Calls relevant validators and rules for all the batches at once and passes the results to the
+   * signing stage. The validator handles one group of batches at a time, so the validation stage
+   * does not need more than a single thread: rules are evaluated concurrently by the rules stage
+   *
+   * @param pendingBatches user related batches
+   */
+  private void validateTransactionBatches(List<PendingBatch> pendingBatches) {
+    final List<ValidationResult> validationResults;
+    try {
+      pendingBatches.forEach(pendingBatch ->
+          logger.info("Got transactions to validate: {}", pendingBatch.hex)
+      );
+      validationResults = validator.validateAll(
+          pendingBatches.stream()
+              .map(pendingBatch -> pendingBatch.transactionBatch)
+              .collect(Collectors.toList())
+      );
+    } catch (Exception exception) {
+      logger.error("Error during transactions validation: ", exception);
+      System.exit(1);
+      return;
+    }
+    for (int i = 0; i < pendingBatches.size(); i++) {
+      final PendingBatch pendingBatch = pendingBatches.get(i);
+      final ValidationResult validationResult = validationResults.get(i);
+      try {
+        signingExecutor.execute(() -> signTransactionBatch(pendingBatch, validationResult));
+      } catch (RejectedExecutionException e) {
+        // the verdict is dropped, so nothing may stay reserved for the batch
+        validator.rollback(pendingBatch.transactionBatch);
+        batchesInFlight.remove(pendingBatch.key);
+        logger.warn("Signing queue is full, transactions {} are deferred to the next poll",
+            pendingBatch.hex
+        );
+      }
+    }
+  }
+
+  /**
+   * Signs or rejects the batch according to the validation result and hands it over to the
+   * submission stage. Returns as soon as the signatures are computed, the batch is deferred to the
+   * next poll if it could not be sent
+   *
+   * @param pendingBatch user related batch
+   * @param validationResult {@link ValidationResult} of the batch
+   */
+  private void signTransactionBatch(PendingBatch pendingBatch,
+      ValidationResult validationResult) {
+    final TransactionBatch transactionBatch = pendingBatch.transactionBatch;
+    final List<String> hex = pendingBatch.hex;
+    final CompletableFuture<Void> submission;
     try {
-      logger.info("Got transactions to validate: {}", hex);
-      final ValidationResult validationResult = validator.validate(transactionBatch);
       if (Verdict.VALIDATED != validationResult.getStatus()) {
         final String reason = validationResult.getReason();
-        transactionSigner.rejectAndSend(transactionBatch, reason);
+        submission = transactionSigner.rejectAndSendAsync(transactionBatch, reason);
         logger
             .info("Transactions {} have been rejected by the service. Reason: {}", hex, reason);
       } else {
-        transactionSigner.signAndSend(transactionBatch);
+        submission = transactionSigner.signAndSendAsync(transactionBatch);
         logger.info("Transactions {} have been successfully validated and signed", hex);
       }
     } catch (Exception exception) {
-      logger.error("Error during " + hex + " transaction validation: ", exception);
+      batchesInFlight.remove(pendingBatch.key);
+      logger.error("Error during " + hex + " transaction signing: ", exception);
       System.exit(1);
+      return;
     }
-    return transactionBatch;
+    submission.whenComplete((result, throwable) -> {
+      if (throwable != null) {
+        // only a failed submission completes exceptionally: the batch has not reached Iroha and its
+        // verdict has not been stored, so it is validated again on the next poll and nothing may
+        // stay reserved for it meanwhile
+        validator.rollback(transactionBatch);
+        logger.error("Transactions " + hex + " could not be sent to Iroha", throwable);
+      }
+      batchesInFlight.remove(pendingBatch.key);
+    });
   }
 
   /**
@@ -135,10 +233,31 @@ public class ValidationServiceImpl implements ValidationService, Closeable {
     }
   }
 
+  /**
+   * Batch being processed by the pipeline along with its hashes
+   */
+  private static class PendingBatch {
+
+    private final TransactionBatch transactionBatch;
+    private final List<String> hex;
+    // the first transaction hash identifies the batch in the in-flight set
+    private final String key;
+
+    PendingBatch(TransactionBatch transactionBatch) {
+      this.transactionBatch = transactionBatch;
+      this.hex = hexHash(transactionBatch);
+      this.key = hex.get(0);
+    }
+  }
+
   @Override
   public void close() throws IOException {
     mainScheduler.shutdown();
+    if (ruleMonitor != null) {
+      ruleMonitor.close();
+    }
     transactionProvider.close();
+    stageExecutors.close();
     ((AccountManager) registrationProvider).close();
   }
 }
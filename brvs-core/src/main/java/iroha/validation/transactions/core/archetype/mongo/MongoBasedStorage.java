@@ -14,6 +14,7 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import java.io.Closeable;
+import java.util.Objects;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PojoCodecProvider;
 
@@ -51,6 +52,18 @@ public abstract class MongoBasedStorage<T> implements Closeable {
         .withCodecRegistry(mongoVerdictCodecRegistry);
   }
 
+  /**
+   * @param mongoClient client the collection belongs to
+   * @param collection collection to store the entities in
+   */
+  protected MongoBasedStorage(MongoClient mongoClient, MongoCollection<T> collection) {
+    Objects.requireNonNull(mongoClient, "MongoDB client must not be null");
+    Objects.requireNonNull(collection, "MongoDB collection must not be null");
+
+    this.mongoClient = mongoClient;
+    this.collection = collection;
+  }
+
   @Override
   public void close() {
     mongoClient.close();
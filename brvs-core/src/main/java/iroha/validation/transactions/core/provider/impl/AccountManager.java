@@ -22,10 +22,14 @@ import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import iroha.protocol.Endpoint.TxStatus;
 import iroha.validation.exception.BrvsException;
+import iroha.validation.executor.MeteredThreadPoolExecutor;
+import iroha.validation.executor.RejectionPolicy;
+import iroha.validation.executor.StageExecutorConfig;
 import iroha.validation.transactions.core.provider.RegisteredUsersStorage;
 import iroha.validation.transactions.core.provider.RegistrationProvider;
 import iroha.validation.transactions.core.provider.UserQuorumProvider;
 import iroha.validation.transactions.core.provider.impl.util.RegistrationAwaiterWrapper;
+import iroha.validation.utils.DomainTable;
 import iroha.validation.utils.ValidationUtils;
 import java.io.Closeable;
 import java.lang.reflect.Type;
@@ -41,7 +45,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -67,13 +71,16 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
   private static final Type USER_SIGNATORIES_TYPE_TOKEN = new TypeToken<Set<String>>() {
   }.getType();
 
-  private final ExecutorService executorService = Executors.newCachedThreadPool();
+  private static final int DEFAULT_REGISTRATION_THREADS = 8;
+  private static final int DEFAULT_REGISTRATION_QUEUE_CAPACITY = 1000;
 
+  private final ExecutorService executorService;
   private final String brvsAccountId;
   private final KeyPair brvsAccountKeyPair;
   private final QueryAPI queryAPI;
   private final String userSignatoriesAttribute;
   private final Set<String> userDomains;
+  private final DomainTable userDomainTable;
   private final String userAccountsHolderAccount;
   private final String userAccountsSetterAccount;
   private final List<KeyPair> keyPairs;
@@ -89,6 +96,36 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
       List<KeyPair> keyPairs,
       IrohaQueryHelper irohaQueryHelper,
       RegisteredUsersStorage registeredUsersStorage) {
+    this(
+        queryAPI,
+        userSignatoriesAttribute,
+        userDomains,
+        userAccountsHolderAccount,
+        userAccountsSetterAccount,
+        keyPairs,
+        irohaQueryHelper,
+        registeredUsersStorage,
+        new MeteredThreadPoolExecutor(
+            "brvs",
+            new StageExecutorConfig(
+                "registration",
+                DEFAULT_REGISTRATION_THREADS,
+                DEFAULT_REGISTRATION_QUEUE_CAPACITY,
+                RejectionPolicy.CALLER_RUNS
+            )
+        )
+    );
+  }
+
+  public AccountManager(QueryAPI queryAPI,
+      String userSignatoriesAttribute,
+      String userDomains,
+      String userAccountsHolderAccount,
+      String userAccountsSetterAccount,
+      List<KeyPair> keyPairs,
+      IrohaQueryHelper irohaQueryHelper,
+      RegisteredUsersStorage registeredUsersStorage,
+      ExecutorService executorService) {
 
     Objects.requireNonNull(queryAPI, "Query API must not be null");
     if (Strings.isNullOrEmpty(userSignatoriesAttribute)) {
@@ -111,12 +148,14 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
     }
     Objects.requireNonNull(irohaQueryHelper, "IrohaQueryHelper must not be null");
     Objects.requireNonNull(registeredUsersStorage, "Users storage must not be null");
+    Objects.requireNonNull(executorService, "Registration executor must not be null");
 
     this.brvsAccountId = queryAPI.getAccountId();
     this.brvsAccountKeyPair = queryAPI.getKeyPair();
     this.queryAPI = queryAPI;
     this.userSignatoriesAttribute = userSignatoriesAttribute;
     this.userDomains = Arrays.stream(userDomains.split(",")).collect(Collectors.toSet());
+    this.userDomainTable = new DomainTable(this.userDomains);
     this.userAccountsHolderAccount = userAccountsHolderAccount;
     this.userAccountsSetterAccount = userAccountsSetterAccount;
     this.keyPairs = keyPairs;
@@ -129,6 +168,7 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
         .collect(Collectors.toSet());
     this.irohaQueryHelper = irohaQueryHelper;
     this.registeredUsersStorage = registeredUsersStorage;
+    this.executorService = executorService;
   }
 
   /**
@@ -268,9 +308,16 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
         new CountDownLatch(size)
     );
 
-    accounts.forEach(account -> executorService
-        .submit(new RegistrationRunnable(account, registrationAwaiterWrapper))
-    );
+    accounts.forEach(account -> {
+      try {
+        executorService.execute(new RegistrationRunnable(account, registrationAwaiterWrapper));
+      } catch (RejectedExecutionException e) {
+        registrationAwaiterWrapper.setException(
+            new IllegalStateException("Registration queue is full, rejected " + account, e)
+        );
+        registrationAwaiterWrapper.getCountDownLatch().countDown();
+      }
+    });
 
     if (!registrationAwaiterWrapper.getCountDownLatch().await(size * 10L, TimeUnit.SECONDS)) {
       throw new BrvsException(
@@ -400,7 +447,7 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
                 final Set<String> filteredAccounts = detailsSet.stream()
                     .map(this::recoverAccountIdFromDetailsEntry)
                     .filter(accountId -> accountId != null &&
-                        userDomains.contains(ValidationUtils.getDomain(accountId)) &&
+                        userDomainTable.containsDomainOf(accountId) &&
                         !registeredUsersStorage.contains(accountId))
                     .collect(Collectors.toSet());
                 method.apply(filteredAccounts);
@@ -423,6 +470,13 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
     return Collections.unmodifiableSet(userDomains);
   }
 
+  /**
+   * @return lookup table of the user domains
+   */
+  public DomainTable getUserDomainTable() {
+    return userDomainTable;
+  }
+
   @Override
   public boolean isRegistered(String accountId) {
     return registeredUsersStorage.contains(accountId);
@@ -453,7 +507,7 @@ public class AccountManager implements UserQuorumProvider, RegistrationProvider,
         logger.warn("Account {} has already been registered, omitting", accountId);
         return;
       }
-      if (!userDomains.contains(getDomain(accountId))) {
+      if (!userDomainTable.containsDomainOf(accountId)) {
         throw new BrvsException(
             "The BRVS instance is not permitted to process the domain specified: " +
                 getDomain(accountId) + ".", WRONG_DOMAIN);
@@ -22,6 +22,7 @@ import iroha.validation.transactions.core.provider.TransactionProvider;
 import iroha.validation.transactions.core.provider.UserQuorumProvider;
 import iroha.validation.transactions.core.storage.TransactionVerdictStorage;
 import iroha.validation.transactions.filter.TransactionBatchFilter;
+import iroha.validation.transactions.core.verification.SignatureVerifier;
 import iroha.validation.transactions.plugin.PluggableLogic;
 import iroha.validation.utils.ValidationUtils;
 import iroha.validation.verdict.ValidationResult;
@@ -31,6 +32,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,6 +50,7 @@ public class BasicTransactionProvider implements TransactionProvider {
   private final List<PluggableLogic<?>> pluggableLogicList;
   private final List<TransactionBatchFilter> transactionFilterList;
   private final int pendingPollingPeriod;
+  private final SignatureVerifier signatureVerifier;
   private final ScheduledExecutorService executor = createPrettyScheduledThreadPool(
       "brvs", "pending-processor"
   );
@@ -66,6 +69,31 @@ public class BasicTransactionProvider implements TransactionProvider {
       List<PluggableLogic<?>> pluggableLogicList,
       List<TransactionBatchFilter> transactionFilterList,
       String pendingPollingPeriod) {
+    this(
+        transactionVerdictStorage,
+        userQuorumProvider,
+        registrationProvider,
+        irohaReliableChainListener,
+        pluggableLogicList,
+        transactionFilterList,
+        pendingPollingPeriod,
+        null
+    );
+  }
+
+  /**
+   * @param signatureVerifier {@link SignatureVerifier} discarding batches with invalid signatures
+   * before the validation, signatures are not checked if null
+   */
+  public BasicTransactionProvider(
+      TransactionVerdictStorage transactionVerdictStorage,
+      UserQuorumProvider userQuorumProvider,
+      RegistrationProvider registrationProvider,
+      BrvsIrohaChainListener irohaReliableChainListener,
+      List<PluggableLogic<?>> pluggableLogicList,
+      List<TransactionBatchFilter> transactionFilterList,
+      String pendingPollingPeriod,
+      SignatureVerifier signatureVerifier) {
     Objects.requireNonNull(
         transactionVerdictStorage,
         "TransactionVerdictStorage must not be null"
@@ -98,6 +126,7 @@ public class BasicTransactionProvider implements TransactionProvider {
     this.transactionFilterList = transactionFilterList;
     this.irohaReliableChainListener = irohaReliableChainListener;
     this.pendingPollingPeriod = Integer.parseInt(pendingPollingPeriod);
+    this.signatureVerifier = signatureVerifier;
   }
 
   /**
@@ -121,10 +150,18 @@ public class BasicTransactionProvider implements TransactionProvider {
 
   private void monitorIrohaPending() {
     try {
-      irohaReliableChainListener.getAllPendingTransactions()
+      final List<TransactionBatch> signedBatches = irohaReliableChainListener
+          .getAllPendingTransactions()
           .stream()
           .filter(this::filter)
           .filter(this::isBatchSignedByUsers)
+          .collect(Collectors.toList());
+      // signatures are checked in parallel before the batches are marked pending
+      final List<TransactionBatch> verifiedBatches = signatureVerifier == null
+          ? signedBatches
+          : signatureVerifier.filterVerified(signedBatches);
+      verifiedBatches
+          .stream()
           .filter(this::savedMissingInStorage)
           .forEach(transactionBatch -> {
                 logger.info("Publishing {} transactions for validation", hexHash(transactionBatch));
@@ -6,6 +6,7 @@
 package iroha.validation.transactions.core.signatory;
 
 import iroha.validation.transactions.TransactionBatch;
+import java.util.concurrent.CompletableFuture;
 
 public interface TransactionSigner {
 
@@ -23,4 +24,28 @@ public interface TransactionSigner {
    * @param reason reason
    */
   void rejectAndSend(TransactionBatch transactionBatch, String reason);
+
+  /**
+   * Signs the validated batch and schedules sending it to Iroha
+   *
+   * @param transactionBatch Iroha proto transaction batch in brvs representation
+   * @return {@link CompletableFuture} completed once the batch has been sent
+   */
+  default CompletableFuture<Void> signAndSendAsync(TransactionBatch transactionBatch) {
+    signAndSend(transactionBatch);
+    return CompletableFuture.completedFuture(null);
+  }
+
+  /**
+   * Rejects the batch with a reason and schedules sending it to Iroha
+   *
+   * @param transactionBatch Iroha proto transaction batch in brvs representation
+   * @param reason reason
+   * @return {@link CompletableFuture} completed once the batch has been sent
+   */
+  default CompletableFuture<Void> rejectAndSendAsync(TransactionBatch transactionBatch,
+      String reason) {
+    rejectAndSend(transactionBatch, reason);
+    return CompletableFuture.completedFuture(null);
+  }
 }
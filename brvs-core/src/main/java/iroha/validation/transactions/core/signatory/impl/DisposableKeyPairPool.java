@@ -0,0 +1,89 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.core.signatory.impl;
+
+import static com.d3.commons.util.ThreadUtilKt.createPrettyScheduledThreadPool;
+
+import java.io.Closeable;
+import java.security.KeyPair;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of single use key pairs signing rejected transactions. Key generation needs secure
+ * randomness and a scalar multiplication, so the pool is refilled in background and a rejection
+ * only takes a ready key pair. If the pool runs dry a key pair is generated in the calling thread
+ */
+public class DisposableKeyPairPool implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(DisposableKeyPairPool.class);
+  private static final ThreadLocal<Ed25519Sha3> crypto = ThreadLocal.withInitial(Ed25519Sha3::new);
+
+  private final BlockingQueue<KeyPair> keyPairs;
+  private final LongAdder misses = new LongAdder();
+  private final ScheduledExecutorService executor = createPrettyScheduledThreadPool(
+      "brvs", "keypair-pool"
+  );
+
+  public DisposableKeyPairPool(String capacity) {
+    this(Integer.parseInt(capacity));
+  }
+
+  public DisposableKeyPairPool(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+    }
+
+    this.keyPairs = new ArrayBlockingQueue<>(capacity);
+    executor.execute(this::refill);
+  }
+
+  /**
+   * @return a key pair never returned before
+   */
+  public KeyPair take() {
+    final KeyPair keyPair = keyPairs.poll();
+    if (keyPair != null) {
+      return keyPair;
+    }
+    misses.increment();
+    return crypto.get().generateKeypair();
+  }
+
+  /**
+   * @return amount of key pairs generated in the calling threads since the pool was empty
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public int size() {
+    return keyPairs.size();
+  }
+
+  private void refill() {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        // blocks while the pool is full
+        keyPairs.put(crypto.get().generateKeypair());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      logger.error("Key pairs pool refilling failed, key pairs are generated on demand", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.core.signatory.impl;
+
+import iroha.protocol.Primitive.Signature;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import java.security.KeyPair;
+import java.util.List;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3.CryptoException;
+import jp.co.soramitsu.iroha.java.Utils;
+
+/**
+ * Appends signatures to proto transactions without the iroha-java transaction wrapper. The payload
+ * is hashed once per transaction regardless of the amount of keys and is never copied: only the
+ * top level message is rebuilt, sharing the immutable payload of the original one. The result is
+ * the same as of {@code Transaction.parseFrom(transaction).sign(keyPair).build()} for every key
+ */
+public final class TransactionSignatures {
+
+  private static final ThreadLocal<Ed25519Sha3> crypto = ThreadLocal.withInitial(Ed25519Sha3::new);
+
+  private TransactionSignatures() {
+  }
+
+  /**
+   * Signs the transaction with the keys in their order
+   *
+   * @param transaction transaction to sign
+   * @param keyPairs keys to sign with, null keys are replaced with single use ones
+   * @return signed transaction, the same instance if there are no keys
+   */
+  public static Transaction addSignatures(Transaction transaction, List<KeyPair> keyPairs) {
+    if (keyPairs.isEmpty()) {
+      return transaction;
+    }
+    final byte[] payloadHash = Utils.hash(transaction);
+    final Transaction.Builder builder = transaction.toBuilder();
+    try {
+      for (KeyPair keyPair : keyPairs) {
+        builder.addSignatures(sign(payloadHash, keyPair));
+      }
+    } catch (CryptoException e) {
+      throw new IllegalStateException("Signing failed", e);
+    }
+    return builder.build();
+  }
+
+  /**
+   * @param payloadHash hash of the transaction payload
+   * @param keyPair key to sign with, a single use one is generated if null
+   * @return signature entry of the transaction
+   */
+  public static Signature sign(byte[] payloadHash, KeyPair keyPair) throws CryptoException {
+    final KeyPair signingKeyPair = keyPair == null ? crypto.get().generateKeypair() : keyPair;
+    return Signature.newBuilder()
+        .setPublicKey(Utils.toHex(signingKeyPair.getPublic().getEncoded()))
+        .setSignature(Utils.toHex(crypto.get().rawSign(payloadHash, signingKeyPair)))
+        .build();
+  }
+}
@@ -6,6 +6,7 @@
 package iroha.validation.transactions.core.signatory.impl;
 
 import iroha.protocol.Commands.Command;
+import iroha.protocol.Primitive.Signature;
 import iroha.protocol.TransactionOuterClass.Transaction;
 import iroha.validation.transactions.TransactionBatch;
 import iroha.validation.transactions.core.provider.RegistrationProvider;
@@ -14,24 +15,36 @@ import iroha.validation.transactions.core.storage.TransactionVerdictStorage;
 import iroha.validation.utils.ValidationUtils;
 import java.security.KeyPair;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 import jp.co.soramitsu.iroha.java.IrohaAPI;
-import jp.co.soramitsu.iroha.java.detail.BuildableAndSignable;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 public class TransactionSignerImpl implements TransactionSigner {
 
+  private static final Logger logger = LoggerFactory.getLogger(TransactionSignerImpl.class);
+
   private final IrohaAPI irohaAPI;
   private final String brvsAccountId;
   private final KeyPair brvsAccountKeyPair;
   private final List<KeyPair> keyPairs;
   private final TransactionVerdictStorage transactionVerdictStorage;
   private final RegistrationProvider registrationProvider;
+  private final ExecutorService cryptoExecutor;
+  private final DisposableKeyPairPool disposableKeyPairPool;
+  private final TransactionSubmitter transactionSubmitter;
 
   public TransactionSignerImpl(IrohaAPI irohaAPI,
       List<KeyPair> keyPairs,
@@ -39,6 +52,36 @@ public class TransactionSignerImpl implements TransactionSigner {
       KeyPair brvsAccountKeyPair,
       TransactionVerdictStorage transactionVerdictStorage,
       RegistrationProvider registrationProvider) {
+    this(
+        irohaAPI,
+        keyPairs,
+        brvsAccountId,
+        brvsAccountKeyPair,
+        transactionVerdictStorage,
+        registrationProvider,
+        null,
+        null,
+        null
+    );
+  }
+
+  /**
+   * @param cryptoExecutor CPU bound executor computing all the signatures of a batch concurrently,
+   * signatures are computed one by one in the signing thread if null
+   * @param disposableKeyPairPool pool of the single use key pairs signing rejected transactions,
+   * they are generated on demand if null
+   * @param transactionSubmitter {@link TransactionSubmitter} sending the signed batches
+   * asynchronously, they are sent by the signing thread if null
+   */
+  public TransactionSignerImpl(IrohaAPI irohaAPI,
+      List<KeyPair> keyPairs,
+      String brvsAccountId,
+      KeyPair brvsAccountKeyPair,
+      TransactionVerdictStorage transactionVerdictStorage,
+      RegistrationProvider registrationProvider,
+      ExecutorService cryptoExecutor,
+      DisposableKeyPairPool disposableKeyPairPool,
+      TransactionSubmitter transactionSubmitter) {
     Objects.requireNonNull(irohaAPI, "Iroha API must not be null");
     if (CollectionUtils.isEmpty(keyPairs)) {
       throw new IllegalArgumentException("Keypairs must not be neither null nor empty");
@@ -56,6 +99,9 @@ public class TransactionSignerImpl implements TransactionSigner {
     this.keyPairs = keyPairs;
     this.transactionVerdictStorage = transactionVerdictStorage;
     this.registrationProvider = registrationProvider;
+    this.cryptoExecutor = cryptoExecutor;
+    this.disposableKeyPairPool = disposableKeyPairPool;
+    this.transactionSubmitter = transactionSubmitter;
   }
 
   /**
@@ -63,13 +109,39 @@ public class TransactionSignerImpl implements TransactionSigner {
    */
   @Override
   public void signAndSend(TransactionBatch transactionBatch) {
+    signAndSendAsync(transactionBatch).join();
+  }
+
+  /**
+   * {@inheritDoc} Signatures are computed on the crypto executor if it is set and by the calling
+   * thread otherwise. The verdict is stored once Iroha has accepted the batch, so a batch failed to
+   * be sent stays pending and is validated again. The future fails only if the batch could not be
+   * sent, a failure to store the verdict of a batch Iroha has accepted is logged
+   */
+  @Override
+  public CompletableFuture<Void> signAndSendAsync(TransactionBatch transactionBatch) {
+    final CompletableFuture<Void> submission = isCreatedByBrvs(transactionBatch)
+        ? sendBrvsTransactionBatch(transactionBatch, brvsAccountKeyPair)
+        : sendUserTransactionBatch(transactionBatch);
+    return submission.thenRun(() -> storeVerdicts(
+        transactionBatch,
+        transactionVerdictStorage::markTransactionValidated
+    ));
+  }
+
+  /**
+   * Stores the verdicts of a batch Iroha has accepted. A storage failure must not be mistaken for
+   * a failed submission: the batch is in Iroha already, so nothing reserved for it may be rolled
+   * back
+   */
+  private void storeVerdicts(TransactionBatch transactionBatch, Consumer<String> verdictWriter) {
     for (Transaction transaction : transactionBatch) {
-      transactionVerdictStorage.markTransactionValidated(ValidationUtils.hexHash(transaction));
-    }
-    if (isCreatedByBrvs(transactionBatch)) {
-      sendBrvsTransactionBatch(transactionBatch, brvsAccountKeyPair);
-    } else {
-      sendUserTransactionBatch(transactionBatch);
+      final String hash = ValidationUtils.hexHash(transaction);
+      try {
+        verdictWriter.accept(hash);
+      } catch (Exception e) {
+        logger.error("Could not store the verdict of transaction " + hash + " sent to Iroha", e);
+      }
     }
   }
 
@@ -79,51 +151,128 @@ public class TransactionSignerImpl implements TransactionSigner {
             .equals(transaction.getPayload().getReducedPayload().getCreatorAccountId()));
   }
 
-  private void sendUserTransactionBatch(TransactionBatch transactionBatch) {
-    addSignaturesAndSend(transactionBatch, true);
+  private CompletableFuture<Void> sendUserTransactionBatch(TransactionBatch transactionBatch) {
+    return addSignaturesAndSend(transactionBatch, true);
   }
 
-  private void addSignaturesAndSend(TransactionBatch transactionBatch, boolean useUserKeypairs) {
-    final List<Transaction> transactions = new ArrayList<>(
-        transactionBatch.getTransactionList().size()
-    );
+  private CompletableFuture<Void> addSignaturesAndSend(TransactionBatch transactionBatch,
+      boolean useUserKeypairs) {
+    final int batchSize = transactionBatch.getTransactionList().size();
+    final List<List<KeyPair>> signingKeys = new ArrayList<>(batchSize);
     for (Transaction transaction : transactionBatch) {
-      jp.co.soramitsu.iroha.java.Transaction parsedTransaction =
-          jp.co.soramitsu.iroha.java.Transaction.parseFrom(transaction);
-      if (registrationProvider.isRegistered(ValidationUtils.getTxAccountId(transaction))) {
-        final int signaturesCount = transaction.getSignaturesCount();
-        if (useUserKeypairs && signaturesCount > keyPairs.size()) {
-          throw new IllegalStateException(
-              "Too many user signatures in the transaction: " + signaturesCount +
-                  ". Key list size is " + keyPairs.size());
+      if (!registrationProvider.isRegistered(ValidationUtils.getTxAccountId(transaction))) {
+        signingKeys.add(Collections.emptyList());
+        continue;
+      }
+      final int signaturesCount = transaction.getSignaturesCount();
+      if (useUserKeypairs && signaturesCount > keyPairs.size()) {
+        throw new IllegalStateException(
+            "Too many user signatures in the transaction: " + signaturesCount +
+                ". Key list size is " + keyPairs.size());
+      }
+      // Since we assume brvs signatures must be as many as users
+      signingKeys.add(useUserKeypairs
+          ? keyPairs.subList(0, signaturesCount)
+          : disposableKeyPairs(signaturesCount)
+      );
+    }
+    if (cryptoExecutor != null) {
+      return sendTransactions(
+          signConcurrently(transactionBatch.getTransactionList(), signingKeys)
+      );
+    }
+    final List<Transaction> transactions = new ArrayList<>(batchSize);
+    int index = 0;
+    for (Transaction transaction : transactionBatch) {
+      transactions.add(TransactionSignatures.addSignatures(transaction, signingKeys.get(index++)));
+    }
+    return sendTransactions(transactions);
+  }
+
+  /**
+   * Computes every (transaction, key) signature of the batch as a separate task of the crypto
+   * executor and appends the signatures to the transactions in the order of the keys, so the result
+   * is the same as of signing them one by one
+   *
+   * @param transactions transactions to sign
+   * @param signingKeys keys to sign every transaction with, null keys are replaced with single use
+   * ones
+   * @return signed transactions
+   */
+  private List<Transaction> signConcurrently(List<Transaction> transactions,
+      List<List<KeyPair>> signingKeys) {
+    final List<Future<Signature>> signatures = new ArrayList<>();
+    try {
+      for (int i = 0; i < transactions.size(); i++) {
+        final List<KeyPair> keys = signingKeys.get(i);
+        if (keys.isEmpty()) {
+          continue;
         }
-        // Since we assume brvs signatures must be as many as users
-        parsedTransaction = parsedTransaction.makeMutable().build();
-        IntStream.range(0, signaturesCount)
-            .mapToObj(index ->
-                useUserKeypairs ? keyPairs.get(index) : ValidationUtils.generateKeypair()
-            )
-            .forEach(parsedTransaction::sign);
+        final byte[] hash = Utils.hash(transactions.get(i));
+        for (KeyPair keyPair : keys) {
+          signatures.add(cryptoExecutor.submit(
+              () -> TransactionSignatures.sign(hash, keyPair)
+          ));
+        }
+      }
+      final List<Transaction> signedTransactions = new ArrayList<>(transactions.size());
+      int signatureIndex = 0;
+      for (int i = 0; i < transactions.size(); i++) {
+        final int keysCount = signingKeys.get(i).size();
+        if (keysCount == 0) {
+          signedTransactions.add(transactions.get(i));
+          continue;
+        }
+        final Transaction.Builder builder = transactions.get(i).toBuilder();
+        for (int k = 0; k < keysCount; k++) {
+          builder.addSignatures(signatures.get(signatureIndex++).get());
+        }
+        signedTransactions.add(builder.build());
       }
-      transactions.add(parsedTransaction.build());
+      return signedTransactions;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      signatures.forEach(signature -> signature.cancel(true));
+      throw new IllegalStateException("Signing has been interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Signing failed", e.getCause());
     }
-    sendTransactions(transactions);
   }
 
-  private void sendTransactions(List<Transaction> transactions) {
+  /**
+   * Takes single use key pairs from the pool. Without a pool null keys are returned, standing for
+   * the key pairs to generate by the signing tasks
+   */
+  private List<KeyPair> disposableKeyPairs(int count) {
+    if (disposableKeyPairPool == null) {
+      return Collections.nCopies(count, null);
+    }
+    final List<KeyPair> disposableKeyPairs = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      disposableKeyPairs.add(disposableKeyPairPool.take());
+    }
+    return disposableKeyPairs;
+  }
+
+  private CompletableFuture<Void> sendTransactions(List<Transaction> transactions) {
+    if (transactionSubmitter != null) {
+      return transactionSubmitter.submit(transactions);
+    }
     if (transactions.size() > 1) {
       irohaAPI.transactionListSync(transactions);
     } else {
       final Transaction transaction = transactions.get(0);
       irohaAPI.transactionSync(transaction);
     }
+    return CompletableFuture.completedFuture(null);
   }
 
-  private void sendRejectedUserTransaction(TransactionBatch transactionBatch) {
-    addSignaturesAndSend(transactionBatch, false);
+  private CompletableFuture<Void> sendRejectedUserTransaction(TransactionBatch transactionBatch) {
+    return addSignaturesAndSend(transactionBatch, false);
   }
 
-  private void sendBrvsTransactionBatch(TransactionBatch transactionBatch, KeyPair keyPair) {
+  private CompletableFuture<Void> sendBrvsTransactionBatch(TransactionBatch transactionBatch,
+      KeyPair keyPair) {
     for (Transaction transaction : transactionBatch) {
       for (Command command : transaction.getPayload().getReducedPayload().getCommandsList()) {
         // Do not sign set acc quorum about user account if its time is synchronized
@@ -138,19 +287,28 @@ public class TransactionSignerImpl implements TransactionSigner {
                     (command.hasSetAccountDetail())
             )
         ) {
-          return;
+          return CompletableFuture.completedFuture(null);
         }
       }
     }
 
+    if (cryptoExecutor != null) {
+      return sendTransactions(signConcurrently(
+          transactionBatch.getTransactionList(),
+          Collections.nCopies(
+              transactionBatch.getTransactionList().size(),
+              Collections.singletonList(keyPair)
+          )
+      ));
+    }
     final List<Transaction> transactions = transactionBatch.getTransactionList()
         .stream()
-        .map(jp.co.soramitsu.iroha.java.Transaction::parseFrom)
-        .map(transaction -> transaction.sign(keyPair))
-        .map(BuildableAndSignable::build)
+        .map(transaction -> TransactionSignatures.addSignatures(
+            transaction, Collections.singletonList(keyPair)
+        ))
         .collect(Collectors.toList());
 
-    sendTransactions(transactions);
+    return sendTransactions(transactions);
   }
 
   /**
@@ -158,16 +316,32 @@ public class TransactionSignerImpl implements TransactionSigner {
    */
   @Override
   public void rejectAndSend(TransactionBatch transactionBatch, String reason) {
-    for (Transaction transaction : transactionBatch) {
-      transactionVerdictStorage.markTransactionRejected(
-          ValidationUtils.hexHash(transaction),
-          reason
-      );
-    }
+    rejectAndSendAsync(transactionBatch, reason).join();
+  }
+
+  /**
+   * {@inheritDoc} Signatures are computed on the crypto executor if it is set and by the calling
+   * thread otherwise. The verdict is stored once Iroha has accepted the batch, so a batch failed to
+   * be sent stays pending and is validated again. The future fails only if the batch could not be
+   * sent
+   */
+  @Override
+  public CompletableFuture<Void> rejectAndSendAsync(TransactionBatch transactionBatch,
+      String reason) {
+    final CompletableFuture<Void> submission;
     if (isCreatedByBrvs(transactionBatch)) {
-      sendBrvsTransactionBatch(transactionBatch, ValidationUtils.generateKeypair());
+      submission = sendBrvsTransactionBatch(
+          transactionBatch,
+          disposableKeyPairPool == null
+              ? ValidationUtils.generateKeypair()
+              : disposableKeyPairPool.take()
+      );
     } else {
-      sendRejectedUserTransaction(transactionBatch);
+      submission = sendRejectedUserTransaction(transactionBatch);
     }
+    return submission.thenRun(() -> storeVerdicts(
+        transactionBatch,
+        hash -> transactionVerdictStorage.markTransactionRejected(hash, reason)
+    ));
   }
 }
@@ -0,0 +1,344 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.core.signatory.impl;
+
+import static com.d3.commons.util.ThreadUtilKt.createPrettyScheduledThreadPool;
+
+import io.grpc.Status;
+import io.grpc.Status.Code;
+import io.grpc.StatusRuntimeException;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends signed transactions to Iroha on the submission stage, so the signing threads do not wait
+ * for the gRPC round trips. The amount of submissions in flight and waiting is bounded by the stage
+ * executor, its latency metrics are the submission latencies. Transport errors are retried with
+ * exponential backoff.
+ * With a positive window independent batches submitted within the window are sent to Iroha by a
+ * single call. Every batch keeps its own outcome: if the combined call fails, the batches are sent
+ * one by one
+ */
+public class TransactionSubmitter implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(TransactionSubmitter.class);
+  private static final long MAX_BACKOFF_MULTIPLIER = 32;
+  private static final Set<Code> RETRIABLE_CODES = EnumSet.of(
+      Code.UNAVAILABLE,
+      Code.DEADLINE_EXCEEDED,
+      Code.RESOURCE_EXHAUSTED,
+      Code.ABORTED
+  );
+
+  private final IrohaAPI irohaAPI;
+  private final ExecutorService submissionExecutor;
+  private final int maxAttempts;
+  private final long backoffMillis;
+  private final long windowMillis;
+  private final int maxBatchSize;
+  private final ScheduledExecutorService flushScheduler;
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder combinedCalls = new LongAdder();
+  private final LongAdder fallbacks = new LongAdder();
+  // guarded by this
+  private List<PendingSubmission> pendingSubmissions = new ArrayList<>();
+  private int pendingTransactions;
+
+  public TransactionSubmitter(IrohaAPI irohaAPI,
+      ExecutorService submissionExecutor,
+      String maxAttempts,
+      String backoffMillis) {
+    this(
+        irohaAPI,
+        submissionExecutor,
+        Integer.parseInt(maxAttempts),
+        Long.parseLong(backoffMillis)
+    );
+  }
+
+  public TransactionSubmitter(IrohaAPI irohaAPI,
+      ExecutorService submissionExecutor,
+      String maxAttempts,
+      String backoffMillis,
+      String windowMillis,
+      String maxBatchSize) {
+    this(
+        irohaAPI,
+        submissionExecutor,
+        Integer.parseInt(maxAttempts),
+        Long.parseLong(backoffMillis),
+        Long.parseLong(windowMillis),
+        Integer.parseInt(maxBatchSize)
+    );
+  }
+
+  public TransactionSubmitter(IrohaAPI irohaAPI,
+      ExecutorService submissionExecutor,
+      int maxAttempts,
+      long backoffMillis) {
+    this(irohaAPI, submissionExecutor, maxAttempts, backoffMillis, 0, 1);
+  }
+
+  /**
+   * @param irohaAPI Iroha API to send the transactions with
+   * @param submissionExecutor bounded executor running the submissions, it must throw
+   * {@link RejectedExecutionException} when saturated rather than run them in the caller
+   * @param maxAttempts maximum amount of attempts to send a batch
+   * @param backoffMillis delay before the first retry, doubled for every next one
+   * @param windowMillis time batches are accumulated for before being sent together, every batch
+   * is sent immediately if zero
+   * @param maxBatchSize amount of transactions sent at once immediately regardless of the window,
+   * larger atomic batches are never split
+   */
+  public TransactionSubmitter(IrohaAPI irohaAPI,
+      ExecutorService submissionExecutor,
+      int maxAttempts,
+      long backoffMillis,
+      long windowMillis,
+      int maxBatchSize) {
+    Objects.requireNonNull(irohaAPI, "Iroha API must not be null");
+    Objects.requireNonNull(submissionExecutor, "Submission executor must not be null");
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("Max attempts must be positive, got " + maxAttempts);
+    }
+    if (backoffMillis < 0) {
+      throw new IllegalArgumentException("Backoff must not be negative, got " + backoffMillis);
+    }
+    if (windowMillis < 0) {
+      throw new IllegalArgumentException("Window must not be negative, got " + windowMillis);
+    }
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("Max batch size must be positive, got " + maxBatchSize);
+    }
+
+    this.irohaAPI = irohaAPI;
+    this.submissionExecutor = submissionExecutor;
+    this.maxAttempts = maxAttempts;
+    this.backoffMillis = backoffMillis;
+    this.windowMillis = windowMillis;
+    this.maxBatchSize = maxBatchSize;
+    this.flushScheduler = windowMillis > 0
+        ? createPrettyScheduledThreadPool("brvs", "submission-flush")
+        : null;
+  }
+
+  /**
+   * Schedules sending of the transactions as a single batch
+   *
+   * @param transactions signed transactions
+   * @return {@link CompletableFuture} completed once Iroha has accepted the transactions or
+   * exceptionally if all the attempts have failed or the stage is saturated
+   */
+  public CompletableFuture<Void> submit(List<Transaction> transactions) {
+    final PendingSubmission submission = new PendingSubmission(transactions);
+    if (flushScheduler == null) {
+      dispatch(submission);
+      return submission.future;
+    }
+    final List<PendingSubmission> full;
+    synchronized (this) {
+      pendingSubmissions.add(submission);
+      pendingTransactions += transactions.size();
+      if (pendingTransactions < maxBatchSize) {
+        if (pendingSubmissions.size() == 1) {
+          final List<PendingSubmission> window = pendingSubmissions;
+          flushScheduler.schedule(() -> flush(window), windowMillis, TimeUnit.MILLISECONDS);
+        }
+        return submission.future;
+      }
+      full = drain();
+    }
+    dispatch(full);
+    return submission.future;
+  }
+
+  /**
+   * @return amount of attempts repeated due to transport errors
+   */
+  public long getRetries() {
+    return retries.sum();
+  }
+
+  /**
+   * @return amount of batches that have not been sent
+   */
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  /**
+   * @return amount of calls sending several batches at once
+   */
+  public long getCombinedCalls() {
+    return combinedCalls.sum();
+  }
+
+  /**
+   * @return amount of combined calls failed and repeated batch by batch
+   */
+  public long getFallbacks() {
+    return fallbacks.sum();
+  }
+
+  /**
+   * Sends the batches of the window unless they have been sent due to the size limit
+   */
+  private void flush(List<PendingSubmission> window) {
+    final List<PendingSubmission> drained;
+    synchronized (this) {
+      if (pendingSubmissions != window) {
+        return;
+      }
+      drained = drain();
+    }
+    dispatch(drained);
+  }
+
+  // must be called holding the lock
+  private List<PendingSubmission> drain() {
+    final List<PendingSubmission> drained = pendingSubmissions;
+    pendingSubmissions = new ArrayList<>();
+    pendingTransactions = 0;
+    return drained;
+  }
+
+  private void dispatch(PendingSubmission submission) {
+    try {
+      submissionExecutor.execute(() -> complete(submission));
+    } catch (RejectedExecutionException e) {
+      failures.increment();
+      submission.future.completeExceptionally(e);
+    }
+  }
+
+  private void dispatch(List<PendingSubmission> submissions) {
+    if (submissions.size() == 1) {
+      dispatch(submissions.get(0));
+      return;
+    }
+    try {
+      submissionExecutor.execute(() -> completeCombined(submissions));
+    } catch (RejectedExecutionException e) {
+      failures.add(submissions.size());
+      submissions.forEach(submission -> submission.future.completeExceptionally(e));
+    }
+  }
+
+  private void complete(PendingSubmission submission) {
+    try {
+      send(submission.transactions);
+      submission.future.complete(null);
+    } catch (Exception e) {
+      failures.increment();
+      submission.future.completeExceptionally(e);
+    }
+  }
+
+  private void completeCombined(List<PendingSubmission> submissions) {
+    final List<Transaction> transactions = new ArrayList<>();
+    for (PendingSubmission submission : submissions) {
+      transactions.addAll(submission.transactions);
+    }
+    try {
+      combinedCalls.increment();
+      send(transactions);
+      submissions.forEach(submission -> submission.future.complete(null));
+    } catch (Exception e) {
+      if (isRetriable(e)) {
+        // the attempts are exhausted, Iroha is not reachable for any of the batches
+        failures.add(submissions.size());
+        submissions.forEach(submission -> submission.future.completeExceptionally(e));
+        return;
+      }
+      // Iroha rejects the whole list if any of its batches is invalid
+      fallbacks.increment();
+      logger.warn("Could not send {} batches at once, sending them one by one: {}",
+          submissions.size(), e.getMessage());
+      submissions.forEach(this::complete);
+    }
+  }
+
+  private void send(List<Transaction> transactions) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        if (transactions.size() > 1) {
+          irohaAPI.transactionListSync(transactions);
+        } else {
+          irohaAPI.transactionSync(transactions.get(0));
+        }
+        return;
+      } catch (StatusRuntimeException e) {
+        if (attempt >= maxAttempts || !isRetriable(e)) {
+          throw e;
+        }
+        retries.increment();
+        logger.warn("Could not send transactions, attempt {} of {}: {}",
+            attempt, maxAttempts, e.getStatus());
+        sleep(attempt);
+      }
+    }
+  }
+
+  private static boolean isRetriable(Exception e) {
+    return e instanceof StatusRuntimeException
+        && RETRIABLE_CODES.contains(Status.fromThrowable(e).getCode());
+  }
+
+  private void sleep(int attempt) {
+    final long delay = backoffMillis * Math.min(1L << (attempt - 1), MAX_BACKOFF_MULTIPLIER);
+    try {
+      // jitter spreads the retries of the batches failed at once
+      Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Submission has been interrupted", e);
+    }
+  }
+
+  /**
+   * Sends the batches accumulated so far and stops the window timer
+   */
+  @Override
+  public void close() {
+    if (flushScheduler == null) {
+      return;
+    }
+    flushScheduler.shutdownNow();
+    final List<PendingSubmission> drained;
+    synchronized (this) {
+      drained = drain();
+    }
+    if (!drained.isEmpty()) {
+      dispatch(drained);
+    }
+  }
+
+  private static class PendingSubmission {
+
+    private final List<Transaction> transactions;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    private PendingSubmission(List<Transaction> transactions) {
+      this.transactions = transactions;
+    }
+  }
+}
@@ -7,6 +7,8 @@ package iroha.validation.transactions.core.storage.impl.mongo;
 
 import static com.mongodb.client.model.Filters.eq;
 
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.ReplaceOptions;
 import iroha.validation.transactions.core.archetype.mongo.MongoBasedStorage;
 import iroha.validation.transactions.core.storage.TransactionVerdictStorage;
@@ -15,9 +17,9 @@ import iroha.validation.verdict.ValidationResult;
 public class MongoTransactionVerdictStorage extends MongoBasedStorage<MongoVerdict>
     implements TransactionVerdictStorage {
 
-  private static final ReplaceOptions optionsToReplace = new ReplaceOptions().upsert(true);
-  private static final ReplaceOptions optionsToKeep = new ReplaceOptions().upsert(false);
-  private static final String TX_HASH_ATTRIBUTE = "txHash";
+  protected static final ReplaceOptions optionsToReplace = new ReplaceOptions().upsert(true);
+  protected static final ReplaceOptions optionsToKeep = new ReplaceOptions().upsert(false);
+  protected static final String TX_HASH_ATTRIBUTE = "txHash";
   private static final String DEFAULT_DB_NAME = "verdictStorage";
   private static final String DEFAULT_COLLECTION_NAME = "verdicts";
 
@@ -25,6 +27,11 @@ public class MongoTransactionVerdictStorage extends MongoBasedStorage<MongoVerdi
     super(mongoHost, mongoPort, DEFAULT_DB_NAME, DEFAULT_COLLECTION_NAME, MongoVerdict.class);
   }
 
+  public MongoTransactionVerdictStorage(MongoClient mongoClient,
+      MongoCollection<MongoVerdict> collection) {
+    super(mongoClient, collection);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -67,7 +74,7 @@ public class MongoTransactionVerdictStorage extends MongoBasedStorage<MongoVerdi
     return verdict == null ? null : verdict.getResult();
   }
 
-  private void store(String txHash, ValidationResult result, ReplaceOptions options) {
+  protected void store(String txHash, ValidationResult result, ReplaceOptions options) {
     final String upperCaseHash = txHash.toUpperCase();
     collection.replaceOne(eq(TX_HASH_ATTRIBUTE, upperCaseHash),
         new MongoVerdict(upperCaseHash, result),
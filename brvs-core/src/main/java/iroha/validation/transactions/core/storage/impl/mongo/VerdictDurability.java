@@ -0,0 +1,26 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.core.storage.impl.mongo;
+
+/**
+ * Guarantees of {@link WriteBehindMongoTransactionVerdictStorage} about verdicts reaching MongoDB
+ */
+public enum VerdictDurability {
+  /**
+   * Every verdict is written synchronously by its own request
+   */
+  WRITE_THROUGH,
+  /**
+   * Pending verdicts are written in background, validated and rejected ones are flushed together
+   * with everything buffered before them before the call returns. If the flush fails, they stay
+   * buffered and are written by the next background flush
+   */
+  TERMINAL_SYNC,
+  /**
+   * All the verdicts are written in background, the ones buffered are lost if the service crashes
+   */
+  WRITE_BEHIND
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.core.storage.impl.mongo;
+
+import static com.d3.commons.util.ThreadUtilKt.createPrettyScheduledThreadPool;
+import static com.mongodb.client.model.Filters.eq;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.WriteModel;
+import iroha.validation.verdict.ValidationResult;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link MongoTransactionVerdictStorage} keeping the verdicts in memory and writing them to MongoDB
+ * by ordered bulk writes, flushed periodically or once enough verdicts are buffered. Subsequent
+ * verdicts of a transaction are coalesced into a single write. Buffered verdicts are served from
+ * memory until they are flushed
+ */
+public class WriteBehindMongoTransactionVerdictStorage extends MongoTransactionVerdictStorage {
+
+  private static final Logger logger = LoggerFactory
+      .getLogger(WriteBehindMongoTransactionVerdictStorage.class);
+  private static final BulkWriteOptions bulkWriteOptions = new BulkWriteOptions().ordered(true);
+  // writers start flushing by themselves once Mongo falls that much behind
+  private static final int BACKPRESSURE_FACTOR = 10;
+
+  private final VerdictDurability durability;
+  private final int maxBatchSize;
+  private final Map<String, PendingWrite> buffer = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final Object flushLock = new Object();
+  private final ScheduledExecutorService flushScheduler;
+  private final LongAdder flushes = new LongAdder();
+  private final LongAdder coalescedWrites = new LongAdder();
+
+  public WriteBehindMongoTransactionVerdictStorage(String mongoHost,
+      int mongoPort,
+      String durability,
+      String maxBatchSize,
+      String flushPeriodMillis) {
+    this(
+        mongoHost,
+        mongoPort,
+        VerdictDurability.valueOf(durability.toUpperCase()),
+        Integer.parseInt(maxBatchSize),
+        Long.parseLong(flushPeriodMillis)
+    );
+  }
+
+  /**
+   * @param durability {@link VerdictDurability} of the verdicts
+   * @param maxBatchSize amount of buffered verdicts triggering a flush
+   * @param flushPeriodMillis maximum time a verdict stays buffered unless MongoDB is unavailable
+   */
+  public WriteBehindMongoTransactionVerdictStorage(String mongoHost,
+      int mongoPort,
+      VerdictDurability durability,
+      int maxBatchSize,
+      long flushPeriodMillis) {
+    super(mongoHost, mongoPort);
+    this.durability = durability;
+    this.maxBatchSize = maxBatchSize;
+    this.flushScheduler = startFlushing(durability, maxBatchSize, flushPeriodMillis);
+  }
+
+  /**
+   * @param mongoClient client the collection belongs to
+   * @param collection collection of the verdicts
+   */
+  public WriteBehindMongoTransactionVerdictStorage(MongoClient mongoClient,
+      MongoCollection<MongoVerdict> collection,
+      VerdictDurability durability,
+      int maxBatchSize,
+      long flushPeriodMillis) {
+    super(mongoClient, collection);
+    this.durability = durability;
+    this.maxBatchSize = maxBatchSize;
+    this.flushScheduler = startFlushing(durability, maxBatchSize, flushPeriodMillis);
+  }
+
+  private ScheduledExecutorService startFlushing(VerdictDurability durability,
+      int maxBatchSize,
+      long flushPeriodMillis) {
+    Objects.requireNonNull(durability, "Durability must not be null");
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("Max batch size must be positive, got " + maxBatchSize);
+    }
+    if (flushPeriodMillis < 1) {
+      throw new IllegalArgumentException(
+          "Flush period must be positive, got " + flushPeriodMillis
+      );
+    }
+    if (durability == VerdictDurability.WRITE_THROUGH) {
+      return null;
+    }
+    final ScheduledExecutorService scheduler = createPrettyScheduledThreadPool(
+        "brvs", "verdicts-flush"
+    );
+    scheduler.scheduleWithFixedDelay(
+        this::flushQuietly,
+        flushPeriodMillis,
+        flushPeriodMillis,
+        TimeUnit.MILLISECONDS
+    );
+    return scheduler;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isHashPresentInStorage(String txHash) {
+    final PendingWrite pendingWrite = buffer.get(txHash.toUpperCase());
+    if (pendingWrite == null) {
+      return super.isHashPresentInStorage(txHash);
+    }
+    return isStored(pendingWrite);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean markTransactionPending(String txHash) {
+    write(txHash, ValidationResult.PENDING, false, false);
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void markTransactionValidated(String txHash) {
+    write(txHash, ValidationResult.VALIDATED, true, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void markTransactionRejected(String txHash, String reason) {
+    write(txHash, ValidationResult.REJECTED(reason), true, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ValidationResult getTransactionVerdict(String txHash) {
+    final PendingWrite pendingWrite = buffer.get(txHash.toUpperCase());
+    if (pendingWrite == null) {
+      return super.getTransactionVerdict(txHash);
+    }
+    // a buffered replacement of a verdict Mongo does not have yet would not be stored either
+    return isStored(pendingWrite) ? pendingWrite.result : null;
+  }
+
+  /**
+   * @return true if the verdict is or is going to be stored, Mongo is asked at most once per
+   * buffered verdict
+   */
+  private boolean isStored(PendingWrite pendingWrite) {
+    if (pendingWrite.upsert) {
+      return true;
+    }
+    Boolean present = pendingWrite.present;
+    if (present == null) {
+      present = super.isHashPresentInStorage(pendingWrite.txHash);
+      pendingWrite.present = present;
+    }
+    return present;
+  }
+
+  /**
+   * @return amount of verdicts not written to MongoDB yet
+   */
+  public int getBufferedWrites() {
+    return buffer.size();
+  }
+
+  /**
+   * @return amount of bulk writes performed
+   */
+  public long getFlushes() {
+    return flushes.sum();
+  }
+
+  /**
+   * @return amount of buffered verdicts replaced by subsequent verdicts of the same transactions
+   */
+  public long getCoalescedWrites() {
+    return coalescedWrites.sum();
+  }
+
+  private void write(String txHash, ValidationResult result, boolean upsert, boolean terminal) {
+    final String upperCaseHash = txHash.toUpperCase();
+    if (durability == VerdictDurability.WRITE_THROUGH) {
+      store(upperCaseHash, result, upsert ? optionsToReplace : optionsToKeep);
+      return;
+    }
+    buffer.merge(
+        upperCaseHash,
+        new PendingWrite(sequence.incrementAndGet(), upperCaseHash, result, upsert),
+        (previous, next) -> {
+          coalescedWrites.increment();
+          if (next.upsert) {
+            return next;
+          }
+          // the previous verdict may have never reached Mongo, so it must still be inserted
+          if (previous.upsert) {
+            return next.asUpsert();
+          }
+          next.present = previous.present;
+          return next;
+        }
+    );
+    final int buffered = buffer.size();
+    if (buffered >= maxBatchSize * BACKPRESSURE_FACTOR) {
+      flush();
+    } else if (terminal && durability == VerdictDurability.TERMINAL_SYNC) {
+      // the transaction is in Iroha already, so its verdict is kept buffered if Mongo fails
+      flushQuietly();
+    } else if (buffered >= maxBatchSize) {
+      flushScheduler.execute(this::flushQuietly);
+    }
+  }
+
+  /**
+   * Writes the verdicts buffered so far to MongoDB in the order they were made
+   */
+  public void flush() {
+    final long lastSequence = sequence.get();
+    synchronized (flushLock) {
+      while (true) {
+        final List<PendingWrite> pendingWrites = buffer.values()
+            .stream()
+            .filter(pendingWrite -> pendingWrite.sequence <= lastSequence)
+            .sorted(Comparator.comparingLong(pendingWrite -> pendingWrite.sequence))
+            .limit(maxBatchSize)
+            .collect(Collectors.toList());
+        if (pendingWrites.isEmpty()) {
+          return;
+        }
+        final List<WriteModel<MongoVerdict>> models = new ArrayList<>(pendingWrites.size());
+        for (PendingWrite pendingWrite : pendingWrites) {
+          models.add(new ReplaceOneModel<>(
+              eq(TX_HASH_ATTRIBUTE, pendingWrite.txHash),
+              new MongoVerdict(pendingWrite.txHash, pendingWrite.result),
+              pendingWrite.upsert ? optionsToReplace : optionsToKeep
+          ));
+        }
+        collection.bulkWrite(models, bulkWriteOptions);
+        flushes.increment();
+        // verdicts updated during the write stay buffered for the next one
+        pendingWrites.forEach(pendingWrite -> buffer.remove(pendingWrite.txHash, pendingWrite));
+      }
+    }
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (Exception e) {
+      logger.error("Could not flush " + buffer.size() + " verdicts, retrying later", e);
+    }
+  }
+
+  /**
+   * Flushes the buffered verdicts and closes the storage
+   */
+  @Override
+  public void close() {
+    if (flushScheduler != null) {
+      flushScheduler.shutdownNow();
+      flushQuietly();
+    }
+    super.close();
+  }
+
+  private static class PendingWrite {
+
+    private final long sequence;
+    private final String txHash;
+    private final ValidationResult result;
+    private final boolean upsert;
+    // whether Mongo has the hash already, null until asked
+    private volatile Boolean present;
+
+    private PendingWrite(long sequence, String txHash, ValidationResult result, boolean upsert) {
+      this.sequence = sequence;
+      this.txHash = txHash;
+      this.result = result;
+      this.upsert = upsert;
+    }
+
+    private PendingWrite asUpsert() {
+      return new PendingWrite(sequence, txHash, result, true);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.core.verification;
+
+import iroha.validation.transactions.TransactionBatch;
+import java.util.List;
+
+/**
+ * Cryptographic verification of transactions signatures
+ */
+public interface SignatureVerifier {
+
+  /**
+   * Method for checking all the signatures of the batch transactions
+   *
+   * @param transactionBatch {@link TransactionBatch} to be checked
+   * @return true if every transaction is signed and every signature is a valid signature of its
+   * transaction by a signatory of the transaction creator
+   */
+  boolean verify(TransactionBatch transactionBatch);
+
+  /**
+   * Method for checking many batches at once
+   *
+   * @param transactionBatches {@link TransactionBatch batches} to be checked
+   * @return batches passed the verification in the original order
+   */
+  List<TransactionBatch> filterVerified(List<TransactionBatch> transactionBatches);
+}
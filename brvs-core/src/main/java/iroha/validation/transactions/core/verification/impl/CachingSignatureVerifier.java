@@ -0,0 +1,220 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.core.verification.impl;
+
+import static iroha.validation.utils.ValidationUtils.hexHash;
+
+import iroha.protocol.Primitive.Signature;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.transactions.core.provider.UserQuorumProvider;
+import iroha.validation.transactions.core.verification.SignatureVerifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ed25519/SHA3 {@link SignatureVerifier} checking batches concurrently. A signature is accepted
+ * only if it is valid and its key is a signatory of the transaction creator. Pending transactions
+ * are polled again and again until they are committed, so signatures passed both checks are
+ * remembered and not checked twice. Since Ed25519 signatures are deterministic, a signature is
+ * identified by the transaction hash and the public key, the signature itself is kept in the key
+ * only to never trust a different signature of the same pair. Signatories of the creators are
+ * cached for {@value SIGNATORIES_TTL_MILLIS} ms, so a key just added to an account is accepted
+ * once the cached signatories expire
+ */
+public class CachingSignatureVerifier implements SignatureVerifier {
+
+  private static final Logger logger = LoggerFactory.getLogger(CachingSignatureVerifier.class);
+  private static final int DEFAULT_CACHE_SIZE = 100_000;
+  private static final long SIGNATORIES_TTL_MILLIS = 60_000;
+  private static final ThreadLocal<Ed25519Sha3> crypto = ThreadLocal.withInitial(Ed25519Sha3::new);
+
+  private final ExecutorService executorService;
+  private final UserQuorumProvider userQuorumProvider;
+  private final Map<String, Boolean> verifiedSignatures;
+  private final Map<String, Signatories> accountSignatories;
+
+  public CachingSignatureVerifier(ExecutorService executorService,
+      UserQuorumProvider userQuorumProvider) {
+    this(executorService, userQuorumProvider, DEFAULT_CACHE_SIZE);
+  }
+
+  public CachingSignatureVerifier(ExecutorService executorService,
+      UserQuorumProvider userQuorumProvider,
+      String cacheSize) {
+    this(executorService, userQuorumProvider, Integer.parseInt(cacheSize));
+  }
+
+  /**
+   * @param executorService executor checking the batches
+   * @param userQuorumProvider source of the signatories of the transaction creators
+   * @param cacheSize amount of verified signatures and of accounts signatories remembered
+   */
+  public CachingSignatureVerifier(ExecutorService executorService,
+      UserQuorumProvider userQuorumProvider,
+      int cacheSize) {
+    Objects.requireNonNull(executorService, "Executor service must not be null");
+    Objects.requireNonNull(userQuorumProvider, "User quorum provider must not be null");
+    if (cacheSize < 1) {
+      throw new IllegalArgumentException("Cache size must be positive, got " + cacheSize);
+    }
+
+    this.executorService = executorService;
+    this.userQuorumProvider = userQuorumProvider;
+    this.verifiedSignatures = lruMap(cacheSize);
+    this.accountSignatories = lruMap(cacheSize);
+  }
+
+  private static <V> Map<String, V> lruMap(int cacheSize) {
+    return new LinkedHashMap<String, V>(cacheSize, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+        return size() > cacheSize;
+      }
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean verify(TransactionBatch transactionBatch) {
+    for (Transaction transaction : transactionBatch) {
+      if (!verify(transaction)) {
+        logger.warn("Transactions {} contain invalid signatures", hexHash(transactionBatch));
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * {@inheritDoc} Every batch is checked by the executor given. Nothing is returned if the calling
+   * thread is interrupted
+   */
+  @Override
+  public List<TransactionBatch> filterVerified(List<TransactionBatch> transactionBatches) {
+    final List<TransactionBatch> verifiedBatches = new ArrayList<>(transactionBatches.size());
+    if (transactionBatches.size() == 1) {
+      if (verify(transactionBatches.get(0))) {
+        verifiedBatches.add(transactionBatches.get(0));
+      }
+      return verifiedBatches;
+    }
+    final List<Future<Boolean>> results = new ArrayList<>(transactionBatches.size());
+    for (TransactionBatch transactionBatch : transactionBatches) {
+      results.add(executorService.submit(() -> verify(transactionBatch)));
+    }
+    try {
+      for (int i = 0; i < results.size(); i++) {
+        if (results.get(i).get()) {
+          verifiedBatches.add(transactionBatches.get(i));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      results.forEach(result -> result.cancel(true));
+      return Collections.emptyList();
+    } catch (ExecutionException e) {
+      // verification never throws, so it is a bug
+      throw new IllegalStateException("Signature verification failed", e.getCause());
+    }
+    return verifiedBatches;
+  }
+
+  private boolean verify(Transaction transaction) {
+    // unsigned transactions are not made by the account owner
+    if (transaction.getSignaturesCount() == 0) {
+      return false;
+    }
+    final byte[] hash = Utils.hash(transaction);
+    final String hexHash = Utils.toHex(hash);
+    Set<String> signatories = null;
+    for (Signature signature : transaction.getSignaturesList()) {
+      final String key = hexHash + signature.getPublicKey() + signature.getSignature();
+      synchronized (verifiedSignatures) {
+        if (verifiedSignatures.containsKey(key)) {
+          continue;
+        }
+      }
+      if (signatories == null) {
+        signatories = getSignatories(
+            transaction.getPayload().getReducedPayload().getCreatorAccountId()
+        );
+      }
+      if (!signatories.contains(signature.getPublicKey()) || !verify(hash, signature)) {
+        return false;
+      }
+      synchronized (verifiedSignatures) {
+        verifiedSignatures.put(key, Boolean.TRUE);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param accountId transaction creator
+   * @return public keys of the account signatories, hex case is ignored
+   */
+  private Set<String> getSignatories(String accountId) {
+    final long now = System.currentTimeMillis();
+    synchronized (accountSignatories) {
+      final Signatories cached = accountSignatories.get(accountId);
+      if (cached != null && cached.expiresAt > now) {
+        return cached.keys;
+      }
+    }
+    final Set<String> keys = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    try {
+      keys.addAll(userQuorumProvider.getUserSignatories(accountId));
+    } catch (Exception e) {
+      // the batch is checked again on the next poll
+      logger.warn("Could not get signatories of " + accountId, e);
+      return Collections.emptySet();
+    }
+    synchronized (accountSignatories) {
+      accountSignatories.put(accountId, new Signatories(keys, now + SIGNATORIES_TTL_MILLIS));
+    }
+    return keys;
+  }
+
+  private static boolean verify(byte[] hash, Signature signature) {
+    try {
+      return crypto.get().rawVerify(
+          hash,
+          Utils.parseHexBinary(signature.getSignature()),
+          Ed25519Sha3.publicKeyFromBytes(Utils.parseHexBinary(signature.getPublicKey()))
+      );
+    } catch (Exception e) {
+      // malformed keys and signatures are just invalid
+      return false;
+    }
+  }
+
+  private static class Signatories {
+
+    private final Set<String> keys;
+    private final long expiresAt;
+
+    private Signatories(Set<String> keys, long expiresAt) {
+      this.keys = keys;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
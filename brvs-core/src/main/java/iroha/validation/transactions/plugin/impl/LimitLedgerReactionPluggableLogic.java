@@ -0,0 +1,182 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.plugin.impl;
+
+import static com.d3.commons.util.ThreadUtilKt.createPrettyScheduledThreadPool;
+import static iroha.validation.utils.ValidationUtils.sendWithLastResponseWaiting;
+
+import com.d3.commons.sidechain.iroha.util.IrohaQueryHelper;
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.Endpoint.TxStatus;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.limits.LimitKey;
+import iroha.validation.limits.LimitLedger;
+import iroha.validation.rules.impl.assets.TransferLimitRule;
+import iroha.validation.transactions.plugin.PluggableLogic;
+import java.io.Closeable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+/**
+ * Keeps the {@link LimitLedger} consistent with Iroha. Reservations of committed transactions are
+ * confirmed and committed transactions without a reservation are charged by the
+ * {@link TransferLimitRule transfer limit rules}, reservations not committed in time are released.
+ * The amounts spent by committed transactions are periodically stored as details of the limit
+ * holder account set by BRVS and restored on startup
+ */
+public class LimitLedgerReactionPluggableLogic extends PluggableLogic<List<Transaction>> implements
+    Closeable {
+
+  private static final Logger logger = LoggerFactory
+      .getLogger(LimitLedgerReactionPluggableLogic.class);
+
+  private final QueryAPI queryAPI;
+  private final LimitLedger limitLedger;
+  private final List<TransferLimitRule> transferLimitRules;
+  private final String limitHolderAccount;
+  private final long reservationTtlMillis;
+  private final ScheduledExecutorService executor = createPrettyScheduledThreadPool(
+      "brvs", "limit-synchronizer"
+  );
+  private long lastSyncedModifications = -1;
+
+  /**
+   * @param queryAPI BRVS {@link QueryAPI} to store the amounts spent with
+   * @param irohaQueryHelper query helper to restore the amounts spent
+   * @param limitLedger ledger to synchronize
+   * @param transferLimitRules rules charging the ledger
+   * @param limitHolderAccount account to store the amounts spent in
+   * @param syncPeriodSeconds period of storing the amounts spent and expiring reservations
+   * @param reservationTtlSeconds time a validated transaction may take to be committed
+   */
+  public LimitLedgerReactionPluggableLogic(QueryAPI queryAPI,
+      IrohaQueryHelper irohaQueryHelper,
+      LimitLedger limitLedger,
+      List<TransferLimitRule> transferLimitRules,
+      String limitHolderAccount,
+      String syncPeriodSeconds,
+      String reservationTtlSeconds) {
+    Objects.requireNonNull(queryAPI, "QueryAPI must not be null");
+    Objects.requireNonNull(irohaQueryHelper, "IrohaQueryHelper must not be null");
+    Objects.requireNonNull(limitLedger, "Limit ledger must not be null");
+    Objects.requireNonNull(transferLimitRules, "Transfer limit rules must not be null");
+    if (StringUtils.isEmpty(limitHolderAccount)) {
+      throw new IllegalArgumentException(
+          "Limit holder account ID must not be neither null nor empty"
+      );
+    }
+    final long syncPeriod = Long.parseLong(syncPeriodSeconds);
+    if (syncPeriod < 1) {
+      throw new IllegalArgumentException("Sync period must be positive, got " + syncPeriod);
+    }
+    final long reservationTtl = Long.parseLong(reservationTtlSeconds);
+    if (reservationTtl < 1) {
+      throw new IllegalArgumentException(
+          "Reservation TTL must be positive, got " + reservationTtl
+      );
+    }
+
+    this.queryAPI = queryAPI;
+    this.limitLedger = limitLedger;
+    this.transferLimitRules = new ArrayList<>(transferLimitRules);
+    this.limitHolderAccount = limitHolderAccount;
+    this.reservationTtlMillis = TimeUnit.SECONDS.toMillis(reservationTtl);
+
+    restore(irohaQueryHelper);
+    executor.scheduleWithFixedDelay(this::synchronize, syncPeriod, syncPeriod, TimeUnit.SECONDS);
+  }
+
+  private void restore(IrohaQueryHelper irohaQueryHelper) {
+    if (limitLedger.snapshot().isEmpty()) {
+      return;
+    }
+    final Map<String, String> details = irohaQueryHelper
+        .getAccountDetails(limitHolderAccount, queryAPI.getAccountId())
+        .get();
+    int restored = 0;
+    for (LimitKey key : limitLedger.snapshot().keySet()) {
+      final String used = details.get(key.toDetailKey());
+      if (used != null) {
+        limitLedger.setUsed(key, new BigDecimal(used));
+        restored++;
+      }
+    }
+    lastSyncedModifications = limitLedger.getModifications();
+    logger.info("Restored {} limit counters from {}", restored, limitHolderAccount);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Transaction> filterAndTransform(Block block) {
+    final List<Transaction> transactions = block.getBlockV1().getPayload().getTransactionsList();
+    return transactions == null ? Collections.emptyList() : transactions;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void applyInternal(List<Transaction> committedTransactions) {
+    int charged = 0;
+    for (TransferLimitRule transferLimitRule : transferLimitRules) {
+      charged += transferLimitRule.commit(committedTransactions);
+    }
+    if (charged > 0) {
+      // validated by another instance or delivered despite a failed submission
+      logger.info("Charged limits of {} committed transactions without reservations", charged);
+    }
+  }
+
+  private void synchronize() {
+    try {
+      limitLedger.expire(reservationTtlMillis);
+      final long modifications = limitLedger.getModifications();
+      if (modifications == lastSyncedModifications) {
+        return;
+      }
+      final Map<LimitKey, BigDecimal> snapshot = limitLedger.snapshot();
+      if (snapshot.isEmpty()) {
+        return;
+      }
+      final jp.co.soramitsu.iroha.java.Transaction builder = jp.co.soramitsu.iroha.java.Transaction
+          .builder(queryAPI.getAccountId());
+      snapshot.forEach((key, used) ->
+          builder.setAccountDetail(limitHolderAccount, key.toDetailKey(), used.toPlainString())
+      );
+      final Transaction transaction = builder.sign(queryAPI.getKeyPair()).build();
+      final TxStatus txStatus = sendWithLastResponseWaiting(queryAPI.getApi(), transaction)
+          .getTxStatus();
+      if (!txStatus.equals(TxStatus.COMMITTED)) {
+        logger.warn("Could not store limit counters. Got transaction status: {}. Hash: {}",
+            txStatus.name(), Utils.toHexHash(transaction)
+        );
+        return;
+      }
+      lastSyncedModifications = modifications;
+      logger.debug("Stored {} limit counters", snapshot.size());
+    } catch (Exception e) {
+      logger.error("Limit ledger synchronization failed", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
@@ -5,7 +5,6 @@
 
 package iroha.validation.transactions.plugin.impl;
 
-import static iroha.validation.utils.ValidationUtils.getDomain;
 import static iroha.validation.utils.ValidationUtils.getTxAccountId;
 
 import iroha.protocol.BlockOuterClass.Block;
@@ -13,6 +12,7 @@ import iroha.protocol.Commands.Command;
 import iroha.protocol.TransactionOuterClass.Transaction;
 import iroha.validation.transactions.plugin.PluggableLogic;
 import iroha.validation.transactions.core.provider.impl.AccountManager;
+import iroha.validation.utils.DomainTable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -54,11 +55,12 @@ public class QuorumReactionPluggableLogic extends PluggableLogic<Map<String, Col
       return Collections.emptyMap();
     }
 
-    final Set<String> userDomains = accountManager.getUserDomains();
+    final DomainTable userDomains = accountManager.getUserDomainTable();
     final List<Command> commands = transactions.stream()
         .map(blockTransaction -> {
               final String creatorAccountId = getTxAccountId(blockTransaction);
-              if (!userDomains.contains(getDomainSafely(creatorAccountId))) {
+              // genesis block creators have no domain and never match
+              if (!userDomains.containsDomainOf(creatorAccountId)) {
                 return Collections.<Command>emptyList();
               }
 
@@ -94,9 +96,8 @@ public class QuorumReactionPluggableLogic extends PluggableLogic<Map<String, Col
         Collectors.toMap(
             Function.identity(),
             accountId -> {
-              final Set<String> userSignatories = new HashSet<>(
-                  accountManager.getUserSignatoriesDetail(accountId)
-              );
+              final Set<String> userSignatories = newKeySet();
+              userSignatories.addAll(accountManager.getUserSignatoriesDetail(accountId));
               final Set<String> removedSignatories = accountRemovedSignatories.get(accountId);
               final Set<String> addedSignatories = accountAddedSignatories.get(accountId);
               if (removedSignatories != null) {
@@ -109,7 +110,10 @@ public class QuorumReactionPluggableLogic extends PluggableLogic<Map<String, Col
                 logger.warn("There was an attempt to delete all keys of {}", accountId);
                 return Collections.emptyList();
               }
-              return userSignatories;
+              // the quorum detail keeps the keys upper-cased
+              return userSignatories.stream()
+                  .map(String::toUpperCase)
+                  .collect(Collectors.toList());
             }
         )
     );
@@ -139,14 +143,10 @@ public class QuorumReactionPluggableLogic extends PluggableLogic<Map<String, Col
         .filter(Command::hasRemoveSignatory)
         .map(Command::getRemoveSignatory)
         .filter(command -> accountManager.isRegistered(command.getAccountId()))
-        .forEach(removeSignatory -> {
-          final String signatoryAccountId = removeSignatory.getAccountId();
-          if (!accountRemovedSignatories.containsKey(signatoryAccountId)) {
-            accountRemovedSignatories.put(signatoryAccountId, new HashSet<>());
-          }
-          accountRemovedSignatories.get(signatoryAccountId)
-              .add(removeSignatory.getPublicKey().toUpperCase());
-        });
+        .forEach(removeSignatory -> accountRemovedSignatories
+            .computeIfAbsent(removeSignatory.getAccountId(), accountId -> newKeySet())
+            .add(removeSignatory.getPublicKey())
+        );
     return accountRemovedSignatories;
   }
 
@@ -159,24 +159,17 @@ public class QuorumReactionPluggableLogic extends PluggableLogic<Map<String, Col
         .filter(Command::hasAddSignatory)
         .map(Command::getAddSignatory)
         .filter(command -> accountManager.isRegistered(command.getAccountId()))
-        .forEach(addSignatory -> {
-          final String signatoryAccountId = addSignatory.getAccountId();
-          if (!accountAddedSignatories.containsKey(signatoryAccountId)) {
-            accountAddedSignatories.put(signatoryAccountId, new HashSet<>());
-          }
-          accountAddedSignatories.get(signatoryAccountId)
-              .add(addSignatory.getPublicKey().toUpperCase());
-        });
+        .forEach(addSignatory -> accountAddedSignatories
+            .computeIfAbsent(addSignatory.getAccountId(), accountId -> newKeySet())
+            .add(addSignatory.getPublicKey())
+        );
     return accountAddedSignatories;
   }
 
-  // For genesis blocks
-  private String getDomainSafely(String accountId) {
-    try {
-      return getDomain(accountId);
-    } catch (IndexOutOfBoundsException e) {
-      logger.warn("Couldn't parse domain of " + accountId, e);
-      return "";
-    }
+  /**
+   * Keys are compared ignoring case without copying them, they are upper-cased only once written
+   */
+  private static Set<String> newKeySet() {
+    return new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
   }
 }
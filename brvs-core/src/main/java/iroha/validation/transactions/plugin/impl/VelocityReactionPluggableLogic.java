@@ -0,0 +1,48 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.transactions.plugin.impl;
+
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.transactions.plugin.PluggableLogic;
+import iroha.validation.velocity.VelocityRule;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Corrects the {@link VelocityRule velocity rules} counters with the committed transactions
+ */
+public class VelocityReactionPluggableLogic extends PluggableLogic<List<Transaction>> {
+
+  private final List<VelocityRule> velocityRules;
+
+  public VelocityReactionPluggableLogic(List<VelocityRule> velocityRules) {
+    Objects.requireNonNull(velocityRules, "Velocity rules must not be null");
+
+    this.velocityRules = new ArrayList<>(velocityRules);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Transaction> filterAndTransform(Block block) {
+    final List<Transaction> transactions = block.getBlockV1().getPayload().getTransactionsList();
+    return transactions == null ? Collections.emptyList() : transactions;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void applyInternal(List<Transaction> transactions) {
+    for (VelocityRule velocityRule : velocityRules) {
+      velocityRule.commit(transactions);
+    }
+  }
+}
@@ -18,6 +18,7 @@ import iroha.protocol.Endpoint.TxStatus;
 import iroha.protocol.TransactionOuterClass.Transaction;
 import iroha.protocol.TransactionOuterClass.Transaction.Payload;
 import iroha.protocol.TransactionOuterClass.Transaction.Payload.ReducedPayload;
+import iroha.validation.rules.impl.sora.XorWithdrawalLimitRule;
 import iroha.validation.rules.impl.sora.XorWithdrawalLimitRule.XorWithdrawalLimitRemainder;
 import iroha.validation.transactions.core.provider.RegistrationProvider;
 import iroha.validation.transactions.plugin.PluggableLogic;
@@ -32,17 +33,18 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import jp.co.soramitsu.iroha.java.QueryAPI;
 import jp.co.soramitsu.iroha.java.Utils;
-import kotlin.Pair;
+import kotlin.Triple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
 /**
- * Newly withdrawn assets must be accounted
+ * Newly withdrawn assets must be accounted. Once the remainder is updated, the reservations of the
+ * committed withdrawals are released by the {@link XorWithdrawalLimitRule}
  */
 @Deprecated
 public class XorWithdrawalLimitReactionPluggableLogic extends
-    PluggableLogic<Pair<Map<String, String>, BigDecimal>> {
+    PluggableLogic<Triple<Map<String, String>, BigDecimal, List<Transaction>>> {
 
   private static final Logger logger = LoggerFactory
       .getLogger(XorWithdrawalLimitReactionPluggableLogic.class);
@@ -56,6 +58,7 @@ public class XorWithdrawalLimitReactionPluggableLogic extends
   private final AtomicReference<XorWithdrawalLimitRemainder> xorWithdrawalLimitRemainder;
   private final String withdrawalAccountId;
   private final RegistrationProvider registrationProvider;
+  private final XorWithdrawalLimitRule xorWithdrawalLimitRule;
 
   public XorWithdrawalLimitReactionPluggableLogic(
       QueryAPI queryAPI,
@@ -64,7 +67,8 @@ public class XorWithdrawalLimitReactionPluggableLogic extends
       String limitSetterAccount,
       AtomicReference<XorWithdrawalLimitRemainder> xorWithdrawalLimitRemainder,
       String withdrawalAccountId,
-      RegistrationProvider registrationProvider) {
+      RegistrationProvider registrationProvider,
+      XorWithdrawalLimitRule xorWithdrawalLimitRule) {
 
     Objects.requireNonNull(
         queryAPI,
@@ -97,6 +101,7 @@ public class XorWithdrawalLimitReactionPluggableLogic extends
           "Withdrawal account ID must not be neither null nor empty"
       );
     }
+    Objects.requireNonNull(xorWithdrawalLimitRule, "Withdrawal limit rule must not be null");
 
     this.queryAPI = queryAPI;
     this.irohaQueryHelper = irohaQueryHelper;
@@ -105,6 +110,7 @@ public class XorWithdrawalLimitReactionPluggableLogic extends
     this.xorWithdrawalLimitRemainder = xorWithdrawalLimitRemainder;
     this.withdrawalAccountId = withdrawalAccountId;
     this.registrationProvider = registrationProvider;
+    this.xorWithdrawalLimitRule = xorWithdrawalLimitRule;
 
     requestIrohaLimitsAndPerformUpdate();
   }
@@ -177,10 +183,11 @@ public class XorWithdrawalLimitReactionPluggableLogic extends
    * {@inheritDoc}
    */
   @Override
-  public Pair<Map<String, String>, BigDecimal> filterAndTransform(Block block) {
+  public Triple<Map<String, String>, BigDecimal, List<Transaction>> filterAndTransform(
+      Block block) {
     final List<Transaction> transactions = block.getBlockV1().getPayload().getTransactionsList();
     if (transactions == null || transactions.isEmpty()) {
-      return new Pair<>(Collections.emptyMap(), BigDecimal.ZERO);
+      return new Triple<>(Collections.emptyMap(), BigDecimal.ZERO, Collections.emptyList());
     }
     final Map<String, String> newDetails = transactions.stream()
         .map(Transaction::getPayload)
@@ -235,7 +242,17 @@ public class XorWithdrawalLimitReactionPluggableLogic extends
         .reduce(BigDecimal::add)
         .orElse(BigDecimal.ZERO);
 
-    return new Pair<>(newDetails, withdrawalsAmount);
+    final List<Transaction> withdrawals = transactions.stream()
+        .filter(transaction -> transaction.getPayload().getReducedPayload().getCommandsList()
+            .stream()
+            .filter(Command::hasTransferAsset)
+            .map(Command::getTransferAsset)
+            .anyMatch(command -> ASSET_ID.equals(command.getAssetId())
+                && withdrawalAccountId.equals(command.getDestAccountId()))
+        )
+        .collect(Collectors.toList());
+
+    return new Triple<>(newDetails, withdrawalsAmount, withdrawals);
   }
 
   private void updateWithdrawalLimits(XorWithdrawalLimitRemainder xorWithdrawalLimitRemainder) {
@@ -253,7 +270,8 @@ public class XorWithdrawalLimitReactionPluggableLogic extends
    * {@inheritDoc}
    */
   @Override
-  protected void applyInternal(Pair<Map<String, String>, BigDecimal> processableObject) {
+  protected void applyInternal(
+      Triple<Map<String, String>, BigDecimal, List<Transaction>> processableObject) {
     final Map<String, String> newDetails = processableObject.getFirst();
     if (newDetails.containsKey(LIMIT_TIME_KEY)) {
       logger.info("Got external withdrawal limits details update");
@@ -316,6 +334,10 @@ public class XorWithdrawalLimitReactionPluggableLogic extends
           )
       );
     }
+    final List<Transaction> withdrawals = processableObject.getThird();
+    if (!withdrawals.isEmpty()) {
+      xorWithdrawalLimitRule.commit(withdrawals);
+    }
   }
 
   private static class AccountDetailsData {
@@ -8,7 +8,6 @@ package iroha.validation.utils;
 import static jp.co.soramitsu.crypto.ed25519.spec.EdDSANamedCurveTable.ED_25519;
 import static jp.co.soramitsu.iroha.java.Utils.IROHA_FRIENDLY_NEW_LINE;
 import static jp.co.soramitsu.iroha.java.Utils.IROHA_FRIENDLY_QUOTE;
-import static jp.co.soramitsu.iroha.java.detail.Const.accountIdDelimiter;
 
 import com.d3.chainadapter.client.RMQConfig;
 import com.d3.commons.config.ConfigsKt;
@@ -184,8 +183,11 @@ public interface ValidationUtils {
     return new EdDSAPublicKey(new EdDSAPublicKeySpec(privateKey.getA(), EdDSASpec));
   }
 
+  /**
+   * @return domain part of the account id, empty string if there is none
+   */
   static String getDomain(String accountId) {
-    return accountId.split(accountIdDelimiter)[1];
+    return AccountIds.getDomain(accountId);
   }
 
   static <T> T advancedQueryAccountDetails(
@@ -0,0 +1,120 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.backtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import iroha.protocol.BlockOuterClass.Block;
+import iroha.protocol.BlockOuterClass.Block_v1;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.protocol.TransactionOuterClass.Transaction.Payload;
+import iroha.protocol.TransactionOuterClass.Transaction.Payload.BatchMeta;
+import iroha.protocol.TransactionOuterClass.Transaction.Payload.ReducedPayload;
+import iroha.validation.backtest.BacktestReport.RuleReport;
+import iroha.validation.rules.Rule;
+import iroha.validation.verdict.ValidationResult;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class BacktesterTest {
+
+  private static Transaction transaction(String creator, long createdTime, BatchMeta batch) {
+    final Payload.Builder payload = Payload.newBuilder()
+        .setReducedPayload(ReducedPayload.newBuilder()
+            .setCreatorAccountId(creator)
+            .setCreatedTime(createdTime)
+        );
+    if (batch != null) {
+      payload.setBatch(batch);
+    }
+    return Transaction.newBuilder().setPayload(payload).build();
+  }
+
+  private static Block block(long height) {
+    final BatchMeta batch = BatchMeta.newBuilder()
+        .addReducedHashes("a" + height)
+        .addReducedHashes("b" + height)
+        .build();
+    return Block.newBuilder().setBlockV1(Block_v1.newBuilder()
+        .setPayload(Block_v1.Payload.newBuilder()
+            .setHeight(height)
+            .addTransactions(transaction("user@sora", height, null))
+            .addTransactions(transaction("user@sora", height + 1, batch))
+            .addTransactions(transaction("other@d3", height + 2, batch))
+            .addTransactions(transaction("other@d3", height + 3, null))
+        )
+    ).build();
+  }
+
+  /**
+   * @given {@link Backtester} with two rules and a source missing every tenth block
+   * @when blocks are replayed concurrently
+   * @then batches are restored from the blocks and every rejection is attributed to the rules
+   * responsible for it
+   */
+  @Test
+  void backtestTest() {
+    final Map<String, Rule> rules = new LinkedHashMap<>();
+    rules.put("noD3", transaction ->
+        transaction.getPayload().getReducedPayload().getCreatorAccountId().endsWith("@d3")
+            ? ValidationResult.REJECTED("d3") : ValidationResult.VALIDATED
+    );
+    rules.put("noOdd", transaction ->
+        transaction.getPayload().getReducedPayload().getCreatedTime() % 2 == 1
+            ? ValidationResult.REJECTED("odd") : ValidationResult.VALIDATED
+    );
+    final Backtester backtester = new Backtester(
+        rules,
+        height -> height % 10 == 0 ? null : block(height),
+        4,
+        Collections.emptySet(),
+        5
+    );
+
+    final BacktestReport report = backtester.run(1, 100);
+
+    assertEquals(90, report.getBlocks());
+    assertEquals(10, report.getMissingBlocks());
+    // single, batch of two, single
+    assertEquals(270, report.getBatches());
+    assertEquals(360, report.getTransactions());
+    // the batch and the last single transaction always, the first one at odd heights
+    assertEquals(230, report.getRejectedBatches());
+    assertEquals(5, report.getRejections().size());
+    final Map<String, RuleReport> ruleReports = report.getRules()
+        .stream()
+        .collect(Collectors.toMap(RuleReport::getName, Function.identity()));
+    assertEquals(180, ruleReports.get("noD3").getRejections());
+    // the batch always and exactly one of the single transactions
+    assertEquals(180, ruleReports.get("noOdd").getRejections());
+  }
+
+  /**
+   * @given {@link Backtester} replaying only the batches of the sora domain creators
+   * @when blocks are replayed
+   * @then batches of other creators are skipped
+   */
+  @Test
+  void creatorDomainsTest() {
+    final Backtester backtester = new Backtester(
+        Collections.singletonMap("all", transaction -> ValidationResult.REJECTED("all")),
+        BacktesterTest::block,
+        1,
+        Collections.singleton("sora"),
+        0
+    );
+
+    final BacktestReport report = backtester.run(1, 10);
+
+    assertEquals(20, report.getBatches());
+    assertEquals(20, report.getRejectedBatches());
+    assertEquals(0, report.getRejections().size());
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class MeteredThreadPerTaskExecutorTest {
+
+  /**
+   * @given {@link MeteredThreadPerTaskExecutor} allowing 2 running and 2 waiting tasks
+   * @when 4 blocking tasks are submitted and then one more
+   * @then only 2 tasks run at once, the extra task is rejected and all the admitted tasks complete
+   * once unblocked
+   */
+  @Test
+  void semaphoreLimitsTest() throws InterruptedException {
+    final MeteredThreadPerTaskExecutor executor = new MeteredThreadPerTaskExecutor(
+        new StageExecutorConfig("test", 2, 2, RejectionPolicy.ABORT),
+        Thread::new
+    );
+    final CountDownLatch started = new CountDownLatch(2);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    for (int i = 0; i < 4; i++) {
+      executor.execute(() -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        running.decrementAndGet();
+      });
+    }
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+    }));
+    final ExecutorMetrics metrics = executor.getMetrics();
+    assertEquals(2, metrics.getActiveCount());
+    assertEquals(2, metrics.getQueueSize());
+    assertEquals(1, metrics.getRejectedTasks());
+
+    release.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    assertEquals(4, executor.getMetrics().getCompletedTasks());
+    assertEquals(2, maxRunning.get());
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class MeteredThreadPoolExecutorTest {
+
+  private static Runnable blockingTask(CountDownLatch started, CountDownLatch release) {
+    return () -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+  }
+
+  /**
+   * @given {@link MeteredThreadPoolExecutor} of a single thread and a single queue slot with the
+   * abort policy
+   * @when 2 blocking tasks are submitted and then one more
+   * @then the extra task is rejected, the metrics show the saturation and both admitted tasks are
+   * completed once unblocked
+   */
+  @Test
+  void abortSaturationTest() throws InterruptedException {
+    final MeteredThreadPoolExecutor executor = new MeteredThreadPoolExecutor(
+        "test",
+        new StageExecutorConfig("abort", 1, 1, RejectionPolicy.ABORT)
+    );
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    executor.execute(blockingTask(started, release));
+    executor.execute(blockingTask(new CountDownLatch(1), release));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+    }));
+    final ExecutorMetrics metrics = executor.getMetrics();
+    assertEquals("abort", metrics.getName());
+    assertEquals(1, metrics.getPoolSize());
+    assertEquals(1, metrics.getActiveCount());
+    assertEquals(1, metrics.getQueueSize());
+    assertEquals(1, metrics.getQueueCapacity());
+    assertEquals(0, metrics.getCompletedTasks());
+    assertEquals(1, metrics.getRejectedTasks());
+
+    release.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    assertEquals(2, executor.getMetrics().getCompletedTasks());
+  }
+
+  /**
+   * @given {@link MeteredThreadPoolExecutor} of a single thread and a single queue slot with the
+   * caller runs policy
+   * @when 2 blocking tasks are submitted and then one more
+   * @then the extra task is run by the submitting thread, counted as rejected and as completed
+   */
+  @Test
+  void callerRunsSaturationTest() throws InterruptedException {
+    final MeteredThreadPoolExecutor executor = new MeteredThreadPoolExecutor(
+        "test",
+        new StageExecutorConfig("caller", 1, 1, RejectionPolicy.CALLER_RUNS)
+    );
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    executor.execute(blockingTask(started, release));
+    executor.execute(blockingTask(new CountDownLatch(1), release));
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    final AtomicReference<Thread> runner = new AtomicReference<>();
+    executor.execute(() -> runner.set(Thread.currentThread()));
+    assertSame(Thread.currentThread(), runner.get());
+    final ExecutorMetrics metrics = executor.getMetrics();
+    assertEquals(1, metrics.getRejectedTasks());
+    assertEquals(1, metrics.getCompletedTasks());
+    assertEquals(1, metrics.getQueueSize());
+
+    release.countDown();
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    assertEquals(3, executor.getMetrics().getCompletedTasks());
+  }
+
+  /**
+   * @given {@link MeteredThreadPoolExecutor}
+   * @when a task takes 50 ms and another one waits for it in the queue
+   * @then average and maximum latencies cover the submission to completion time of the tasks and
+   * the threads are named after the module and the stage
+   */
+  @Test
+  void latencyMetricsTest() throws InterruptedException {
+    final MeteredThreadPoolExecutor executor = new MeteredThreadPoolExecutor(
+        "test",
+        new StageExecutorConfig("latency", 1, 2, RejectionPolicy.ABORT)
+    );
+    final AtomicReference<String> threadName = new AtomicReference<>();
+    executor.execute(() -> {
+      threadName.set(Thread.currentThread().getName());
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    executor.execute(() -> {
+    });
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+    final ExecutorMetrics metrics = executor.getMetrics();
+    assertEquals("test:latency-1", threadName.get());
+    assertEquals(2, metrics.getCompletedTasks());
+    assertTrue(metrics.getMaxTaskLatencyMillis() >= 50);
+    assertTrue(metrics.getAverageTaskLatencyMillis() >= 25);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class StageExecutorsTest {
+
+  private static StageExecutorConfig config(String name, RejectionPolicy rejectionPolicy) {
+    return new StageExecutorConfig(name, 1, 1, rejectionPolicy);
+  }
+
+  private static StageExecutors stageExecutors(RejectionPolicy rulesPolicy,
+      RejectionPolicy submissionPolicy) {
+    return StageExecutors.builder()
+        .validation(config("validation", RejectionPolicy.ABORT))
+        .signing(config("signing", RejectionPolicy.CALLER_RUNS))
+        .registration(config("registration", RejectionPolicy.CALLER_RUNS))
+        .rules(config("rules", rulesPolicy))
+        .crypto(config("crypto", RejectionPolicy.CALLER_RUNS))
+        .shadow(config("shadow", RejectionPolicy.ABORT))
+        .shadowRules(config("shadow-rules", RejectionPolicy.ABORT))
+        .submission(config("submission", submissionPolicy))
+        .compile(config("compile", RejectionPolicy.ABORT))
+        .smokeTest(config("smoke-test", RejectionPolicy.ABORT))
+        .executionMode(ExecutionMode.PLATFORM)
+        .build();
+  }
+
+  /**
+   * @given stage configs of the rules, the submission, the compile or the smoke test stage with
+   * the caller runs policy
+   * @when {@link StageExecutors} are created
+   * @then {@link IllegalArgumentException} is thrown
+   */
+  @Test
+  void abortOnlyStagesTest() {
+    assertThrows(IllegalArgumentException.class,
+        () -> stageExecutors(RejectionPolicy.CALLER_RUNS, RejectionPolicy.ABORT)
+    );
+    assertThrows(IllegalArgumentException.class,
+        () -> stageExecutors(RejectionPolicy.ABORT, RejectionPolicy.CALLER_RUNS)
+    );
+    assertThrows(IllegalArgumentException.class,
+        () -> StageExecutors.builder()
+            .compile(config("compile", RejectionPolicy.CALLER_RUNS))
+            .build()
+    );
+    assertThrows(IllegalArgumentException.class,
+        () -> StageExecutors.builder()
+            .smokeTest(config("smoke-test", RejectionPolicy.CALLER_RUNS))
+            .build()
+    );
+  }
+
+  /**
+   * @given {@link StageExecutors.Builder} with only the validation stage configured
+   * @when {@link StageExecutors} are built
+   * @then the validation stage gets the config given and the other stages get bounded defaults
+   */
+  @Test
+  void builderDefaultsTest() {
+    final StageExecutors stageExecutors = StageExecutors.builder()
+        .validation(new StageExecutorConfig("validation", 2, 10, RejectionPolicy.ABORT))
+        .build();
+
+    final List<ExecutorMetrics> metrics = stageExecutors.getMetrics();
+    assertEquals(10, metrics.size());
+    assertEquals(10, metrics.get(0).getQueueCapacity());
+    assertTrue(metrics.stream().allMatch(stage -> stage.getQueueCapacity() > 0));
+    assertEquals(ExecutionMode.PLATFORM, stageExecutors.getExecutionMode());
+    stageExecutors.close();
+  }
+
+  /**
+   * @given {@link StageExecutors} of a single thread and a single queue slot per stage
+   * @when the validation stage is saturated and one more task is submitted to it
+   * @then the task is rejected and the metrics of all the stages are reported in the pipeline
+   * order with the rejection accounted to the validation stage only
+   */
+  @Test
+  void saturationMetricsTest() throws InterruptedException {
+    final StageExecutors stageExecutors = stageExecutors(
+        RejectionPolicy.ABORT, RejectionPolicy.ABORT
+    );
+    final ExecutorService validationExecutor = stageExecutors.getValidationExecutor();
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final Runnable blockingTask = () -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+    validationExecutor.execute(blockingTask);
+    validationExecutor.execute(blockingTask);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    assertThrows(RejectedExecutionException.class, () -> validationExecutor.execute(() -> {
+    }));
+    final List<ExecutorMetrics> metrics = stageExecutors.getMetrics();
+    assertEquals(
+        Arrays.asList(
+            "validation", "signing", "registration", "rules", "crypto", "shadow", "shadow-rules",
+            "submission", "compile", "smoke-test"
+        ),
+        metrics.stream().map(ExecutorMetrics::getName).collect(Collectors.toList())
+    );
+    assertEquals(1, metrics.get(0).getRejectedTasks());
+    assertEquals(1, metrics.get(0).getQueueSize());
+    assertEquals(
+        0,
+        metrics.stream().skip(1).mapToLong(ExecutorMetrics::getRejectedTasks).sum()
+    );
+
+    release.countDown();
+    stageExecutors.close();
+  }
+}
@@ -6,6 +6,7 @@
 package iroha.validation.plugin;
 
 import static iroha.validation.utils.ValidationUtils.getTxAccountId;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
@@ -17,12 +18,18 @@ import static org.mockito.Mockito.when;
 import iroha.protocol.BlockOuterClass.Block;
 import iroha.protocol.Commands.AddSignatory;
 import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.RemoveSignatory;
 import iroha.protocol.TransactionOuterClass.Transaction;
 import iroha.validation.transactions.plugin.impl.QuorumReactionPluggableLogic;
 import iroha.validation.transactions.core.provider.impl.AccountManager;
+import iroha.validation.utils.DomainTable;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 public class QuorumReactionTest {
 
@@ -42,7 +49,8 @@ public class QuorumReactionTest {
     transaction = mock(Transaction.class, RETURNS_DEEP_STUBS);
     accountManager = mock(AccountManager.class);
     quorumReactionPluggableLogic = new QuorumReactionPluggableLogic(accountManager);
-    when(accountManager.getUserDomains()).thenReturn(Collections.singleton(DOMAIN));
+    when(accountManager.getUserDomainTable())
+        .thenReturn(new DomainTable(Collections.singleton(DOMAIN)));
     when(accountManager.isRegistered(eq(USER_ID))).thenReturn(true);
     final Command command = mock(Command.class);
     final AddSignatory addSignatory = mock(AddSignatory.class);
@@ -88,4 +96,58 @@ public class QuorumReactionTest {
     verify(accountManager, never()).setUserQuorumDetail(eq(USER_ID), any());
     verify(accountManager, never()).setUserAccountQuorum(eq(USER_ID), eq(2));
   }
+
+  /**
+   * @given {@link QuorumReactionPluggableLogic} instance and a user registered with two keys
+   * @when the user removes one of the keys written in lower case
+   * @then the key is removed from the quorum detail regardless of its case
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void caseInsensitiveKeysTest() {
+    when(getTxAccountId(transaction)).thenReturn(USER_ID);
+    when(accountManager.getUserSignatoriesDetail(USER_ID))
+        .thenReturn(new HashSet<>(Arrays.asList(KEY, KEY_TWO)));
+    final Command command = mock(Command.class);
+    final RemoveSignatory removeSignatory = mock(RemoveSignatory.class);
+    when(removeSignatory.getAccountId()).thenReturn(USER_ID);
+    when(removeSignatory.getPublicKey()).thenReturn(KEY.toLowerCase());
+    when(command.hasRemoveSignatory()).thenReturn(true);
+    when(command.getRemoveSignatory()).thenReturn(removeSignatory);
+    when(transaction.getPayload().getReducedPayload().getCommandsList())
+        .thenReturn(Collections.singletonList(command));
+
+    quorumReactionPluggableLogic.apply(block);
+    final ArgumentCaptor<Iterable<String>> keys = ArgumentCaptor.forClass(Iterable.class);
+    verify(accountManager).setUserQuorumDetail(eq(USER_ID), keys.capture());
+    assertEquals(Collections.singleton(KEY_TWO),
+        new HashSet<>((Collection<String>) keys.getValue())
+    );
+  }
+
+  /**
+   * @given {@link QuorumReactionPluggableLogic} instance and a user registered with a single key
+   * @when the user adds another key written in lower case
+   * @then both keys are written to the quorum detail in upper case
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void upperCaseDetailKeysTest() {
+    when(getTxAccountId(transaction)).thenReturn(USER_ID);
+    final Command command = mock(Command.class);
+    final AddSignatory addSignatory = mock(AddSignatory.class);
+    when(addSignatory.getAccountId()).thenReturn(USER_ID);
+    when(addSignatory.getPublicKey()).thenReturn(KEY_TWO.toLowerCase());
+    when(command.hasAddSignatory()).thenReturn(true);
+    when(command.getAddSignatory()).thenReturn(addSignatory);
+    when(transaction.getPayload().getReducedPayload().getCommandsList())
+        .thenReturn(Collections.singletonList(command));
+
+    quorumReactionPluggableLogic.apply(block);
+    final ArgumentCaptor<Iterable<String>> keys = ArgumentCaptor.forClass(Iterable.class);
+    verify(accountManager).setUserQuorumDetail(eq(USER_ID), keys.capture());
+    assertEquals(new HashSet<>(Arrays.asList(KEY, KEY_TWO)),
+        new HashSet<>((Collection<String>) keys.getValue())
+    );
+  }
 }
@@ -28,6 +28,7 @@ import iroha.protocol.Commands.TransferAsset;
 import iroha.protocol.Endpoint.ToriiResponse;
 import iroha.protocol.Endpoint.TxStatus;
 import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.rules.impl.sora.XorWithdrawalLimitRule;
 import iroha.validation.rules.impl.sora.XorWithdrawalLimitRule.XorWithdrawalLimitRemainder;
 import iroha.validation.transactions.core.provider.RegistrationProvider;
 import iroha.validation.transactions.plugin.impl.sora.XorWithdrawalLimitReactionPluggableLogic;
@@ -55,6 +56,7 @@ public class XorLimitsReactionTest {
   private XorWithdrawalLimitReactionPluggableLogic xorWithdrawalLimitReactionPluggableLogic;
   private final AtomicReference<XorWithdrawalLimitRemainder> atomicReference =
       spy(new AtomicReference<>());
+  private final XorWithdrawalLimitRule xorWithdrawalLimitRule = mock(XorWithdrawalLimitRule.class);
 
   @BeforeEach
   public void initMocks() {
@@ -121,19 +123,21 @@ public class XorLimitsReactionTest {
         USER_ID,
         atomicReference,
         USER_ID,
-        registrationProvider);
+        registrationProvider,
+        xorWithdrawalLimitRule);
   }
 
   /**
    * @given {@link XorWithdrawalLimitReactionPluggableLogic} instance and a transaction with updated
    * limits and a transfer
    * @when the transaction is being committed
-   * @then {@link XorWithdrawalLimitReactionPluggableLogic} filters needed command and performs the
-   * limits update
+   * @then {@link XorWithdrawalLimitReactionPluggableLogic} filters needed command, performs the
+   * limits update and releases the reservation of the withdrawal
    */
   @Test
   public void sunnyDayTest() {
     xorWithdrawalLimitReactionPluggableLogic.apply(block);
     verify(atomicReference, times(3)).set(any());
+    verify(xorWithdrawalLimitRule).commit(Collections.singletonList(transaction));
   }
 }
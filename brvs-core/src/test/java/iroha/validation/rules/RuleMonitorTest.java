@@ -0,0 +1,130 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.d3.commons.sidechain.iroha.util.IrohaQueryHelper;
+import com.d3.commons.sidechain.iroha.util.impl.IrohaQueryHelperImpl;
+import io.reactivex.Observable;
+import iroha.validation.executor.StageExecutors;
+import iroha.validation.listener.BrvsIrohaChainListener;
+import iroha.validation.validators.Validator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import jp.co.soramitsu.iroha.java.QueryAPI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RuleMonitorTest {
+
+  private static final String REPOSITORY_ACCOUNT_ID = "repository@brvs";
+  private static final String SETTINGS_ACCOUNT_ID = "settings@brvs";
+  private static final String SETTER_ACCOUNT_ID = "setter@brvs";
+  private static final String ENABLED_RULE = "enabledRule";
+  private static final String SHADOW_RULE = "shadowRule";
+  private static final String DISABLED_RULE = "disabledRule";
+  private static final String INSTALLED_RULE = "installedRule";
+  private static final String BROKEN_RULE = "brokenRule";
+
+  private final Validator validator = mock(Validator.class);
+  private final RuleParser ruleParser = mock(RuleParser.class);
+  private final IrohaQueryHelper irohaQueryHelper = mock(
+      IrohaQueryHelperImpl.class, RETURNS_DEEP_STUBS
+  );
+  private final Rule enabledRule = mock(Rule.class);
+  private final Rule shadowRule = mock(Rule.class);
+  private final StageExecutors stageExecutors = StageExecutors.builder().build();
+  private RuleMonitor ruleMonitor;
+
+  @BeforeEach
+  void setUp() {
+    final Map<String, String> settings = new HashMap<>();
+    settings.put(ENABLED_RULE, "true");
+    settings.put(SHADOW_RULE, "shadow");
+    settings.put(DISABLED_RULE, "false");
+    settings.put(INSTALLED_RULE, "true");
+    settings.put(BROKEN_RULE, "true");
+    final Map<String, String> repository = new HashMap<>();
+    repository.put(ENABLED_RULE, ENABLED_RULE);
+    repository.put(SHADOW_RULE, SHADOW_RULE);
+    repository.put(DISABLED_RULE, DISABLED_RULE);
+    repository.put(INSTALLED_RULE, INSTALLED_RULE);
+    repository.put(BROKEN_RULE, BROKEN_RULE);
+    when(irohaQueryHelper.getAccountDetails(eq(SETTINGS_ACCOUNT_ID), eq(SETTER_ACCOUNT_ID)).get())
+        .thenReturn(settings);
+    when(irohaQueryHelper.getAccountDetails(eq(REPOSITORY_ACCOUNT_ID), eq(SETTER_ACCOUNT_ID))
+        .get())
+        .thenReturn(repository);
+
+    when(ruleParser.parse(ENABLED_RULE)).thenReturn(enabledRule);
+    when(ruleParser.parse(SHADOW_RULE)).thenReturn(shadowRule);
+    when(ruleParser.parse(BROKEN_RULE)).thenThrow(new IllegalArgumentException("Broken"));
+    when(validator.getRuleNames()).thenReturn(Collections.singleton(INSTALLED_RULE));
+
+    final BrvsIrohaChainListener chainListener = mock(BrvsIrohaChainListener.class);
+    when(chainListener.getBlockStreaming()).thenReturn(Observable.never());
+    ruleMonitor = new RuleMonitor(
+        mock(QueryAPI.class),
+        chainListener,
+        REPOSITORY_ACCOUNT_ID,
+        SETTINGS_ACCOUNT_ID,
+        SETTER_ACCOUNT_ID,
+        validator,
+        irohaQueryHelper,
+        ruleParser,
+        stageExecutors
+    );
+  }
+
+  @AfterEach
+  void tearDown() {
+    ruleMonitor.close();
+    stageExecutors.close();
+  }
+
+  /**
+   * @given {@link RuleMonitor} and the settings account enabling a rule, a shadow rule, a broken
+   * rule and a rule already installed as well as disabling another one
+   * @when the monitoring is started
+   * @then the enabled and the shadow rules are installed before the method returns, the broken
+   * rule does not prevent that and the installed and the disabled rules are not compiled
+   */
+  @Test
+  void loadEnabledRulesTest() {
+    ruleMonitor.monitorUpdates();
+
+    verify(validator).putRule(ENABLED_RULE, enabledRule);
+    verify(validator).putShadowRule(SHADOW_RULE, shadowRule);
+    verify(validator, never()).putRule(eq(BROKEN_RULE), any());
+    verify(ruleParser, never()).parse(DISABLED_RULE);
+    verify(ruleParser, never()).parse(INSTALLED_RULE);
+    verify(validator, never()).putRule(eq(INSTALLED_RULE), any());
+    verify(validator, never()).putShadowRule(eq(ENABLED_RULE), any());
+  }
+
+  /**
+   * @given {@link RuleMonitor} having started the monitoring
+   * @when the monitoring is started again
+   * @then the rules are not loaded twice
+   */
+  @Test
+  void repeatedStartTest() {
+    ruleMonitor.monitorUpdates();
+    ruleMonitor.monitorUpdates();
+
+    verify(validator).putRule(anyString(), any());
+  }
+}
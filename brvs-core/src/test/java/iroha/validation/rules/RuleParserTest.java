@@ -0,0 +1,117 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.verdict.Verdict;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RuleParserTest {
+
+  private static final String TYPED_SCRIPT = "import iroha.protocol.TransactionOuterClass\n"
+      + "import iroha.validation.rules.Rule\n"
+      + "import iroha.validation.verdict.ValidationResult\n"
+      + "class TypedRule implements Rule {\n"
+      + "  ValidationResult isSatisfiedBy(TransactionOuterClass.Transaction transaction) {\n"
+      + "    return ValidationResult.VALIDATED\n"
+      + "  }\n"
+      + "}\n";
+
+  private static final String DYNAMIC_SCRIPT = "import iroha.protocol.TransactionOuterClass\n"
+      + "import iroha.validation.rules.Rule\n"
+      + "import iroha.validation.verdict.ValidationResult\n"
+      + "class DynamicRule implements Rule {\n"
+      + "  ValidationResult isSatisfiedBy(TransactionOuterClass.Transaction transaction) {\n"
+      + "    transaction.someMissingMethod()\n"
+      + "    return ValidationResult.VALIDATED\n"
+      + "  }\n"
+      + "}\n";
+
+  /**
+   * @given {@link RuleParser} instance
+   * @when The same script is parsed twice
+   * @then Two different {@link Rule} instances of the same cached class are returned
+   */
+  @Test
+  void cachedCompilationTest() {
+    final RuleParser ruleParser = new RuleParser();
+
+    final Rule first = ruleParser.parse(TYPED_SCRIPT);
+    final Rule second = ruleParser.parse(TYPED_SCRIPT);
+
+    assertNotSame(first, second);
+    assertSame(first.getClass(), second.getClass());
+    assertEquals(Verdict.VALIDATED, first.isSatisfiedBy(mock(Transaction.class)).getStatus());
+  }
+
+  /**
+   * @given {@link RuleParser} instances in {@link RuleCompilationMode#STATIC} and {@link
+   * RuleCompilationMode#DYNAMIC} modes
+   * @when A script calling a method missing in the transaction class is parsed
+   * @then Only the dynamic parser accepts the script while both accept a properly typed one
+   */
+  @Test
+  void staticCompilationTest() {
+    final RuleParser staticParser = new RuleParser(RuleCompilationMode.STATIC, 1);
+    final RuleParser dynamicParser = new RuleParser("dynamic", "1");
+
+    assertEquals(Verdict.VALIDATED,
+        staticParser.parse(TYPED_SCRIPT).isSatisfiedBy(mock(Transaction.class)).getStatus());
+    dynamicParser.parse(DYNAMIC_SCRIPT);
+    assertThrows(IllegalArgumentException.class, () -> staticParser.parse(DYNAMIC_SCRIPT));
+  }
+
+  /**
+   * @given {@link RuleParser} with a disk cache directory
+   * @when A script is parsed, then parsed by a new parser over the same directory, then the stored
+   * entry is corrupted and the script is parsed once more
+   * @then The entry is written once, reused by the new parser and replaced after the corruption
+   */
+  @Test
+  void diskCacheTest(@TempDir Path cacheDirectory) throws IOException {
+    new RuleParser(RuleCompilationMode.STATIC, 1, cacheDirectory).parse(TYPED_SCRIPT);
+    final List<Path> entries = listEntries(cacheDirectory);
+    assertEquals(1, entries.size());
+    final Path entry = entries.get(0);
+    final FileTime writtenAt = FileTime.fromMillis(0);
+    Files.setLastModifiedTime(entry, writtenAt);
+
+    final Rule restored = new RuleParser(RuleCompilationMode.STATIC, 1, cacheDirectory)
+        .parse(TYPED_SCRIPT);
+    assertEquals(Verdict.VALIDATED, restored.isSatisfiedBy(mock(Transaction.class)).getStatus());
+    assertEquals(writtenAt, Files.getLastModifiedTime(entry));
+
+    final byte[] content = Files.readAllBytes(entry);
+    content[content.length / 2] ^= 1;
+    Files.write(entry, content);
+    final Rule recompiled = new RuleParser(RuleCompilationMode.STATIC, 1, cacheDirectory)
+        .parse(TYPED_SCRIPT);
+    assertEquals(Verdict.VALIDATED, recompiled.isSatisfiedBy(mock(Transaction.class)).getStatus());
+    assertNotEquals(writtenAt, Files.getLastModifiedTime(entry));
+    assertEquals(1, listEntries(cacheDirectory).size());
+  }
+
+  private static List<Path> listEntries(Path directory) throws IOException {
+    try (Stream<Path> paths = Files.list(directory)) {
+      return paths.collect(Collectors.toList());
+    }
+  }
+}
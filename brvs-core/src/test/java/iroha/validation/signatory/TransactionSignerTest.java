@@ -0,0 +1,247 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.signatory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.reactivex.Observable;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.listener.BrvsIrohaChainListener;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.transactions.core.provider.RegistrationProvider;
+import iroha.validation.transactions.core.provider.UserQuorumProvider;
+import iroha.validation.transactions.core.provider.impl.BasicTransactionProvider;
+import iroha.validation.transactions.core.signatory.impl.DisposableKeyPairPool;
+import iroha.validation.transactions.core.signatory.impl.TransactionSignatures;
+import iroha.validation.transactions.core.signatory.impl.TransactionSignerImpl;
+import iroha.validation.transactions.core.signatory.impl.TransactionSubmitter;
+import iroha.validation.transactions.core.storage.TransactionVerdictStorage;
+import iroha.validation.transactions.core.storage.impl.dummy.DummyMemoryTransactionVerdictStorage;
+import iroha.validation.utils.ValidationUtils;
+import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class TransactionSignerTest {
+
+  private static final String ACCOUNT_ID = "user@sora";
+
+  private final ExecutorService cryptoExecutor = Executors.newFixedThreadPool(4);
+  private final Ed25519Sha3 crypto = new Ed25519Sha3();
+  private final List<KeyPair> brvsKeyPairs = Arrays.asList(
+      crypto.generateKeypair(), crypto.generateKeypair(), crypto.generateKeypair()
+  );
+
+  @AfterEach
+  public void tearDown() {
+    cryptoExecutor.shutdownNow();
+  }
+
+  private Transaction sendSigned(Transaction transaction, ExecutorService executorService) {
+    final IrohaAPI irohaAPI = mock(IrohaAPI.class);
+    final RegistrationProvider registrationProvider = mock(RegistrationProvider.class);
+    when(registrationProvider.isRegistered(any())).thenReturn(true);
+    new TransactionSignerImpl(
+        irohaAPI,
+        brvsKeyPairs,
+        "brvs@brvs",
+        crypto.generateKeypair(),
+        mock(TransactionVerdictStorage.class),
+        registrationProvider,
+        executorService,
+        null,
+        null
+    ).signAndSend(new TransactionBatch(Collections.singletonList(transaction)));
+    final ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+    verify(irohaAPI).transactionSync(captor.capture());
+    return captor.getValue();
+  }
+
+  /**
+   * @given {@link TransactionSignerImpl} signing concurrently and one signing sequentially
+   * @when A transaction signed by 3 user keys is signed by both
+   * @then Both add the same 3 signatures in the same order
+   */
+  @Test
+  public void concurrentSigningTest() {
+    final Transaction transaction = jp.co.soramitsu.iroha.java.Transaction.builder(ACCOUNT_ID)
+        .setAccountQuorum(ACCOUNT_ID, 3)
+        .sign(crypto.generateKeypair())
+        .sign(crypto.generateKeypair())
+        .sign(crypto.generateKeypair())
+        .build();
+
+    final Transaction concurrentlySigned = sendSigned(transaction, cryptoExecutor);
+    final Transaction sequentiallySigned = sendSigned(transaction, null);
+
+    assertEquals(6, concurrentlySigned.getSignaturesCount());
+    assertEquals(sequentiallySigned.getSignaturesList(), concurrentlySigned.getSignaturesList());
+  }
+
+  /**
+   * @given A transaction signed by a user key
+   * @when It is signed by 3 BRVS keys by {@link TransactionSignatures} and by iroha-java
+   * @then Both produce the same transaction
+   */
+  @Test
+  public void appendSignaturesTest() {
+    final Transaction transaction = jp.co.soramitsu.iroha.java.Transaction.builder(ACCOUNT_ID)
+        .setAccountQuorum(ACCOUNT_ID, 2)
+        .sign(crypto.generateKeypair())
+        .build();
+
+    jp.co.soramitsu.iroha.java.Transaction parsedTransaction =
+        jp.co.soramitsu.iroha.java.Transaction.parseFrom(transaction);
+    for (KeyPair keyPair : brvsKeyPairs) {
+      parsedTransaction.sign(keyPair);
+    }
+
+    assertEquals(
+        parsedTransaction.build(),
+        TransactionSignatures.addSignatures(transaction, brvsKeyPairs)
+    );
+  }
+
+  /**
+   * @given {@link TransactionSignerImpl} sending batches with a {@link TransactionSubmitter} and
+   * Iroha not accepting them
+   * @when A pending batch is validated and its submission fails
+   * @then No verdict is stored and the batch is published for validation again
+   */
+  @Test
+  public void failedSubmissionTest() throws Exception {
+    final Transaction transaction = jp.co.soramitsu.iroha.java.Transaction.builder(ACCOUNT_ID)
+        .setAccountQuorum(ACCOUNT_ID, 1)
+        .sign(crypto.generateKeypair())
+        .build();
+    final TransactionBatch transactionBatch = new TransactionBatch(
+        Collections.singletonList(transaction)
+    );
+    final IrohaAPI irohaAPI = mock(IrohaAPI.class);
+    doThrow(new StatusRuntimeException(Status.INVALID_ARGUMENT))
+        .when(irohaAPI).transactionSync(any());
+    final TransactionVerdictStorage verdictStorage = new DummyMemoryTransactionVerdictStorage();
+    final BrvsIrohaChainListener chainListener = mock(BrvsIrohaChainListener.class);
+    when(chainListener.getAllPendingTransactions())
+        .thenReturn(Collections.singleton(transactionBatch));
+    when(chainListener.getBlockStreaming()).thenReturn(Observable.never());
+    final BasicTransactionProvider transactionProvider = new BasicTransactionProvider(
+        verdictStorage,
+        mock(UserQuorumProvider.class),
+        mock(RegistrationProvider.class),
+        chainListener,
+        Collections.emptyList(),
+        Collections.emptyList(),
+        "1"
+    );
+
+    try (TransactionSubmitter submitter = new TransactionSubmitter(
+        irohaAPI, cryptoExecutor, 1, 0
+    )) {
+      final TransactionSignerImpl signer = new TransactionSignerImpl(
+          irohaAPI,
+          brvsKeyPairs,
+          "brvs@brvs",
+          crypto.generateKeypair(),
+          verdictStorage,
+          mock(RegistrationProvider.class),
+          null,
+          null,
+          submitter
+      );
+      assertThrows(CompletionException.class,
+          () -> signer.signAndSendAsync(transactionBatch).join()
+      );
+    }
+
+    assertNull(verdictStorage.getTransactionVerdict(ValidationUtils.hexHash(transaction)));
+    assertEquals(transactionBatch, transactionProvider.getPendingTransactionsStreaming()
+        .timeout(10, TimeUnit.SECONDS)
+        .blockingFirst()
+    );
+    transactionProvider.close();
+  }
+
+  /**
+   * @given {@link TransactionSignerImpl} and a verdict storage failing to store verdicts
+   * @when A batch is validated and then another one is rejected
+   * @then Both batches are sent to Iroha and the futures complete normally, so nothing reserved
+   * for the batches is rolled back
+   */
+  @Test
+  public void failedVerdictStorageTest() {
+    final Transaction transaction = jp.co.soramitsu.iroha.java.Transaction.builder(ACCOUNT_ID)
+        .setAccountQuorum(ACCOUNT_ID, 1)
+        .sign(crypto.generateKeypair())
+        .build();
+    final TransactionBatch transactionBatch = new TransactionBatch(
+        Collections.singletonList(transaction)
+    );
+    final IrohaAPI irohaAPI = mock(IrohaAPI.class);
+    final TransactionVerdictStorage verdictStorage = mock(TransactionVerdictStorage.class);
+    doThrow(new IllegalStateException("Storage failure"))
+        .when(verdictStorage).markTransactionValidated(any());
+    doThrow(new IllegalStateException("Storage failure"))
+        .when(verdictStorage).markTransactionRejected(any(), any());
+    final TransactionSignerImpl signer = new TransactionSignerImpl(
+        irohaAPI,
+        brvsKeyPairs,
+        "brvs@brvs",
+        crypto.generateKeypair(),
+        verdictStorage,
+        mock(RegistrationProvider.class),
+        cryptoExecutor,
+        null,
+        null
+    );
+
+    signer.signAndSendAsync(transactionBatch).join();
+    signer.rejectAndSendAsync(transactionBatch, "reason").join();
+
+    verify(irohaAPI, times(2)).transactionSync(any());
+    verify(verdictStorage).markTransactionValidated(ValidationUtils.hexHash(transaction));
+    verify(verdictStorage).markTransactionRejected(ValidationUtils.hexHash(transaction), "reason");
+  }
+
+  /**
+   * @given {@link DisposableKeyPairPool} of 4 key pairs
+   * @when More key pairs than its capacity are taken at once
+   * @then All the key pairs are different
+   */
+  @Test
+  public void disposableKeyPairPoolTest() {
+    try (DisposableKeyPairPool pool = new DisposableKeyPairPool(4)) {
+      final Set<String> publicKeys = new HashSet<>();
+      for (int i = 0; i < 10; i++) {
+        publicKeys.add(Utils.toHex(pool.take().getPublic().getEncoded()));
+      }
+      assertEquals(10, publicKeys.size());
+    }
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.signatory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.protocol.TransactionOuterClass.Transaction.Payload;
+import iroha.protocol.TransactionOuterClass.Transaction.Payload.ReducedPayload;
+import iroha.validation.transactions.core.signatory.impl.TransactionSubmitter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import jp.co.soramitsu.iroha.java.IrohaAPI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TransactionSubmitterTest {
+
+  private final ExecutorService submissionExecutor = Executors.newFixedThreadPool(2);
+  private final IrohaAPI irohaAPI = mock(IrohaAPI.class);
+
+  private static Transaction transaction(long createdTime) {
+    return Transaction.newBuilder()
+        .setPayload(Payload.newBuilder()
+            .setReducedPayload(ReducedPayload.newBuilder().setCreatedTime(createdTime))
+        )
+        .build();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    submissionExecutor.shutdownNow();
+  }
+
+  /**
+   * @given {@link TransactionSubmitter} with 3 attempts and Iroha being unavailable once
+   * @when A transaction is submitted
+   * @then The submission completes after a single retry
+   */
+  @Test
+  public void retryTest() {
+    doThrow(new StatusRuntimeException(Status.UNAVAILABLE))
+        .doNothing()
+        .when(irohaAPI).transactionSync(any());
+    final TransactionSubmitter submitter = new TransactionSubmitter(
+        irohaAPI, submissionExecutor, 3, 1
+    );
+
+    submitter.submit(Collections.singletonList(Transaction.getDefaultInstance())).join();
+
+    verify(irohaAPI, times(2)).transactionSync(any());
+    assertEquals(1, submitter.getRetries());
+    assertEquals(0, submitter.getFailures());
+  }
+
+  /**
+   * @given {@link TransactionSubmitter} with 3 attempts and Iroha failing with a non transport
+   * error
+   * @when A transaction is submitted
+   * @then The submission fails without retries
+   */
+  @Test
+  public void nonRetriableTest() {
+    doThrow(new StatusRuntimeException(Status.INVALID_ARGUMENT))
+        .when(irohaAPI).transactionSync(any());
+    final TransactionSubmitter submitter = new TransactionSubmitter(
+        irohaAPI, submissionExecutor, 3, 1
+    );
+
+    assertThrows(CompletionException.class, () -> submitter
+        .submit(Collections.singletonList(Transaction.getDefaultInstance())).join()
+    );
+
+    verify(irohaAPI).transactionSync(any());
+    assertEquals(0, submitter.getRetries());
+    assertEquals(1, submitter.getFailures());
+  }
+
+  /**
+   * @given {@link TransactionSubmitter} with 2 attempts and Iroha being unavailable
+   * @when Two transactions are submitted
+   * @then The submission fails once the attempts are exhausted
+   */
+  @Test
+  public void attemptsExhaustedTest() {
+    doThrow(new StatusRuntimeException(Status.UNAVAILABLE))
+        .when(irohaAPI).transactionListSync(any());
+    final TransactionSubmitter submitter = new TransactionSubmitter(
+        irohaAPI, submissionExecutor, 2, 1
+    );
+
+    assertThrows(CompletionException.class, () -> submitter.submit(Collections.nCopies(
+        2, Transaction.getDefaultInstance()
+    )).join());
+
+    verify(irohaAPI, times(2)).transactionListSync(any());
+    assertEquals(1, submitter.getRetries());
+    assertEquals(1, submitter.getFailures());
+  }
+
+  /**
+   * @given {@link TransactionSubmitter} with a long window and a limit of 3 transactions
+   * @when A single transaction and a batch of two are submitted
+   * @then They are sent by a single call as soon as the limit is reached
+   */
+  @Test
+  public void microBatchTest() {
+    final TransactionSubmitter submitter = new TransactionSubmitter(
+        irohaAPI, submissionExecutor, 1, 0, 60_000, 3
+    );
+
+    final CompletableFuture<Void> single = submitter
+        .submit(Collections.singletonList(transaction(1)));
+    final CompletableFuture<Void> batch = submitter
+        .submit(Arrays.asList(transaction(2), transaction(3)));
+    CompletableFuture.allOf(single, batch).join();
+
+    verify(irohaAPI).transactionListSync(
+        eq(Arrays.asList(transaction(1), transaction(2), transaction(3)))
+    );
+    assertEquals(1, submitter.getCombinedCalls());
+    submitter.close();
+  }
+
+  /**
+   * @given {@link TransactionSubmitter} with a short window and Iroha rejecting one of the
+   * transactions
+   * @when Two transactions are submitted within the window
+   * @then The combined call fails, the transactions are sent one by one and only the invalid one
+   * fails
+   */
+  @Test
+  public void microBatchFallbackTest() {
+    doThrow(new StatusRuntimeException(Status.INVALID_ARGUMENT))
+        .when(irohaAPI).transactionListSync(any());
+    doThrow(new StatusRuntimeException(Status.INVALID_ARGUMENT))
+        .when(irohaAPI).transactionSync(eq(transaction(2)));
+    final TransactionSubmitter submitter = new TransactionSubmitter(
+        irohaAPI, submissionExecutor, 1, 0, 50, 100
+    );
+
+    final CompletableFuture<Void> valid = submitter
+        .submit(Collections.singletonList(transaction(1)));
+    final CompletableFuture<Void> invalid = submitter
+        .submit(Collections.singletonList(transaction(2)));
+
+    valid.join();
+    assertThrows(CompletionException.class, invalid::join);
+    assertTrue(invalid.isCompletedExceptionally());
+    assertEquals(1, submitter.getFallbacks());
+    assertEquals(1, submitter.getFailures());
+    submitter.close();
+  }
+}
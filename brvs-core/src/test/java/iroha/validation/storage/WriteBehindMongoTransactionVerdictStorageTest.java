@@ -0,0 +1,218 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import iroha.validation.transactions.core.storage.impl.mongo.MongoVerdict;
+import iroha.validation.transactions.core.storage.impl.mongo.VerdictDurability;
+import iroha.validation.transactions.core.storage.impl.mongo.WriteBehindMongoTransactionVerdictStorage;
+import iroha.validation.verdict.Verdict;
+import java.util.List;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class WriteBehindMongoTransactionVerdictStorageTest {
+
+  private static final String HASH = "AABB";
+  private static final String OTHER_HASH = "CCDD";
+
+  private final MongoClient mongoClient = mock(MongoClient.class);
+  @SuppressWarnings("unchecked")
+  private final MongoCollection<MongoVerdict> collection = mock(MongoCollection.class);
+  @SuppressWarnings("unchecked")
+  private final FindIterable<MongoVerdict> found = mock(FindIterable.class);
+
+  @BeforeEach
+  void setUp() {
+    when(collection.find(any(Bson.class))).thenReturn(found);
+  }
+
+  private WriteBehindMongoTransactionVerdictStorage storage(VerdictDurability durability,
+      int maxBatchSize,
+      long flushPeriodMillis) {
+    return new WriteBehindMongoTransactionVerdictStorage(
+        mongoClient, collection, durability, maxBatchSize, flushPeriodMillis
+    );
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<ReplaceOneModel<MongoVerdict>> captureBulkWrite() {
+    final ArgumentCaptor<List> models = ArgumentCaptor.forClass(List.class);
+    verify(collection).bulkWrite(models.capture(), any(BulkWriteOptions.class));
+    return models.getValue();
+  }
+
+  /**
+   * @given write behind storage
+   * @when a transaction is validated and then marked pending before a flush
+   * @then a single write is made and it still inserts the verdict
+   */
+  @Test
+  void coalescingTest() {
+    final WriteBehindMongoTransactionVerdictStorage storage = storage(
+        VerdictDurability.WRITE_BEHIND, 100, 60_000
+    );
+
+    storage.markTransactionValidated(HASH);
+    storage.markTransactionPending(HASH);
+    storage.flush();
+
+    final List<ReplaceOneModel<MongoVerdict>> models = captureBulkWrite();
+    assertEquals(1, models.size());
+    assertTrue(models.get(0).getReplaceOptions().isUpsert());
+    assertEquals(Verdict.PENDING, models.get(0).getReplacement().getResult().getStatus());
+    assertEquals(1, storage.getCoalescedWrites());
+    assertEquals(0, storage.getBufferedWrites());
+    storage.close();
+  }
+
+  /**
+   * @given write behind storage and MongoDB not having any verdicts
+   * @when a transaction is validated and another one is marked pending
+   * @then the validated verdict is served from memory, the pending one is not served since it
+   * would not be stored and MongoDB is asked about it only once
+   */
+  @Test
+  void readThroughTest() {
+    final WriteBehindMongoTransactionVerdictStorage storage = storage(
+        VerdictDurability.WRITE_BEHIND, 100, 60_000
+    );
+
+    storage.markTransactionValidated(HASH);
+    assertEquals(Verdict.VALIDATED, storage.getTransactionVerdict(HASH).getStatus());
+    assertTrue(storage.isHashPresentInStorage(HASH.toLowerCase()));
+    verify(collection, never()).find(any(Bson.class));
+
+    storage.markTransactionPending(OTHER_HASH);
+    assertNull(storage.getTransactionVerdict(OTHER_HASH));
+    assertNull(storage.getTransactionVerdict(OTHER_HASH));
+    assertFalse(storage.isHashPresentInStorage(OTHER_HASH));
+    verify(collection, times(1)).find(any(Bson.class));
+    storage.close();
+  }
+
+  /**
+   * @given write behind storage flushing every 2 verdicts
+   * @when 2 transactions are validated
+   * @then the verdicts are written by a single bulk write without waiting for the timer
+   */
+  @Test
+  void flushOnSizeTest() {
+    final WriteBehindMongoTransactionVerdictStorage storage = storage(
+        VerdictDurability.WRITE_BEHIND, 2, 60_000
+    );
+
+    storage.markTransactionValidated(HASH);
+    storage.markTransactionValidated(OTHER_HASH);
+
+    verify(collection, timeout(5_000)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+    assertEquals(2, captureBulkWrite().size());
+    storage.close();
+  }
+
+  /**
+   * @given write behind storage flushing every 50 ms
+   * @when a transaction is validated
+   * @then the verdict is written by the timer
+   */
+  @Test
+  void flushOnTimerTest() {
+    final WriteBehindMongoTransactionVerdictStorage storage = storage(
+        VerdictDurability.WRITE_BEHIND, 100, 50
+    );
+
+    storage.markTransactionValidated(HASH);
+
+    verify(collection, timeout(5_000)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+    storage.close();
+  }
+
+  /**
+   * @given write behind storage with a long flush period
+   * @when a transaction is validated and the storage is closed
+   * @then the verdict is written before the client is closed
+   */
+  @Test
+  void flushOnCloseTest() {
+    final WriteBehindMongoTransactionVerdictStorage storage = storage(
+        VerdictDurability.WRITE_BEHIND, 100, 60_000
+    );
+
+    storage.markTransactionValidated(HASH);
+    verify(collection, never()).bulkWrite(anyList(), any(BulkWriteOptions.class));
+    storage.close();
+
+    assertEquals(1, captureBulkWrite().size());
+    verify(mongoClient).close();
+  }
+
+  /**
+   * @given terminal sync storage with a long flush period
+   * @when a transaction is marked pending and then validated
+   * @then only the validated verdict is written synchronously
+   */
+  @Test
+  void terminalSyncTest() {
+    final WriteBehindMongoTransactionVerdictStorage storage = storage(
+        VerdictDurability.TERMINAL_SYNC, 100, 60_000
+    );
+
+    storage.markTransactionPending(HASH);
+    verify(collection, never()).bulkWrite(anyList(), any(BulkWriteOptions.class));
+    storage.markTransactionValidated(HASH);
+
+    final List<ReplaceOneModel<MongoVerdict>> models = captureBulkWrite();
+    assertEquals(1, models.size());
+    assertEquals(Verdict.VALIDATED, models.get(0).getReplacement().getResult().getStatus());
+    assertEquals(0, storage.getBufferedWrites());
+    storage.close();
+  }
+
+  /**
+   * @given terminal sync storage with a long flush period and MongoDB failing the first write
+   * @when a transaction is validated
+   * @then the call does not fail, the verdict stays buffered and served from memory and is written
+   * by the next flush
+   */
+  @Test
+  void terminalSyncFailureTest() {
+    final WriteBehindMongoTransactionVerdictStorage storage = storage(
+        VerdictDurability.TERMINAL_SYNC, 100, 60_000
+    );
+    when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+        .thenThrow(new MongoException("Unavailable"))
+        .thenReturn(null);
+
+    storage.markTransactionValidated(HASH);
+
+    assertEquals(1, storage.getBufferedWrites());
+    assertEquals(Verdict.VALIDATED, storage.getTransactionVerdict(HASH).getStatus());
+    storage.flush();
+    assertEquals(0, storage.getBufferedWrites());
+    verify(collection, times(2)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+    storage.close();
+  }
+}
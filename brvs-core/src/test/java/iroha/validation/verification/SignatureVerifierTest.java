@@ -0,0 +1,157 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.verification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import iroha.protocol.Primitive.Signature;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.transactions.core.provider.UserQuorumProvider;
+import iroha.validation.transactions.core.verification.SignatureVerifier;
+import iroha.validation.transactions.core.verification.impl.CachingSignatureVerifier;
+import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SignatureVerifierTest {
+
+  private static final String ACCOUNT_ID = "user@sora";
+
+  private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+  private final UserQuorumProvider userQuorumProvider = mock(UserQuorumProvider.class);
+  private final SignatureVerifier signatureVerifier = new CachingSignatureVerifier(
+      executorService, userQuorumProvider, 10
+  );
+  private final KeyPair keyPair = new Ed25519Sha3().generateKeypair();
+
+  @BeforeEach
+  public void setUp() {
+    // Iroha returns the keys in lower case while iroha-java signs with upper case ones
+    when(userQuorumProvider.getUserSignatories(ACCOUNT_ID)).thenReturn(Collections.singleton(
+        Utils.toHex(keyPair.getPublic().getEncoded()).toLowerCase()
+    ));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  private Transaction signedTransaction(int quorum) {
+    return jp.co.soramitsu.iroha.java.Transaction.builder(ACCOUNT_ID)
+        .setAccountQuorum(ACCOUNT_ID, quorum)
+        .sign(keyPair)
+        .build();
+  }
+
+  private static TransactionBatch batchOf(Transaction... transactions) {
+    return new TransactionBatch(Arrays.asList(transactions));
+  }
+
+  /**
+   * @given {@link CachingSignatureVerifier} instance
+   * @when Batches with properly signed transactions, a transaction with a signature of another
+   * transaction and a transaction with a malformed signature are verified twice
+   * @then Only the properly signed batch passes the verification both times
+   */
+  @Test
+  public void verifySignaturesTest() {
+    final Transaction valid = signedTransaction(2);
+    final Signature foreignSignature = signedTransaction(3).getSignatures(0);
+    final Transaction forged = valid.toBuilder().setSignatures(0, foreignSignature).build();
+    final Transaction malformed = valid.toBuilder()
+        .setSignatures(0, foreignSignature.toBuilder().setSignature("garbage"))
+        .build();
+    final List<TransactionBatch> batches = Arrays.asList(
+        batchOf(valid),
+        batchOf(valid, forged),
+        batchOf(malformed)
+    );
+
+    for (int i = 0; i < 2; i++) {
+      final List<TransactionBatch> verified = signatureVerifier.filterVerified(batches);
+      assertEquals(Collections.singletonList(batches.get(0)), verified);
+    }
+    assertTrue(signatureVerifier.verify(batchOf(valid)));
+    assertFalse(signatureVerifier.verify(batchOf(forged)));
+  }
+
+  /**
+   * @given {@link CachingSignatureVerifier} instance
+   * @when a transaction validly signed by a key that is not a signatory of the creator and an
+   * unsigned transaction are verified
+   * @then both are rejected
+   */
+  @Test
+  public void foreignAndMissingSignaturesTest() {
+    final Transaction foreign = jp.co.soramitsu.iroha.java.Transaction.builder(ACCOUNT_ID)
+        .setAccountQuorum(ACCOUNT_ID, 2)
+        .sign(new Ed25519Sha3().generateKeypair())
+        .build();
+    final Transaction unsigned = jp.co.soramitsu.iroha.java.Transaction.builder(ACCOUNT_ID)
+        .setAccountQuorum(ACCOUNT_ID, 2)
+        .build()
+        .build();
+
+    assertFalse(signatureVerifier.verify(batchOf(foreign)));
+    assertFalse(signatureVerifier.verify(batchOf(unsigned)));
+    assertTrue(signatureVerifier.verify(batchOf(signedTransaction(2))));
+  }
+
+  /**
+   * @given {@link CachingSignatureVerifier} instance
+   * @when different transactions of the same creator are verified
+   * @then the creator signatories are queried once
+   */
+  @Test
+  public void signatoriesCacheTest() {
+    assertTrue(signatureVerifier.verify(batchOf(signedTransaction(2))));
+    assertTrue(signatureVerifier.verify(batchOf(signedTransaction(3))));
+
+    verify(userQuorumProvider, times(1)).getUserSignatories(ACCOUNT_ID);
+  }
+
+  /**
+   * @given {@link CachingSignatureVerifier} with an executor never completing the checks
+   * @when the calling thread is interrupted while waiting for the checks
+   * @then no batch is returned and the interruption is kept
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void interruptedVerificationTest() {
+    final ExecutorService stuckExecutor = mock(ExecutorService.class);
+    when(stuckExecutor.submit(any(Callable.class))).thenReturn(new CompletableFuture<>());
+    final SignatureVerifier stuckVerifier = new CachingSignatureVerifier(
+        stuckExecutor, userQuorumProvider, 10
+    );
+    final List<TransactionBatch> batches = Arrays.asList(
+        batchOf(signedTransaction(2)),
+        batchOf(signedTransaction(3))
+    );
+
+    Thread.currentThread().interrupt();
+    assertTrue(stuckVerifier.filterVerified(batches).isEmpty());
+    assertTrue(Thread.interrupted());
+  }
+}
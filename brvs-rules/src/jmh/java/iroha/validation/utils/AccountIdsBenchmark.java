@@ -0,0 +1,79 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.utils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the split based account id parsing with {@link AccountIds} and {@link DomainTable}. Run
+ * with {@code ./gradlew :brvs-rules:jmh -Pjmh.args="-prof gc"} to see the allocation rates
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountIdsBenchmark {
+
+  private static final String[] DOMAINS = {"sora", "d3", "notary", "brvs", "bank"};
+
+  private final String accountId = "some_user_account@bank";
+  private final String publicKey =
+      "b5b8f8bbdbb1a9a2eeee7e7edf1c2ee6f87ae4d4ae23d6c9fa70a5ae50b4e21c";
+  private final Set<String> domainSet = new HashSet<>(Arrays.asList(DOMAINS));
+  private final DomainTable domainTable = DomainTable.of(DOMAINS);
+  private final Set<String> upperCaseKeys = new HashSet<>();
+  private final Set<String> caseInsensitiveKeys = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+  public AccountIdsBenchmark() {
+    upperCaseKeys.add(publicKey.toUpperCase());
+    caseInsensitiveKeys.add(publicKey.toUpperCase());
+  }
+
+  @Benchmark
+  public boolean splitDomainLookup() {
+    return domainSet.contains(accountId.split("@")[1]);
+  }
+
+  @Benchmark
+  public boolean domainTableLookup() {
+    return domainTable.containsDomainOf(accountId);
+  }
+
+  @Benchmark
+  public String splitGetDomain() {
+    return accountId.split("@")[1];
+  }
+
+  @Benchmark
+  public String indexGetDomain() {
+    return AccountIds.getDomain(accountId);
+  }
+
+  @Benchmark
+  public boolean upperCaseKeyLookup() {
+    return upperCaseKeys.contains(publicKey.toUpperCase());
+  }
+
+  @Benchmark
+  public boolean caseInsensitiveKeyLookup() {
+    return caseInsensitiveKeys.contains(publicKey);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.limits;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import org.springframework.util.StringUtils;
+
+/**
+ * Identifies a counter of the {@link LimitLedger}
+ */
+public final class LimitKey {
+
+  // Iroha detail keys are limited to 64 characters of [A-Za-z0-9_]
+  private static final int DETAIL_KEY_READABLE_LENGTH = 16;
+  private static final int DETAIL_KEY_DIGEST_BYTES = 16;
+
+  public enum Scope {
+    /**
+     * Named limit shared by everybody
+     */
+    GLOBAL,
+    /**
+     * Limit of a single account
+     */
+    ACCOUNT,
+    /**
+     * Limit of a single asset shared by everybody
+     */
+    ASSET
+  }
+
+  private final Scope scope;
+  private final String id;
+
+  private LimitKey(Scope scope, String id) {
+    Objects.requireNonNull(scope, "Scope must not be null");
+    if (StringUtils.isEmpty(id)) {
+      throw new IllegalArgumentException("Limit id must not be neither null nor empty");
+    }
+    this.scope = scope;
+    this.id = id;
+  }
+
+  public static LimitKey global(String name) {
+    return new LimitKey(Scope.GLOBAL, name);
+  }
+
+  public static LimitKey account(String accountId) {
+    return new LimitKey(Scope.ACCOUNT, accountId);
+  }
+
+  public static LimitKey asset(String assetId) {
+    return new LimitKey(Scope.ASSET, assetId);
+  }
+
+  /**
+   * @param key key in the {@code scope:id} form, i.e. {@code asset:xor#sora}
+   * @return parsed key
+   */
+  public static LimitKey parse(String key) {
+    final int separator = key.indexOf(':');
+    if (separator < 0) {
+      throw new IllegalArgumentException("Limit key must be in the scope:id form, got " + key);
+    }
+    return new LimitKey(
+        Scope.valueOf(key.substring(0, separator).trim().toUpperCase()),
+        key.substring(separator + 1).trim()
+    );
+  }
+
+  public Scope getScope() {
+    return scope;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * Builds a detail key of at most 57 characters: the scope and a readable id prefix with the
+   * characters not allowed in a detail key replaced by underscores followed by a hex digest of the
+   * whole id, i.e. {@code asset_xor_sora_<32 hex digits>}
+   *
+   * @return Iroha account detail key to store the counter in
+   */
+  public String toDetailKey() {
+    final String readable = id.length() > DETAIL_KEY_READABLE_LENGTH ?
+        id.substring(0, DETAIL_KEY_READABLE_LENGTH) : id;
+    final StringBuilder detailKey = new StringBuilder(scope.name().toLowerCase())
+        .append('_')
+        .append(readable.replaceAll("[^A-Za-z0-9_]", "_"))
+        .append('_');
+    final byte[] digest = sha256(id);
+    for (int i = 0; i < DETAIL_KEY_DIGEST_BYTES; i++) {
+      detailKey.append(Character.forDigit((digest[i] >> 4) & 0xF, 16))
+          .append(Character.forDigit(digest[i] & 0xF, 16));
+    }
+    return detailKey.toString();
+  }
+
+  private static byte[] sha256(String value) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      // every JVM must support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final LimitKey limitKey = (LimitKey) o;
+    return scope == limitKey.scope && id.equals(limitKey.id);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(scope, id);
+  }
+
+  @Override
+  public String toString() {
+    return scope.name().toLowerCase() + ":" + id;
+  }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.limits;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+/**
+ * Ledger of spending limits shared by stateful limit rules. A transaction reserves the amounts it
+ * is going to spend once it is validated. The reservation is released if the transaction is
+ * rejected afterwards or is never committed to Iroha, and confirmed once the transaction is
+ * committed. Committed transactions validated elsewhere are charged without a reservation.
+ * Counters are updated by compare-and-set loops, so validation threads never block each other and a
+ * limit is never overspent by concurrent reservations. Keys without a limit set are unlimited and
+ * are not tracked
+ */
+public class LimitLedger {
+
+  private static final Logger logger = LoggerFactory.getLogger(LimitLedger.class);
+
+  private final ConcurrentMap<LimitKey, Counter> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Reservation> reservations = new ConcurrentHashMap<>();
+  // incremented on every change of the spent amounts to skip needless synchronization
+  private final AtomicLong modifications = new AtomicLong();
+
+  public LimitLedger() {
+  }
+
+  /**
+   * @param limits comma separated limits in the {@code scope:id=limit} form, i.e. {@code
+   * asset:xor#sora=1000,account:user@sora=10}
+   */
+  public LimitLedger(String limits) {
+    if (StringUtils.isEmpty(limits)) {
+      return;
+    }
+    for (String limit : limits.split(",")) {
+      if (limit.trim().isEmpty()) {
+        continue;
+      }
+      final int separator = limit.lastIndexOf('=');
+      if (separator < 0) {
+        throw new IllegalArgumentException(
+            "Limit must be in the scope:id=limit form, got " + limit
+        );
+      }
+      setLimit(
+          LimitKey.parse(limit.substring(0, separator)),
+          new BigDecimal(limit.substring(separator + 1).trim())
+      );
+    }
+  }
+
+  /**
+   * Sets or changes the limit of the key keeping the amount already spent
+   *
+   * @param key limit key
+   * @param limit maximum amount to be spent
+   */
+  public void setLimit(LimitKey key, BigDecimal limit) {
+    Objects.requireNonNull(key, "Limit key must not be null");
+    Objects.requireNonNull(limit, "Limit must not be null");
+    if (limit.signum() < 0) {
+      throw new IllegalArgumentException("Limit must not be negative, got " + limit);
+    }
+    counters.computeIfAbsent(key, k -> new Counter()).limit = limit;
+  }
+
+  /**
+   * @param key limit key
+   * @return true if the key is limited
+   */
+  public boolean hasLimit(LimitKey key) {
+    return counters.containsKey(key);
+  }
+
+  /**
+   * @param key limit key
+   * @return limit of the key or null if the key is unlimited
+   */
+  public BigDecimal getLimit(LimitKey key) {
+    final Counter counter = counters.get(key);
+    return counter == null ? null : counter.limit;
+  }
+
+  /**
+   * @param key limit key
+   * @return amount spent and reserved for the key
+   */
+  public BigDecimal getUsed(LimitKey key) {
+    final Counter counter = counters.get(key);
+    return counter == null ? BigDecimal.ZERO : counter.used.get();
+  }
+
+  /**
+   * @param key limit key
+   * @return amount spent by the committed transactions for the key
+   */
+  public BigDecimal getConfirmed(LimitKey key) {
+    final Counter counter = counters.get(key);
+    return counter == null ? BigDecimal.ZERO : counter.confirmed.get();
+  }
+
+  /**
+   * Overwrites the amount spent by the committed transactions, i.e. with the value restored from
+   * Iroha on startup. Current reservations stay charged
+   *
+   * @param key limit key
+   * @param used amount spent
+   */
+  public void setUsed(LimitKey key, BigDecimal used) {
+    Objects.requireNonNull(used, "Used amount must not be null");
+    final Counter counter = counters.get(key);
+    if (counter == null) {
+      throw new IllegalArgumentException("Key " + key + " is not limited");
+    }
+    final BigDecimal previous = counter.confirmed.getAndSet(used);
+    counter.add(used.subtract(previous));
+    modifications.incrementAndGet();
+  }
+
+  /**
+   * Reserves the amounts for the transaction. Either all or none of the amounts are reserved.
+   * Reserving for the same transaction hash again does not change the counters and returns the
+   * outcome of the reservation in progress or held, waiting for the former to finish
+   *
+   * @param transactionHash hex hash of the transaction
+   * @param amounts amounts to spend per key, unlimited keys are ignored
+   * @return null if the amounts are reserved, otherwise the key whose limit would be exceeded
+   */
+  public LimitKey reserve(String transactionHash, Map<LimitKey, BigDecimal> amounts) {
+    if (StringUtils.isEmpty(transactionHash)) {
+      throw new IllegalArgumentException("Transaction hash must not be neither null nor empty");
+    }
+    Objects.requireNonNull(amounts, "Amounts must not be null");
+    amounts.values().forEach(amount -> {
+      if (amount.signum() < 0) {
+        throw new IllegalArgumentException("Amount must not be negative, got " + amount);
+      }
+    });
+
+    final Map<LimitKey, BigDecimal> reserved = new HashMap<>(amounts.size());
+    final Reservation reservation = new Reservation(reserved, System.currentTimeMillis());
+    // claim the hash first, so concurrent validation of the same transaction is charged once
+    final Reservation existing = reservations.putIfAbsent(transactionHash, reservation);
+    if (existing != null) {
+      return existing.outcome.join();
+    }
+    for (Map.Entry<LimitKey, BigDecimal> entry : amounts.entrySet()) {
+      final BigDecimal amount = entry.getValue();
+      final Counter counter = counters.get(entry.getKey());
+      if (counter == null || amount.signum() == 0) {
+        continue;
+      }
+      if (!counter.tryAdd(amount)) {
+        rollback(reserved);
+        reservation.outcome.complete(entry.getKey());
+        reservations.remove(transactionHash, reservation);
+        return entry.getKey();
+      }
+      reserved.put(entry.getKey(), amount);
+    }
+    if (!reserved.isEmpty()) {
+      modifications.incrementAndGet();
+    }
+    reservation.outcome.complete(null);
+    return null;
+  }
+
+  /**
+   * Returns the amounts reserved for the transaction. Releasing an unknown or already released
+   * transaction does nothing
+   *
+   * @param transactionHash hex hash of the transaction
+   * @return true if there was a reservation
+   */
+  public boolean release(String transactionHash) {
+    final Reservation reservation = reservations.remove(transactionHash);
+    if (reservation == null) {
+      return false;
+    }
+    rollback(reservation.amounts);
+    return true;
+  }
+
+  /**
+   * Makes the amounts reserved for the committed transaction permanent
+   *
+   * @param transactionHash hex hash of the transaction
+   * @return true if there was a reservation
+   */
+  public boolean confirm(String transactionHash) {
+    final Reservation reservation = reservations.remove(transactionHash);
+    if (reservation == null) {
+      return false;
+    }
+    if (!reservation.amounts.isEmpty()) {
+      reservation.amounts.forEach((key, amount) -> {
+        final Counter counter = counters.get(key);
+        if (counter != null) {
+          counter.confirm(amount);
+        }
+      });
+      modifications.incrementAndGet();
+    }
+    return true;
+  }
+
+  /**
+   * Charges the amounts of a committed transaction that has no reservation, i.e. validated by
+   * another instance or released after a submission that has actually been delivered. Limits are
+   * not checked since the transaction is already committed
+   *
+   * @param amounts amounts spent per key, unlimited keys are ignored
+   */
+  public void charge(Map<LimitKey, BigDecimal> amounts) {
+    Objects.requireNonNull(amounts, "Amounts must not be null");
+    boolean charged = false;
+    for (Map.Entry<LimitKey, BigDecimal> entry : amounts.entrySet()) {
+      final Counter counter = counters.get(entry.getKey());
+      if (counter == null || entry.getValue().signum() <= 0) {
+        continue;
+      }
+      counter.add(entry.getValue());
+      counter.confirm(entry.getValue());
+      charged = true;
+    }
+    if (charged) {
+      modifications.incrementAndGet();
+    }
+  }
+
+  /**
+   * Releases reservations of the transactions that have not been committed in time, i.e. failed in
+   * Iroha or expired in its pending storage
+   *
+   * @param olderThanMillis age of reservations to release
+   * @return hashes of the transactions released
+   */
+  public List<String> expire(long olderThanMillis) {
+    final long deadline = System.currentTimeMillis() - olderThanMillis;
+    final List<String> expired = new ArrayList<>();
+    reservations.forEach((hash, reservation) -> {
+      if (reservation.createdAt < deadline && reservation.outcome.isDone()
+          && reservations.remove(hash, reservation)) {
+        rollback(reservation.amounts);
+        expired.add(hash);
+      }
+    });
+    if (!expired.isEmpty()) {
+      logger.warn("Released {} expired limit reservations", expired.size());
+    }
+    return expired;
+  }
+
+  /**
+   * @return number of transactions holding reservations
+   */
+  public int getReservationsCount() {
+    return reservations.size();
+  }
+
+  /**
+   * @return number of changes of the spent amounts so far
+   */
+  public long getModifications() {
+    return modifications.get();
+  }
+
+  /**
+   * @return amounts spent by the committed transactions per limited key, reservations of the
+   * transactions that may never be committed are not included
+   */
+  public Map<LimitKey, BigDecimal> snapshot() {
+    final Map<LimitKey, BigDecimal> snapshot = new HashMap<>(counters.size());
+    counters.forEach((key, counter) -> snapshot.put(key, counter.confirmed.get()));
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  private void rollback(Map<LimitKey, BigDecimal> reserved) {
+    if (reserved.isEmpty()) {
+      return;
+    }
+    reserved.forEach((key, amount) -> {
+      final Counter counter = counters.get(key);
+      if (counter != null) {
+        counter.subtract(amount);
+      }
+    });
+    modifications.incrementAndGet();
+  }
+
+  private static class Counter {
+
+    private volatile BigDecimal limit = BigDecimal.ZERO;
+    // spent and reserved, checked against the limit
+    private final AtomicReference<BigDecimal> used = new AtomicReference<>(BigDecimal.ZERO);
+    // spent by the committed transactions only
+    private final AtomicReference<BigDecimal> confirmed = new AtomicReference<>(BigDecimal.ZERO);
+
+    private boolean tryAdd(BigDecimal amount) {
+      while (true) {
+        final BigDecimal current = used.get();
+        final BigDecimal updated = current.add(amount);
+        if (updated.compareTo(limit) > 0) {
+          return false;
+        }
+        if (used.compareAndSet(current, updated)) {
+          return true;
+        }
+      }
+    }
+
+    private void add(BigDecimal amount) {
+      used.accumulateAndGet(amount, (current, delta) -> current.add(delta).max(BigDecimal.ZERO));
+    }
+
+    private void confirm(BigDecimal amount) {
+      confirmed.accumulateAndGet(amount, BigDecimal::add);
+    }
+
+    private void subtract(BigDecimal amount) {
+      while (true) {
+        final BigDecimal current = used.get();
+        // the counter may have been overwritten by synchronization in the meantime
+        final BigDecimal updated = current.subtract(amount).max(BigDecimal.ZERO);
+        if (used.compareAndSet(current, updated)) {
+          return;
+        }
+      }
+    }
+  }
+
+  private static class Reservation {
+
+    private final Map<LimitKey, BigDecimal> amounts;
+    private final long createdAt;
+    // completed once the amounts are reserved or a limit is exceeded
+    private final CompletableFuture<LimitKey> outcome = new CompletableFuture<>();
+
+    private Reservation(Map<LimitKey, BigDecimal> amounts, long createdAt) {
+      this.amounts = amounts;
+      this.createdAt = createdAt;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+import iroha.protocol.TransactionOuterClass;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.verdict.ValidationResult;
+import java.util.Collections;
+
+/**
+ * Rule checking a whole atomic batch at once. Useful for rules that need Iroha state since they can
+ * query it once per batch and check cross transaction effects
+ */
+public interface BatchRule extends Rule {
+
+  /**
+   * Method for checking batch rule satisfiability
+   *
+   * @param transactionBatch {@link TransactionBatch} to be checked
+   * @return {@link ValidationResult} corresponding to satisfiability checking outcome
+   */
+  ValidationResult isSatisfiedBy(TransactionBatch transactionBatch);
+
+  /**
+   * Checks the transaction as a batch of a single transaction
+   */
+  @Override
+  default ValidationResult isSatisfiedBy(TransactionOuterClass.Transaction transaction) {
+    return isSatisfiedBy(new TransactionBatch(Collections.singletonList(transaction)));
+  }
+
+  /**
+   * Adapts any rule to be evaluated batch-wise. Per transaction rules, including the dynamic ones,
+   * are applied to every transaction of the batch until the first rejection
+   *
+   * @param rule {@link Rule} to adapt
+   * @return the same instance if it is a {@link BatchRule} already, an adapter otherwise
+   */
+  static BatchRule of(Rule rule) {
+    if (rule instanceof BatchRule) {
+      return (BatchRule) rule;
+    }
+    return new TransactionRuleAdapter(rule);
+  }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+import iroha.validation.transactions.TransactionBatch;
+import java.util.Collection;
+
+/**
+ * {@link BatchRule} able to read all the external state needed to check many batches in a single
+ * deduplicated round
+ */
+public interface PrefetchingRule extends BatchRule {
+
+  /**
+   * Reads the state needed to check the batches given. Implementations should fall back to the rule
+   * itself if the state cannot be read
+   *
+   * @param transactionBatches {@link TransactionBatch batches} going to be checked
+   * @return {@link BatchRule} checking the batches against the state read
+   */
+  BatchRule prefetch(Collection<TransactionBatch> transactionBatches);
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+import iroha.validation.transactions.TransactionBatch;
+
+/**
+ * Rule consuming a shared resource, i.e. a spending limit, when it validates a transaction. The
+ * consumption must be returned if the batch is rejected later by another rule or fails in Iroha
+ */
+public interface ReservingRule extends Rule {
+
+  /**
+   * Returns everything reserved for the batch. Must be idempotent and ignore unknown batches
+   *
+   * @param transactionBatch {@link TransactionBatch} that will not be committed
+   */
+  void release(TransactionBatch transactionBatch);
+
+  /**
+   * Consumes a shared resource, so it must not be evaluated before rules that may reject the
+   * transaction
+   */
+  @Override
+  default RuleOrderingConstraint getOrderingConstraint() {
+    return RuleOrderingConstraint.LAST;
+  }
+}
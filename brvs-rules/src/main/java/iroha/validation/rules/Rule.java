@@ -20,4 +20,22 @@ public interface Rule {
    * @return {@link ValidationResult} corresponding to satisfiability checking outcome
    */
   ValidationResult isSatisfiedBy(TransactionOuterClass.Transaction transaction);
+
+  /**
+   * Tells the validator where the rule may be placed in the evaluation order
+   *
+   * @return {@link RuleOrderingConstraint} of the rule
+   */
+  default RuleOrderingConstraint getOrderingConstraint() {
+    return RuleOrderingConstraint.ADAPTIVE;
+  }
+
+  /**
+   * Tells the validator which transaction creators the rule is relevant for
+   *
+   * @return {@link RuleScope} of the rule
+   */
+  default RuleScope getScope() {
+    return RuleScope.GLOBAL;
+  }
 }
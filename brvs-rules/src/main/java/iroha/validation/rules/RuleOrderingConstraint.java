@@ -0,0 +1,25 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+/**
+ * Placement of a rule within the evaluation order of a validator. Rules are evaluated phase by
+ * phase in the declaration order of the constants
+ */
+public enum RuleOrderingConstraint {
+  /**
+   * Evaluated before any other rule
+   */
+  FIRST,
+  /**
+   * Position is chosen by the validator according to the observed rule cost and rejection rate
+   */
+  ADAPTIVE,
+  /**
+   * Evaluated after all the other rules, i.e. rules having side effects
+   */
+  LAST
+}
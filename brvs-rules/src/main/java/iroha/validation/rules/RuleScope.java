@@ -0,0 +1,120 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+import iroha.validation.utils.AccountIds;
+import iroha.validation.utils.DomainTable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.util.StringUtils;
+
+/**
+ * Set of transaction creators a rule is relevant for. A rule applies to the creators of the
+ * domains or the accounts listed, or to everybody if none are listed, except the creators of the
+ * excluded domains
+ */
+public class RuleScope {
+
+  /**
+   * Scope of rules applying to every transaction
+   */
+  public static final RuleScope GLOBAL = new RuleScope(
+      Collections.emptySet(),
+      Collections.emptySet(),
+      Collections.emptySet()
+  );
+
+  private final Set<String> domains;
+  private final Set<String> accounts;
+  private final Set<String> excludedDomains;
+  private final DomainTable domainTable;
+  private final DomainTable excludedDomainTable;
+
+  /**
+   * @param domains comma separated domains
+   * @param accounts comma separated account ids
+   * @param excludedDomains comma separated domains
+   */
+  public RuleScope(String domains, String accounts, String excludedDomains) {
+    this(split(domains), split(accounts), split(excludedDomains));
+  }
+
+  public RuleScope(Set<String> domains, Set<String> accounts, Set<String> excludedDomains) {
+    Objects.requireNonNull(domains, "Domains must not be null");
+    Objects.requireNonNull(accounts, "Accounts must not be null");
+    Objects.requireNonNull(excludedDomains, "Excluded domains must not be null");
+
+    this.domains = Collections.unmodifiableSet(new HashSet<>(domains));
+    this.accounts = Collections.unmodifiableSet(new HashSet<>(accounts));
+    this.excludedDomains = Collections.unmodifiableSet(new HashSet<>(excludedDomains));
+    this.domainTable = new DomainTable(domains);
+    this.excludedDomainTable = new DomainTable(excludedDomains);
+  }
+
+  /**
+   * @return true if the rule applies to every transaction
+   */
+  public boolean isGlobal() {
+    return domains.isEmpty() && accounts.isEmpty() && excludedDomains.isEmpty();
+  }
+
+  /**
+   * @param accountId transaction creator account id
+   * @return true if the rule is relevant for transactions of the account
+   */
+  public boolean appliesTo(String accountId) {
+    if (isGlobal()) {
+      return true;
+    }
+    if (excludedDomainTable.containsDomainOf(accountId)) {
+      return false;
+    }
+    return domains.isEmpty() && accounts.isEmpty()
+        || domainTable.containsDomainOf(accountId)
+        || accounts.contains(accountId);
+  }
+
+  public Set<String> getDomains() {
+    return domains;
+  }
+
+  public Set<String> getAccounts() {
+    return accounts;
+  }
+
+  public Set<String> getExcludedDomains() {
+    return excludedDomains;
+  }
+
+  /**
+   * @param accountId Iroha account id
+   * @return domain part of the account id, empty string if there is none
+   */
+  public static String getDomain(String accountId) {
+    return AccountIds.getDomain(accountId);
+  }
+
+  private static Set<String> split(String values) {
+    if (StringUtils.isEmpty(values)) {
+      return Collections.emptySet();
+    }
+    return Arrays.stream(values.split(","))
+        .map(String::trim)
+        .filter(value -> !value.isEmpty())
+        .collect(Collectors.toSet());
+  }
+
+  @Override
+  public String toString() {
+    return "RuleScope{domains=" + domains +
+        ", accounts=" + accounts +
+        ", excludedDomains=" + excludedDomains + "}";
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.verdict.ValidationResult;
+import iroha.validation.verdict.Verdict;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Restricts any rule to a {@link RuleScope}. Per transaction rules are applied only to the
+ * transactions of the creators in scope, batch rules get the whole batch once any of its creators
+ * is in scope
+ */
+public class ScopedRule implements PrefetchingRule {
+
+  private final Rule rule;
+  private final RuleScope scope;
+
+  public ScopedRule(Rule rule, RuleScope scope) {
+    Objects.requireNonNull(rule, "Rule must not be null");
+    Objects.requireNonNull(scope, "Rule scope must not be null");
+
+    this.rule = rule;
+    this.scope = scope;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ValidationResult isSatisfiedBy(TransactionBatch transactionBatch) {
+    if (rule instanceof BatchRule) {
+      return ((BatchRule) rule).isSatisfiedBy(transactionBatch);
+    }
+    for (Transaction transaction : transactionBatch) {
+      final ValidationResult validationResult = isSatisfiedBy(transaction);
+      if (validationResult.getStatus().equals(Verdict.REJECTED)) {
+        return validationResult;
+      }
+    }
+    return ValidationResult.VALIDATED;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ValidationResult isSatisfiedBy(Transaction transaction) {
+    if (!scope.appliesTo(transaction.getPayload().getReducedPayload().getCreatorAccountId())) {
+      return ValidationResult.VALIDATED;
+    }
+    return rule.isSatisfiedBy(transaction);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public BatchRule prefetch(Collection<TransactionBatch> transactionBatches) {
+    if (rule instanceof PrefetchingRule) {
+      return new ScopedRule(((PrefetchingRule) rule).prefetch(transactionBatches), scope);
+    }
+    return this;
+  }
+
+  /**
+   * @return the rule restricted
+   */
+  public Rule getRule() {
+    return rule;
+  }
+
+  @Override
+  public RuleOrderingConstraint getOrderingConstraint() {
+    return rule.getOrderingConstraint();
+  }
+
+  @Override
+  public RuleScope getScope() {
+    return scope;
+  }
+}
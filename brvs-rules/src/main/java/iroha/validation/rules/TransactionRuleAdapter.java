@@ -0,0 +1,58 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules;
+
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.verdict.ValidationResult;
+import iroha.validation.verdict.Verdict;
+import java.util.Objects;
+
+/**
+ * {@link BatchRule} applying a per transaction {@link Rule} to every transaction of a batch created
+ * by an account in the rule scope
+ */
+class TransactionRuleAdapter implements BatchRule {
+
+  private final Rule rule;
+  private final RuleScope scope;
+
+  TransactionRuleAdapter(Rule rule) {
+    Objects.requireNonNull(rule, "Rule must not be null");
+    this.rule = rule;
+    this.scope = rule.getScope();
+  }
+
+  @Override
+  public ValidationResult isSatisfiedBy(TransactionBatch transactionBatch) {
+    for (Transaction transaction : transactionBatch) {
+      if (!scope.isGlobal() && !scope.appliesTo(
+          transaction.getPayload().getReducedPayload().getCreatorAccountId())) {
+        continue;
+      }
+      final ValidationResult validationResult = rule.isSatisfiedBy(transaction);
+      if (validationResult.getStatus().equals(Verdict.REJECTED)) {
+        return validationResult;
+      }
+    }
+    return ValidationResult.VALIDATED;
+  }
+
+  @Override
+  public ValidationResult isSatisfiedBy(Transaction transaction) {
+    return rule.isSatisfiedBy(transaction);
+  }
+
+  @Override
+  public RuleOrderingConstraint getOrderingConstraint() {
+    return rule.getOrderingConstraint();
+  }
+
+  @Override
+  public RuleScope getScope() {
+    return scope;
+  }
+}
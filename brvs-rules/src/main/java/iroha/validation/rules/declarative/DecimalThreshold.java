@@ -0,0 +1,102 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.declarative;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Non-negative decimal limit compared with Iroha amount strings digit by digit, so checking an
+ * amount does not allocate. Amounts in a format other than plain digits with an optional fraction
+ * are compared using {@link BigDecimal}
+ */
+public class DecimalThreshold {
+
+  private final BigDecimal limit;
+  // without leading zeros
+  private final String integerDigits;
+  // without trailing zeros
+  private final String fractionDigits;
+
+  public DecimalThreshold(String limit) {
+    Objects.requireNonNull(limit, "Limit must not be null");
+    this.limit = new BigDecimal(limit);
+    if (this.limit.signum() < 0) {
+      throw new IllegalArgumentException("Limit must not be negative, got " + limit);
+    }
+    final String plain = this.limit.signum() == 0
+        ? "0"
+        : this.limit.stripTrailingZeros().toPlainString();
+    final int point = plain.indexOf('.');
+    final String integerPart = point < 0 ? plain : plain.substring(0, point);
+    this.integerDigits = integerPart.equals("0") ? "" : integerPart;
+    this.fractionDigits = point < 0 ? "" : plain.substring(point + 1);
+  }
+
+  /**
+   * @param amount decimal amount string
+   * @return true if the amount is strictly greater than the limit
+   * @throws NumberFormatException if the amount is not a decimal number
+   */
+  public boolean isExceededBy(String amount) {
+    return compareTo(amount) > 0;
+  }
+
+  /**
+   * @param amount decimal amount string
+   * @return negative, zero or positive if the amount is less than, equal to or greater than the
+   * limit
+   */
+  int compareTo(String amount) {
+    final int length = amount.length();
+    final int point = amount.indexOf('.');
+    final int integerEnd = point < 0 ? length : point;
+    if (integerEnd == 0 || !isDigits(amount, 0, integerEnd) || !isDigits(amount, integerEnd + 1,
+        length)) {
+      return new BigDecimal(amount).compareTo(limit);
+    }
+    int integerStart = 0;
+    while (integerStart < integerEnd && amount.charAt(integerStart) == '0') {
+      integerStart++;
+    }
+    final int integerLength = integerEnd - integerStart;
+    if (integerLength != integerDigits.length()) {
+      return integerLength - integerDigits.length();
+    }
+    for (int i = 0; i < integerLength; i++) {
+      final int difference = amount.charAt(integerStart + i) - integerDigits.charAt(i);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    final int fractionStart = integerEnd + 1;
+    final int fractionLength = Math.max(0, length - fractionStart);
+    final int maxFractionLength = Math.max(fractionLength, fractionDigits.length());
+    for (int i = 0; i < maxFractionLength; i++) {
+      final char amountDigit = i < fractionLength ? amount.charAt(fractionStart + i) : '0';
+      final char limitDigit = i < fractionDigits.length() ? fractionDigits.charAt(i) : '0';
+      if (amountDigit != limitDigit) {
+        return amountDigit - limitDigit;
+      }
+    }
+    return 0;
+  }
+
+  private static boolean isDigits(String value, int from, int to) {
+    for (int i = from; i < to; i++) {
+      final char symbol = value.charAt(i);
+      if (symbol < '0' || symbol > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return limit.toPlainString();
+  }
+}
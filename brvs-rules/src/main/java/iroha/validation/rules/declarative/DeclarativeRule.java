@@ -0,0 +1,70 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.declarative;
+
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.rules.Rule;
+import iroha.validation.rules.RuleOrderingConstraint;
+import iroha.validation.rules.RuleScope;
+import iroha.validation.verdict.ValidationResult;
+import java.util.Objects;
+
+/**
+ * Rule rejecting transactions matched by a predicate tree built by {@link DeclarativeRuleParser}.
+ * The rejection result is created once, so the rule does not allocate on validation
+ */
+public class DeclarativeRule implements Rule {
+
+  private final TransactionPredicate rejectionPredicate;
+  private final ValidationResult rejection;
+  private final RuleOrderingConstraint orderingConstraint;
+  private final RuleScope scope;
+
+  public DeclarativeRule(TransactionPredicate rejectionPredicate,
+      String reason,
+      RuleOrderingConstraint orderingConstraint) {
+    this(rejectionPredicate, reason, orderingConstraint, RuleScope.GLOBAL);
+  }
+
+  public DeclarativeRule(TransactionPredicate rejectionPredicate,
+      String reason,
+      RuleOrderingConstraint orderingConstraint,
+      RuleScope scope) {
+    Objects.requireNonNull(rejectionPredicate, "Rejection predicate must not be null");
+    Objects.requireNonNull(reason, "Rejection reason must not be null");
+    Objects.requireNonNull(orderingConstraint, "Ordering constraint must not be null");
+    Objects.requireNonNull(scope, "Rule scope must not be null");
+
+    this.rejectionPredicate = rejectionPredicate;
+    this.rejection = ValidationResult.REJECTED(reason);
+    this.orderingConstraint = orderingConstraint;
+    this.scope = scope;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ValidationResult isSatisfiedBy(Transaction transaction) {
+    return rejectionPredicate.test(transaction) ? rejection : ValidationResult.VALIDATED;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public RuleOrderingConstraint getOrderingConstraint() {
+    return orderingConstraint;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public RuleScope getScope() {
+    return scope;
+  }
+}
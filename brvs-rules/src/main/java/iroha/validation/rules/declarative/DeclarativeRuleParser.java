@@ -0,0 +1,289 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.declarative;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.Command.CommandCase;
+import iroha.protocol.Commands.TransferAsset;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.rules.Rule;
+import iroha.validation.rules.RuleOrderingConstraint;
+import iroha.validation.rules.RuleScope;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.util.StringUtils;
+
+/**
+ * Parser of declarative JSON rules. A rule describes the transactions to reject:
+ * <pre>
+ * {
+ *   "reason": "Transfers of xor#sora above 1000 are disabled",
+ *   "ordering": "FIRST",
+ *   "scope": {"domains": ["sora"], "accounts": [], "excludedDomains": []},
+ *   "reject": {
+ *     "type": "anyCommand",
+ *     "where": {"type": "transferAsset", "assets": ["xor#sora"], "amountAbove": "1000"}
+ *   }
+ * }
+ * </pre>
+ * Transaction conditions: {@code all}/{@code any} ({@code "of": [conditions]}), {@code not}
+ * ({@code "condition"}), {@code creatorAccount} ({@code "accounts"}), {@code creatorDomain}
+ * ({@code "domains"}) and {@code anyCommand} ({@code "where": command condition}).<br/>
+ * Command conditions: {@code all}/{@code any}/{@code not}, {@code commandType} ({@code "types"}
+ * of Iroha command cases, i.e. {@code REMOVE_SIGNATORY}), {@code transferAsset} (optional {@code
+ * "assets"} and {@code "amountAbove"}) and {@code quorumNotDivisibleBy} ({@code "divisor"}).
+ * <br/>
+ * The conditions are compiled to a tree of Java predicates, no code is generated
+ */
+public class DeclarativeRuleParser {
+
+  private static final JsonParser jsonParser = new JsonParser();
+  private static final String DEFAULT_REASON = "Transaction is rejected by a declarative rule";
+
+  private DeclarativeRuleParser() {
+    throw new IllegalStateException("Utility class");
+  }
+
+  /**
+   * @param script rule script
+   * @return true if the script is a declarative rule rather than a Groovy one
+   */
+  public static boolean isDeclarative(String script) {
+    for (int i = 0; i < script.length(); i++) {
+      final char symbol = script.charAt(i);
+      if (!Character.isWhitespace(symbol)) {
+        return symbol == '{';
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Parses given JSON rule
+   *
+   * @param script JSON rule to parse
+   * @return new {@link Rule} instance
+   * @throws IllegalArgumentException in case of invalid JSON or unknown conditions
+   */
+  public static Rule parse(String script) {
+    if (StringUtils.isEmpty(script)) {
+      throw new IllegalArgumentException("Cannot parse empty script");
+    }
+    try {
+      final JsonObject rule = jsonParser.parse(script).getAsJsonObject();
+      return new DeclarativeRule(
+          parseTransactionCondition(getRequired(rule, "reject")),
+          rule.has("reason") ? rule.get("reason").getAsString() : DEFAULT_REASON,
+          rule.has("ordering")
+              ? RuleOrderingConstraint.valueOf(rule.get("ordering").getAsString().toUpperCase())
+              : RuleOrderingConstraint.ADAPTIVE,
+          rule.has("scope") ? parseScope(rule.get("scope")) : RuleScope.GLOBAL
+      );
+    } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+      throw new IllegalArgumentException("Invalid declarative rule", e);
+    }
+  }
+
+  private static TransactionPredicate parseTransactionCondition(JsonElement element) {
+    final JsonObject condition = element.getAsJsonObject();
+    final String type = getRequired(condition, "type").getAsString();
+    switch (type) {
+      case "all": {
+        final TransactionPredicate[] predicates = parseOperands(
+            condition, DeclarativeRuleParser::parseTransactionCondition, TransactionPredicate[]::new
+        );
+        return transaction -> {
+          for (TransactionPredicate predicate : predicates) {
+            if (!predicate.test(transaction)) {
+              return false;
+            }
+          }
+          return true;
+        };
+      }
+      case "any": {
+        final TransactionPredicate[] predicates = parseOperands(
+            condition, DeclarativeRuleParser::parseTransactionCondition, TransactionPredicate[]::new
+        );
+        return transaction -> {
+          for (TransactionPredicate predicate : predicates) {
+            if (predicate.test(transaction)) {
+              return true;
+            }
+          }
+          return false;
+        };
+      }
+      case "not": {
+        final TransactionPredicate predicate = parseTransactionCondition(
+            getRequired(condition, "condition")
+        );
+        return transaction -> !predicate.test(transaction);
+      }
+      case "creatorAccount": {
+        final Set<String> accounts = parseStrings(getRequired(condition, "accounts"));
+        return transaction -> accounts.contains(
+            transaction.getPayload().getReducedPayload().getCreatorAccountId()
+        );
+      }
+      case "creatorDomain": {
+        final String[] domains = parseStrings(getRequired(condition, "domains"))
+            .toArray(new String[0]);
+        return transaction -> isInDomain(
+            transaction.getPayload().getReducedPayload().getCreatorAccountId(),
+            domains
+        );
+      }
+      case "anyCommand": {
+        final CommandPredicate predicate = parseCommandCondition(getRequired(condition, "where"));
+        return transaction -> {
+          final List<Command> commands = transaction.getPayload().getReducedPayload()
+              .getCommandsList();
+          for (int i = 0; i < commands.size(); i++) {
+            if (predicate.test(commands.get(i))) {
+              return true;
+            }
+          }
+          return false;
+        };
+      }
+      default:
+        throw new IllegalArgumentException("Unknown transaction condition type: " + type);
+    }
+  }
+
+  private static CommandPredicate parseCommandCondition(JsonElement element) {
+    final JsonObject condition = element.getAsJsonObject();
+    final String type = getRequired(condition, "type").getAsString();
+    switch (type) {
+      case "all": {
+        final CommandPredicate[] predicates = parseOperands(
+            condition, DeclarativeRuleParser::parseCommandCondition, CommandPredicate[]::new
+        );
+        return command -> {
+          for (CommandPredicate predicate : predicates) {
+            if (!predicate.test(command)) {
+              return false;
+            }
+          }
+          return true;
+        };
+      }
+      case "any": {
+        final CommandPredicate[] predicates = parseOperands(
+            condition, DeclarativeRuleParser::parseCommandCondition, CommandPredicate[]::new
+        );
+        return command -> {
+          for (CommandPredicate predicate : predicates) {
+            if (predicate.test(command)) {
+              return true;
+            }
+          }
+          return false;
+        };
+      }
+      case "not": {
+        final CommandPredicate predicate = parseCommandCondition(
+            getRequired(condition, "condition")
+        );
+        return command -> !predicate.test(command);
+      }
+      case "commandType": {
+        final Set<CommandCase> commandCases = EnumSet.noneOf(CommandCase.class);
+        for (String commandCase : parseStrings(getRequired(condition, "types"))) {
+          commandCases.add(CommandCase.valueOf(commandCase.toUpperCase()));
+        }
+        return command -> commandCases.contains(command.getCommandCase());
+      }
+      case "transferAsset": {
+        final Set<String> assets = condition.has("assets")
+            ? parseStrings(condition.get("assets"))
+            : null;
+        final DecimalThreshold threshold = condition.has("amountAbove")
+            ? new DecimalThreshold(condition.get("amountAbove").getAsString())
+            : null;
+        return command -> {
+          if (!command.hasTransferAsset()) {
+            return false;
+          }
+          final TransferAsset transferAsset = command.getTransferAsset();
+          return (assets == null || assets.contains(transferAsset.getAssetId()))
+              && (threshold == null || threshold.isExceededBy(transferAsset.getAmount()));
+        };
+      }
+      case "quorumNotDivisibleBy": {
+        final int divisor = getRequired(condition, "divisor").getAsInt();
+        if (divisor < 1) {
+          throw new IllegalArgumentException("Quorum divisor must be positive, got " + divisor);
+        }
+        return command -> command.hasSetAccountQuorum()
+            && command.getSetAccountQuorum().getQuorum() % divisor != 0;
+      }
+      default:
+        throw new IllegalArgumentException("Unknown command condition type: " + type);
+    }
+  }
+
+  private static RuleScope parseScope(JsonElement element) {
+    final JsonObject scope = element.getAsJsonObject();
+    return new RuleScope(
+        scope.has("domains") ? parseStrings(scope.get("domains")) : Collections.emptySet(),
+        scope.has("accounts") ? parseStrings(scope.get("accounts")) : Collections.emptySet(),
+        scope.has("excludedDomains")
+            ? parseStrings(scope.get("excludedDomains"))
+            : Collections.emptySet()
+    );
+  }
+
+  private static <T> T[] parseOperands(JsonObject condition,
+      Function<JsonElement, T> operandParser,
+      Function<Integer, T[]> arrayFactory) {
+    final JsonArray operands = getRequired(condition, "of").getAsJsonArray();
+    final T[] predicates = arrayFactory.apply(operands.size());
+    for (int i = 0; i < predicates.length; i++) {
+      predicates[i] = operandParser.apply(operands.get(i));
+    }
+    return predicates;
+  }
+
+  private static Set<String> parseStrings(JsonElement element) {
+    final Set<String> strings = new HashSet<>();
+    for (JsonElement string : element.getAsJsonArray()) {
+      strings.add(string.getAsString());
+    }
+    return strings;
+  }
+
+  private static JsonElement getRequired(JsonObject object, String member) {
+    final JsonElement element = object.get(member);
+    if (element == null || element.isJsonNull()) {
+      throw new IllegalArgumentException("Missing member '" + member + "' in " + object);
+    }
+    return element;
+  }
+
+  private static boolean isInDomain(String accountId, String[] domains) {
+    final int length = accountId.length();
+    for (String domain : domains) {
+      final int separator = length - domain.length() - 1;
+      if (separator > 0
+          && accountId.charAt(separator) == '@'
+          && accountId.endsWith(domain)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.declarative;
+
+import iroha.protocol.TransactionOuterClass.Transaction;
+
+/**
+ * Transaction level node of a declarative rule predicate tree
+ */
+@FunctionalInterface
+public interface TransactionPredicate {
+
+  boolean test(Transaction transaction);
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.impl.assets;
+
+import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.TransferAsset;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.limits.LimitKey;
+import iroha.validation.limits.LimitLedger;
+import iroha.validation.rules.ReservingRule;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.verdict.ValidationResult;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Rule charging transfers of an asset to the {@link LimitLedger}. Every transfer is charged to the
+ * asset key, the source account key and the global key if given. Only the keys limited in the
+ * ledger are checked, so the rule may enforce any combination of the limits
+ */
+public class TransferLimitRule implements ReservingRule {
+
+  private final LimitLedger limitLedger;
+  private final String assetId;
+  private final String destinationAccountId;
+  private final LimitKey assetKey;
+  private final LimitKey globalKey;
+
+  /**
+   * @param limitLedger ledger to charge
+   * @param assetId asset to limit transfers of
+   * @param destinationAccountId only transfers to the account are charged, any if empty
+   * @param globalLimitName name of the global limit to charge too, none if empty
+   */
+  public TransferLimitRule(LimitLedger limitLedger,
+      String assetId,
+      String destinationAccountId,
+      String globalLimitName) {
+    Objects.requireNonNull(limitLedger, "Limit ledger must not be null");
+    if (StringUtils.isEmpty(assetId)) {
+      throw new IllegalArgumentException("Asset ID must not be neither null nor empty");
+    }
+
+    this.limitLedger = limitLedger;
+    this.assetId = assetId;
+    this.destinationAccountId = StringUtils.isEmpty(destinationAccountId)
+        ? null
+        : destinationAccountId;
+    this.assetKey = LimitKey.asset(assetId);
+    this.globalKey = StringUtils.isEmpty(globalLimitName) ? null : LimitKey.global(globalLimitName);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ValidationResult isSatisfiedBy(Transaction transaction) {
+    final Map<LimitKey, BigDecimal> amounts = getAmounts(transaction);
+    if (amounts.isEmpty()) {
+      return ValidationResult.VALIDATED;
+    }
+    final LimitKey exceeded = limitLedger.reserve(Utils.toHex(Utils.hash(transaction)), amounts);
+    if (exceeded != null) {
+      return ValidationResult.REJECTED(
+          "Transfer of " + amounts.get(exceeded).toPlainString() + " " + assetId
+              + " exceeds the limit " + exceeded + ". Used " + limitLedger.getUsed(exceeded)
+              .toPlainString() + " of " + limitLedger.getLimit(exceeded).toPlainString()
+      );
+    }
+    return ValidationResult.VALIDATED;
+  }
+
+  /**
+   * Confirms the reservations of the committed transactions and charges the ones committed without
+   * a reservation
+   *
+   * @param transactions committed transactions
+   * @return amount of transactions charged without a reservation
+   */
+  public int commit(Collection<Transaction> transactions) {
+    int charged = 0;
+    for (Transaction transaction : transactions) {
+      final Map<LimitKey, BigDecimal> amounts = getAmounts(transaction);
+      if (amounts.isEmpty()) {
+        continue;
+      }
+      if (!limitLedger.confirm(Utils.toHex(Utils.hash(transaction)))) {
+        limitLedger.charge(amounts);
+        charged++;
+      }
+    }
+    return charged;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void release(TransactionBatch transactionBatch) {
+    for (Transaction transaction : transactionBatch) {
+      limitLedger.release(Utils.toHex(Utils.hash(transaction)));
+    }
+  }
+
+  private Map<LimitKey, BigDecimal> getAmounts(Transaction transaction) {
+    final Map<LimitKey, BigDecimal> amounts = new HashMap<>();
+    final List<Command> commands = transaction.getPayload().getReducedPayload().getCommandsList();
+    for (Command command : commands) {
+      if (!command.hasTransferAsset()) {
+        continue;
+      }
+      final TransferAsset transfer = command.getTransferAsset();
+      if (!assetId.equals(transfer.getAssetId())
+          || destinationAccountId != null
+          && !destinationAccountId.equals(transfer.getDestAccountId())) {
+        continue;
+      }
+      final BigDecimal amount = new BigDecimal(transfer.getAmount());
+      charge(amounts, assetKey, amount);
+      charge(amounts, LimitKey.account(transfer.getSrcAccountId()), amount);
+      if (globalKey != null) {
+        charge(amounts, globalKey, amount);
+      }
+    }
+    return amounts;
+  }
+
+  private void charge(Map<LimitKey, BigDecimal> amounts, LimitKey key, BigDecimal amount) {
+    if (limitLedger.hasLimit(key)) {
+      amounts.merge(key, amount, BigDecimal::add);
+    }
+  }
+}
@@ -7,12 +7,12 @@ package iroha.validation.rules.impl.billing;
 
 import com.google.common.base.Strings;
 import com.google.gson.JsonObject;
+import iroha.validation.utils.AccountIds;
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import jp.co.soramitsu.iroha.java.detail.Const;
 
 public class BillingInfo {
 
@@ -137,15 +137,15 @@ public class BillingInfo {
   }
 
   /* default */ static String getDomain(String accountId) {
-    return accountId.split(Const.accountIdDelimiter)[1];
+    return AccountIds.getDomain(accountId);
   }
 
   /* default */ static String getAssetDomain(String assetId) {
-    return assetId.split(Const.assetIdDelimiter)[1];
+    return AccountIds.getAssetDomain(assetId);
   }
 
   /* default */ static String getName(String accountId) {
-    return accountId.split(Const.accountIdDelimiter)[0];
+    return AccountIds.getName(accountId);
   }
 
   @Override
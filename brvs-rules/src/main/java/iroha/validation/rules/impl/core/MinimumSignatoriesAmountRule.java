@@ -5,19 +5,26 @@
 
 package iroha.validation.rules.impl.core;
 
-import iroha.protocol.Commands.AddSignatory;
 import iroha.protocol.Commands.Command;
-import iroha.protocol.Commands.RemoveSignatory;
 import iroha.protocol.TransactionOuterClass.Transaction;
-import iroha.validation.rules.Rule;
+import iroha.validation.rules.BatchRule;
+import iroha.validation.rules.PrefetchingRule;
+import iroha.validation.transactions.TransactionBatch;
 import iroha.validation.verdict.ValidationResult;
-import java.util.List;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.ToIntFunction;
 import jp.co.soramitsu.iroha.java.QueryAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-public class MinimumSignatoriesAmountRule implements Rule {
+public class MinimumSignatoriesAmountRule implements PrefetchingRule {
+
+  private static final Logger logger = LoggerFactory.getLogger(MinimumSignatoriesAmountRule.class);
 
   private final int amount;
   private final QueryAPI queryAPI;
@@ -31,45 +38,75 @@ public class MinimumSignatoriesAmountRule implements Rule {
   }
 
   /**
-   * {@inheritDoc}
+   * Tracks the signatories balance of every affected account through the whole batch, so removals
+   * spread over several transactions are summed up and a removal is not hidden by a key added back
+   * later in the batch. Iroha is queried once per distinct account
    */
   @Override
-  public ValidationResult isSatisfiedBy(Transaction transaction) {
-    final List<Command> commands = transaction
-        .getPayload()
-        .getReducedPayload()
-        .getCommandsList();
-
-    final Map<String, Long> keyBalance = commands
-        .stream()
-        .filter(Command::hasAddSignatory)
-        .map(Command::getAddSignatory)
-        .map(AddSignatory::getAccountId)
-        .collect(
-            Collectors.groupingBy(
-                Function.identity(),
-                Collectors.counting()
-            )
-        );
+  public ValidationResult isSatisfiedBy(TransactionBatch transactionBatch) {
+    return checkRemoveSignatories(getMinimalKeyBalance(transactionBatch), this::getKeysCount);
+  }
 
-    commands
-        .stream()
-        .filter(Command::hasRemoveSignatory)
-        .map(Command::getRemoveSignatory)
-        .map(RemoveSignatory::getAccountId)
-        .forEach(accountId -> {
-          if (!keyBalance.containsKey(accountId)) {
-            keyBalance.put(accountId, 0L);
+  /**
+   * Queries the signatories of every distinct account affected by any of the batches once
+   */
+  @Override
+  public BatchRule prefetch(Collection<TransactionBatch> transactionBatches) {
+    final Map<TransactionBatch, Map<String, Long>> keyBalances = new IdentityHashMap<>();
+    final Map<String, Integer> keysCounts = new HashMap<>();
+    try {
+      for (TransactionBatch transactionBatch : transactionBatches) {
+        final Map<String, Long> keyBalance = getMinimalKeyBalance(transactionBatch);
+        keyBalances.put(transactionBatch, keyBalance);
+        for (String accountId : keyBalance.keySet()) {
+          if (!keysCounts.containsKey(accountId)) {
+            keysCounts.put(accountId, getKeysCount(accountId));
           }
-          keyBalance.put(accountId, keyBalance.get(accountId) - 1);
-        });
+        }
+      }
+    } catch (Exception e) {
+      logger.warn("Couldn't prefetch signatories, falling back to per batch queries", e);
+      return this;
+    }
+    return transactionBatch -> checkRemoveSignatories(
+        keyBalances.computeIfAbsent(transactionBatch, this::getMinimalKeyBalance),
+        accountId -> keysCounts.computeIfAbsent(accountId, this::getKeysCount)
+    );
+  }
+
+  private Map<String, Long> getMinimalKeyBalance(TransactionBatch transactionBatch) {
+    final Map<String, Long> keyBalance = new HashMap<>();
+    // the lowest balance of the account observed after any of the batch transactions
+    final Map<String, Long> minimalKeyBalance = new HashMap<>();
+    for (Transaction transaction : transactionBatch) {
+      final Set<String> affectedAccounts = new HashSet<>();
+      for (Command command : transaction.getPayload().getReducedPayload().getCommandsList()) {
+        if (command.hasAddSignatory()) {
+          final String accountId = command.getAddSignatory().getAccountId();
+          keyBalance.merge(accountId, 1L, Long::sum);
+          affectedAccounts.add(accountId);
+        } else if (command.hasRemoveSignatory()) {
+          final String accountId = command.getRemoveSignatory().getAccountId();
+          keyBalance.merge(accountId, -1L, Long::sum);
+          affectedAccounts.add(accountId);
+        }
+      }
+      affectedAccounts.forEach(accountId ->
+          minimalKeyBalance.merge(accountId, keyBalance.get(accountId), Math::min)
+      );
+    }
+
+    return minimalKeyBalance;
+  }
 
-    return checkRemoveSignatories(keyBalance);
+  private int getKeysCount(String accountId) {
+    return queryAPI.getSignatories(accountId).getKeysCount();
   }
 
-  private ValidationResult checkRemoveSignatories(Map<String, Long> keyBalance) {
+  private ValidationResult checkRemoveSignatories(Map<String, Long> keyBalance,
+      ToIntFunction<String> keysCountProvider) {
     for (String account : keyBalance.keySet()){
-      final int keysCount = queryAPI.getSignatories(account).getKeysCount();
+      final int keysCount = keysCountProvider.applyAsInt(account);
       // user and brvs keys
       if (keysCount + keyBalance.get(account) < amount) {
         return ValidationResult
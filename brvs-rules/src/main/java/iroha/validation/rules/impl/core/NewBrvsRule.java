@@ -8,9 +8,11 @@ package iroha.validation.rules.impl.core;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import iroha.protocol.Commands.Command;
-import iroha.protocol.TransactionOuterClass.Transaction;
-import iroha.validation.rules.Rule;
+import iroha.validation.rules.BatchRule;
+import iroha.validation.rules.PrefetchingRule;
+import iroha.validation.transactions.TransactionBatch;
 import iroha.validation.verdict.ValidationResult;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -18,7 +20,7 @@ import jp.co.soramitsu.iroha.java.QueryAPI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class NewBrvsRule implements Rule {
+public class NewBrvsRule implements PrefetchingRule {
 
   private static final Logger logger = LoggerFactory.getLogger(NewBrvsRule.class);
   private static final JsonParser parser = new JsonParser();
@@ -32,35 +34,67 @@ public class NewBrvsRule implements Rule {
   }
 
   /**
-   * {@inheritDoc}
+   * Checks all the BRVS keys added by the batch. BRVS keys are queried once per batch and only if
+   * the batch adds any
    */
   @Override
-  public ValidationResult isSatisfiedBy(Transaction transaction) {
-    try {
-      final Set<String> brvsPubKeys = getPubKeys();
-      final Set<String> newKeys = transaction
-          .getPayload()
-          .getReducedPayload()
-          .getCommandsList()
-          .stream()
-          .filter(Command::hasAddSignatory)
-          .filter(command -> command.getAddSignatory().getAccountId().equals(brvsAccountId))
-          .map(command -> command.getAddSignatory().getPublicKey())
-          .collect(Collectors.toSet());
-      for (String key : newKeys) {
-        if (!brvsPubKeys.contains(key)) {
-          return ValidationResult.REJECTED(
-              "Key " + key + " is not known as BRVS pubkey"
-          );
-        }
-      }
+  public ValidationResult isSatisfiedBy(TransactionBatch transactionBatch) {
+    final Set<String> newKeys = getNewKeys(transactionBatch);
+    if (newKeys.isEmpty()) {
       return ValidationResult.VALIDATED;
+    }
+    try {
+      return checkNewKeys(newKeys, getPubKeys());
     } catch (Exception e) {
       logger.error("Couldn't read brvs keys from Iroha", e);
       return ValidationResult.REJECTED("Couldn't read brvs keys from Iroha. " + e.getMessage());
     }
   }
 
+  /**
+   * Queries BRVS keys once for all the batches if any of them adds keys
+   */
+  @Override
+  public BatchRule prefetch(Collection<TransactionBatch> transactionBatches) {
+    if (transactionBatches.stream().allMatch(batch -> getNewKeys(batch).isEmpty())) {
+      return batch -> ValidationResult.VALIDATED;
+    }
+    final Set<String> brvsPubKeys;
+    try {
+      brvsPubKeys = getPubKeys();
+    } catch (Exception e) {
+      logger.warn("Couldn't prefetch brvs keys, falling back to per batch queries", e);
+      return this;
+    }
+    return batch -> checkNewKeys(getNewKeys(batch), brvsPubKeys);
+  }
+
+  private Set<String> getNewKeys(TransactionBatch transactionBatch) {
+    return transactionBatch
+        .stream()
+        .flatMap(transaction -> transaction
+            .getPayload()
+            .getReducedPayload()
+            .getCommandsList()
+            .stream()
+        )
+        .filter(Command::hasAddSignatory)
+        .filter(command -> command.getAddSignatory().getAccountId().equals(brvsAccountId))
+        .map(command -> command.getAddSignatory().getPublicKey())
+        .collect(Collectors.toSet());
+  }
+
+  private ValidationResult checkNewKeys(Set<String> newKeys, Set<String> brvsPubKeys) {
+    for (String key : newKeys) {
+      if (!brvsPubKeys.contains(key)) {
+        return ValidationResult.REJECTED(
+            "Key " + key + " is not known as BRVS pubkey"
+        );
+      }
+    }
+    return ValidationResult.VALIDATED;
+  }
+
   private Set<String> getPubKeys() {
     Set<String> resultSet = new HashSet<>();
     JsonElement rootNode = parser
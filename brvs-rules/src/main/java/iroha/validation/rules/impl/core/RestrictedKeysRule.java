@@ -6,15 +6,16 @@
 package iroha.validation.rules.impl.core;
 
 import iroha.protocol.Commands.Command;
-import iroha.protocol.Commands.RemoveSignatory;
 import iroha.protocol.TransactionOuterClass.Transaction;
 import iroha.validation.rules.Rule;
 import iroha.validation.verdict.ValidationResult;
 import java.security.KeyPair;
 import java.security.PublicKey;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import jp.co.soramitsu.iroha.java.Utils;
 import org.springframework.util.CollectionUtils;
@@ -32,8 +33,8 @@ public class RestrictedKeysRule implements Rule {
             .map(KeyPair::getPublic)
             .map(PublicKey::getEncoded)
             .map(Utils::toHex)
-            .map(String::toUpperCase)
-            .collect(Collectors.toSet());
+            // keys are compared ignoring case without copying them
+            .collect(Collectors.toCollection(() -> new TreeSet<>(String.CASE_INSENSITIVE_ORDER)));
   }
 
   /**
@@ -44,18 +45,20 @@ public class RestrictedKeysRule implements Rule {
     if (transaction.getPayload().getReducedPayload().getCreatorAccountId().equals(brvsAccountId)) {
       return ValidationResult.VALIDATED;
     }
-    return checkRemovals(transaction
-        .getPayload()
-        .getReducedPayload()
-        .getCommandsList()
-        .stream()
-        .filter(Command::hasRemoveSignatory)
-        .map(Command::getRemoveSignatory)
-        .map(RemoveSignatory::getPublicKey)
-        .map(String::toUpperCase)
-        .filter(restrictedKeys::contains)
-        .collect(Collectors.toList())
-    );
+    List<String> removeSignatoryList = null;
+    for (Command command : transaction.getPayload().getReducedPayload().getCommandsList()) {
+      if (!command.hasRemoveSignatory()) {
+        continue;
+      }
+      final String publicKey = command.getRemoveSignatory().getPublicKey();
+      if (restrictedKeys.contains(publicKey)) {
+        if (removeSignatoryList == null) {
+          removeSignatoryList = new ArrayList<>();
+        }
+        removeSignatoryList.add(publicKey.toUpperCase());
+      }
+    }
+    return checkRemovals(removeSignatoryList);
   }
 
   private ValidationResult checkRemovals(List<String> removeSignatoryList) {
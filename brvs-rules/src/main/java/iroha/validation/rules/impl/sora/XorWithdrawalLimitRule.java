@@ -8,21 +8,38 @@ package iroha.validation.rules.impl.sora;
 import iroha.protocol.Commands.Command;
 import iroha.protocol.Commands.TransferAsset;
 import iroha.protocol.TransactionOuterClass.Transaction;
-import iroha.validation.rules.Rule;
+import iroha.validation.limits.LimitKey;
+import iroha.validation.limits.LimitLedger;
+import iroha.validation.rules.ReservingRule;
+import iroha.validation.transactions.TransactionBatch;
 import iroha.validation.verdict.ValidationResult;
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
+import jp.co.soramitsu.iroha.java.Utils;
 import org.springframework.util.StringUtils;
 
+/**
+ * Limits XOR withdrawals within a period. The remainder of the period is kept up to date by the
+ * reaction on committed blocks, withdrawals validated but not committed yet are reserved in a
+ * {@link LimitLedger} on top of it. Reservations are returned if the batch is rejected by another
+ * rule or is not delivered to Iroha, validating the same transaction again does not charge it
+ * twice. A new period starts with no reservations
+ */
 @Deprecated
-public class XorWithdrawalLimitRule implements Rule {
+public class XorWithdrawalLimitRule implements ReservingRule {
 
   public static final String ASSET_ID = "xor#sora";
+  private static final LimitKey LIMIT_KEY = LimitKey.asset(ASSET_ID);
 
   private final String withdrawalAccountId;
   private final AtomicReference<XorWithdrawalLimitRemainder> xorWithdrawalLimitRemainder;
   private final boolean isDisabled;
+  // remainder the ledger limit is taken from and the ledger of its period
+  private volatile XorWithdrawalLimitRemainder appliedRemainder;
+  private volatile LimitLedger limitLedger = new LimitLedger();
 
   public XorWithdrawalLimitRule(String withdrawalAccountId,
       AtomicReference<XorWithdrawalLimitRemainder> xorWithdrawalLimitRemainder,
@@ -44,16 +61,7 @@ public class XorWithdrawalLimitRule implements Rule {
 
   @Override
   public ValidationResult isSatisfiedBy(Transaction transaction) {
-    final BigDecimal sum = transaction.getPayload().getReducedPayload().getCommandsList()
-        .stream()
-        .filter(Command::hasTransferAsset)
-        .map(Command::getTransferAsset)
-        .filter(cmd -> withdrawalAccountId.equals(cmd.getDestAccountId()))
-        .filter(cmd -> ASSET_ID.equals(cmd.getAssetId()))
-        .map(TransferAsset::getAmount)
-        .map(BigDecimal::new)
-        .reduce(BigDecimal::add)
-        .orElse(BigDecimal.ZERO);
+    final BigDecimal sum = getWithdrawalSum(transaction);
     if (sum.compareTo(BigDecimal.ZERO) == 0) {
       return ValidationResult.VALIDATED;
     }
@@ -69,30 +77,80 @@ public class XorWithdrawalLimitRule implements Rule {
           .REJECTED("Transaction may have been sent from the future, got " + createdTime
               + " time created, current limit expires at " + timestampDue);
     }
-    return processWithdrawalSum(sum);
+    return processWithdrawalSum(transaction, sum);
+  }
+
+  /**
+   * Releases the reservations of the committed withdrawals, their amounts are already subtracted
+   * from the remainder. Must be called after the remainder is updated
+   *
+   * @param transactions committed transactions
+   */
+  public void commit(Collection<Transaction> transactions) {
+    final LimitLedger ledger = getLimitLedger();
+    for (Transaction transaction : transactions) {
+      ledger.release(Utils.toHex(Utils.hash(transaction)));
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void release(TransactionBatch transactionBatch) {
+    final LimitLedger ledger = getLimitLedger();
+    for (Transaction transaction : transactionBatch) {
+      ledger.release(Utils.toHex(Utils.hash(transaction)));
+    }
   }
 
-  private ValidationResult processWithdrawalSum(BigDecimal sum) {
-    final XorWithdrawalLimitRemainder currentLimit = this.xorWithdrawalLimitRemainder.get();
-    final BigDecimal amountRemaining = currentLimit.amountRemaining;
-    final BigDecimal difference = amountRemaining.subtract(sum);
-    if (difference.compareTo(BigDecimal.ZERO) < 0) {
+  private BigDecimal getWithdrawalSum(Transaction transaction) {
+    return transaction.getPayload().getReducedPayload().getCommandsList()
+        .stream()
+        .filter(Command::hasTransferAsset)
+        .map(Command::getTransferAsset)
+        .filter(cmd -> withdrawalAccountId.equals(cmd.getDestAccountId()))
+        .filter(cmd -> ASSET_ID.equals(cmd.getAssetId()))
+        .map(TransferAsset::getAmount)
+        .map(BigDecimal::new)
+        .reduce(BigDecimal::add)
+        .orElse(BigDecimal.ZERO);
+  }
+
+  private ValidationResult processWithdrawalSum(Transaction transaction, BigDecimal sum) {
+    final LimitLedger ledger = getLimitLedger();
+    if (ledger.reserve(Utils.toHex(Utils.hash(transaction)),
+        Collections.singletonMap(LIMIT_KEY, sum)) != null) {
       return ValidationResult.REJECTED(
           "Withdrawal amount exceeds the limit. Got " + sum.toPlainString() +
-              ", limit " + amountRemaining.toPlainString()
+              ", limit " + ledger.getLimit(LIMIT_KEY).subtract(ledger.getUsed(LIMIT_KEY))
+              .toPlainString()
       );
     }
-    // don't care about the result actually
-    this.xorWithdrawalLimitRemainder.compareAndSet(
-        currentLimit,
-        new XorWithdrawalLimitRemainder(
-            difference,
-            currentLimit.timestampDue
-        )
-    );
     return ValidationResult.VALIDATED;
   }
 
+  /**
+   * @return ledger of the current period having the limit equal to the current remainder
+   */
+  private LimitLedger getLimitLedger() {
+    final XorWithdrawalLimitRemainder remainder = xorWithdrawalLimitRemainder.get();
+    if (remainder == appliedRemainder) {
+      return limitLedger;
+    }
+    synchronized (this) {
+      if (remainder != appliedRemainder) {
+        if (appliedRemainder != null && appliedRemainder.timestampDue != remainder.timestampDue) {
+          // reservations of the previous period do not count against the new limit
+          limitLedger = new LimitLedger();
+        }
+        limitLedger.setLimit(LIMIT_KEY, remainder.amountRemaining.max(BigDecimal.ZERO));
+        appliedRemainder = remainder;
+      }
+      return limitLedger;
+    }
+  }
+
   public static class XorWithdrawalLimitRemainder {
 
     private BigDecimal amountRemaining;
@@ -0,0 +1,71 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.utils;
+
+/**
+ * Index based parsing of Iroha account and asset ids. Unlike {@link String#split(String)} it neither
+ * compiles patterns nor allocates arrays, the checks do not allocate at all
+ */
+public final class AccountIds {
+
+  public static final char ACCOUNT_DOMAIN_SEPARATOR = '@';
+  public static final char ASSET_DOMAIN_SEPARATOR = '#';
+
+  private AccountIds() {
+  }
+
+  /**
+   * @param accountId Iroha account id
+   * @return domain part of the account id, empty string if there is none
+   */
+  public static String getDomain(String accountId) {
+    return suffix(accountId, ACCOUNT_DOMAIN_SEPARATOR);
+  }
+
+  /**
+   * @param accountId Iroha account id
+   * @return name part of the account id, the whole id if there is no domain part
+   */
+  public static String getName(String accountId) {
+    final int separator = accountId.indexOf(ACCOUNT_DOMAIN_SEPARATOR);
+    return separator < 0 ? accountId : accountId.substring(0, separator);
+  }
+
+  /**
+   * @param assetId Iroha asset id
+   * @return domain part of the asset id, empty string if there is none
+   */
+  public static String getAssetDomain(String assetId) {
+    return suffix(assetId, ASSET_DOMAIN_SEPARATOR);
+  }
+
+  /**
+   * @param accountId Iroha account id
+   * @param domain domain id
+   * @return true if the account belongs to the domain
+   */
+  public static boolean isInDomain(String accountId, String domain) {
+    final int separator = accountId.indexOf(ACCOUNT_DOMAIN_SEPARATOR);
+    final int length = accountId.length() - separator - 1;
+    return separator >= 0
+        && length == domain.length()
+        && accountId.regionMatches(separator + 1, domain, 0, length);
+  }
+
+  /**
+   * @param accountId Iroha account id
+   * @return index the domain part of the account id starts at, -1 if there is none
+   */
+  public static int domainStart(String accountId) {
+    final int separator = accountId.indexOf(ACCOUNT_DOMAIN_SEPARATOR);
+    return separator < 0 ? -1 : separator + 1;
+  }
+
+  private static String suffix(String id, char separator) {
+    final int index = id.indexOf(separator);
+    return index < 0 ? "" : id.substring(index + 1);
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable set of domains looked up by the domain part of an account id in place, without cutting
+ * it out of the id. The domains found are returned as the instances stored in the table, so they
+ * can be compared by identity and used as interned keys
+ */
+public final class DomainTable {
+
+  public static final DomainTable EMPTY = new DomainTable(Collections.emptySet());
+
+  private final Set<String> domains;
+  private final String[] slots;
+  private final int[] hashes;
+  private final int mask;
+
+  public DomainTable(Collection<String> domains) {
+    Objects.requireNonNull(domains, "Domains must not be null");
+
+    this.domains = Collections.unmodifiableSet(new LinkedHashSet<>(domains));
+    int capacity = 2;
+    while (capacity < this.domains.size() * 2) {
+      capacity <<= 1;
+    }
+    this.slots = new String[capacity];
+    this.hashes = new int[capacity];
+    this.mask = capacity - 1;
+    for (String domain : this.domains) {
+      final int hash = domain.hashCode();
+      int slot = spread(hash) & mask;
+      while (slots[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = domain;
+      hashes[slot] = hash;
+    }
+  }
+
+  public static DomainTable of(String... domains) {
+    return new DomainTable(Arrays.asList(domains));
+  }
+
+  /**
+   * @param accountId Iroha account id
+   * @return the domain of the account stored in the table, null if the table does not contain it
+   */
+  public String lookup(String accountId) {
+    final int start = AccountIds.domainStart(accountId);
+    return start < 0 ? null : find(accountId, start, accountId.length());
+  }
+
+  /**
+   * @param accountId Iroha account id
+   * @return true if the table contains the domain of the account
+   */
+  public boolean containsDomainOf(String accountId) {
+    return lookup(accountId) != null;
+  }
+
+  /**
+   * @param domain domain id
+   * @return true if the table contains the domain
+   */
+  public boolean contains(String domain) {
+    return find(domain, 0, domain.length()) != null;
+  }
+
+  public boolean isEmpty() {
+    return domains.isEmpty();
+  }
+
+  public Set<String> getDomains() {
+    return domains;
+  }
+
+  private String find(String source, int from, int to) {
+    // same as the hash code of the substring
+    int hash = 0;
+    for (int i = from; i < to; i++) {
+      hash = 31 * hash + source.charAt(i);
+    }
+    final int length = to - from;
+    int slot = spread(hash) & mask;
+    String candidate;
+    while ((candidate = slots[slot]) != null) {
+      if (hashes[slot] == hash
+          && candidate.length() == length
+          && candidate.regionMatches(0, source, from, length)) {
+        return candidate;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return null;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  @Override
+  public String toString() {
+    return domains.toString();
+  }
+}
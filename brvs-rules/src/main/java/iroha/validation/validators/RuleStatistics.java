@@ -0,0 +1,108 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.validators;
+
+import iroha.validation.rules.RuleOrderingConstraint;
+
+/**
+ * Point-in-time snapshot of a rule runtime statistics collected by a validator
+ */
+public class RuleStatistics {
+
+  private final String name;
+  private final int position;
+  private final RuleOrderingConstraint orderingConstraint;
+  private final long invocations;
+  private final long rejections;
+  private final long overruns;
+  private final long saturations;
+  private final double averageCostMicros;
+  private final double rejectionRate;
+
+  public RuleStatistics(String name,
+      int position,
+      RuleOrderingConstraint orderingConstraint,
+      long invocations,
+      long rejections,
+      long overruns,
+      long saturations,
+      double averageCostMicros,
+      double rejectionRate) {
+    this.name = name;
+    this.position = position;
+    this.orderingConstraint = orderingConstraint;
+    this.invocations = invocations;
+    this.rejections = rejections;
+    this.overruns = overruns;
+    this.saturations = saturations;
+    this.averageCostMicros = averageCostMicros;
+    this.rejectionRate = rejectionRate;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return zero based index of the rule in the current evaluation order
+   */
+  public int getPosition() {
+    return position;
+  }
+
+  public RuleOrderingConstraint getOrderingConstraint() {
+    return orderingConstraint;
+  }
+
+  public long getInvocations() {
+    return invocations;
+  }
+
+  public long getRejections() {
+    return rejections;
+  }
+
+  /**
+   * @return amount of times the rule exceeded its time budget
+   */
+  public long getOverruns() {
+    return overruns;
+  }
+
+  /**
+   * @return amount of times the rule was not evaluated since the rules executor was saturated
+   */
+  public long getSaturations() {
+    return saturations;
+  }
+
+  /**
+   * @return recent average time spent by the rule per transaction
+   */
+  public double getAverageCostMicros() {
+    return averageCostMicros;
+  }
+
+  /**
+   * @return recent share of transactions rejected by the rule
+   */
+  public double getRejectionRate() {
+    return rejectionRate;
+  }
+
+  @Override
+  public String toString() {
+    return "Rule=" + name +
+        ";Position=" + position +
+        ";Constraint=" + orderingConstraint +
+        ";Invocations=" + invocations +
+        ";Rejections=" + rejections +
+        ";Overruns=" + overruns +
+        ";Saturations=" + saturations +
+        ";AvgCostMicros=" + averageCostMicros +
+        ";RejectionRate=" + rejectionRate;
+  }
+}
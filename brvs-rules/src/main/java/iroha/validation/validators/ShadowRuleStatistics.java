@@ -0,0 +1,126 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.validators;
+
+/**
+ * Point-in-time snapshot of the would-be verdicts of a shadow rule. Shadow rules are evaluated
+ * against the production traffic but never affect the verdicts
+ */
+public class ShadowRuleStatistics {
+
+  private final String name;
+  private final long evaluations;
+  private final long wouldRejections;
+  private final long disagreements;
+  private final long errors;
+  private final long overruns;
+  private final long droppedBatches;
+  private final double averageCostMicros;
+  private final double maxCostMicros;
+  private final String lastRejection;
+
+  public ShadowRuleStatistics(String name,
+      long evaluations,
+      long wouldRejections,
+      long disagreements,
+      long errors,
+      long overruns,
+      long droppedBatches,
+      double averageCostMicros,
+      double maxCostMicros,
+      String lastRejection) {
+    this.name = name;
+    this.evaluations = evaluations;
+    this.wouldRejections = wouldRejections;
+    this.disagreements = disagreements;
+    this.errors = errors;
+    this.overruns = overruns;
+    this.droppedBatches = droppedBatches;
+    this.averageCostMicros = averageCostMicros;
+    this.maxCostMicros = maxCostMicros;
+    this.lastRejection = lastRejection;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return amount of batches the rule has been evaluated against
+   */
+  public long getEvaluations() {
+    return evaluations;
+  }
+
+  /**
+   * @return amount of batches the rule would have rejected
+   */
+  public long getWouldRejections() {
+    return wouldRejections;
+  }
+
+  /**
+   * @return amount of batches the rule would have rejected while the production rules validated
+   * them
+   */
+  public long getDisagreements() {
+    return disagreements;
+  }
+
+  /**
+   * @return amount of batches the rule failed on
+   */
+  public long getErrors() {
+    return errors;
+  }
+
+  /**
+   * @return amount of times the rule has been cancelled for exceeding its time budget
+   */
+  public long getOverruns() {
+    return overruns;
+  }
+
+  /**
+   * @return amount of batches skipped by the shadow evaluation due to load or the previous
+   * evaluation of the rule still running
+   */
+  public long getDroppedBatches() {
+    return droppedBatches;
+  }
+
+  /**
+   * @return average time spent by the rule per batch
+   */
+  public double getAverageCostMicros() {
+    return averageCostMicros;
+  }
+
+  public double getMaxCostMicros() {
+    return maxCostMicros;
+  }
+
+  /**
+   * @return hash and reason of the latest would-be rejection, null if none
+   */
+  public String getLastRejection() {
+    return lastRejection;
+  }
+
+  @Override
+  public String toString() {
+    return "ShadowRule=" + name +
+        ";Evaluations=" + evaluations +
+        ";WouldRejections=" + wouldRejections +
+        ";Disagreements=" + disagreements +
+        ";Errors=" + errors +
+        ";Overruns=" + overruns +
+        ";DroppedBatches=" + droppedBatches +
+        ";AvgCostMicros=" + averageCostMicros +
+        ";MaxCostMicros=" + maxCostMicros +
+        ";LastRejection=" + lastRejection;
+  }
+}
@@ -7,8 +7,12 @@ package iroha.validation.validators;
 
 import iroha.protocol.TransactionOuterClass;
 import iroha.validation.rules.Rule;
+import iroha.validation.transactions.TransactionBatch;
 import iroha.validation.verdict.ValidationResult;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Validator interface. Used as a facade abstraction. Assume a validator can use complex logic
@@ -24,6 +28,26 @@ public interface Validator {
    */
   ValidationResult validate(Iterable<TransactionOuterClass.Transaction> transactions);
 
+  /**
+   * Method for validation of many batches at once. Implementations may share external state reads
+   * between the batches
+   *
+   * @param transactionBatches {@link TransactionBatch batches} to validate
+   * @return {@link List} of {@link ValidationResult} in the order of the batches
+   */
+  default List<ValidationResult> validateAll(List<TransactionBatch> transactionBatches) {
+    return transactionBatches.stream().map(this::validate).collect(Collectors.toList());
+  }
+
+  /**
+   * Returns resources reserved by {@link iroha.validation.rules.ReservingRule reserving rules} for
+   * the batch validated before but not going to be committed
+   *
+   * @param transactionBatch {@link TransactionBatch} to roll back
+   */
+  default void rollback(TransactionBatch transactionBatch) {
+  }
+
   /**
    * Adds a rule to the rules collection processed by the validator
    *
@@ -47,4 +71,53 @@ public interface Validator {
    * @return {@link Set} of {@link String names}
    */
   Set<String> getRuleNames();
+
+  /**
+   * Adds a shadow rule evaluated against the validated batches without affecting the verdicts
+   *
+   * @param name {@link String Name} of the rule
+   * @param rule {@link Rule} to be added
+   * @return previous shadow {@link Rule} associated with the name
+   * @throws UnsupportedOperationException if the validator has no shadow rules support
+   */
+  default Rule putShadowRule(String name, Rule rule) {
+    throw new UnsupportedOperationException("Shadow rules are not supported by the validator");
+  }
+
+  /**
+   * Removes a shadow rule
+   *
+   * @param name {@link String Name} of the rule to be removed
+   * @return previous shadow {@link Rule} associated with the name
+   */
+  default Rule removeShadowRule(String name) {
+    return null;
+  }
+
+  /**
+   * Reads all the shadow rule names currently contained in the validator
+   *
+   * @return {@link Set} of {@link String names}
+   */
+  default Set<String> getShadowRuleNames() {
+    return Collections.emptySet();
+  }
+
+  /**
+   * Reads would-be verdicts statistics of the shadow rules
+   *
+   * @return {@link List} of {@link ShadowRuleStatistics}, empty if there are no shadow rules
+   */
+  default List<ShadowRuleStatistics> getShadowRuleStatistics() {
+    return Collections.emptyList();
+  }
+
+  /**
+   * Reads runtime statistics of the rules in their current evaluation order
+   *
+   * @return {@link List} of {@link RuleStatistics}, empty if the validator does not collect them
+   */
+  default List<RuleStatistics> getRuleStatistics() {
+    return Collections.emptyList();
+  }
 }
@@ -0,0 +1,281 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.validators.impl;
+
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.validators.impl.RuleTimeBudget.OverrunPolicy;
+import iroha.validation.verdict.ValidationResult;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates independent rules concurrently. The verdict of every batch is given by the first rule
+ * rejecting it in the evaluation order, exactly as in the sequential mode. Rules placed after the
+ * rules that already decided all the verdicts are cancelled. If a {@link RuleTimeBudget} is set,
+ * rules exceeding it in a single invocation or in total since the validation call has started are
+ * cancelled and get the outcome of its {@link OverrunPolicy}, as well as rules rejected by the
+ * saturated executor, which are accounted as saturations rather than overruns
+ */
+class ParallelRuleEvaluator {
+
+  private static final Logger logger = LoggerFactory.getLogger(ParallelRuleEvaluator.class);
+
+  private final ExecutorService executorService;
+  private final RuleTimeBudget ruleTimeBudget;
+
+  ParallelRuleEvaluator(ExecutorService executorService, RuleTimeBudget ruleTimeBudget) {
+    this.executorService = executorService;
+    this.ruleTimeBudget = ruleTimeBudget;
+  }
+
+  /**
+   * @param rankedRules rules in their evaluation order
+   * @param transactionBatches all the batches being validated
+   * @param results verdicts of the batches to be updated, rejected ones are not checked anymore
+   * @param callStartTime {@link System#nanoTime()} the validation call has started at, the total
+   * budget of the rules is counted from
+   */
+  void evaluate(List<RankedRule> rankedRules,
+      List<TransactionBatch> transactionBatches,
+      ValidationResult[] results,
+      long callStartTime) {
+    final List<Integer> remaining = SimpleAggregationValidator.getNotRejected(results);
+    if (remaining.isEmpty()) {
+      return;
+    }
+    final int rulesCount = rankedRules.size();
+    final CompletionService<RuleOutcome> completionService = new ExecutorCompletionService<>(
+        ruleTimeBudget == null ? this::executeOrRun : executorService
+    );
+    final List<Future<RuleOutcome>> futures = new ArrayList<>(rulesCount);
+    final Map<Future<RuleOutcome>, Integer> ruleIndices = new IdentityHashMap<>();
+    // deadlines of the current invocations, moved forward by the rules before every invocation
+    // up to the total deadline of the rule
+    final AtomicLongArray deadlines = new AtomicLongArray(rulesCount);
+    // rules rejected by the saturated executor
+    final boolean[] saturated = new boolean[rulesCount];
+    final long startTime = System.nanoTime();
+    for (int j = 0; j < rulesCount; j++) {
+      final RankedRule rankedRule = rankedRules.get(j);
+      final int index = j;
+      final long budgetNanos = getBudgetNanos(rankedRule);
+      final long totalDeadline = budgetNanos == Long.MAX_VALUE
+          ? Long.MAX_VALUE
+          : callStartTime + getTotalBudgetNanos(rankedRule);
+      deadlines.set(j, earliest(startTime, budgetNanos, totalDeadline));
+      final Runnable beforeInvocation = () -> {
+        if (budgetNanos != Long.MAX_VALUE) {
+          deadlines.set(index, earliest(System.nanoTime(), budgetNanos, totalDeadline));
+        }
+      };
+      Future<RuleOutcome> future;
+      try {
+        future = completionService.submit(() -> RuleOutcome.evaluate(
+            rankedRule.getBatchRule(), remaining, transactionBatches, beforeInvocation
+        ));
+      } catch (RejectedExecutionException e) {
+        // the budget cannot be enforced for a rule running in the caller, so it is not evaluated
+        future = new FutureTask<>(() -> null);
+        future.cancel(false);
+        saturated[j] = true;
+        deadlines.set(j, startTime);
+      }
+      futures.add(future);
+      ruleIndices.put(future, j);
+    }
+
+    final RuleOutcome[] outcomes = new RuleOutcome[rulesCount];
+    final boolean[] settled = new boolean[rulesCount];
+    // index of the first rule rejecting the batch, rulesCount if none did so far
+    final int[] firstRejecting = new int[remaining.size()];
+    Arrays.fill(firstRejecting, rulesCount);
+    int pending = rulesCount;
+    try {
+      while (pending > 0) {
+        final Future<RuleOutcome> future = pollNext(completionService, deadlines, settled);
+        final List<Integer> completed = new ArrayList<>();
+        if (future != null) {
+          completed.add(ruleIndices.get(future));
+        } else {
+          final long now = System.nanoTime();
+          for (int j = 0; j < rulesCount; j++) {
+            if (!settled[j] && deadlines.get(j) - now <= 0) {
+              completed.add(j);
+            }
+          }
+        }
+        for (int index : completed) {
+          if (settled[index]) {
+            // cancelled before
+            continue;
+          }
+          settled[index] = true;
+          pending--;
+          final Future<RuleOutcome> ruleFuture = futures.get(index);
+          final RuleOutcome outcome;
+          if (saturated[index]) {
+            outcome = saturation(rankedRules.get(index), remaining.size());
+          } else if (ruleFuture.isDone() && !ruleFuture.isCancelled()) {
+            outcome = getOutcome(ruleFuture);
+          } else {
+            outcome = overrun(rankedRules.get(index), ruleFuture, startTime, remaining.size());
+          }
+          outcomes[index] = outcome;
+          if (!saturated[index]) {
+            outcome.recordTo(rankedRules.get(index));
+          }
+          for (int k = 0; k < outcome.size(); k++) {
+            if (outcome.isRejected(k)) {
+              firstRejecting[k] = Math.min(firstRejecting[k], index);
+            }
+          }
+        }
+        // rules after the last deciding one cannot change any verdict
+        final int lastNeeded = Arrays.stream(firstRejecting).max().getAsInt();
+        for (int j = lastNeeded + 1; j < rulesCount; j++) {
+          if (!settled[j]) {
+            futures.get(j).cancel(true);
+            settled[j] = true;
+            pending--;
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted during parallel rules evaluation", e);
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+
+    for (int k = 0; k < remaining.size(); k++) {
+      if (firstRejecting[k] < rulesCount) {
+        results[remaining.get(k)] = outcomes[firstRejecting[k]].getResult(k);
+      }
+    }
+  }
+
+  /**
+   * The budget applies to every invocation of the rule
+   */
+  private long getBudgetNanos(RankedRule rankedRule) {
+    if (ruleTimeBudget == null) {
+      return Long.MAX_VALUE;
+    }
+    return TimeUnit.MILLISECONDS.toNanos(ruleTimeBudget.getBudgetMillis(rankedRule.getName()));
+  }
+
+  /**
+   * The total budget applies to all the invocations of the rule within a validation call
+   */
+  private long getTotalBudgetNanos(RankedRule rankedRule) {
+    return TimeUnit.MILLISECONDS.toNanos(
+        ruleTimeBudget.getTotalBudgetMillis(rankedRule.getName())
+    );
+  }
+
+  /**
+   * @return deadline of an invocation started at the time given, nanoTime values are compared by
+   * their difference since they may overflow
+   */
+  static long earliest(long invocationStartTime, long budgetNanos, long totalDeadline) {
+    if (budgetNanos == Long.MAX_VALUE) {
+      return Long.MAX_VALUE;
+    }
+    final long deadline = invocationStartTime + budgetNanos;
+    return deadline - totalDeadline < 0 ? deadline : totalDeadline;
+  }
+
+  /**
+   * Without a budget to enforce a rule may run in the caller when the stage is saturated
+   */
+  private void executeOrRun(Runnable command) {
+    try {
+      executorService.execute(command);
+    } catch (RejectedExecutionException e) {
+      command.run();
+    }
+  }
+
+  /**
+   * Waits for the next rule to finish until the nearest deadline
+   *
+   * @return completed {@link Future}, null if the nearest deadline has passed
+   */
+  private Future<RuleOutcome> pollNext(CompletionService<RuleOutcome> completionService,
+      AtomicLongArray deadlines,
+      boolean[] settled) throws InterruptedException {
+    if (ruleTimeBudget == null) {
+      return completionService.take();
+    }
+    long nearestDeadline = Long.MAX_VALUE;
+    for (int j = 0; j < deadlines.length(); j++) {
+      if (!settled[j]) {
+        nearestDeadline = Math.min(nearestDeadline, deadlines.get(j));
+      }
+    }
+    return completionService.poll(nearestDeadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+  }
+
+  private RuleOutcome overrun(RankedRule rankedRule,
+      Future<RuleOutcome> future,
+      long startTime,
+      int batchesCount) {
+    future.cancel(true);
+    rankedRule.recordOverrun();
+    logger.warn(
+        "Rule {} has exceeded its time budget of {} ms per invocation or {} ms in total, "
+            + "applying {} policy",
+        rankedRule.getName(),
+        ruleTimeBudget.getBudgetMillis(rankedRule.getName()),
+        ruleTimeBudget.getTotalBudgetMillis(rankedRule.getName()),
+        ruleTimeBudget.getOverrunPolicy()
+    );
+    return RuleOutcome.overrun(
+        batchesCount,
+        ruleTimeBudget.getOverrunResult(rankedRule.getName()),
+        System.nanoTime() - startTime
+    );
+  }
+
+  private RuleOutcome saturation(RankedRule rankedRule, int batchesCount) {
+    rankedRule.recordSaturation();
+    logger.warn(
+        "Rules stage is saturated, rule {} is not evaluated, applying {} policy",
+        rankedRule.getName(),
+        ruleTimeBudget.getOverrunPolicy()
+    );
+    return RuleOutcome.notEvaluated(
+        batchesCount,
+        ruleTimeBudget.getSaturationResult(rankedRule.getName())
+    );
+  }
+
+  private static RuleOutcome getOutcome(Future<RuleOutcome> future) throws InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException("Rule evaluation failed", cause);
+    }
+  }
+}
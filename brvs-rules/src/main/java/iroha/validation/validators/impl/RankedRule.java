@@ -0,0 +1,114 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.validators.impl;
+
+import iroha.validation.rules.BatchRule;
+import iroha.validation.rules.Rule;
+import iroha.validation.validators.RuleStatistics;
+import java.util.Comparator;
+
+/**
+ * Rule wrapper accumulating its cost and rejection statistics. Recent observations are weighted
+ * more by decaying the accumulated values on every reordering. Not thread safe
+ */
+class RankedRule {
+
+  private static final double NANOS_IN_MICRO = 1_000d;
+
+  /**
+   * Orders rules by their constraint phase, then by the expected cost spent per rejection (Smith's
+   * rule), so cheap rules rejecting often are evaluated first
+   */
+  static final Comparator<RankedRule> EVALUATION_ORDER = Comparator
+      .comparing((RankedRule rankedRule) -> rankedRule.getRule().getOrderingConstraint())
+      .thenComparingDouble(RankedRule::getScore)
+      .thenComparing(RankedRule::getName);
+
+  private final String name;
+  private final Rule rule;
+  private final BatchRule batchRule;
+  private long invocations;
+  private long rejections;
+  private long overruns;
+  private long saturations;
+  private double recentInvocations;
+  private double recentRejections;
+  private double recentCostNanos;
+
+  RankedRule(String name, Rule rule) {
+    this.name = name;
+    this.rule = rule;
+    this.batchRule = BatchRule.of(rule);
+  }
+
+  String getName() {
+    return name;
+  }
+
+  Rule getRule() {
+    return rule;
+  }
+
+  BatchRule getBatchRule() {
+    return batchRule;
+  }
+
+  void record(long costNanos, boolean rejected) {
+    invocations++;
+    recentInvocations++;
+    recentCostNanos += costNanos;
+    if (rejected) {
+      rejections++;
+      recentRejections++;
+    }
+  }
+
+  void recordOverrun() {
+    overruns++;
+  }
+
+  void recordSaturation() {
+    saturations++;
+  }
+
+  void decay(double factor) {
+    recentInvocations *= factor;
+    recentRejections *= factor;
+    recentCostNanos *= factor;
+  }
+
+  double getAverageCostNanos() {
+    return recentInvocations == 0 ? 0 : recentCostNanos / recentInvocations;
+  }
+
+  /**
+   * Laplace smoothed, so rules that have never rejected anything are still comparable
+   */
+  double getRejectionProbability() {
+    return (recentRejections + 1) / (recentInvocations + 2);
+  }
+
+  /**
+   * Unobserved rules get the lowest score to be measured as soon as possible
+   */
+  double getScore() {
+    return getAverageCostNanos() / getRejectionProbability();
+  }
+
+  RuleStatistics toStatistics(int position) {
+    return new RuleStatistics(
+        name,
+        position,
+        rule.getOrderingConstraint(),
+        invocations,
+        rejections,
+        overruns,
+        saturations,
+        getAverageCostNanos() / NANOS_IN_MICRO,
+        recentInvocations == 0 ? 0 : recentRejections / recentInvocations
+    );
+  }
+}
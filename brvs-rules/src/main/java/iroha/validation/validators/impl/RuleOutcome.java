@@ -0,0 +1,123 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.validators.impl;
+
+import iroha.validation.rules.BatchRule;
+import iroha.validation.rules.PrefetchingRule;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.verdict.ValidationResult;
+import iroha.validation.verdict.Verdict;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Results of a single rule applied to a list of batches along with the time spent per batch
+ */
+class RuleOutcome {
+
+  private final ValidationResult[] results;
+  private final long[] costs;
+
+  private RuleOutcome(int size) {
+    this.results = new ValidationResult[size];
+    this.costs = new long[size];
+  }
+
+  /**
+   * Applies the rule to the batches specified. A {@link PrefetchingRule} reads its state once and
+   * its cost is shared between the batches
+   *
+   * @param batchRule rule to apply
+   * @param indices indices of the batches to check
+   * @param transactionBatches all the batches
+   * @return outcome aligned with the indices
+   */
+  static RuleOutcome evaluate(BatchRule batchRule,
+      List<Integer> indices,
+      List<TransactionBatch> transactionBatches) {
+    return evaluate(batchRule, indices, transactionBatches, () -> {
+    });
+  }
+
+  /**
+   * Applies the rule to the batches specified notifying about every invocation of the rule
+   *
+   * @param batchRule rule to apply
+   * @param indices indices of the batches to check
+   * @param transactionBatches all the batches
+   * @param beforeInvocation called right before the prefetch and every batch check
+   * @return outcome aligned with the indices
+   */
+  static RuleOutcome evaluate(BatchRule batchRule,
+      List<Integer> indices,
+      List<TransactionBatch> transactionBatches,
+      Runnable beforeInvocation) {
+    final RuleOutcome outcome = new RuleOutcome(indices.size());
+    BatchRule rule = batchRule;
+    final long prefetchStartTime = System.nanoTime();
+    if (batchRule instanceof PrefetchingRule) {
+      beforeInvocation.run();
+      final List<TransactionBatch> batchesToCheck = new ArrayList<>(indices.size());
+      indices.forEach(i -> batchesToCheck.add(transactionBatches.get(i)));
+      rule = ((PrefetchingRule) batchRule).prefetch(batchesToCheck);
+    }
+    final long prefetchCostShare = (System.nanoTime() - prefetchStartTime) / indices.size();
+    for (int k = 0; k < indices.size(); k++) {
+      beforeInvocation.run();
+      final long startTime = System.nanoTime();
+      outcome.results[k] = rule.isSatisfiedBy(transactionBatches.get(indices.get(k)));
+      outcome.costs[k] = System.nanoTime() - startTime + prefetchCostShare;
+    }
+    return outcome;
+  }
+
+  /**
+   * Outcome of a rule that has not finished in time
+   *
+   * @param size amount of batches checked
+   * @param result {@link ValidationResult} every batch gets
+   * @param elapsedNanos time spent waiting for the rule
+   * @return outcome aligned with the batches
+   */
+  static RuleOutcome overrun(int size, ValidationResult result, long elapsedNanos) {
+    final RuleOutcome outcome = new RuleOutcome(size);
+    Arrays.fill(outcome.results, result);
+    Arrays.fill(outcome.costs, elapsedNanos / size);
+    return outcome;
+  }
+
+  /**
+   * Outcome of a rule that has not been evaluated
+   *
+   * @param size amount of batches to be checked
+   * @param result {@link ValidationResult} every batch gets
+   * @return outcome aligned with the batches, it is not to be recorded as it costs nothing
+   */
+  static RuleOutcome notEvaluated(int size, ValidationResult result) {
+    final RuleOutcome outcome = new RuleOutcome(size);
+    Arrays.fill(outcome.results, result);
+    return outcome;
+  }
+
+  boolean isRejected(int k) {
+    return results[k].getStatus().equals(Verdict.REJECTED);
+  }
+
+  ValidationResult getResult(int k) {
+    return results[k];
+  }
+
+  int size() {
+    return results.length;
+  }
+
+  void recordTo(RankedRule rankedRule) {
+    for (int k = 0; k < results.length; k++) {
+      rankedRule.record(costs[k], isRejected(k));
+    }
+  }
+}
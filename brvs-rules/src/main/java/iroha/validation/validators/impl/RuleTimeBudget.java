@@ -0,0 +1,149 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.validators.impl;
+
+import iroha.validation.verdict.ValidationResult;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.util.StringUtils;
+
+/**
+ * Maximum time a rule may spend on a batch before the validator stops waiting for it, as well as
+ * the maximum time it may spend on all the batches validated at once
+ */
+public class RuleTimeBudget {
+
+  private static final String OVERRIDES_DELIMITER = ",";
+  private static final String NAME_DELIMITER = ":";
+
+  /**
+   * Outcome of a rule exceeding its budget
+   */
+  public enum OverrunPolicy {
+    /**
+     * The batch is rejected
+     */
+    REJECT,
+    /**
+     * The rule is ignored for the batch and an alert is logged
+     */
+    SKIP
+  }
+
+  private final long defaultBudgetMillis;
+  private final long totalBudgetMillis;
+  private final Map<String, Long> budgetOverrides;
+  private final OverrunPolicy overrunPolicy;
+
+  /**
+   * @param defaultBudgetMillis budget of the rules not overridden
+   * @param totalBudgetMillis budget of a rule for all the batches validated at once
+   * @param budgetOverrides comma separated list of {@code ruleName:millis} pairs, may be empty
+   * @param overrunPolicy {@link OverrunPolicy} name
+   */
+  public RuleTimeBudget(String defaultBudgetMillis,
+      String totalBudgetMillis,
+      String budgetOverrides,
+      String overrunPolicy) {
+    this(
+        Long.parseLong(defaultBudgetMillis),
+        Long.parseLong(totalBudgetMillis),
+        parseOverrides(budgetOverrides),
+        OverrunPolicy.valueOf(overrunPolicy.toUpperCase())
+    );
+  }
+
+  public RuleTimeBudget(long defaultBudgetMillis,
+      long totalBudgetMillis,
+      Map<String, Long> budgetOverrides,
+      OverrunPolicy overrunPolicy) {
+    if (defaultBudgetMillis < 1) {
+      throw new IllegalArgumentException(
+          "Default budget must be positive, got " + defaultBudgetMillis
+      );
+    }
+    if (totalBudgetMillis < 1) {
+      throw new IllegalArgumentException(
+          "Total budget must be positive, got " + totalBudgetMillis
+      );
+    }
+    Objects.requireNonNull(budgetOverrides, "Budget overrides must not be null");
+    budgetOverrides.forEach((name, budget) -> {
+      if (budget < 1) {
+        throw new IllegalArgumentException(
+            "Budget of " + name + " must be positive, got " + budget
+        );
+      }
+    });
+    Objects.requireNonNull(overrunPolicy, "Overrun policy must not be null");
+
+    this.defaultBudgetMillis = defaultBudgetMillis;
+    this.totalBudgetMillis = totalBudgetMillis;
+    this.budgetOverrides = Collections.unmodifiableMap(new HashMap<>(budgetOverrides));
+    this.overrunPolicy = overrunPolicy;
+  }
+
+  private static Map<String, Long> parseOverrides(String budgetOverrides) {
+    final Map<String, Long> overrides = new HashMap<>();
+    if (StringUtils.isEmpty(budgetOverrides)) {
+      return overrides;
+    }
+    for (String override : budgetOverrides.split(OVERRIDES_DELIMITER)) {
+      final String[] nameAndBudget = override.trim().split(NAME_DELIMITER);
+      if (nameAndBudget.length != 2) {
+        throw new IllegalArgumentException(
+            "Budget override must be in 'ruleName:millis' format, got " + override
+        );
+      }
+      overrides.put(nameAndBudget[0], Long.parseLong(nameAndBudget[1]));
+    }
+    return overrides;
+  }
+
+  public long getBudgetMillis(String ruleName) {
+    return budgetOverrides.getOrDefault(ruleName, defaultBudgetMillis);
+  }
+
+  /**
+   * @return time a rule may spend on all the batches validated at once, never less than the budget
+   * of a single invocation of the rule
+   */
+  public long getTotalBudgetMillis(String ruleName) {
+    return Math.max(totalBudgetMillis, getBudgetMillis(ruleName));
+  }
+
+  public OverrunPolicy getOverrunPolicy() {
+    return overrunPolicy;
+  }
+
+  /**
+   * @param ruleName name of the rule exceeded its budget
+   * @return {@link ValidationResult} the batches get according to the {@link OverrunPolicy}
+   */
+  ValidationResult getOverrunResult(String ruleName) {
+    if (overrunPolicy == OverrunPolicy.SKIP) {
+      return ValidationResult.VALIDATED;
+    }
+    return ValidationResult.REJECTED(
+        "Rule " + ruleName + " has not finished within " + getBudgetMillis(ruleName) + " ms"
+    );
+  }
+
+  /**
+   * @param ruleName name of the rule rejected by the saturated executor
+   * @return {@link ValidationResult} the batches get according to the {@link OverrunPolicy}
+   */
+  ValidationResult getSaturationResult(String ruleName) {
+    if (overrunPolicy == OverrunPolicy.SKIP) {
+      return ValidationResult.VALIDATED;
+    }
+    return ValidationResult.REJECTED(
+        "Rule " + ruleName + " has not been evaluated, the rules stage is saturated"
+    );
+  }
+}
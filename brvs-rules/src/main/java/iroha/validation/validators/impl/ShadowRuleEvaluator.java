@@ -0,0 +1,355 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.validators.impl;
+
+import iroha.validation.rules.BatchRule;
+import iroha.validation.rules.PrefetchingRule;
+import iroha.validation.rules.ReservingRule;
+import iroha.validation.rules.Rule;
+import iroha.validation.rules.ScopedRule;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.validators.ShadowRuleStatistics;
+import iroha.validation.verdict.ValidationResult;
+import iroha.validation.verdict.Verdict;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates shadow rules against the batches validated by the production rules and records their
+ * would-be verdicts and latencies. Evaluation is handed over to a dedicated executor and is skipped
+ * entirely if the executor is saturated, so shadow rules never delay the production verdicts. If a
+ * {@link RuleTimeBudget} is set, the rules run concurrently on their own executor and are cancelled
+ * once they exceed it exactly as the production rules, so a hung shadow rule does not hold the
+ * shadow stage. A rule whose previous evaluation is still running is skipped, so a rule ignoring
+ * the cancellation holds a single thread at most
+ */
+public class ShadowRuleEvaluator {
+
+  private static final Logger logger = LoggerFactory.getLogger(ShadowRuleEvaluator.class);
+  private static final double NANOS_IN_MICRO = 1_000d;
+
+  private final ExecutorService shadowExecutor;
+  private final ExecutorService shadowRulesExecutor;
+  private final RuleTimeBudget ruleTimeBudget;
+  private final Map<String, ShadowRule> rules = new ConcurrentHashMap<>();
+  private final LongAdder droppedBatches = new LongAdder();
+
+  /**
+   * Shadow rules are evaluated one after another by the shadow executor without a time budget
+   *
+   * @param shadowExecutor bounded executor throwing {@link RejectedExecutionException} when it is
+   * saturated
+   */
+  public ShadowRuleEvaluator(ExecutorService shadowExecutor) {
+    this(shadowExecutor, null, null);
+  }
+
+  /**
+   * @param shadowExecutor bounded executor throwing {@link RejectedExecutionException} when it is
+   * saturated
+   * @param shadowRulesExecutor bounded executor running the shadow rules within their budget while
+   * the shadow executor waits for them, null to run them by the shadow executor
+   * @param ruleTimeBudget {@link RuleTimeBudget} of the shadow rules, must be set along with the
+   * shadow rules executor
+   */
+  public ShadowRuleEvaluator(ExecutorService shadowExecutor,
+      ExecutorService shadowRulesExecutor,
+      RuleTimeBudget ruleTimeBudget) {
+    Objects.requireNonNull(shadowExecutor, "Shadow executor must not be null");
+    if ((shadowRulesExecutor == null) != (ruleTimeBudget == null)) {
+      throw new IllegalArgumentException(
+          "Shadow rules executor and time budget must be set together"
+      );
+    }
+
+    this.shadowExecutor = shadowExecutor;
+    this.shadowRulesExecutor = shadowRulesExecutor;
+    this.ruleTimeBudget = ruleTimeBudget;
+  }
+
+  /**
+   * Adds a shadow rule. Reserving rules are not accepted since their reservations would never be
+   * released
+   *
+   * @param name name of the rule
+   * @param rule {@link Rule} to evaluate in shadow
+   * @return previous shadow {@link Rule} associated with the name
+   */
+  public Rule putRule(String name, Rule rule) {
+    final Rule unwrapped = rule instanceof ScopedRule ? ((ScopedRule) rule).getRule() : rule;
+    if (unwrapped instanceof ReservingRule) {
+      throw new IllegalArgumentException("Reserving rule " + name + " cannot be shadowed");
+    }
+    final ShadowRule previous = rules.put(name, new ShadowRule(name, rule));
+    return previous == null ? null : previous.rule;
+  }
+
+  /**
+   * @param name name of the rule to remove
+   * @return previous shadow {@link Rule} associated with the name
+   */
+  public Rule removeRule(String name) {
+    final ShadowRule previous = rules.remove(name);
+    return previous == null ? null : previous.rule;
+  }
+
+  public Set<String> getRuleNames() {
+    return Collections.unmodifiableSet(rules.keySet());
+  }
+
+  /**
+   * Schedules the shadow evaluation of the batches. Returns immediately
+   *
+   * @param transactionBatches batches validated
+   * @param productionResults production verdicts of the batches
+   */
+  public void submit(List<TransactionBatch> transactionBatches,
+      List<ValidationResult> productionResults) {
+    if (rules.isEmpty() || transactionBatches.isEmpty()) {
+      return;
+    }
+    final List<ShadowRule> snapshot = new ArrayList<>(rules.values());
+    try {
+      shadowExecutor.execute(() -> evaluate(snapshot, transactionBatches, productionResults));
+    } catch (RejectedExecutionException e) {
+      droppedBatches.add(transactionBatches.size());
+      logger.debug("Shadow executor is saturated, {} batches skipped", transactionBatches.size());
+    }
+  }
+
+  /**
+   * @return {@link List} of {@link ShadowRuleStatistics} of the current shadow rules
+   */
+  public List<ShadowRuleStatistics> getStatistics() {
+    final List<ShadowRuleStatistics> statistics = new ArrayList<>(rules.size());
+    final long dropped = droppedBatches.sum();
+    for (ShadowRule shadowRule : rules.values()) {
+      statistics.add(shadowRule.toStatistics(dropped));
+    }
+    return statistics;
+  }
+
+  private void evaluate(List<ShadowRule> shadowRules,
+      List<TransactionBatch> transactionBatches,
+      List<ValidationResult> productionResults) {
+    if (ruleTimeBudget == null) {
+      for (ShadowRule shadowRule : shadowRules) {
+        shadowRule.evaluate(transactionBatches, productionResults, () -> {
+        });
+      }
+      return;
+    }
+    final int rulesCount = shadowRules.size();
+    final CompletionService<Void> completionService = new ExecutorCompletionService<>(
+        shadowRulesExecutor
+    );
+    final List<Future<Void>> futures = new ArrayList<>(rulesCount);
+    final Map<Future<Void>, Integer> ruleIndices = new IdentityHashMap<>();
+    // deadlines of the current invocations, moved forward by the rules before every invocation
+    // up to the total deadline of the rule
+    final AtomicLongArray deadlines = new AtomicLongArray(rulesCount);
+    final boolean[] settled = new boolean[rulesCount];
+    int pending = 0;
+    final long startTime = System.nanoTime();
+    for (int j = 0; j < rulesCount; j++) {
+      final ShadowRule shadowRule = shadowRules.get(j);
+      final int index = j;
+      final long budgetNanos = TimeUnit.MILLISECONDS.toNanos(
+          ruleTimeBudget.getBudgetMillis(shadowRule.name)
+      );
+      final long totalDeadline = startTime + TimeUnit.MILLISECONDS.toNanos(
+          ruleTimeBudget.getTotalBudgetMillis(shadowRule.name)
+      );
+      deadlines.set(j, ParallelRuleEvaluator.earliest(startTime, budgetNanos, totalDeadline));
+      futures.add(null);
+      settled[j] = true;
+      // the previous evaluation of the rule is still running despite its cancellation
+      if (!shadowRule.running.compareAndSet(false, true)) {
+        shadowRule.droppedBatches.add(transactionBatches.size());
+        continue;
+      }
+      try {
+        final Future<Void> future = completionService.submit(() -> {
+          try {
+            shadowRule.evaluate(transactionBatches, productionResults, () -> deadlines.set(
+                index,
+                ParallelRuleEvaluator.earliest(System.nanoTime(), budgetNanos, totalDeadline)
+            ));
+          } finally {
+            shadowRule.running.set(false);
+          }
+          return null;
+        });
+        futures.set(j, future);
+        ruleIndices.put(future, j);
+        settled[j] = false;
+        pending++;
+      } catch (RejectedExecutionException e) {
+        shadowRule.running.set(false);
+        shadowRule.droppedBatches.add(transactionBatches.size());
+      }
+    }
+
+    try {
+      while (pending > 0) {
+        long nearestDeadline = Long.MAX_VALUE;
+        for (int j = 0; j < rulesCount; j++) {
+          if (!settled[j]) {
+            nearestDeadline = Math.min(nearestDeadline, deadlines.get(j));
+          }
+        }
+        final Future<Void> future = completionService.poll(
+            nearestDeadline - System.nanoTime(), TimeUnit.NANOSECONDS
+        );
+        if (future != null) {
+          settled[ruleIndices.get(future)] = true;
+          pending--;
+          continue;
+        }
+        final long now = System.nanoTime();
+        for (int j = 0; j < rulesCount; j++) {
+          if (!settled[j] && deadlines.get(j) - now <= 0 && !futures.get(j).isDone()) {
+            settled[j] = true;
+            pending--;
+            overrun(shadowRules.get(j), futures.get(j));
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      futures.stream().filter(Objects::nonNull).forEach(future -> future.cancel(true));
+    }
+  }
+
+  private void overrun(ShadowRule shadowRule, Future<Void> future) {
+    future.cancel(true);
+    shadowRule.overruns.increment();
+    logger.warn(
+        "Shadow rule {} has exceeded its time budget of {} ms per invocation or {} ms in total, "
+            + "cancelling it",
+        shadowRule.name,
+        ruleTimeBudget.getBudgetMillis(shadowRule.name),
+        ruleTimeBudget.getTotalBudgetMillis(shadowRule.name)
+    );
+  }
+
+  private static class ShadowRule {
+
+    private final String name;
+    private final Rule rule;
+    private final BatchRule batchRule;
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder wouldRejections = new LongAdder();
+    private final LongAdder disagreements = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder overruns = new LongAdder();
+    private final LongAdder droppedBatches = new LongAdder();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final LongAdder totalCostNanos = new LongAdder();
+    private final AtomicLong maxCostNanos = new AtomicLong();
+    private volatile String lastRejection;
+
+    private ShadowRule(String name, Rule rule) {
+      this.name = name;
+      this.rule = rule;
+      this.batchRule = BatchRule.of(rule);
+    }
+
+    /**
+     * Applies the rule to the batches. An invocation interrupted by the cancellation is not
+     * recorded since the overrun has been recorded instead
+     *
+     * @param beforeInvocation called right before the prefetch and every batch check
+     */
+    private void evaluate(List<TransactionBatch> transactionBatches,
+        List<ValidationResult> productionResults,
+        Runnable beforeInvocation) {
+      BatchRule rule = batchRule;
+      try {
+        if (rule instanceof PrefetchingRule) {
+          beforeInvocation.run();
+          rule = ((PrefetchingRule) rule).prefetch(transactionBatches);
+        }
+      } catch (Exception e) {
+        if (!Thread.currentThread().isInterrupted()) {
+          errors.add(transactionBatches.size());
+        }
+        return;
+      }
+      for (int i = 0; i < transactionBatches.size(); i++) {
+        if (Thread.currentThread().isInterrupted()) {
+          return;
+        }
+        beforeInvocation.run();
+        final TransactionBatch transactionBatch = transactionBatches.get(i);
+        final long startTime = System.nanoTime();
+        ValidationResult result;
+        try {
+          result = rule.isSatisfiedBy(transactionBatch);
+        } catch (Exception e) {
+          result = null;
+        }
+        if (Thread.currentThread().isInterrupted()) {
+          return;
+        }
+        recordCost(System.nanoTime() - startTime);
+        if (result == null) {
+          errors.increment();
+        } else if (result.getStatus() == Verdict.REJECTED) {
+          wouldRejections.increment();
+          if (productionResults.get(i).getStatus() != Verdict.REJECTED) {
+            disagreements.increment();
+          }
+          lastRejection = Utils.toHex(Utils.hash(
+              transactionBatch.getTransactionList().get(0)
+          )) + ": " + result.getReason();
+        }
+      }
+    }
+
+    private void recordCost(long costNanos) {
+      evaluations.increment();
+      totalCostNanos.add(costNanos);
+      maxCostNanos.accumulateAndGet(costNanos, Math::max);
+    }
+
+    private ShadowRuleStatistics toStatistics(long droppedBatches) {
+      final long evaluated = evaluations.sum();
+      return new ShadowRuleStatistics(
+          name,
+          evaluated,
+          wouldRejections.sum(),
+          disagreements.sum(),
+          errors.sum(),
+          overruns.sum(),
+          droppedBatches + this.droppedBatches.sum(),
+          evaluated == 0 ? 0 : totalCostNanos.sum() / NANOS_IN_MICRO / evaluated,
+          maxCostNanos.get() / NANOS_IN_MICRO,
+          lastRejection
+      );
+    }
+  }
+}
@@ -6,24 +6,136 @@
 package iroha.validation.validators.impl;
 
 import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.rules.BatchRule;
+import iroha.validation.rules.PrefetchingRule;
+import iroha.validation.rules.ReservingRule;
 import iroha.validation.rules.Rule;
+import iroha.validation.rules.RuleOrderingConstraint;
+import iroha.validation.rules.RuleScope;
+import iroha.validation.rules.ScopedRule;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.validators.RuleStatistics;
+import iroha.validation.validators.ShadowRuleStatistics;
 import iroha.validation.validators.Validator;
 import iroha.validation.verdict.ValidationResult;
 import iroha.validation.verdict.Verdict;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
+/**
+ * Validator evaluating all the rules one by one against the whole batch until the first rejection.
+ * Per transaction rules are adapted with {@link BatchRule#of}. The evaluation order is periodically
+ * adjusted according to the rules ordering constraints and their observed cost and rejection rate.
+ * If an executor is given, {@link RuleOrderingConstraint#ADAPTIVE} rules are evaluated concurrently
+ * and the {@link RuleTimeBudget} may be enforced. {@link RuleOrderingConstraint#LAST} and reserving
+ * rules are never cancelled, so they run sequentially without a budget. Rules with a
+ * {@link RuleScope} are dispatched only to the batches of the creators in scope. Reservations of
+ * {@link ReservingRule reserving rules} are rolled back for the batches rejected. If a
+ * {@link ShadowRuleEvaluator} is given, shadow rules are evaluated in background against the
+ * validated batches. Rule statistics are published as a snapshot after every validation and rules
+ * update, so reading them never waits for a validation in progress
+ */
 public class SimpleAggregationValidator implements Validator {
 
-  private final Map<String, Rule> rules;
+  private static final int DEFAULT_REORDERING_PERIOD = 1000;
+  private static final double DECAY_FACTOR = 0.5;
+
+  private final Map<String, RankedRule> rules = new HashMap<>();
+  private final int reorderingPeriod;
+  private final ParallelRuleEvaluator parallelRuleEvaluator;
+  private final RuleTimeBudget ruleTimeBudget;
+  private final ShadowRuleEvaluator shadowRuleEvaluator;
+  private List<RankedRule> evaluationOrder = Collections.emptyList();
+  private final Map<String, List<RankedRule>> dispatchTable = new HashMap<>();
+  private Set<String> scopedAccounts = Collections.emptySet();
+  private boolean hasScopedRules;
+  private List<ReservingRule> reservingRules = Collections.emptyList();
+  private int validationsSinceReordering;
+  // written under the validator lock, read without it
+  private volatile List<RuleStatistics> ruleStatistics = Collections.emptyList();
 
   public SimpleAggregationValidator() {
     this(Collections.emptyMap());
   }
 
   public SimpleAggregationValidator(Map<String, Rule> rules) {
-    this.rules = rules;
+    this(rules, DEFAULT_REORDERING_PERIOD);
+  }
+
+  /**
+   * @param rules initial rules
+   * @param reorderingPeriod amount of validations between evaluation order adjustments
+   */
+  public SimpleAggregationValidator(Map<String, Rule> rules, int reorderingPeriod) {
+    this(rules, reorderingPeriod, null);
+  }
+
+  /**
+   * @param rules initial rules
+   * @param reorderingPeriod amount of validations between evaluation order adjustments
+   * @param ruleExecutor executor to evaluate independent rules concurrently, sequential evaluation
+   * if null
+   */
+  public SimpleAggregationValidator(Map<String, Rule> rules,
+      int reorderingPeriod,
+      ExecutorService ruleExecutor) {
+    this(rules, reorderingPeriod, ruleExecutor, null);
+  }
+
+  /**
+   * @param rules initial rules
+   * @param reorderingPeriod amount of validations between evaluation order adjustments
+   * @param ruleExecutor executor to evaluate independent rules concurrently, sequential evaluation
+   * if null
+   * @param ruleTimeBudget {@link RuleTimeBudget} enforced for every rule without side effects, no
+   * limits if null. Requires the rule executor
+   */
+  public SimpleAggregationValidator(Map<String, Rule> rules,
+      int reorderingPeriod,
+      ExecutorService ruleExecutor,
+      RuleTimeBudget ruleTimeBudget) {
+    this(rules, reorderingPeriod, ruleExecutor, ruleTimeBudget, null);
+  }
+
+  /**
+   * @param rules initial rules
+   * @param reorderingPeriod amount of validations between evaluation order adjustments
+   * @param ruleExecutor executor to evaluate independent rules concurrently, sequential evaluation
+   * if null
+   * @param ruleTimeBudget {@link RuleTimeBudget} enforced for every rule without side effects, no
+   * limits if null. Requires the rule executor
+   * @param shadowRuleEvaluator {@link ShadowRuleEvaluator} of the shadow rules, no shadow rules
+   * support if null
+   */
+  public SimpleAggregationValidator(Map<String, Rule> rules,
+      int reorderingPeriod,
+      ExecutorService ruleExecutor,
+      RuleTimeBudget ruleTimeBudget,
+      ShadowRuleEvaluator shadowRuleEvaluator) {
+    if (reorderingPeriod < 1) {
+      throw new IllegalArgumentException(
+          "Reordering period must be positive, got " + reorderingPeriod
+      );
+    }
+    if (ruleTimeBudget != null && ruleExecutor == null) {
+      throw new IllegalArgumentException("Rule time budget requires a rule executor");
+    }
+    this.reorderingPeriod = reorderingPeriod;
+    this.ruleTimeBudget = ruleTimeBudget;
+    this.shadowRuleEvaluator = shadowRuleEvaluator;
+    this.parallelRuleEvaluator =
+        ruleExecutor == null ? null : new ParallelRuleEvaluator(ruleExecutor, ruleTimeBudget);
+    rules.forEach((name, rule) -> this.rules.put(name, new RankedRule(name, rule)));
+    reorder();
+    publishStatistics();
   }
 
   /**
@@ -31,15 +143,249 @@ public class SimpleAggregationValidator implements Validator {
    */
   @Override
   public synchronized ValidationResult validate(Iterable<Transaction> transactions) {
-    for (Transaction transaction : transactions) {
-      for (Rule rule : rules.values()) {
-        final ValidationResult validationResult = rule.isSatisfiedBy(transaction);
-        if (validationResult.getStatus().equals(Verdict.REJECTED)) {
-          return validationResult;
+    if (!transactions.iterator().hasNext()) {
+      return ValidationResult.VALIDATED;
+    }
+    return validateAll(Collections.singletonList(toBatch(transactions))).get(0);
+  }
+
+  /**
+   * {@inheritDoc} Rules are applied one by one to all the batches not rejected so far, so a {@link
+   * PrefetchingRule} reads its state once for all of them. If some rules are scoped, every batch is
+   * checked only by the rules relevant for its creators
+   */
+  @Override
+  public synchronized List<ValidationResult> validateAll(
+      List<TransactionBatch> transactionBatches) {
+    final ValidationResult[] results = new ValidationResult[transactionBatches.size()];
+    Arrays.fill(results, ValidationResult.VALIDATED);
+    final long startTime = System.nanoTime();
+    try {
+      if (!hasScopedRules) {
+        evaluateAll(evaluationOrder, transactionBatches, results, startTime);
+        return complete(transactionBatches, results);
+      }
+      final Map<List<RankedRule>, List<Integer>> groups = new IdentityHashMap<>();
+      for (int i = 0; i < transactionBatches.size(); i++) {
+        groups.computeIfAbsent(dispatch(transactionBatches.get(i)), order -> new ArrayList<>())
+            .add(i);
+      }
+      for (Map.Entry<List<RankedRule>, List<Integer>> group : groups.entrySet()) {
+        final List<Integer> indices = group.getValue();
+        if (indices.size() == results.length) {
+          evaluateAll(group.getKey(), transactionBatches, results, startTime);
+          break;
+        }
+        final List<TransactionBatch> groupBatches = new ArrayList<>(indices.size());
+        final ValidationResult[] groupResults = new ValidationResult[indices.size()];
+        for (int k = 0; k < indices.size(); k++) {
+          groupBatches.add(transactionBatches.get(indices.get(k)));
+          groupResults[k] = results[indices.get(k)];
+        }
+        evaluateAll(group.getKey(), groupBatches, groupResults, startTime);
+        for (int k = 0; k < indices.size(); k++) {
+          results[indices.get(k)] = groupResults[k];
+        }
+      }
+      return complete(transactionBatches, results);
+    } finally {
+      countValidations(results.length);
+      publishStatistics();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized void rollback(TransactionBatch transactionBatch) {
+    for (ReservingRule reservingRule : reservingRules) {
+      reservingRule.release(transactionBatch);
+    }
+  }
+
+  private List<ValidationResult> complete(List<TransactionBatch> transactionBatches,
+      ValidationResult[] results) {
+    rollbackRejected(transactionBatches, results);
+    final List<ValidationResult> validationResults = Arrays.asList(results);
+    if (shadowRuleEvaluator != null) {
+      shadowRuleEvaluator.submit(transactionBatches, validationResults);
+    }
+    return validationResults;
+  }
+
+  /**
+   * A reserving rule may have validated a batch rejected by another rule evaluated concurrently or
+   * afterwards, so its reservation is returned
+   */
+  private void rollbackRejected(List<TransactionBatch> transactionBatches,
+      ValidationResult[] results) {
+    if (reservingRules.isEmpty()) {
+      return;
+    }
+    for (int i = 0; i < results.length; i++) {
+      if (results[i].getStatus() == Verdict.REJECTED) {
+        rollback(transactionBatches.get(i));
+      }
+    }
+  }
+
+  private void evaluateAll(List<RankedRule> order,
+      List<TransactionBatch> transactionBatches,
+      ValidationResult[] results,
+      long startTime) {
+    int i = 0;
+    while (i < order.size()) {
+      final RankedRule rankedRule = order.get(i);
+      if (parallelRuleEvaluator != null && isConcurrent(rankedRule)) {
+        int end = i + 1;
+        while (end < order.size() && isConcurrent(order.get(end))) {
+          end++;
+        }
+        parallelRuleEvaluator.evaluate(order.subList(i, end), transactionBatches, results,
+            startTime);
+        i = end;
+      } else if (ruleTimeBudget != null && isCancellable(rankedRule)) {
+        // the rule still runs alone but on the executor to have the budget enforced
+        parallelRuleEvaluator.evaluate(Collections.singletonList(rankedRule),
+            transactionBatches, results, startTime);
+        i++;
+      } else {
+        evaluate(rankedRule, transactionBatches, results);
+        i++;
+      }
+    }
+  }
+
+  private static boolean isConcurrent(RankedRule rankedRule) {
+    return rankedRule.getRule().getOrderingConstraint() == RuleOrderingConstraint.ADAPTIVE
+        && isCancellable(rankedRule);
+  }
+
+  /**
+   * Rules having side effects must not be interrupted, an interrupted rule may have consumed a
+   * shared resource such as a withdrawal limit without its verdict being taken into account
+   */
+  private static boolean isCancellable(RankedRule rankedRule) {
+    final Rule rule = rankedRule.getRule();
+    final Rule unwrapped = rule instanceof ScopedRule ? ((ScopedRule) rule).getRule() : rule;
+    return rule.getOrderingConstraint() != RuleOrderingConstraint.LAST
+        && !(unwrapped instanceof ReservingRule);
+  }
+
+  /**
+   * Finds the rules relevant for the batch. Orders of single creator batches are taken from the
+   * dispatch table filled lazily per domain, or per account if some rule is scoped to the account
+   *
+   * @param transactionBatch batch to be validated
+   * @return evaluation order of the rules relevant for the batch creators
+   */
+  private List<RankedRule> dispatch(TransactionBatch transactionBatch) {
+    String creator = null;
+    Set<String> creators = null;
+    for (Transaction transaction : transactionBatch) {
+      final String accountId = transaction.getPayload().getReducedPayload().getCreatorAccountId();
+      if (creator == null) {
+        creator = accountId;
+      } else if (!creator.equals(accountId)) {
+        if (creators == null) {
+          creators = new HashSet<>();
+          creators.add(creator);
         }
+        creators.add(accountId);
+      }
+    }
+    if (creator == null) {
+      return evaluationOrder;
+    }
+    if (creators == null) {
+      final String singleCreator = creator;
+      return dispatchTable.computeIfAbsent(
+          scopedAccounts.contains(creator) ? creator : RuleScope.getDomain(creator),
+          key -> filterEvaluationOrder(Collections.singleton(singleCreator))
+      );
+    }
+    // batches of several users are rare, their orders are not cached
+    return filterEvaluationOrder(creators);
+  }
+
+  private List<RankedRule> filterEvaluationOrder(Set<String> creators) {
+    final List<RankedRule> order = new ArrayList<>(evaluationOrder.size());
+    for (RankedRule rankedRule : evaluationOrder) {
+      final RuleScope scope = rankedRule.getRule().getScope();
+      if (scope.isGlobal() || creators.stream().anyMatch(scope::appliesTo)) {
+        order.add(rankedRule);
+      }
+    }
+    return order;
+  }
+
+  private static void evaluate(RankedRule rankedRule,
+      List<TransactionBatch> transactionBatches,
+      ValidationResult[] results) {
+    final List<Integer> remaining = getNotRejected(results);
+    if (remaining.isEmpty()) {
+      return;
+    }
+    final RuleOutcome outcome = RuleOutcome.evaluate(rankedRule.getBatchRule(), remaining,
+        transactionBatches);
+    outcome.recordTo(rankedRule);
+    for (int k = 0; k < remaining.size(); k++) {
+      if (outcome.isRejected(k)) {
+        results[remaining.get(k)] = outcome.getResult(k);
+      }
+    }
+  }
+
+  static List<Integer> getNotRejected(ValidationResult[] results) {
+    final List<Integer> remaining = new ArrayList<>(results.length);
+    for (int i = 0; i < results.length; i++) {
+      if (results[i].getStatus() != Verdict.REJECTED) {
+        remaining.add(i);
+      }
+    }
+    return remaining;
+  }
+
+  private static TransactionBatch toBatch(Iterable<Transaction> transactions) {
+    if (transactions instanceof TransactionBatch) {
+      return (TransactionBatch) transactions;
+    }
+    final List<Transaction> transactionList = new ArrayList<>();
+    transactions.forEach(transactionList::add);
+    return new TransactionBatch(transactionList);
+  }
+
+  private void countValidations(int count) {
+    validationsSinceReordering += count;
+    if (validationsSinceReordering >= reorderingPeriod) {
+      reorder();
+      rules.values().forEach(rankedRule -> rankedRule.decay(DECAY_FACTOR));
+    }
+  }
+
+  private void reorder() {
+    final List<RankedRule> order = new ArrayList<>(rules.values());
+    order.sort(RankedRule.EVALUATION_ORDER);
+    evaluationOrder = order;
+    validationsSinceReordering = 0;
+    // the dispatch table is derived from the evaluation order
+    dispatchTable.clear();
+    scopedAccounts = new HashSet<>();
+    hasScopedRules = false;
+    reservingRules = new ArrayList<>();
+    for (RankedRule rankedRule : order) {
+      final Rule rule = rankedRule.getRule();
+      final RuleScope scope = rule.getScope();
+      if (!scope.isGlobal()) {
+        hasScopedRules = true;
+        scopedAccounts.addAll(scope.getAccounts());
+      }
+      final Rule unwrapped = rule instanceof ScopedRule ? ((ScopedRule) rule).getRule() : rule;
+      if (unwrapped instanceof ReservingRule) {
+        reservingRules.add((ReservingRule) unwrapped);
       }
     }
-    return ValidationResult.VALIDATED;
   }
 
   /**
@@ -47,7 +393,10 @@ public class SimpleAggregationValidator implements Validator {
    */
   @Override
   public synchronized Rule putRule(String name, Rule rule) {
-    return rules.put(name, rule);
+    final RankedRule previous = rules.put(name, new RankedRule(name, rule));
+    reorder();
+    publishStatistics();
+    return previous == null ? null : previous.getRule();
   }
 
   /**
@@ -55,7 +404,10 @@ public class SimpleAggregationValidator implements Validator {
    */
   @Override
   public synchronized Rule removeRule(String name) {
-    return rules.remove(name);
+    final RankedRule previous = rules.remove(name);
+    reorder();
+    publishStatistics();
+    return previous == null ? null : previous.getRule();
   }
 
   /**
@@ -65,4 +417,60 @@ public class SimpleAggregationValidator implements Validator {
   public synchronized Set<String> getRuleNames() {
     return rules.keySet();
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Rule putShadowRule(String name, Rule rule) {
+    if (shadowRuleEvaluator == null) {
+      return Validator.super.putShadowRule(name, rule);
+    }
+    return shadowRuleEvaluator.putRule(name, rule);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Rule removeShadowRule(String name) {
+    return shadowRuleEvaluator == null ? null : shadowRuleEvaluator.removeRule(name);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<String> getShadowRuleNames() {
+    return shadowRuleEvaluator == null
+        ? Collections.emptySet()
+        : shadowRuleEvaluator.getRuleNames();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<ShadowRuleStatistics> getShadowRuleStatistics() {
+    return shadowRuleEvaluator == null
+        ? Collections.emptyList()
+        : shadowRuleEvaluator.getStatistics();
+  }
+
+  /**
+   * {@inheritDoc} The snapshot published by the last validation or rules update is returned
+   * without locking
+   */
+  @Override
+  public List<RuleStatistics> getRuleStatistics() {
+    return ruleStatistics;
+  }
+
+  private void publishStatistics() {
+    final List<RuleStatistics> statistics = new ArrayList<>(evaluationOrder.size());
+    for (int i = 0; i < evaluationOrder.size(); i++) {
+      statistics.add(evaluationOrder.get(i).toStatistics(i));
+    }
+    ruleStatistics = Collections.unmodifiableList(statistics);
+  }
 }
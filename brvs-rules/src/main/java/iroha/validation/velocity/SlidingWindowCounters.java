@@ -0,0 +1,277 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.velocity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per account sliding window sums kept in preallocated primitive ring buffers. The window is split
+ * into buckets, every account slot holds one ring of bucket values, so adding and summing never
+ * allocate. Memory is bounded by the capacity: slots of the accounts idle for a whole window are
+ * reused, and if all the slots of a segment are held by active accounts, new accounts are refused
+ * rather than resetting the window of an active one. Slots are split into segments guarded by their
+ * own locks, so concurrent updates of different accounts rarely contend. Every segment indexes its
+ * slots by an open addressing hash table, so lookups do not depend on the segment size
+ */
+public class SlidingWindowCounters {
+
+  private static final Logger logger = LoggerFactory.getLogger(SlidingWindowCounters.class);
+  private static final int SEGMENTS = 64;
+
+  private final long bucketMillis;
+  private final int buckets;
+  private final int segmentSize;
+  private final int tableMask;
+  private final Object[] locks = new Object[SEGMENTS];
+  // linear probing tables of all the segments, slot + 1 per entry or 0 if empty
+  private final int[] tables;
+  private final int[] allocated = new int[SEGMENTS];
+  private final String[] owners;
+  private final long[] lastUpdates;
+  // ring buffers of all the slots, bucket values and the time indices the values belong to
+  private final long[] values;
+  private final long[] bucketIndices;
+  private final AtomicLong overflows = new AtomicLong();
+
+  /**
+   * @param windowMillis window length
+   * @param buckets amount of buckets the window is split into, the window slides by one bucket
+   * @param capacity maximum amount of accounts tracked at once
+   */
+  public SlidingWindowCounters(long windowMillis, int buckets, int capacity) {
+    if (buckets < 1) {
+      throw new IllegalArgumentException("Buckets amount must be positive, got " + buckets);
+    }
+    if (windowMillis < buckets) {
+      throw new IllegalArgumentException(
+          "Window must be at least 1ms per bucket, got " + windowMillis + "ms"
+      );
+    }
+    if (capacity < SEGMENTS) {
+      throw new IllegalArgumentException(
+          "Capacity must be at least " + SEGMENTS + ", got " + capacity
+      );
+    }
+    this.bucketMillis = windowMillis / buckets;
+    this.buckets = buckets;
+    this.segmentSize = (capacity + SEGMENTS - 1) / SEGMENTS;
+    // at most half full, so probing is short and always reaches an empty entry
+    final int tableSize = Integer.highestOneBit(segmentSize * 2 - 1) << 1;
+    this.tableMask = tableSize - 1;
+    this.tables = new int[tableSize * SEGMENTS];
+    final int slots = segmentSize * SEGMENTS;
+    this.owners = new String[slots];
+    this.lastUpdates = new long[slots];
+    this.values = new long[slots * buckets];
+    this.bucketIndices = new long[slots * buckets];
+    for (int i = 0; i < SEGMENTS; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  /**
+   * @param accountId account
+   * @param timestamp current time
+   * @return sum of the values added within the window ending at the time given
+   */
+  public long sum(String accountId, long timestamp) {
+    final int segment = segmentOf(accountId);
+    synchronized (locks[segment]) {
+      final int slot = find(segment, accountId);
+      return slot < 0 ? 0 : sum(slot, timestamp / bucketMillis);
+    }
+  }
+
+  /**
+   * @param accountId account
+   * @return true if the account holds a slot
+   */
+  public boolean isTracked(String accountId) {
+    final int segment = segmentOf(accountId);
+    synchronized (locks[segment]) {
+      return find(segment, accountId) >= 0;
+    }
+  }
+
+  /**
+   * Adds the value unless the window sum would exceed the limit or there is no slot for the account
+   *
+   * @param accountId account
+   * @param value value to add
+   * @param limit maximum window sum
+   * @param timestamp current time
+   * @return true if the value is added
+   */
+  public boolean tryAdd(String accountId, long value, long limit, long timestamp) {
+    final long bucketIndex = timestamp / bucketMillis;
+    final int segment = segmentOf(accountId);
+    synchronized (locks[segment]) {
+      final int slot = findOrAllocate(segment, accountId, timestamp);
+      if (slot < 0 || sum(slot, bucketIndex) + value > limit) {
+        return false;
+      }
+      add(slot, value, bucketIndex);
+      lastUpdates[slot] = Math.max(lastUpdates[slot], timestamp);
+      return true;
+    }
+  }
+
+  /**
+   * Adds the value at the time given, i.e. to account a transaction committed without being
+   * validated here. Values older than the window or of accounts there is no slot for are ignored
+   *
+   * @param accountId account
+   * @param value value to add, negative to correct values added before
+   * @param timestamp time the value belongs to
+   */
+  public void add(String accountId, long value, long timestamp) {
+    final long bucketIndex = timestamp / bucketMillis;
+    final int segment = segmentOf(accountId);
+    synchronized (locks[segment]) {
+      final int slot = value < 0
+          ? find(segment, accountId)
+          : findOrAllocate(segment, accountId, timestamp);
+      if (slot < 0) {
+        return;
+      }
+      add(slot, value, bucketIndex);
+      lastUpdates[slot] = Math.max(lastUpdates[slot], timestamp);
+    }
+  }
+
+  /**
+   * @return amount of updates refused because all the slots of the segment were held by accounts
+   * active within the window
+   */
+  public long getOverflows() {
+    return overflows.get();
+  }
+
+  public long getWindowMillis() {
+    return bucketMillis * buckets;
+  }
+
+  private int segmentOf(String accountId) {
+    return spread(accountId) % SEGMENTS;
+  }
+
+  private static int spread(String accountId) {
+    final int hash = accountId.hashCode();
+    return (hash ^ (hash >>> 16)) & 0x7fffffff;
+  }
+
+  private int probeStart(String accountId) {
+    // the lowest bits select the segment already
+    return Integer.rotateRight(spread(accountId), 6) & tableMask;
+  }
+
+  private int find(int segment, String accountId) {
+    final int base = segment * (tableMask + 1);
+    for (int position = probeStart(accountId); ; position = (position + 1) & tableMask) {
+      final int entry = tables[base + position];
+      if (entry == 0) {
+        return -1;
+      }
+      if (accountId.equals(owners[entry - 1])) {
+        return entry - 1;
+      }
+    }
+  }
+
+  private int findOrAllocate(int segment, String accountId, long timestamp) {
+    final int found = find(segment, accountId);
+    if (found >= 0) {
+      return found;
+    }
+    final int from = segment * segmentSize;
+    if (allocated[segment] < segmentSize) {
+      final int slot = from + allocated[segment]++;
+      reset(slot, accountId);
+      insert(segment, slot);
+      return slot;
+    }
+    int leastRecentlyUsed = from;
+    for (int slot = from + 1; slot < from + segmentSize; slot++) {
+      if (lastUpdates[slot] < lastUpdates[leastRecentlyUsed]) {
+        leastRecentlyUsed = slot;
+      }
+    }
+    if (lastUpdates[leastRecentlyUsed] > timestamp - getWindowMillis()) {
+      // resetting an active account would let it spend its limit again
+      if (overflows.getAndIncrement() % 1000 == 0) {
+        logger.warn("Velocity counters capacity is exceeded, refusing account {}", accountId);
+      }
+      return -1;
+    }
+    remove(segment, leastRecentlyUsed);
+    reset(leastRecentlyUsed, accountId);
+    insert(segment, leastRecentlyUsed);
+    return leastRecentlyUsed;
+  }
+
+  private void insert(int segment, int slot) {
+    final int base = segment * (tableMask + 1);
+    int position = probeStart(owners[slot]);
+    while (tables[base + position] != 0) {
+      position = (position + 1) & tableMask;
+    }
+    tables[base + position] = slot + 1;
+  }
+
+  private void remove(int segment, int slot) {
+    final int base = segment * (tableMask + 1);
+    int hole = probeStart(owners[slot]);
+    while (tables[base + hole] != slot + 1) {
+      hole = (hole + 1) & tableMask;
+    }
+    // shift back the entries probed past the removed one, so lookups never stop early
+    for (int position = (hole + 1) & tableMask; tables[base + position] != 0;
+        position = (position + 1) & tableMask) {
+      final int entry = tables[base + position];
+      final int start = probeStart(owners[entry - 1]);
+      if (((position - start) & tableMask) >= ((position - hole) & tableMask)) {
+        tables[base + hole] = entry;
+        hole = position;
+      }
+    }
+    tables[base + hole] = 0;
+  }
+
+  private void reset(int slot, String accountId) {
+    owners[slot] = accountId;
+    lastUpdates[slot] = 0;
+    final int offset = slot * buckets;
+    for (int i = offset; i < offset + buckets; i++) {
+      values[i] = 0;
+      bucketIndices[i] = 0;
+    }
+  }
+
+  private long sum(int slot, long currentBucketIndex) {
+    final int offset = slot * buckets;
+    final long oldest = currentBucketIndex - buckets;
+    long sum = 0;
+    for (int i = offset; i < offset + buckets; i++) {
+      if (bucketIndices[i] > oldest && bucketIndices[i] <= currentBucketIndex) {
+        sum += values[i];
+      }
+    }
+    return sum;
+  }
+
+  private void add(int slot, long value, long bucketIndex) {
+    final int position = slot * buckets + (int) (bucketIndex % buckets);
+    if (bucketIndices[position] == bucketIndex) {
+      values[position] += value;
+    } else if (bucketIndices[position] < bucketIndex && value > 0) {
+      bucketIndices[position] = bucketIndex;
+      values[position] = value;
+    }
+    // otherwise the bucket already belongs to a newer time and the value is out of the window
+  }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.velocity;
+
+import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.TransferAsset;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.validation.rules.ReservingRule;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.verdict.ValidationResult;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import jp.co.soramitsu.iroha.java.Utils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Per account sliding window limit of outgoing transfers of an asset, i.e. "at most 1000 XOR per
+ * hour" or "at most 10 transfers per minute". Validated transactions are charged to the source
+ * accounts at once, batches rejected afterwards are returned and committed transactions that have
+ * not been validated here are added by {@link #commit(List)}. Amounts are counted in units of the
+ * limit scale rounded up, so a limit of {@code 1000.00} counts hundredths. Charges are collected
+ * into a per thread scratch charge and copied only to be kept pending, and pending charges are
+ * keyed by the transaction hash bytes rather than their hex strings
+ */
+public class VelocityRule implements ReservingRule {
+
+  public enum Metric {
+    /**
+     * Sum of the amounts transferred
+     */
+    AMOUNT,
+    /**
+     * Number of transfers
+     */
+    COUNT
+  }
+
+  private static final long MAX_UNITS = Long.MAX_VALUE >> 2;
+
+  private final String assetId;
+  private final Metric metric;
+  private final BigDecimal limit;
+  private final int scale;
+  private final long limitUnits;
+  private final SlidingWindowCounters counters;
+  // charges of the validated transactions not committed yet
+  private final ConcurrentMap<HashKey, Charge> pendingCharges = new ConcurrentHashMap<>();
+  private final ThreadLocal<Charge> scratchCharges = ThreadLocal.withInitial(Charge::new);
+
+  /**
+   * @param assetId asset to limit transfers of
+   * @param metric amount or count
+   * @param limit maximum per window
+   * @param windowSeconds window length
+   * @param buckets amount of buckets the window is split into
+   * @param capacity maximum amount of accounts active within a window, transfers of other accounts
+   * are rejected while it is exceeded
+   */
+  public VelocityRule(String assetId,
+      String metric,
+      String limit,
+      String windowSeconds,
+      String buckets,
+      String capacity) {
+    this(
+        assetId,
+        Metric.valueOf(metric.toUpperCase()),
+        new BigDecimal(limit),
+        TimeUnit.SECONDS.toMillis(Long.parseLong(windowSeconds)),
+        Integer.parseInt(buckets),
+        Integer.parseInt(capacity)
+    );
+  }
+
+  public VelocityRule(String assetId,
+      Metric metric,
+      BigDecimal limit,
+      long windowMillis,
+      int buckets,
+      int capacity) {
+    if (StringUtils.isEmpty(assetId)) {
+      throw new IllegalArgumentException("Asset ID must not be neither null nor empty");
+    }
+    Objects.requireNonNull(metric, "Metric must not be null");
+    Objects.requireNonNull(limit, "Limit must not be null");
+    if (limit.signum() < 0) {
+      throw new IllegalArgumentException("Limit must not be negative, got " + limit);
+    }
+
+    this.assetId = assetId;
+    this.metric = metric;
+    this.limit = limit;
+    this.scale = metric == Metric.COUNT ? 0 : Math.max(limit.scale(), 0);
+    this.limitUnits = toUnits(limit);
+    this.counters = new SlidingWindowCounters(windowMillis, buckets, capacity);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ValidationResult isSatisfiedBy(Transaction transaction) {
+    final Charge charge = scratchCharges.get();
+    if (!collectCharge(transaction, System.currentTimeMillis(), charge)) {
+      return ValidationResult.VALIDATED;
+    }
+    final HashKey hash = new HashKey(Utils.hash(transaction));
+    if (pendingCharges.containsKey(hash)) {
+      return ValidationResult.VALIDATED;
+    }
+    for (int i = 0; i < charge.size; i++) {
+      if (!counters.tryAdd(charge.accounts[i], charge.units[i], limitUnits, charge.timestamp)) {
+        for (int k = 0; k < i; k++) {
+          counters.add(charge.accounts[k], -charge.units[k], charge.timestamp);
+        }
+        if (!counters.isTracked(charge.accounts[i])) {
+          return ValidationResult.REJECTED(
+              "Velocity limit of " + assetId + " cannot be tracked for " + charge.accounts[i]
+                  + ", the counters capacity is exceeded"
+          );
+        }
+        return ValidationResult.REJECTED(
+            "Transfers of " + assetId + " by " + charge.accounts[i]
+                + " exceed the velocity limit of " + limit.toPlainString()
+                + (metric == Metric.COUNT ? " transfers" : "") + " per "
+                + TimeUnit.MILLISECONDS.toSeconds(counters.getWindowMillis()) + " seconds"
+        );
+      }
+    }
+    final Charge pending = charge.copy();
+    if (pendingCharges.putIfAbsent(hash, pending) != null) {
+      // charged concurrently by another validation of the same transaction
+      pending.revert(counters);
+    }
+    return ValidationResult.VALIDATED;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void release(TransactionBatch transactionBatch) {
+    for (Transaction transaction : transactionBatch) {
+      final Charge charge = pendingCharges.remove(new HashKey(Utils.hash(transaction)));
+      if (charge != null) {
+        charge.revert(counters);
+      }
+    }
+  }
+
+  /**
+   * Corrects the counters according to the committed transactions. Transactions validated here are
+   * already charged, other ones are charged at their creation time
+   *
+   * @param committedTransactions transactions of a committed block
+   */
+  public void commit(List<Transaction> committedTransactions) {
+    final long deadline = System.currentTimeMillis() - counters.getWindowMillis();
+    final Charge charge = scratchCharges.get();
+    for (Transaction transaction : committedTransactions) {
+      final Charge pending = pendingCharges.remove(new HashKey(Utils.hash(transaction)));
+      if (pending != null) {
+        continue;
+      }
+      final boolean charged = collectCharge(
+          transaction,
+          transaction.getPayload().getReducedPayload().getCreatedTime(),
+          charge
+      );
+      if (charged && charge.timestamp >= deadline) {
+        for (int i = 0; i < charge.size; i++) {
+          counters.add(charge.accounts[i], charge.units[i], charge.timestamp);
+        }
+      }
+    }
+    // charges older than the window do not matter anymore, even if never committed
+    pendingCharges.values().removeIf(pending -> pending.timestamp < deadline);
+  }
+
+  /**
+   * @return amount of charges refused due to insufficient capacity of the counters
+   */
+  public long getOverflows() {
+    return counters.getOverflows();
+  }
+
+  /**
+   * @param charge {@link Charge} to collect the transfers of the asset into, it is reset first
+   * @return true if the transaction transfers the asset
+   */
+  private boolean collectCharge(Transaction transaction, long timestamp, Charge charge) {
+    charge.reset(timestamp);
+    final List<Command> commands = transaction.getPayload().getReducedPayload().getCommandsList();
+    for (Command command : commands) {
+      if (!command.hasTransferAsset()) {
+        continue;
+      }
+      final TransferAsset transfer = command.getTransferAsset();
+      if (!assetId.equals(transfer.getAssetId())) {
+        continue;
+      }
+      charge.add(
+          transfer.getSrcAccountId(),
+          metric == Metric.COUNT ? 1 : toUnits(new BigDecimal(transfer.getAmount()))
+      );
+    }
+    return charge.size > 0;
+  }
+
+  private long toUnits(BigDecimal amount) {
+    final BigInteger units = amount.setScale(scale, RoundingMode.CEILING).unscaledValue();
+    // saturated, so sums of absurd amounts exceed any limit without overflowing
+    return units.bitLength() < 62 ? units.longValue() : MAX_UNITS;
+  }
+
+  private static class Charge {
+
+    private long timestamp;
+    private String[] accounts = new String[1];
+    private long[] units = new long[1];
+    private int size;
+
+    private void reset(long timestamp) {
+      Arrays.fill(accounts, 0, size, null);
+      this.timestamp = timestamp;
+      this.size = 0;
+    }
+
+    private Charge copy() {
+      final Charge copy = new Charge();
+      copy.timestamp = timestamp;
+      copy.accounts = Arrays.copyOf(accounts, size);
+      copy.units = Arrays.copyOf(units, size);
+      copy.size = size;
+      return copy;
+    }
+
+    private void add(String accountId, long value) {
+      for (int i = 0; i < size; i++) {
+        if (accounts[i].equals(accountId)) {
+          units[i] += value;
+          return;
+        }
+      }
+      if (size == accounts.length) {
+        accounts = Arrays.copyOf(accounts, size * 2);
+        units = Arrays.copyOf(units, size * 2);
+      }
+      accounts[size] = accountId;
+      units[size] = value;
+      size++;
+    }
+
+    private void revert(SlidingWindowCounters counters) {
+      for (int i = 0; i < size; i++) {
+        counters.add(accounts[i], -units[i], timestamp);
+      }
+    }
+  }
+
+  /**
+   * Transaction hash compared by its bytes
+   */
+  private static final class HashKey {
+
+    private final byte[] hash;
+    private final int hashCode;
+
+    private HashKey(byte[] hash) {
+      this.hash = hash;
+      this.hashCode = Arrays.hashCode(hash);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof HashKey && Arrays.equals(hash, ((HashKey) o).hash);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
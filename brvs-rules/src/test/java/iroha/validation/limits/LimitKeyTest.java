@@ -0,0 +1,53 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.limits;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LimitKeyTest {
+
+  private static final String DETAIL_KEY_PATTERN = "[A-Za-z0-9_]{1,64}";
+
+  /**
+   * @given account limit keys with long hyphenated account ids differing only in their ends
+   * @when detail keys are built for them
+   * @then the detail keys are valid Iroha detail keys of the same length starting with the scope
+   * and the readable part of the id and are different
+   */
+  @Test
+  void longHyphenatedAccountIdTest() {
+    final String prefix = "very-long-account-name-of-a-user-with-hyphens-in-it";
+    final String first = LimitKey.account(prefix + "-1@sub-domain.sora").toDetailKey();
+    final String second = LimitKey.account(prefix + "-2@sub-domain.sora").toDetailKey();
+
+    assertTrue(first.matches(DETAIL_KEY_PATTERN), first);
+    assertTrue(second.matches(DETAIL_KEY_PATTERN), second);
+    assertTrue(first.startsWith("account_very_long_accoun_"), first);
+    assertEquals(first.length(), second.length());
+    assertNotEquals(first, second);
+  }
+
+  /**
+   * @given an asset limit key and a global one
+   * @when detail keys are built for them twice
+   * @then the detail keys are valid Iroha detail keys, stable and readable
+   */
+  @Test
+  void shortIdTest() {
+    final String asset = LimitKey.asset("xor#sora").toDetailKey();
+    final String global = LimitKey.global("daily").toDetailKey();
+
+    assertTrue(asset.matches(DETAIL_KEY_PATTERN), asset);
+    assertTrue(asset.startsWith("asset_xor_sora_"), asset);
+    assertEquals(asset, LimitKey.parse("asset:xor#sora").toDetailKey());
+    assertTrue(global.matches(DETAIL_KEY_PATTERN), global);
+    assertTrue(global.startsWith("global_daily_"), global);
+  }
+}
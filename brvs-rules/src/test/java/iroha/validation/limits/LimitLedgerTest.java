@@ -0,0 +1,168 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.limits;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class LimitLedgerTest {
+
+  private static final LimitKey ASSET = LimitKey.asset("xor#sora");
+  private static final LimitKey ACCOUNT = LimitKey.account("user@sora");
+
+  /**
+   * @given {@link LimitLedger} with an asset limit of 100
+   * @when 1000 transactions reserve 1 concurrently
+   * @then exactly 100 reservations succeed and the limit is fully used
+   */
+  @Test
+  void concurrentReservationsTest() throws Exception {
+    final LimitLedger ledger = new LimitLedger("asset:xor#sora=100");
+    final ExecutorService executorService = Executors.newFixedThreadPool(8);
+    try {
+      final List<Callable<Boolean>> tasks = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+        final String hash = "hash" + i;
+        tasks.add(() -> ledger.reserve(hash, amounts(ASSET, "1")) == null);
+      }
+      int reserved = 0;
+      for (Future<Boolean> result : executorService.invokeAll(tasks)) {
+        if (result.get()) {
+          reserved++;
+        }
+      }
+      assertEquals(100, reserved);
+      assertEquals(0, new BigDecimal("100").compareTo(ledger.getUsed(ASSET)));
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  /**
+   * @given {@link LimitLedger} with an asset limit of 100 and an account limit of 10
+   * @when a transaction exceeding the account limit reserves both keys
+   * @then nothing is reserved and the account key is reported
+   */
+  @Test
+  void allOrNothingTest() {
+    final LimitLedger ledger = new LimitLedger();
+    ledger.setLimit(ASSET, new BigDecimal("100"));
+    ledger.setLimit(ACCOUNT, BigDecimal.TEN);
+
+    final Map<LimitKey, BigDecimal> amounts = amounts(ASSET, "11");
+    amounts.put(ACCOUNT, new BigDecimal("11"));
+
+    assertEquals(ACCOUNT, ledger.reserve("hash", amounts));
+    assertEquals(0, BigDecimal.ZERO.compareTo(ledger.getUsed(ASSET)));
+    assertEquals(0, BigDecimal.ZERO.compareTo(ledger.getUsed(ACCOUNT)));
+    assertEquals(0, ledger.getReservationsCount());
+  }
+
+  /**
+   * @given {@link LimitLedger} with a reservation of 60 out of 100
+   * @when the reservation is reserved again, released twice and confirmed after another one
+   * @then the counter is charged once, returned once and kept when confirmed
+   */
+  @Test
+  void releaseAndConfirmTest() {
+    final LimitLedger ledger = new LimitLedger("asset:xor#sora=100");
+
+    assertNull(ledger.reserve("first", amounts(ASSET, "60")));
+    assertNull(ledger.reserve("first", amounts(ASSET, "60")));
+    assertEquals(ASSET, ledger.reserve("second", amounts(ASSET, "60")));
+
+    assertTrue(ledger.release("first"));
+    assertFalse(ledger.release("first"));
+    assertEquals(0, BigDecimal.ZERO.compareTo(ledger.getUsed(ASSET)));
+
+    assertNull(ledger.reserve("second", amounts(ASSET, "60")));
+    assertTrue(ledger.confirm("second"));
+    assertFalse(ledger.release("second"));
+    assertEquals(0, new BigDecimal("60").compareTo(ledger.getUsed(ASSET)));
+  }
+
+  /**
+   * @given {@link LimitLedger} with a reservation
+   * @when reservations older than a negative age are expired
+   * @then the reservation is released
+   */
+  @Test
+  void expireTest() {
+    final LimitLedger ledger = new LimitLedger("asset:xor#sora=100");
+    assertNull(ledger.reserve("hash", amounts(ASSET, "60")));
+
+    assertEquals(0, ledger.expire(60_000).size());
+    assertEquals(1, ledger.expire(-1).size());
+    assertEquals(0, BigDecimal.ZERO.compareTo(ledger.getUsed(ASSET)));
+  }
+
+  /**
+   * @given {@link LimitLedger} with a reservation of 60 out of 100
+   * @when the ledger is snapshotted before and after the reservation is confirmed
+   * @then only the confirmed amount is included
+   */
+  @Test
+  void snapshotTest() {
+    final LimitLedger ledger = new LimitLedger("asset:xor#sora=100");
+    assertNull(ledger.reserve("hash", amounts(ASSET, "60")));
+
+    assertEquals(0, BigDecimal.ZERO.compareTo(ledger.snapshot().get(ASSET)));
+    assertTrue(ledger.confirm("hash"));
+    assertEquals(0, new BigDecimal("60").compareTo(ledger.snapshot().get(ASSET)));
+  }
+
+  /**
+   * @given {@link LimitLedger} with a reservation of 60 out of 100
+   * @when a committed transaction of 70 without a reservation is charged
+   * @then the amount is charged regardless of the limit and stays charged
+   */
+  @Test
+  void chargeTest() {
+    final LimitLedger ledger = new LimitLedger("asset:xor#sora=100");
+    assertNull(ledger.reserve("hash", amounts(ASSET, "60")));
+
+    ledger.charge(amounts(ASSET, "70"));
+
+    assertEquals(0, new BigDecimal("130").compareTo(ledger.getUsed(ASSET)));
+    assertEquals(0, new BigDecimal("70").compareTo(ledger.getConfirmed(ASSET)));
+    assertTrue(ledger.release("hash"));
+    assertEquals(0, new BigDecimal("70").compareTo(ledger.getUsed(ASSET)));
+  }
+
+  /**
+   * @given {@link LimitLedger} with an asset limit of 100 and 50 used
+   * @when a transaction of 60 is reserved twice
+   * @then both attempts report the exceeded key
+   */
+  @Test
+  void repeatedFailedReservationTest() {
+    final LimitLedger ledger = new LimitLedger("asset:xor#sora=100");
+    ledger.setUsed(ASSET, new BigDecimal("50"));
+
+    assertEquals(ASSET, ledger.reserve("hash", amounts(ASSET, "60")));
+    assertEquals(ASSET, ledger.reserve("hash", amounts(ASSET, "60")));
+    assertEquals(0, ledger.getReservationsCount());
+  }
+
+  private static Map<LimitKey, BigDecimal> amounts(LimitKey key, String amount) {
+    final Map<LimitKey, BigDecimal> amounts = new HashMap<>();
+    amounts.put(key, new BigDecimal(amount));
+    return amounts;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.rules.declarative;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.RemoveSignatory;
+import iroha.protocol.Commands.SetAccountQuorum;
+import iroha.protocol.Commands.TransferAsset;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.protocol.TransactionOuterClass.Transaction.Payload;
+import iroha.protocol.TransactionOuterClass.Transaction.Payload.ReducedPayload;
+import iroha.validation.rules.Rule;
+import iroha.validation.rules.RuleOrderingConstraint;
+import iroha.validation.verdict.ValidationResult;
+import iroha.validation.verdict.Verdict;
+import org.junit.jupiter.api.Test;
+
+class DeclarativeRuleTest {
+
+  private static final String ASSET_ID = "xor#sora";
+
+  private static Transaction transaction(String creator, Command... commands) {
+    final ReducedPayload.Builder reducedPayload = ReducedPayload.newBuilder()
+        .setCreatorAccountId(creator);
+    for (Command command : commands) {
+      reducedPayload.addCommands(command);
+    }
+    return Transaction.newBuilder()
+        .setPayload(Payload.newBuilder().setReducedPayload(reducedPayload))
+        .build();
+  }
+
+  private static Command transfer(String assetId, String amount) {
+    return Command.newBuilder()
+        .setTransferAsset(TransferAsset.newBuilder().setAssetId(assetId).setAmount(amount))
+        .build();
+  }
+
+  /**
+   * @given {@link DecimalThreshold} of 1000.5
+   * @when Amounts of different formats are compared with it
+   * @then The results are the same as of {@link java.math.BigDecimal} comparison
+   */
+  @Test
+  void decimalThresholdTest() {
+    final DecimalThreshold threshold = new DecimalThreshold("1000.50");
+
+    assertFalse(threshold.isExceededBy("1000.5"));
+    assertFalse(threshold.isExceededBy("0001000.500000"));
+    assertFalse(threshold.isExceededBy("999.99999"));
+    assertFalse(threshold.isExceededBy("0"));
+    assertTrue(threshold.isExceededBy("1000.500001"));
+    assertTrue(threshold.isExceededBy("1000.6"));
+    assertTrue(threshold.isExceededBy("10000"));
+    assertTrue(threshold.isExceededBy("1.0006e3"));
+    assertTrue(new DecimalThreshold("0").isExceededBy("0.01"));
+    assertFalse(new DecimalThreshold("0").isExceededBy("0.00"));
+  }
+
+  /**
+   * @given Declarative rule blocking transfers of xor#sora above 1000 from the sora domain
+   * @when Transactions with different transfers and creators are validated
+   * @then Only the transaction matching all the conditions is rejected with the configured reason
+   */
+  @Test
+  void transferVolumeRuleTest() {
+    final Rule rule = DeclarativeRuleParser.parse("{\n"
+        + "  \"reason\": \"Too much\",\n"
+        + "  \"ordering\": \"first\",\n"
+        + "  \"reject\": {\"type\": \"all\", \"of\": [\n"
+        + "    {\"type\": \"creatorDomain\", \"domains\": [\"sora\"]},\n"
+        + "    {\"type\": \"anyCommand\", \"where\": {\"type\": \"transferAsset\",\n"
+        + "      \"assets\": [\"" + ASSET_ID + "\"], \"amountAbove\": \"1000\"}}\n"
+        + "  ]}\n"
+        + "}");
+
+    assertEquals(RuleOrderingConstraint.FIRST, rule.getOrderingConstraint());
+    assertEquals(Verdict.VALIDATED,
+        rule.isSatisfiedBy(transaction("user@sora", transfer(ASSET_ID, "1000"))).getStatus());
+    assertEquals(Verdict.VALIDATED,
+        rule.isSatisfiedBy(transaction("user@sora", transfer("val#sora", "5000"))).getStatus());
+    assertEquals(Verdict.VALIDATED,
+        rule.isSatisfiedBy(transaction("user@notsora", transfer(ASSET_ID, "5000"))).getStatus());
+    final ValidationResult result = rule.isSatisfiedBy(
+        transaction("user@sora", transfer("val#sora", "1"), transfer(ASSET_ID, "1000.1"))
+    );
+    assertEquals(Verdict.REJECTED, result.getStatus());
+    assertEquals("Too much", result.getReason());
+  }
+
+  /**
+   * @given Declarative rule forbidding signatories removal and quorums not divisible by 2
+   * @when Transactions with such commands are validated
+   * @then They are rejected while other transactions are not
+   */
+  @Test
+  void commandRuleTest() {
+    final Rule rule = DeclarativeRuleParser.parse("{\"reject\": {\"type\": \"anyCommand\","
+        + " \"where\": {\"type\": \"any\", \"of\": ["
+        + "{\"type\": \"commandType\", \"types\": [\"remove_signatory\"]},"
+        + "{\"type\": \"quorumNotDivisibleBy\", \"divisor\": 2}"
+        + "]}}}");
+    final Command removeSignatory = Command.newBuilder()
+        .setRemoveSignatory(RemoveSignatory.newBuilder().setAccountId("user@sora"))
+        .build();
+    final Command oddQuorum = Command.newBuilder()
+        .setSetAccountQuorum(SetAccountQuorum.newBuilder().setAccountId("user@sora").setQuorum(3))
+        .build();
+    final Command evenQuorum = Command.newBuilder()
+        .setSetAccountQuorum(SetAccountQuorum.newBuilder().setAccountId("user@sora").setQuorum(4))
+        .build();
+
+    assertEquals(RuleOrderingConstraint.ADAPTIVE, rule.getOrderingConstraint());
+    assertEquals(Verdict.REJECTED,
+        rule.isSatisfiedBy(transaction("user@sora", removeSignatory)).getStatus());
+    assertEquals(Verdict.REJECTED,
+        rule.isSatisfiedBy(transaction("user@sora", oddQuorum)).getStatus());
+    assertEquals(Verdict.VALIDATED,
+        rule.isSatisfiedBy(transaction("user@sora", evenQuorum)).getStatus());
+  }
+
+  /**
+   * @given Invalid declarative rules
+   * @when They are parsed
+   * @then {@link IllegalArgumentException} is thrown
+   */
+  @Test
+  void invalidRuleTest() {
+    assertTrue(DeclarativeRuleParser.isDeclarative("  {\"reject\": {}}"));
+    assertFalse(DeclarativeRuleParser.isDeclarative("class SomeRule implements Rule {}"));
+    assertThrows(IllegalArgumentException.class, () -> DeclarativeRuleParser.parse("{}"));
+    assertThrows(IllegalArgumentException.class,
+        () -> DeclarativeRuleParser.parse("{\"reject\": {\"type\": \"unknown\"}}"));
+    assertThrows(IllegalArgumentException.class,
+        () -> DeclarativeRuleParser.parse("{\"reject\": {\"type\": \"anyCommand\","
+            + " \"where\": {\"type\": \"commandType\", \"types\": [\"no_such_command\"]}}}"));
+    assertThrows(IllegalArgumentException.class, () -> DeclarativeRuleParser.parse("{\"reject\""));
+  }
+}
@@ -11,8 +11,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import iroha.protocol.Commands.Command;
@@ -29,11 +32,13 @@ import iroha.validation.rules.impl.billing.BillingRule;
 import iroha.validation.rules.impl.core.MinimumSignatoriesAmountRule;
 import iroha.validation.rules.impl.core.RestrictedKeysRule;
 import iroha.validation.rules.impl.core.SampleRule;
+import iroha.validation.transactions.TransactionBatch;
 import iroha.validation.verdict.Verdict;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.security.KeyPair;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import jp.co.soramitsu.crypto.ed25519.Ed25519Sha3;
@@ -336,6 +341,33 @@ class RulesTest {
     assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(transaction).getStatus());
   }
 
+  /**
+   * @given {@link MinimumSignatoriesAmountRule} instance with 3 amount
+   * @when {@link TransactionBatch} of two {@link Transaction Transactions} each having a {@link
+   * Command RemoveSignatory} command from the same account having 4 signatories appears
+   * @then {@link MinimumSignatoriesAmountRule} is satisfied by every single {@link Transaction} but
+   * not by the {@link TransactionBatch} and signatories are queried once
+   */
+  @Test
+  void minimumSignatoriesAmountBatchRuleTest() {
+    init();
+    final String fakeAccountId = "id";
+    final QueryAPI queryAPI = mock(QueryAPI.class, RETURNS_DEEP_STUBS);
+    final MinimumSignatoriesAmountRule batchRule = new MinimumSignatoriesAmountRule("3", queryAPI);
+    final RemoveSignatory removeSignatory = mock(RemoveSignatory.class);
+    when(removeSignatory.getAccountId()).thenReturn(fakeAccountId);
+    when(queryAPI.getSignatories(fakeAccountId).getKeysCount()).thenReturn(4);
+    when(commands.get(0).getRemoveSignatory()).thenReturn(removeSignatory);
+    clearInvocations(queryAPI);
+
+    assertEquals(Verdict.VALIDATED, batchRule.isSatisfiedBy(transaction).getStatus());
+    assertEquals(Verdict.REJECTED,
+        batchRule.isSatisfiedBy(new TransactionBatch(Arrays.asList(transaction, transaction)))
+            .getStatus()
+    );
+    verify(queryAPI, times(2)).getSignatories(fakeAccountId);
+  }
+
   /**
    * @given {@link BillingRule} instance with billing data
    * @when {@link Transaction} with the proper {@link Command TransferAsset} command of 100
@@ -14,9 +14,9 @@ import static org.mockito.Mockito.when;
 import iroha.protocol.Commands.Command;
 import iroha.protocol.Commands.TransferAsset;
 import iroha.protocol.TransactionOuterClass.Transaction;
-import iroha.validation.rules.Rule;
 import iroha.validation.rules.impl.sora.XorWithdrawalLimitRule;
 import iroha.validation.rules.impl.sora.XorWithdrawalLimitRule.XorWithdrawalLimitRemainder;
+import iroha.validation.transactions.TransactionBatch;
 import iroha.validation.verdict.Verdict;
 import java.math.BigDecimal;
 import java.util.Collections;
@@ -30,14 +30,20 @@ class XorWithdrawalRuleTest {
   private BigDecimal amount;
   private TransferAsset transferAsset;
   private List<Command> commands;
-  private Rule rule;
+  private XorWithdrawalLimitRule rule;
+
+  private Transaction withdrawal(byte[] payload) {
+    final Transaction withdrawal = mock(Transaction.class, RETURNS_DEEP_STUBS);
+    when(withdrawal.getPayload().toByteArray()).thenReturn(payload);
+    when(withdrawal.getPayload().getReducedPayload().getCommandsList()).thenReturn(commands);
+    return withdrawal;
+  }
 
   private void init(boolean moreThanValid, boolean isDisabled) {
     final String withdrawalAccountId = "withdrawal@users";
     amount = new BigDecimal("100");
 
     // transfer mock
-    transaction = mock(Transaction.class, RETURNS_DEEP_STUBS);
     transferAsset = mock(TransferAsset.class);
 
     when(transferAsset.getSrcAccountId()).thenReturn("user@users");
@@ -53,12 +59,7 @@ class XorWithdrawalRuleTest {
 
     commands = Collections.singletonList(command);
 
-    when(transaction
-        .getPayload()
-        .getReducedPayload()
-        .getCommandsList()
-    )
-        .thenReturn(commands);
+    transaction = withdrawal(new byte[]{1});
 
     rule = new XorWithdrawalLimitRule(
         withdrawalAccountId,
@@ -107,4 +108,25 @@ class XorWithdrawalRuleTest {
 
     assertEquals(Verdict.REJECTED, rule.isSatisfiedBy(transaction).getStatus());
   }
+
+  /**
+   * @given {@link XorWithdrawalLimitRule} instance with limit of asset amount equal to 100
+   * @when the same {@link Transaction} withdrawing 100 "asset" is validated twice, another one
+   * withdrawing 100 "asset" is validated, then the batch of the first one is released and the other
+   * one is validated again
+   * @then the first {@link Transaction} is charged once, the other one is rejected until the
+   * reservation of the first one is returned
+   */
+  @Test
+  void releaseTransferTxVolumeRuleTest() {
+    init(false, false);
+    final Transaction other = withdrawal(new byte[]{2});
+
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(transaction).getStatus());
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(transaction).getStatus());
+    assertEquals(Verdict.REJECTED, rule.isSatisfiedBy(other).getStatus());
+
+    rule.release(new TransactionBatch(Collections.singletonList(transaction)));
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(other).getStatus());
+  }
 }
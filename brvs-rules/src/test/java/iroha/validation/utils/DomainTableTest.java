@@ -0,0 +1,57 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class DomainTableTest {
+
+  /**
+   * @given account and asset ids with and without domains
+   * @when they are parsed by {@link AccountIds}
+   * @then the same parts as splitting them are returned and ids without domains do not fail
+   */
+  @Test
+  void accountIdsTest() {
+    assertEquals("sora", AccountIds.getDomain("user@sora"));
+    assertEquals("user", AccountIds.getName("user@sora"));
+    assertEquals("sora", AccountIds.getAssetDomain("xor#sora"));
+    assertEquals("", AccountIds.getDomain("genesis"));
+    assertEquals("genesis", AccountIds.getName("genesis"));
+    assertTrue(AccountIds.isInDomain("user@sora", "sora"));
+    assertFalse(AccountIds.isInDomain("user@sora", "sor"));
+    assertFalse(AccountIds.isInDomain("user@soranet", "sora"));
+    assertFalse(AccountIds.isInDomain("genesis", ""));
+  }
+
+  /**
+   * @given {@link DomainTable} of several domains
+   * @when domains of account ids are looked up
+   * @then the instances stored in the table are returned for the domains it contains only
+   */
+  @Test
+  void lookupTest() {
+    final String sora = new String("sora");
+    final DomainTable domainTable = new DomainTable(Arrays.asList(
+        sora, "d3", "notary", "bank.sora", "xor"
+    ));
+
+    assertSame(sora, domainTable.lookup("user@sora"));
+    assertTrue(domainTable.containsDomainOf("user@bank.sora"));
+    assertTrue(domainTable.contains("d3"));
+    assertNull(domainTable.lookup("user@sor"));
+    assertNull(domainTable.lookup("user@soranet"));
+    assertNull(domainTable.lookup("genesis"));
+    assertFalse(DomainTable.EMPTY.containsDomainOf("user@sora"));
+  }
+}
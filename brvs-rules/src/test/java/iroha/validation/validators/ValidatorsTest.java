@@ -6,18 +6,47 @@
 package iroha.validation.validators;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.protocol.TransactionOuterClass.Transaction.Payload;
+import iroha.protocol.TransactionOuterClass.Transaction.Payload.ReducedPayload;
+import iroha.validation.rules.BatchRule;
+import iroha.validation.rules.PrefetchingRule;
 import iroha.validation.rules.Rule;
+import iroha.validation.rules.RuleOrderingConstraint;
+import iroha.validation.rules.RuleScope;
+import iroha.validation.rules.ScopedRule;
 import iroha.validation.rules.impl.core.SampleRule;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.validators.impl.RuleTimeBudget;
+import iroha.validation.validators.impl.RuleTimeBudget.OverrunPolicy;
+import iroha.validation.validators.impl.ShadowRuleEvaluator;
 import iroha.validation.validators.impl.SimpleAggregationValidator;
 import iroha.validation.verdict.ValidationResult;
 import iroha.validation.verdict.Verdict;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
 class ValidatorsTest {
@@ -62,4 +91,503 @@ class ValidatorsTest {
     assertEquals(Verdict.REJECTED,
         validator.validate(Collections.singleton(transaction)).getStatus());
   }
+
+  /**
+   * @given {@link SimpleAggregationValidator} instantiated with a slow rule never rejecting, a fast
+   * rule rejecting every transaction and a rule declared to be evaluated last
+   * @when Enough {@link Transaction Transactions} are validated to trigger the reordering
+   * @then The fast rejecting rule is evaluated first and the constrained rule is still the last one
+   */
+  @Test
+  void simpleAggregationValidatorReordersRulesTest() {
+    Map<String, Rule> rules = new HashMap<>();
+    rules.put("aSlowRule", transaction -> {
+      sleep(1);
+      return ValidationResult.VALIDATED;
+    });
+    rules.put("bRejectingRule", transaction -> ValidationResult.REJECTED(""));
+    rules.put("cLastRule", new Rule() {
+      @Override
+      public ValidationResult isSatisfiedBy(Transaction transaction) {
+        return ValidationResult.VALIDATED;
+      }
+
+      @Override
+      public RuleOrderingConstraint getOrderingConstraint() {
+        return RuleOrderingConstraint.LAST;
+      }
+    });
+    Validator validator = new SimpleAggregationValidator(rules, 10);
+
+    Transaction transaction = mock(Transaction.class);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(Verdict.REJECTED,
+          validator.validate(Collections.singleton(transaction)).getStatus());
+    }
+
+    List<String> order = validator.getRuleStatistics()
+        .stream()
+        .map(RuleStatistics::getName)
+        .collect(Collectors.toList());
+    assertEquals(Arrays.asList("bRejectingRule", "aSlowRule", "cLastRule"), order);
+  }
+
+  /**
+   * @given {@link SimpleAggregationValidator} with a rule blocked in the middle of a validation
+   * @when the rule statistics are read from another thread
+   * @then they are returned without waiting for the validation and are updated once it finishes
+   */
+  @Test
+  void simpleAggregationValidatorStatisticsWithoutLockingTest() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    Map<String, Rule> rules = new HashMap<>();
+    rules.put("blockingRule", transaction -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return ValidationResult.VALIDATED;
+    });
+    Validator validator = new SimpleAggregationValidator(rules);
+    final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    final Future<ValidationResult> validation = executorService.submit(
+        () -> validator.validate(Collections.singleton(mock(Transaction.class)))
+    );
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+
+    final List<RuleStatistics> statistics = CompletableFuture
+        .supplyAsync(validator::getRuleStatistics)
+        .get(5, TimeUnit.SECONDS);
+    assertEquals(0, statistics.get(0).getInvocations());
+
+    release.countDown();
+    assertEquals(Verdict.VALIDATED, validation.get(5, TimeUnit.SECONDS).getStatus());
+    assertEquals(1, validator.getRuleStatistics().get(0).getInvocations());
+    executorService.shutdownNow();
+  }
+
+  /**
+   * @given {@link SimpleAggregationValidator} instantiated with a rule rejecting one specific batch
+   * and a {@link PrefetchingRule}
+   * @when Three {@link TransactionBatch batches} are validated at once
+   * @then One verdict per batch is returned in order and the state is prefetched once for the two
+   * batches left after the first rule
+   */
+  @Test
+  void simpleAggregationValidatorValidateAllTest() {
+    final TransactionBatch first = new TransactionBatch(
+        Collections.singletonList(mock(Transaction.class)));
+    final TransactionBatch second = new TransactionBatch(
+        Collections.singletonList(mock(Transaction.class)));
+    final TransactionBatch third = new TransactionBatch(
+        Collections.singletonList(mock(Transaction.class)));
+    final List<Integer> prefetchedSizes = new ArrayList<>();
+    Map<String, Rule> rules = new HashMap<>();
+    rules.put("firstRule", new Rule() {
+      @Override
+      public ValidationResult isSatisfiedBy(Transaction transaction) {
+        return transaction == second.getTransactionList().get(0) ? ValidationResult.REJECTED("")
+            : ValidationResult.VALIDATED;
+      }
+
+      @Override
+      public RuleOrderingConstraint getOrderingConstraint() {
+        return RuleOrderingConstraint.FIRST;
+      }
+    });
+    rules.put("prefetchingRule", new PrefetchingRule() {
+      @Override
+      public BatchRule prefetch(Collection<TransactionBatch> transactionBatches) {
+        prefetchedSizes.add(transactionBatches.size());
+        return this;
+      }
+
+      @Override
+      public ValidationResult isSatisfiedBy(TransactionBatch transactionBatch) {
+        return ValidationResult.VALIDATED;
+      }
+    });
+    Validator validator = new SimpleAggregationValidator(rules);
+
+    final List<Verdict> verdicts = validator.validateAll(Arrays.asList(first, second, third))
+        .stream()
+        .map(ValidationResult::getStatus)
+        .collect(Collectors.toList());
+
+    assertEquals(Arrays.asList(Verdict.VALIDATED, Verdict.REJECTED, Verdict.VALIDATED), verdicts);
+    assertEquals(Collections.singletonList(2), prefetchedSizes);
+  }
+
+  /**
+   * @given {@link SimpleAggregationValidator} evaluating rules concurrently with a slow rule
+   * rejecting, a fast rule rejecting with another reason and a very slow rule after them
+   * @when Any {@link Transaction} is going to be validated by such a validator
+   * @then The {@link Transaction} is rejected with the reason of the first rule in the evaluation
+   * order and the very slow rule is cancelled instead of being awaited
+   */
+  @Test
+  void simpleAggregationValidatorParallelRulesTest() {
+    final ExecutorService executorService = Executors.newFixedThreadPool(3);
+    Map<String, Rule> rules = new HashMap<>();
+    rules.put("aSlowRule", transaction -> {
+      sleep(200);
+      return ValidationResult.REJECTED("a");
+    });
+    rules.put("bFastRule", transaction -> ValidationResult.REJECTED("b"));
+    rules.put("cVerySlowRule", transaction -> {
+      sleep(60_000);
+      return ValidationResult.VALIDATED;
+    });
+    Validator validator = new SimpleAggregationValidator(rules, 1000, executorService);
+
+    final long startTime = System.currentTimeMillis();
+    final ValidationResult validationResult = validator
+        .validate(Collections.singleton(mock(Transaction.class)));
+
+    assertEquals(Verdict.REJECTED, validationResult.getStatus());
+    assertEquals("a", validationResult.getReason());
+    assertTrue(System.currentTimeMillis() - startTime < 10_000);
+    executorService.shutdownNow();
+  }
+
+  /**
+   * @given {@link SimpleAggregationValidator} with a {@link RuleTimeBudget} of 100 ms and a rule
+   * never finishing in time
+   * @when Any {@link Transaction} is going to be validated with REJECT and SKIP overrun policies
+   * @then The {@link Transaction} is rejected and validated respectively and the overruns are
+   * counted
+   */
+  @Test
+  void simpleAggregationValidatorRuleTimeBudgetTest() {
+    final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    Map<String, Rule> rules = new HashMap<>();
+    rules.put("slowRule", transaction -> {
+      sleep(60_000);
+      return ValidationResult.VALIDATED;
+    });
+    final Transaction transaction = mock(Transaction.class);
+
+    Validator rejectingValidator = new SimpleAggregationValidator(rules, 1000, executorService,
+        new RuleTimeBudget(100, 1000, Collections.emptyMap(), OverrunPolicy.REJECT));
+    assertEquals(Verdict.REJECTED,
+        rejectingValidator.validate(Collections.singleton(transaction)).getStatus());
+    assertEquals(1, rejectingValidator.getRuleStatistics().get(0).getOverruns());
+
+    Validator skippingValidator = new SimpleAggregationValidator(rules, 1000, executorService,
+        new RuleTimeBudget("100", "1000", "", "skip"));
+    assertEquals(Verdict.VALIDATED,
+        skippingValidator.validate(Collections.singleton(transaction)).getStatus());
+    assertEquals(1, skippingValidator.getRuleStatistics().get(0).getOverruns());
+    executorService.shutdownNow();
+  }
+
+  /**
+   * @given {@link SimpleAggregationValidator} with a {@link RuleTimeBudget} of 200 ms and a rule
+   * taking 50 ms per batch
+   * @when Ten {@link TransactionBatch batches} are validated at once
+   * @then All of them are validated since every single invocation fits the budget
+   */
+  @Test
+  void simpleAggregationValidatorRuleTimeBudgetPerInvocationTest() {
+    final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    Map<String, Rule> rules = new HashMap<>();
+    rules.put("slowRule", transaction -> {
+      sleep(50);
+      return ValidationResult.VALIDATED;
+    });
+    final List<TransactionBatch> batches = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      batches.add(new TransactionBatch(Collections.singletonList(mock(Transaction.class))));
+    }
+    Validator validator = new SimpleAggregationValidator(rules, 1000, executorService,
+        new RuleTimeBudget(200, 2000, Collections.emptyMap(), OverrunPolicy.REJECT));
+
+    assertTrue(validator.validateAll(batches)
+        .stream()
+        .allMatch(result -> result.getStatus() == Verdict.VALIDATED));
+    assertEquals(0, validator.getRuleStatistics().get(0).getOverruns());
+    executorService.shutdownNow();
+  }
+
+  /**
+   * @given {@link SimpleAggregationValidator} with a {@link RuleTimeBudget} of 200 ms per
+   * invocation and 300 ms in total and a rule taking 50 ms per batch
+   * @when Twenty {@link TransactionBatch batches} are validated at once
+   * @then All of them are rejected once the total budget is exceeded though every single
+   * invocation fits the budget
+   */
+  @Test
+  void simpleAggregationValidatorRuleTotalTimeBudgetTest() {
+    final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    Map<String, Rule> rules = new HashMap<>();
+    rules.put("slowRule", transaction -> {
+      sleep(50);
+      return ValidationResult.VALIDATED;
+    });
+    final List<TransactionBatch> batches = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      batches.add(new TransactionBatch(Collections.singletonList(mock(Transaction.class))));
+    }
+    Validator validator = new SimpleAggregationValidator(rules, 1000, executorService,
+        new RuleTimeBudget(200, 300, Collections.emptyMap(), OverrunPolicy.REJECT));
+
+    final long startTime = System.currentTimeMillis();
+    assertTrue(validator.validateAll(batches)
+        .stream()
+        .allMatch(result -> result.getStatus() == Verdict.REJECTED));
+    assertTrue(System.currentTimeMillis() - startTime < 900);
+    assertEquals(1, validator.getRuleStatistics().get(0).getOverruns());
+    executorService.shutdownNow();
+  }
+
+  /**
+   * @given {@link SimpleAggregationValidator} with a {@link RuleTimeBudget} and a rules executor
+   * having its only thread busy and no queue
+   * @when Any {@link Transaction} is going to be validated
+   * @then The {@link Transaction} is rejected because of the saturation, which is counted apart
+   * from the overruns and the rule is not evaluated
+   */
+  @Test
+  void simpleAggregationValidatorSaturatedStageTest() throws InterruptedException {
+    final ExecutorService executorService = new ThreadPoolExecutor(
+        1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>()
+    );
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    executorService.execute(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    final AtomicInteger invocations = new AtomicInteger();
+    Map<String, Rule> rules = new HashMap<>();
+    rules.put("rule", transaction -> {
+      invocations.incrementAndGet();
+      return ValidationResult.VALIDATED;
+    });
+    Validator validator = new SimpleAggregationValidator(rules, 1000, executorService,
+        new RuleTimeBudget(100, 1000, Collections.emptyMap(), OverrunPolicy.REJECT));
+
+    final ValidationResult validationResult = validator
+        .validate(Collections.singleton(mock(Transaction.class)));
+
+    assertEquals(Verdict.REJECTED, validationResult.getStatus());
+    assertTrue(validationResult.getReason().contains("saturated"));
+    final RuleStatistics statistics = validator.getRuleStatistics().get(0);
+    assertEquals(1, statistics.getSaturations());
+    assertEquals(0, statistics.getOverruns());
+    assertEquals(0, statistics.getInvocations());
+    assertEquals(0, invocations.get());
+    release.countDown();
+    executorService.shutdownNow();
+  }
+
+  /**
+   * @given {@link SimpleAggregationValidator} with a {@link RuleTimeBudget} of 100 ms and a
+   * {@link RuleOrderingConstraint#LAST} rule taking 300 ms
+   * @when Any {@link Transaction} is going to be validated
+   * @then The rule is not cancelled and its verdict is taken into account
+   */
+  @Test
+  void simpleAggregationValidatorRuleTimeBudgetLastRuleTest() {
+    final ExecutorService executorService = Executors.newFixedThreadPool(2);
+    final AtomicInteger completed = new AtomicInteger();
+    Map<String, Rule> rules = new HashMap<>();
+    rules.put("sideEffectRule", new Rule() {
+      @Override
+      public ValidationResult isSatisfiedBy(Transaction transaction) {
+        sleep(300);
+        completed.incrementAndGet();
+        return ValidationResult.REJECTED("limit");
+      }
+
+      @Override
+      public RuleOrderingConstraint getOrderingConstraint() {
+        return RuleOrderingConstraint.LAST;
+      }
+    });
+    Validator validator = new SimpleAggregationValidator(rules, 1000, executorService,
+        new RuleTimeBudget(100, 1000, Collections.emptyMap(), OverrunPolicy.SKIP));
+
+    final ValidationResult validationResult = validator
+        .validate(Collections.singleton(mock(Transaction.class)));
+
+    assertEquals(Verdict.REJECTED, validationResult.getStatus());
+    assertEquals("limit", validationResult.getReason());
+    assertEquals(1, completed.get());
+    assertEquals(0, validator.getRuleStatistics().get(0).getOverruns());
+    executorService.shutdownNow();
+  }
+
+  /**
+   * @given {@link SimpleAggregationValidator} with a global rule counting its invocations, a rule
+   * rejecting everything scoped to the d3 domain and a batch rule scoped to user@sora account
+   * @when Batches of d3, sora and mixed creators are validated together
+   * @then Every batch is checked only by the rules relevant for its creators
+   */
+  @Test
+  void simpleAggregationValidatorScopedRulesTest() {
+    final AtomicInteger globalInvocations = new AtomicInteger();
+    final AtomicInteger accountInvocations = new AtomicInteger();
+    Map<String, Rule> rules = new HashMap<>();
+    rules.put("globalRule", transaction -> {
+      globalInvocations.incrementAndGet();
+      return ValidationResult.VALIDATED;
+    });
+    rules.put("d3Rule", new ScopedRule(
+        transaction -> ValidationResult.REJECTED("d3"),
+        new RuleScope("d3", "", "")
+    ));
+    rules.put("accountRule", new ScopedRule(
+        (BatchRule) transactionBatch -> {
+          accountInvocations.incrementAndGet();
+          return ValidationResult.VALIDATED;
+        },
+        new RuleScope("", "user@sora", "")
+    ));
+    Validator validator = new SimpleAggregationValidator(rules);
+
+    final List<ValidationResult> results = validator.validateAll(Arrays.asList(
+        new TransactionBatch(Collections.singletonList(transactionOf("user@d3"))),
+        new TransactionBatch(Collections.singletonList(transactionOf("user@sora"))),
+        new TransactionBatch(Collections.singletonList(transactionOf("other@sora"))),
+        new TransactionBatch(Arrays.asList(transactionOf("other@sora"), transactionOf("user@d3")))
+    ));
+
+    assertEquals(Verdict.REJECTED, results.get(0).getStatus());
+    assertEquals(Verdict.VALIDATED, results.get(1).getStatus());
+    assertEquals(Verdict.VALIDATED, results.get(2).getStatus());
+    assertEquals(Verdict.REJECTED, results.get(3).getStatus());
+    assertEquals(1, accountInvocations.get());
+    // the d3 rule is evaluated first and rejects the d3 batches
+    assertEquals(2, globalInvocations.get());
+    assertTrue(new RuleScope("", "", "d3").appliesTo("user@sora"));
+    assertFalse(new RuleScope("", "", "d3").appliesTo("user@d3"));
+  }
+
+  /**
+   * @given {@link SimpleAggregationValidator} with a validating production rule and a rejecting
+   * shadow rule
+   * @when batches are validated
+   * @then the verdicts are not affected and the would-be rejections are recorded
+   */
+  @Test
+  void simpleAggregationValidatorShadowRulesTest() throws InterruptedException {
+    final ExecutorService shadowExecutor = Executors.newSingleThreadExecutor();
+    Map<String, Rule> rules = new HashMap<>();
+    rules.put("productionRule", transaction -> ValidationResult.VALIDATED);
+    Validator validator = new SimpleAggregationValidator(rules, 1000, null, null,
+        new ShadowRuleEvaluator(shadowExecutor)
+    );
+    validator.putShadowRule("shadowRule", transaction -> ValidationResult.REJECTED("shadow"));
+
+    final Transaction transaction = Transaction.newBuilder()
+        .setPayload(Payload.newBuilder().setReducedPayload(
+            ReducedPayload.newBuilder().setCreatorAccountId("user@sora")
+        ))
+        .build();
+    final List<ValidationResult> results = validator.validateAll(Arrays.asList(
+        new TransactionBatch(Collections.singletonList(transaction)),
+        new TransactionBatch(Collections.singletonList(transaction))
+    ));
+    shadowExecutor.shutdown();
+    assertTrue(shadowExecutor.awaitTermination(10, TimeUnit.SECONDS));
+
+    assertEquals(Verdict.VALIDATED, results.get(0).getStatus());
+    assertEquals(Verdict.VALIDATED, results.get(1).getStatus());
+    assertEquals(Collections.singleton("productionRule"), validator.getRuleNames());
+    final ShadowRuleStatistics statistics = validator.getShadowRuleStatistics().get(0);
+    assertEquals("shadowRule", statistics.getName());
+    assertEquals(2, statistics.getEvaluations());
+    assertEquals(2, statistics.getWouldRejections());
+    assertEquals(2, statistics.getDisagreements());
+    assertTrue(statistics.getLastRejection().endsWith("shadow"));
+  }
+
+  /**
+   * @given {@link SimpleAggregationValidator} with a shadow rule hanging regardless of the
+   * cancellation and a rejecting shadow rule evaluated within a time budget by a single shadow
+   * thread
+   * @when batches are validated twice
+   * @then the shadow stage is not blocked, the hanging rule is cancelled once and skipped while it
+   * still runs and the rejecting rule is evaluated both times
+   */
+  @Test
+  void simpleAggregationValidatorHangingShadowRuleTest() throws InterruptedException {
+    final ExecutorService shadowExecutor = Executors.newSingleThreadExecutor();
+    final ExecutorService shadowRulesExecutor = Executors.newFixedThreadPool(2);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch firstEvaluation = new CountDownLatch(1);
+    Map<String, Rule> rules = new HashMap<>();
+    rules.put("productionRule", transaction -> ValidationResult.VALIDATED);
+    Validator validator = new SimpleAggregationValidator(rules, 1000, null, null,
+        new ShadowRuleEvaluator(
+            shadowExecutor,
+            shadowRulesExecutor,
+            new RuleTimeBudget(50, 100, Collections.emptyMap(), OverrunPolicy.SKIP)
+        )
+    );
+    validator.putShadowRule("hangingRule", transaction -> {
+      while (release.getCount() > 0) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          // ignores the cancellation
+        }
+      }
+      return ValidationResult.VALIDATED;
+    });
+    validator.putShadowRule("rejectingRule", transaction -> {
+      firstEvaluation.countDown();
+      return ValidationResult.REJECTED("shadow");
+    });
+
+    final TransactionBatch transactionBatch = new TransactionBatch(
+        Collections.singletonList(Transaction.newBuilder()
+            .setPayload(Payload.newBuilder().setReducedPayload(
+                ReducedPayload.newBuilder().setCreatorAccountId("user@sora")
+            ))
+            .build())
+    );
+    validator.validateAll(Collections.singletonList(transactionBatch));
+    assertTrue(firstEvaluation.await(5, TimeUnit.SECONDS));
+    sleep(200);
+    validator.validateAll(Collections.singletonList(transactionBatch));
+    shadowExecutor.shutdown();
+    assertTrue(shadowExecutor.awaitTermination(5, TimeUnit.SECONDS));
+
+    final Map<String, ShadowRuleStatistics> statistics = validator.getShadowRuleStatistics()
+        .stream()
+        .collect(Collectors.toMap(ShadowRuleStatistics::getName, stats -> stats));
+    assertEquals(1, statistics.get("hangingRule").getOverruns());
+    assertEquals(1, statistics.get("hangingRule").getDroppedBatches());
+    assertEquals(0, statistics.get("hangingRule").getEvaluations());
+    assertEquals(0, statistics.get("rejectingRule").getOverruns());
+    assertEquals(2, statistics.get("rejectingRule").getEvaluations());
+    assertEquals(2, statistics.get("rejectingRule").getWouldRejections());
+    release.countDown();
+    shadowRulesExecutor.shutdown();
+    assertTrue(shadowRulesExecutor.awaitTermination(5, TimeUnit.SECONDS));
+  }
+
+  private static Transaction transactionOf(String creator) {
+    final Transaction transaction = mock(Transaction.class, RETURNS_DEEP_STUBS);
+    when(transaction.getPayload().getReducedPayload().getCreatorAccountId()).thenReturn(creator);
+    return transaction;
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright Soramitsu Co., Ltd. All Rights Reserved.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package iroha.validation.velocity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import iroha.protocol.Commands.Command;
+import iroha.protocol.Commands.TransferAsset;
+import iroha.protocol.TransactionOuterClass.Transaction;
+import iroha.protocol.TransactionOuterClass.Transaction.Payload;
+import iroha.protocol.TransactionOuterClass.Transaction.Payload.ReducedPayload;
+import iroha.validation.transactions.TransactionBatch;
+import iroha.validation.velocity.VelocityRule.Metric;
+import iroha.validation.verdict.Verdict;
+import java.math.BigDecimal;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class VelocityRuleTest {
+
+  private static final String ASSET_ID = "xor#sora";
+  private static final String ACCOUNT_ID = "user@sora";
+
+  private static Transaction transfer(String amount, long createdTime) {
+    return Transaction.newBuilder()
+        .setPayload(Payload.newBuilder().setReducedPayload(ReducedPayload.newBuilder()
+            .setCreatorAccountId(ACCOUNT_ID)
+            .setCreatedTime(createdTime)
+            .addCommands(Command.newBuilder().setTransferAsset(TransferAsset.newBuilder()
+                .setSrcAccountId(ACCOUNT_ID)
+                .setDestAccountId("dest@sora")
+                .setAssetId(ASSET_ID)
+                .setAmount(amount)
+            ))
+        ))
+        .build();
+  }
+
+  /**
+   * @given {@link SlidingWindowCounters} of a 10 second window split into 10 buckets
+   * @when values are added at different times
+   * @then only the values within the window ending at the time given are summed
+   */
+  @Test
+  void slidingWindowTest() {
+    final SlidingWindowCounters counters = new SlidingWindowCounters(10_000, 10, 64);
+
+    assertTrue(counters.tryAdd(ACCOUNT_ID, 5, 10, 1_000));
+    assertTrue(counters.tryAdd(ACCOUNT_ID, 5, 10, 5_000));
+    assertFalse(counters.tryAdd(ACCOUNT_ID, 1, 10, 9_000));
+    assertEquals(10, counters.sum(ACCOUNT_ID, 9_000));
+
+    // the first value leaves the window
+    assertEquals(5, counters.sum(ACCOUNT_ID, 11_000));
+    assertTrue(counters.tryAdd(ACCOUNT_ID, 5, 10, 11_000));
+    assertEquals(0, counters.sum(ACCOUNT_ID, 30_000));
+    assertEquals(0, counters.sum("other@sora", 11_000));
+  }
+
+  /**
+   * @given {@link SlidingWindowCounters} with a capacity of 64 accounts
+   * @when many more accounts are active at once and after the window has passed
+   * @then memory stays bounded, the active accounts keep their sums, other accounts are refused
+   * until the active ones become idle
+   */
+  @Test
+  void boundedCapacityTest() {
+    final SlidingWindowCounters counters = new SlidingWindowCounters(10_000, 10, 64);
+
+    int tracked = 0;
+    for (int i = 0; i < 1000; i++) {
+      if (counters.tryAdd("user" + i + "@sora", 1, 10, 1_000 + i)) {
+        tracked++;
+      }
+    }
+
+    assertTrue(tracked <= 64);
+    assertEquals(1000 - tracked, counters.getOverflows());
+    String refused = null;
+    int summed = 0;
+    for (int i = 0; i < 1000; i++) {
+      final String accountId = "user" + i + "@sora";
+      if (!counters.isTracked(accountId)) {
+        refused = accountId;
+      }
+      summed += counters.sum(accountId, 2_000);
+    }
+    assertEquals(tracked, summed);
+    assertFalse(counters.tryAdd(refused, 1, 10, 2_000));
+    assertTrue(counters.tryAdd(refused, 1, 10, 20_000));
+    assertEquals(1, counters.sum(refused, 20_000));
+  }
+
+  /**
+   * @given {@link VelocityRule} limiting transfers of {@link #ASSET_ID} to 100.00 per hour
+   * @when transfers are validated, released and committed
+   * @then transfers over the limit are rejected, released amounts become available again and
+   * committed transactions validated before are not charged twice
+   */
+  @Test
+  void velocityRuleTest() {
+    final VelocityRule rule = new VelocityRule(
+        ASSET_ID, Metric.AMOUNT, new BigDecimal("100.00"), 3_600_000, 60, 1024
+    );
+    final long now = System.currentTimeMillis();
+    final Transaction first = transfer("60", now);
+    final Transaction second = transfer("40.001", now + 1);
+    final Transaction third = transfer("40", now + 2);
+
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(first).getStatus());
+    // rounded up to 40.01
+    assertEquals(Verdict.REJECTED, rule.isSatisfiedBy(second).getStatus());
+
+    rule.release(new TransactionBatch(Collections.singletonList(first)));
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(second).getStatus());
+
+    rule.commit(Collections.singletonList(second));
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(third).getStatus());
+
+    // committed without being validated here
+    rule.commit(Collections.singletonList(transfer("1", now + 3)));
+    assertEquals(Verdict.REJECTED, rule.isSatisfiedBy(transfer("19.99", now + 4)).getStatus());
+  }
+
+  /**
+   * @given {@link VelocityRule} limiting transfers of {@link #ASSET_ID} to 100.00 per hour
+   * @when the same transfer is validated twice along with a rejected transfer and another one
+   * @then the transfer is charged once and the rejected transfer is not charged at all
+   */
+  @Test
+  void repeatedValidationTest() {
+    final VelocityRule rule = new VelocityRule(
+        ASSET_ID, Metric.AMOUNT, new BigDecimal("100.00"), 3_600_000, 60, 1024
+    );
+    final long now = System.currentTimeMillis();
+    final Transaction first = transfer("60", now);
+
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(first).getStatus());
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(transfer("60", now)).getStatus());
+    assertEquals(Verdict.REJECTED, rule.isSatisfiedBy(transfer("41", now + 1)).getStatus());
+    assertEquals(Verdict.VALIDATED, rule.isSatisfiedBy(transfer("40", now + 2)).getStatus());
+  }
+}